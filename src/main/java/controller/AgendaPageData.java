@@ -0,0 +1,68 @@
+package controller;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Class to store one page of the events of an agenda, with the time cursor to load the next page
+ * with.
+ */
+public class AgendaPageData {
+
+  private final List<EventData> events;
+  private final LocalDateTime nextStart;
+  private final int nextSkip;
+  private final boolean hasMore;
+
+  /**
+   * Constructor for AgendaPageData.
+   *
+   * @param events    The events of the page, in the order of their start time.
+   * @param nextStart The start time of the cursor to the next page.
+   * @param nextSkip  The number of events starting at the start time of the cursor to skip.
+   * @param hasMore   Whether there are events after the page.
+   */
+  public AgendaPageData(List<EventData> events, LocalDateTime nextStart, int nextSkip,
+      boolean hasMore) {
+    this.events = events;
+    this.nextStart = nextStart;
+    this.nextSkip = nextSkip;
+    this.hasMore = hasMore;
+  }
+
+  /**
+   * Get the events of the page.
+   *
+   * @return The events of the page.
+   */
+  public List<EventData> getEvents() {
+    return events;
+  }
+
+  /**
+   * Get the start time of the cursor to the next page.
+   *
+   * @return The start time of the cursor.
+   */
+  public LocalDateTime getNextStart() {
+    return nextStart;
+  }
+
+  /**
+   * Get the number of events starting at the start time of the cursor to skip.
+   *
+   * @return The number of events to skip.
+   */
+  public int getNextSkip() {
+    return nextSkip;
+  }
+
+  /**
+   * Get whether there are events after the page.
+   *
+   * @return True if there are events after the page.
+   */
+  public boolean hasMore() {
+    return hasMore;
+  }
+}
@@ -0,0 +1,56 @@
+package controller;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * This interface represents the source of the events of an agenda, loaded one page at a time as
+ * the agenda is scrolled. The pages are passed to the consumer on the thread of the view, and a
+ * page is continued from the time cursor of the page before it.
+ */
+public interface AgendaSource {
+
+  /**
+   * Load the page of events after a time cursor.
+   *
+   * @param cursorStart the start time of the cursor, null for the first page
+   * @param cursorSkip  the number of events starting at the start time of the cursor to skip
+   * @param limit       the maximum number of events in the page
+   * @param onPage      the consumer of the page
+   */
+  void loadPage(LocalDateTime cursorStart, int cursorSkip, int limit,
+      Consumer<AgendaPageData> onPage);
+
+  /**
+   * Create a source paging through events already loaded, in the order of their start time, such
+   * as the events of a day.
+   *
+   * @param events the events of the agenda
+   * @return the source of the pages of the events
+   */
+  static AgendaSource of(List<EventData> events) {
+    return (cursorStart, cursorSkip, limit, onPage) -> {
+      // every event starting before the cursor was in an earlier page
+      int from = 0;
+      while (cursorStart != null && from < events.size()
+          && events.get(from).getStartTime().isBefore(cursorStart)) {
+        from++;
+      }
+      from = Math.min(events.size(), from + cursorSkip);
+      int to = Math.min(events.size(), from + limit);
+      List<EventData> page = new ArrayList<>(events.subList(from, to));
+      if (page.isEmpty()) {
+        onPage.accept(new AgendaPageData(page, cursorStart, cursorSkip, false));
+        return;
+      }
+      LocalDateTime nextStart = page.get(page.size() - 1).getStartTime();
+      int nextSkip = 0;
+      for (int i = to - 1; i >= 0 && events.get(i).getStartTime().equals(nextStart); i--) {
+        nextSkip++;
+      }
+      onPage.accept(new AgendaPageData(page, nextStart, nextSkip, to < events.size()));
+    };
+  }
+}
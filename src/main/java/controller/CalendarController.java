@@ -37,6 +37,8 @@ public class CalendarController implements IController {
 
   private String currentCalendar;
 
+  private IModel transactionModel;
+
   static final String dateFormat = "yyyy-MM-dd";
 
   static final DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern(dateFormat);
@@ -74,6 +76,19 @@ public class CalendarController implements IController {
       return calendars.get(currentCalendar);
     }
 
+    /**
+     * Get a utility whose current calendar stays the given calendar, for the commands run after
+     * the current calendar may have changed, such as on the background thread of the GUI.
+     */
+    ControllerUtility withCurrentCalendar(CalendarEntry calendarEntry) {
+      return new ControllerUtility() {
+        @Override
+        CalendarEntry getCurrentCalendar() {
+          return calendarEntry;
+        }
+      };
+    }
+
     void setCurrentCalendar(String currentCalendarName) {
       currentCalendar = currentCalendarName;
     }
@@ -94,6 +109,14 @@ public class CalendarController implements IController {
       return calendars.remove(calendar);
     }
 
+    IModel getTransactionModel() {
+      return transactionModel;
+    }
+
+    void setTransactionModel(IModel model) {
+      transactionModel = model;
+    }
+
     void exitProgram() {
       exitFlag = true;
     }
@@ -112,6 +135,7 @@ public class CalendarController implements IController {
     this.mode = mode;
     this.calendars = new HashMap<>();
     this.currentCalendar = null;
+    this.transactionModel = null;
     controllerUtility = new ControllerUtility();
     exitFlag = false;
     Objects.requireNonNull(mode, "mode cannot be null");
@@ -199,7 +223,7 @@ public class CalendarController implements IController {
       command.executeCommand(controllerUtility);
     } catch (CalendarNotSelectedException | CalendarNotPresentException | EventConflictException
              | CalendarExportException | InvalidDateTimeRangeException | InvalidTimeZoneException
-             | IllegalArgumentException | CreateCalendarException e) {
+             | IllegalArgumentException | IllegalStateException | CreateCalendarException e) {
       promptError(e.getMessage() + "\n");
       return;
     }
@@ -223,6 +247,10 @@ public class CalendarController implements IController {
       commandMap.put("print", PrintEventsCommand::new);
       commandMap.put("export", ExportCalendarCommand::new);
       commandMap.put("show", ShowStatusCommand::new);
+      commandMap.put("delete", DeleteEventsCommand::new);
+      commandMap.put("begin", () -> new TransactionCommand("begin"));
+      commandMap.put("commit", () -> new TransactionCommand("commit"));
+      commandMap.put("rollback", () -> new TransactionCommand("rollback"));
     }
 
     /**
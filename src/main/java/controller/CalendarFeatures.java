@@ -107,6 +107,22 @@ public interface CalendarFeatures {
    */
   void previousMonthYear(YearMonth yearMonth);
 
+  /**
+   * This feature allows the user to browse the events of the month displayed as a list. The events
+   * are loaded a page at a time as the user scrolls through the list, so a month with many events
+   * is shown without loading all of them first.
+   */
+  void requestMonthAgenda();
+
+  /**
+   * This feature allows the user to find events by the words of their subject and location as
+   * they type. The events found are shown as the search finds them, and a new search replaces the
+   * results of the one before it.
+   *
+   * @param query the words typed, an empty query clears the results
+   */
+  void searchEvents(String query);
+
   // event operations
 
   /**
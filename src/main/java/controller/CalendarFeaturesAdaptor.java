@@ -80,6 +80,16 @@ public class CalendarFeaturesAdaptor implements CalendarFeatures {
     controller.previousMonthYear(yearMonth);
   }
 
+  @Override
+  public void requestMonthAgenda() {
+    controller.requestMonthAgenda();
+  }
+
+  @Override
+  public void searchEvents(String query) {
+    controller.searchEvents(query);
+  }
+
   @Override
   public void createEvent(EventData eventData) {
     controller.createEvent(eventData);
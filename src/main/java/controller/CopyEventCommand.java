@@ -15,6 +15,8 @@ import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Scanner;
+import java.util.stream.Collectors;
+import repository.ZoneConverter;
 
 /**
  * This class represents an implementation of abstract Command class to copy events from one
@@ -40,6 +42,8 @@ public class CopyEventCommand extends Command {
 
   private StringBuilder conflictMessages;
 
+  private StringBuilder errorMessages;
+
   /**
    * The constructor for the CopyEventCommand class initializes the class variables to null.
    */
@@ -53,6 +57,7 @@ public class CopyEventCommand extends Command {
     eventName = null;
     copiedEvents = null;
     conflictMessages = null;
+    errorMessages = null;
   }
 
   /**
@@ -292,18 +297,27 @@ public class CopyEventCommand extends Command {
    *
    * @param controllerUtility the controller utility class
    * @throws CalendarExportException if the target calendar is not present in the model
+   * @throws IllegalStateException   if the target calendar is not the calendar of the transaction
+   *                                 in progress
    */
   @Override
   void executeCommand(ControllerUtility controllerUtility)
       throws CalendarExportException {
-    // create new conflictMessages instance for this command lifecycle
+    // create new conflictMessages and errorMessages instances for this command lifecycle
     conflictMessages = new StringBuilder();
+    errorMessages = new StringBuilder();
 
     // check if target calendar is present
     CalendarEntry targetCalendarEntry = controllerUtility.getCalendarEntry(targetCalendarName);
     if (Objects.isNull(targetCalendarEntry)) {
       throw new CalendarExportException("Target calendar not found: " + targetCalendarName);
     }
+    // the copies could not be undone with the transaction of another calendar
+    if (Objects.nonNull(controllerUtility.getTransactionModel())
+        && controllerUtility.getTransactionModel() != targetCalendarEntry.model) {
+      throw new IllegalStateException(
+          "Cannot copy events to another calendar during a transaction");
+    }
 
     // get current calendar entry
     CalendarEntry currentCalendarEntry = controllerUtility.getCurrentCalendar();
@@ -391,7 +405,12 @@ public class CopyEventCommand extends Command {
   /**
    * Copy the events to the target calendar. It creates a new event in the target calendar with the
    * same details as the source event. Recurring details are reset. It also checks for conflicts in
-   * the target calendar and skips the event if there is a conflict.
+   * the target calendar and skips the event if there is a conflict. An event that cannot be
+   * created for another reason, such as invalid details, is skipped and reported as an error.
+   *
+   * <p>The copies are converted in parallel, with one {@link ZoneConverter} between the zones of
+   * the calendars, and created with a single batch call to the model, which checks all of them
+   * against the target calendar in one sweep and inserts the accepted copies in bulk.
    *
    * @param targetCalendarEntry the target calendar to copy the event to
    * @param eventsToCopy        the list of events to copy
@@ -399,55 +418,77 @@ public class CopyEventCommand extends Command {
    */
   private int copyEvents(CalendarEntry sourceCalendarEntry, CalendarEntry targetCalendarEntry,
       List<EventDTO> eventsToCopy) {
-    int copiedEvents = 0;
+    ZoneConverter zoneConverter =
+        new ZoneConverter(sourceCalendarEntry.zoneId, targetCalendarEntry.zoneId);
+    List<EventDTO> copies = eventsToCopy.parallelStream()
+        .map(event -> convertEvent(zoneConverter, event))
+        .collect(Collectors.toList());
 
-    for (EventDTO event : eventsToCopy) {
-      // get the startDateTime for event to be copied (time will be same as source)
-      LocalDateTime newStartDateTime;
-      if (!Objects.isNull(sourceStartDateTime)) {
-        newStartDateTime = targetStartDateTime;
-      } else {
-        newStartDateTime = targetStartDate
-            .plusDays(
-                ChronoUnit.DAYS.between(sourceStartDate, event.getStartTime().toLocalDate()))
-            .atTime(event.getStartTime().toLocalTime())
-            .atZone(sourceCalendarEntry.zoneId)
-            .withZoneSameInstant(targetCalendarEntry.zoneId)
-            .toLocalDateTime();
-      }
+    // try to create the events in target calendar
+    List<RuntimeException> outcomes = targetCalendarEntry.model.createEvents(copies, true);
 
-      // get the endDateTime for event to be copied (time will be same as source)
-      Duration durationOfEvent = Duration.between(event.getStartTime(), event.getEndTime());
-      // calculate event duration between startTime and endTime
-      LocalDateTime newEndDateTime = newStartDateTime.plus(durationOfEvent);
-
-      // create a new event in target calendar
-      EventDTO eventToCopy = EventDTO.getBuilder()
-          .setSubject(event.getSubject())
-          .setDescription(event.getDescription())
-          .setLocation(event.getLocation())
-          .setIsAllDay(event.getIsAllDay())
-          .setIsPublic(event.getIsPublic())
-          .setIsRecurring(false) // recurring details are reset on copy
-          .setStartTime(newStartDateTime)
-          .setEndTime(newEndDateTime)
-          .build();
-
-      // try to create the event in target calendar
-      try {
-        targetCalendarEntry.model.createEvent(eventToCopy, true);
+    int copiedEvents = 0;
+    for (int index = 0; index < copies.size(); index++) {
+      RuntimeException outcome = outcomes.get(index);
+      if (Objects.isNull(outcome)) {
         copiedEvents++;
-      } catch (EventConflictException e) {
+        continue;
+      }
+      StringBuilder messages;
+      if (outcome instanceof EventConflictException) {
         // event conflict, add to conflict messages
         formatConflictMessages();
-        conflictMessages.append(event.getSubject())
-            .append(" on ")
-            .append(newStartDateTime.format(CalendarController.dateTimeFormatter));
+        messages = conflictMessages;
+      } else {
+        // any other reason the event was not created, add to error messages
+        formatErrorMessages(outcome.getMessage());
+        messages = errorMessages;
       }
+      messages.append(copies.get(index).getSubject())
+          .append(" on ")
+          .append(copies.get(index).getStartTime().format(CalendarController.dateTimeFormatter));
     }
     return copiedEvents;
   }
 
+  /**
+   * Convert a source event to its copy in the target calendar.
+   *
+   * @param zoneConverter the converter from the zone of the source calendar to the zone of the
+   *                      target calendar
+   * @param event         the event to copy
+   * @return the copy of the event
+   */
+  private EventDTO convertEvent(ZoneConverter zoneConverter, EventDTO event) {
+    // get the startDateTime for event to be copied (time will be same as source)
+    LocalDateTime newStartDateTime;
+    if (!Objects.isNull(sourceStartDateTime)) {
+      newStartDateTime = targetStartDateTime;
+    } else {
+      newStartDateTime = zoneConverter.convert(targetStartDate
+          .plusDays(
+              ChronoUnit.DAYS.between(sourceStartDate, event.getStartTime().toLocalDate()))
+          .atTime(event.getStartTime().toLocalTime()));
+    }
+
+    // get the endDateTime for event to be copied (time will be same as source)
+    Duration durationOfEvent = Duration.between(event.getStartTime(), event.getEndTime());
+    // calculate event duration between startTime and endTime
+    LocalDateTime newEndDateTime = newStartDateTime.plus(durationOfEvent);
+
+    // create a new event in target calendar
+    return EventDTO.getBuilder()
+        .setSubject(event.getSubject())
+        .setDescription(event.getDescription())
+        .setLocation(event.getLocation())
+        .setIsAllDay(event.getIsAllDay())
+        .setIsPublic(event.getIsPublic())
+        .setIsRecurring(false) // recurring details are reset on copy
+        .setStartTime(newStartDateTime)
+        .setEndTime(newEndDateTime)
+        .build();
+  }
+
   /**
    * Format the conflict messages to be printed.
    */
@@ -458,6 +499,18 @@ public class CopyEventCommand extends Command {
     conflictMessages.append("- Event Conflict: ");
   }
 
+  /**
+   * Format the error messages to be printed.
+   *
+   * @param reason the reason the event was not copied
+   */
+  private void formatErrorMessages(String reason) {
+    if (errorMessages.length() > 0) {
+      errorMessages.append("\n");
+    }
+    errorMessages.append("- ").append(reason).append(": ");
+  }
+
   /**
    * Prompt the result of copy command with a message.
    *
@@ -477,5 +530,11 @@ public class CopyEventCommand extends Command {
       controllerUtility.promptOutput(
           "The following events were not copied due to conflicts:\n" + conflictMessages);
     }
+
+    // print error messages if any
+    if (errorMessages.length() > 0) {
+      controllerUtility.promptOutput(
+          "The following events were not copied due to errors:\n" + errorMessages);
+    }
   }
 }
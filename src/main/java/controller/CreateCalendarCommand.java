@@ -120,11 +120,13 @@ class CreateCalendarCommand extends Command {
     if (Objects.nonNull(controllerUtility.getCalendarEntry(calendarName))) {
       throw new CreateCalendarException("Calendar with the provided name already exists");
     }
-    controllerUtility.addCalendarEntry(calendarName,
-        CalendarEntry.getBuilder()
-            .setModel(controllerUtility.getModelFactory().get())
-            .setZoneId(zoneIdString)
-            .build());
+    CalendarEntry calendarEntry = CalendarEntry.getBuilder()
+        .setModel(controllerUtility.getModelFactory().get())
+        .setZoneId(zoneIdString)
+        .build();
+    // the model presents its events in the zone of the entry
+    calendarEntry.model.setZoneId(calendarEntry.zoneId);
+    controllerUtility.addCalendarEntry(calendarName, calendarEntry);
   }
 
   /**
@@ -102,14 +102,16 @@ class CreateEventCommand extends Command {
           Command command;
           command = new CreateCalendarCommand();
           return command.parseCommand(commandScanner);
+        case "events":
+          return new CreateEventsCommand().parseCommand(commandScanner);
         case "event":
           break;
         default:
-          throw new ParseCommandException("Invalid command: create (calendar|event) ...");
+          throw new ParseCommandException("Invalid command: create (calendar|event|events) ...");
       }
     } catch (NoSuchElementException e) {
       throw new ParseCommandException(
-          "Invalid command format: create (calendar|event) ...");
+          "Invalid command format: create (calendar|event|events) ...");
     }
 
     try {
@@ -0,0 +1,145 @@
+package controller;
+
+import controller.CalendarController.ControllerUtility;
+import dto.EventDTO;
+import dto.ImportResult;
+import exception.CalendarExportException;
+import exception.EventConflictException;
+import exception.ParseCommandException;
+import java.io.FileNotFoundException;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Scanner;
+import service.CSVCalendarImporter;
+import service.ICalendarImporter;
+
+/**
+ * This class represents an implementation of the abstract Command class to create a batch of
+ * events from a CSV file, in the format read by {@link CSVCalendarImporter}. The events are
+ * created with a single call to the model, and the outcome of every event that could not be
+ * created is prompted.
+ */
+class CreateEventsCommand extends Command {
+
+  private Boolean autoDecline;
+
+  private String filePath;
+
+  private final ICalendarImporter importer;
+
+  private List<EventDTO> events;
+
+  private List<RuntimeException> outcomes;
+
+  private int skippedRows;
+
+  /**
+   * Constructor for CreateEventsCommand.
+   */
+  CreateEventsCommand() {
+    autoDecline = false;
+    filePath = null;
+    importer = new CSVCalendarImporter();
+    events = null;
+    outcomes = null;
+    skippedRows = 0;
+  }
+
+  /**
+   * This method parses the create events command after the `create events` keywords. It parses the
+   * optional `--autoDecline` flag, the `--from-file` flag and the path of the file, which may be
+   * enclosed in double quotes.
+   *
+   * @param commandScanner a Scanner object that reads the command (File or console input)
+   * @return this command object
+   * @throws ParseCommandException if the command provided is invalid
+   */
+  @Override
+  Command parseCommand(Scanner commandScanner) throws ParseCommandException {
+    try {
+      String next = commandScanner.next();
+      if (next.equals("--autoDecline")) {
+        autoDecline = true;
+        next = commandScanner.next();
+      }
+      if (!next.equals("--from-file")) {
+        throw new ParseCommandException(
+            "Invalid command format: create events [--autoDecline] --from-file ...");
+      }
+      filePath = commandScanner.findWithinHorizon("\"([^\"]*)\"|\\S+", 0);
+      if (Objects.isNull(filePath)) {
+        throw new NoSuchElementException();
+      }
+      if (filePath.startsWith("\"") && filePath.endsWith("\"")) {
+        filePath = filePath.substring(1, filePath.length() - 1);
+      }
+    } catch (NoSuchElementException e) {
+      throw new ParseCommandException(
+          "Invalid command format: create events [--autoDecline] --from-file <filePath>");
+    }
+    return this;
+  }
+
+  /**
+   * This method reads the events from the file and creates them in the current calendar with a
+   * single call to the model.
+   *
+   * @param controllerUtility the controller utility object
+   * @throws CalendarExportException  if the calendar export fails
+   * @throws EventConflictException   if there is an event conflict
+   * @throws IllegalArgumentException if the file cannot be read
+   */
+  @Override
+  void executeCommand(ControllerUtility controllerUtility)
+      throws CalendarExportException, EventConflictException {
+    events = new ArrayList<>();
+    ImportResult importResult;
+    try (Reader reader = new FileReader(filePath)) {
+      importResult = importer.importEvents(reader, events::add);
+    } catch (FileNotFoundException e) {
+      throw new IllegalArgumentException("File not found: " + filePath);
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Could not read file: " + filePath);
+    }
+    if (Objects.nonNull(importResult.getMessage())) {
+      throw new IllegalArgumentException(importResult.getMessage() + ": " + filePath);
+    }
+    skippedRows = importResult.getTotalCount() - events.size();
+    outcomes = controllerUtility.getCurrentCalendar().model.createEvents(events, autoDecline);
+  }
+
+  /**
+   * Prompt the number of events created, followed by a line for every event that was not created
+   * with the reason, and the number of rows of the file that could not be read.
+   *
+   * @param controllerUtility the controller utility object
+   */
+  @Override
+  void promptResult(ControllerUtility controllerUtility) {
+    StringBuilder result = new StringBuilder();
+    int created = 0;
+    for (int index = 0; index < outcomes.size(); index++) {
+      if (Objects.isNull(outcomes.get(index))) {
+        created++;
+        continue;
+      }
+      EventDTO event = events.get(index);
+      result.append("\n- ")
+          .append(outcomes.get(index).getMessage())
+          .append(": ")
+          .append(event.getSubject())
+          .append(" on ")
+          .append(event.getStartTime().format(CalendarController.dateTimeFormatter));
+    }
+    if (skippedRows > 0) {
+      result.append("\n- Skipped ").append(skippedRows).append(" unreadable row(s)");
+    }
+    controllerUtility.promptOutput(
+        "Created " + created + " of " + (events.size() + skippedRows) + " event(s)" + result);
+  }
+}
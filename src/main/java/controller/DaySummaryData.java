@@ -0,0 +1,54 @@
+package controller;
+
+import java.time.LocalDate;
+
+/**
+ * Class to store the summary of the events of a day, to be shown on the month view.
+ */
+public class DaySummaryData {
+
+  private final LocalDate date;
+  private final int eventCount;
+  private final long busyMinutes;
+
+  /**
+   * Constructor for DaySummaryData.
+   *
+   * @param date        The date summarized.
+   * @param eventCount  The number of events on the date.
+   * @param busyMinutes The minutes of the events on the date.
+   */
+  public DaySummaryData(LocalDate date, int eventCount, long busyMinutes) {
+    this.date = date;
+    this.eventCount = eventCount;
+    this.busyMinutes = busyMinutes;
+  }
+
+  /**
+   * Get the date summarized.
+   *
+   * @return The date summarized.
+   */
+  public LocalDate getDate() {
+    return date;
+  }
+
+  /**
+   * Get the number of events on the date.
+   *
+   * @return The number of events on the date.
+   */
+  public int getEventCount() {
+    return eventCount;
+  }
+
+  /**
+   * Get the minutes of the events on the date.
+   *
+   * @return The minutes of the events on the date.
+   */
+  public long getBusyMinutes() {
+    return busyMinutes;
+  }
+
+}
@@ -0,0 +1,141 @@
+package controller;
+
+import controller.CalendarController.ControllerUtility;
+import exception.CalendarExportException;
+import exception.EventConflictException;
+import exception.ParseCommandException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.NoSuchElementException;
+import java.util.Scanner;
+
+
+/**
+ * This class represents an implementation of the abstract Command class to delete all the events
+ * in a specific interval, optionally only the events with a specific name. It parses the command,
+ * executes the delete operation, and prompts the number of events deleted.
+ */
+class DeleteEventsCommand extends Command {
+
+  private LocalDateTime startTime;
+
+  private LocalDateTime endTime;
+
+  private String eventName;
+
+  private Integer eventsDeleted;
+
+  /**
+   * This constructor for DeleteEventsCommand initializes the startTime, endTime, eventName and
+   * eventsDeleted.
+   */
+  DeleteEventsCommand() {
+    startTime = null;
+    endTime = null;
+    eventName = null;
+    eventsDeleted = null;
+  }
+
+  /**
+   * This method starts parsing the delete events command from the Scanner object. It checks if the
+   * command contains `events` and `from` keywords before parsing the interval and the optional
+   * event name.
+   *
+   * @param commandScanner a Scanner object that reads the command (File or console input)
+   * @return this command object
+   * @throws ParseCommandException if the command provided is invalid
+   */
+  @Override
+  Command parseCommand(Scanner commandScanner) throws ParseCommandException {
+    try {
+      if (!commandScanner.next().equals("events")) {
+        throw new ParseCommandException("Invalid command format: delete events ...");
+      }
+      if (!commandScanner.next().equals("from")) {
+        throw new ParseCommandException("Invalid command format: delete events from ...");
+      }
+      startTime = parseDateTime(commandScanner, "startDateTime");
+      if (!commandScanner.next().equals("to")) {
+        throw new ParseCommandException(
+            "Invalid command format: delete events from <dateStringTtimeString> to ...");
+      }
+      endTime = parseDateTime(commandScanner, "endDateTime");
+      if (commandScanner.hasNext()) {
+        parseEventName(commandScanner);
+      }
+    } catch (NoSuchElementException e) {
+      throw new ParseCommandException(
+          "Invalid command format: delete events "
+              + "from <startDateTime> to <endDateTime> [--name <eventName>]");
+    }
+    if (endTime.isBefore(startTime)) {
+      throw new ParseCommandException("End date time cannot be before start date time");
+    }
+    return this;
+  }
+
+  /**
+   * Parse a date and time from the command.
+   *
+   * @param commandScanner Scanner object to parse the command
+   * @param fieldName      the name of the field used in the error message
+   * @return the date and time parsed from the command
+   * @throws ParseCommandException If the date and time is not in the correct format
+   */
+  private LocalDateTime parseDateTime(Scanner commandScanner, String fieldName)
+      throws ParseCommandException {
+    try {
+      return LocalDateTime.parse(commandScanner.next(), CalendarController.dateTimeFormatter);
+    } catch (DateTimeParseException e) {
+      throw new ParseCommandException(
+          "Invalid " + fieldName + " format: " + CalendarController.dateTimeFormat);
+    }
+  }
+
+  /**
+   * Parse the optional `--name` flag and the event name from the command. The event name may be
+   * enclosed in double quotes.
+   *
+   * @param commandScanner Scanner object to parse the command
+   * @throws ParseCommandException If the command is not in the correct format
+   */
+  private void parseEventName(Scanner commandScanner) throws ParseCommandException {
+    if (!commandScanner.next().equals("--name")) {
+      throw new ParseCommandException(
+          "Invalid command format: delete events from <startDateTime> to <endDateTime> "
+              + "--name ...");
+    }
+    String token = commandScanner.findWithinHorizon("\"([^\"]*)\"|\\S+", 0);
+    if (token == null) {
+      throw new ParseCommandException(
+          "Invalid command format: delete events from <startDateTime> to <endDateTime> "
+              + "--name <eventName>");
+    }
+    eventName = token.startsWith("\"") ? token.substring(1, token.length() - 1) : token;
+  }
+
+  /**
+   * This method makes a call to model to delete the events in the interval. It uses the controller
+   * utility to access the current calendar and its model.
+   *
+   * @param controllerUtility the controller utility object
+   * @throws CalendarExportException if the calendar export fails
+   * @throws EventConflictException  if there is an event conflict
+   */
+  @Override
+  void executeCommand(ControllerUtility controllerUtility)
+      throws CalendarExportException, EventConflictException {
+    eventsDeleted = controllerUtility.getCurrentCalendar().model
+        .deleteEvents(startTime, endTime, eventName);
+  }
+
+  /**
+   * Prompt the number of events deleted to the user.
+   *
+   * @param controllerUtility the controller utility object
+   */
+  @Override
+  void promptResult(ControllerUtility controllerUtility) {
+    controllerUtility.promptOutput("Deleted " + eventsDeleted + " event(s)");
+  }
+}
@@ -2,8 +2,6 @@ package controller;
 
 import controller.CalendarController.ControllerUtility;
 import controller.CalendarEntry.CalendarEntryBuilder;
-import dto.EventDTO;
-import dto.RecurringDetailsDTO;
 import exception.CalendarExportException;
 import exception.EventConflictException;
 import exception.ParseCommandException;
@@ -157,8 +155,32 @@ class EditCalendarCommand extends Command {
   }
 
   /**
-   * Execute the edit calendar command on the model. It updates the calendar entry with the provided
-   * name and time zone. If the calendar name is not found, it throws an IllegalArgumentException.
+   * Check that the calendar can be edited without changing it. The calendar must exist, its new
+   * name must not be used by another calendar and its new time zone must be valid.
+   *
+   * @param controllerUtility the controller utility object
+   * @return the calendar entry to edit
+   * @throws IllegalArgumentException if the calendar cannot be edited
+   */
+  CalendarEntry validate(ControllerUtility controllerUtility) throws IllegalArgumentException {
+    CalendarEntry calendarEntry = controllerUtility.getCalendarEntry(calendarName);
+    if (Objects.isNull(calendarEntry)) {
+      throw new IllegalArgumentException("Calendar with the provided name doesn't exists");
+    }
+    if (!calendarName.equals(newCalendarName)
+        && Arrays.asList(controllerUtility.getAllCalendarNames()).contains(newCalendarName)) {
+      throw new IllegalArgumentException("Calendar with the provided name already exists");
+    }
+    if (Objects.nonNull(newTimeZone)) {
+      calendarEntryBuilder.setZoneId(newTimeZone);
+    }
+    return calendarEntry;
+  }
+
+  /**
+   * Execute the edit calendar command on the model. It sets the new time zone on the model of the
+   * calendar and updates the calendar entry with the provided name and time zone. If the calendar
+   * name is not found, it throws an IllegalArgumentException.
    *
    * @param controllerUtility the controller utility object
    * @throws CalendarExportException if there is an error on exporting the calendar
@@ -167,25 +189,39 @@ class EditCalendarCommand extends Command {
   @Override
   void executeCommand(ControllerUtility controllerUtility)
       throws CalendarExportException, EventConflictException {
-    CalendarEntry calendarEntry = controllerUtility.removeCalendarEntry(calendarName);
-    if (Objects.isNull(calendarEntry)) {
-      throw new IllegalArgumentException("Calendar with the provided name doesn't exists");
-    }
-    if (Arrays.asList(controllerUtility.getAllCalendarNames()).contains(newCalendarName)) {
-      throw new IllegalArgumentException("Calendar with the provided name already exists");
+    applyTimeZone(validate(controllerUtility).model);
+    updateCalendarEntry(controllerUtility);
+  }
+
+  /**
+   * Set the new time zone on the model of the calendar, if the time zone is changed. The model
+   * stores its events at UTC, so a new zone only changes how they are presented.
+   *
+   * @param model the model of the calendar
+   * @throws IllegalStateException if a transaction is in progress on the model
+   */
+  void applyTimeZone(IModel model) throws IllegalStateException {
+    if (Objects.nonNull(newTimeZone)) {
+      model.setZoneId(ZoneId.of(newTimeZone));
     }
-    CalendarEntry updatedCalendarEntry = calendarEntryBuilder.setModel(
-            Objects.nonNull(newTimeZone)
-                ? shiftCalendarTimezone(calendarEntry.model, calendarEntry.zoneId,
-                ZoneId.of(newTimeZone), controllerUtility.getModelFactory().get())
-                : calendarEntry.model
-        )
+  }
+
+  /**
+   * Update the calendar entry with the provided name and time zone, without changing its model.
+   *
+   * @param controllerUtility the controller utility object
+   * @throws IllegalArgumentException if the calendar cannot be edited
+   */
+  void updateCalendarEntry(ControllerUtility controllerUtility) throws IllegalArgumentException {
+    CalendarEntry calendarEntry = validate(controllerUtility);
+    CalendarEntry updatedCalendarEntry = calendarEntryBuilder.setModel(calendarEntry.model)
         .setZoneId(
             Objects.nonNull(newTimeZone)
                 ? newTimeZone
                 : calendarEntry.zoneId.toString())
         .build();
 
+    controllerUtility.removeCalendarEntry(calendarName);
     if (Objects.nonNull(newCalendarName)) {
       controllerUtility.addCalendarEntry(newCalendarName, updatedCalendarEntry);
       controllerUtility.setCurrentCalendar(newCalendarName);
@@ -194,57 +230,6 @@ class EditCalendarCommand extends Command {
     }
   }
 
-  /**
-   * This method shifts the calendar timezone of the model to the new timezone. It iterates through
-   * all the events in the existing model and creates new events in the new model with the updated
-   * timezone.
-   *
-   * @param existingModel  the existing model with old timezone
-   * @param existingZoneId the existing timezone of the model
-   * @param newZoneId      the new timezone to shift to
-   * @param newModel       the model to which the events will be shifted
-   * @return the new model with updated timezone
-   */
-  private IModel shiftCalendarTimezone(IModel existingModel, ZoneId existingZoneId,
-      ZoneId newZoneId, IModel newModel) {
-    existingModel.getAllEvents().forEach(event -> {
-      newModel.createEvent(
-          EventDTO.getBuilder()
-              .setSubject(event.getSubject())
-              .setDescription(event.getDescription())
-              .setLocation(event.getLocation())
-              .setIsPublic(event.getIsPublic())
-              .setIsAllDay(event.getIsAllDay())
-              .setIsRecurring(event.getIsRecurring())
-              .setStartTime(event.getStartTime()
-                  .atZone(existingZoneId)
-                  .withZoneSameInstant(newZoneId)
-                  .toLocalDateTime())
-              .setEndTime(event.getEndTime()
-                  .atZone(existingZoneId)
-                  .withZoneSameInstant(newZoneId)
-                  .toLocalDateTime())
-              .setRecurringDetails(
-                  Objects.nonNull(event.getRecurringDetails())
-                      ? RecurringDetailsDTO.getBuilder()
-                      .setRepeatDays(event.getRecurringDetails().getRepeatDays())
-                      .setOccurrences(event.getRecurringDetails().getOccurrences())
-                      .setUntilDate(
-                          Objects.nonNull(event.getRecurringDetails().getUntilDate())
-                              ? event.getRecurringDetails().getUntilDate()
-                              .atZone(existingZoneId)
-                              .withZoneSameInstant(newZoneId)
-                              .toLocalDateTime()
-                              : null
-                      )
-                      .build()
-                      : null
-              )
-              .build(), false);
-    });
-    return newModel;
-  }
-
   /**
    * Prompt the result of edit calendar command with message.
    *
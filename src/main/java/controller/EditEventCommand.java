@@ -32,6 +32,8 @@ class EditEventCommand extends Command {
 
   private LocalDateTime endTime;
 
+  private Long eventId;
+
   private final Map<String, BiConsumer<EventDTOBuilder, String>> eventDTOPropertySetters;
   BiConsumer<EventDTOBuilder, String> eventDTOPropertySetter;
 
@@ -56,6 +58,7 @@ class EditEventCommand extends Command {
     eventName = null;
     startTime = null;
     endTime = null;
+    eventId = null;
     eventDTOPropertySetters = createPropertySetters();
     eventBuilder = EventDTO.getBuilder();
     recurringDetailsDTOPropertySetters = createRecurringDetailsPropertySetters();
@@ -88,6 +91,40 @@ class EditEventCommand extends Command {
       Boolean isRecurring, Boolean isAllDay,
       Set<CalendarDayOfWeek> repeatDays,
       LocalDateTime untilDate, Integer occurrences) {
+    this(null, currEventName, currStartTime, currEndTime, eventName, startTime, endTime,
+        description, location, isPublic, isRecurring, isAllDay, repeatDays, untilDate,
+        occurrences);
+  }
+
+  /**
+   * Constructs an edit event command with its fields set, for a single event, or the occurrences
+   * of its series when the current end time is null, addressed by its identifier when it has one.
+   *
+   * <p>Only set the fields that need to be updated.
+   *
+   * @param eventId       the identifier of the event, null to address it by its name and times
+   * @param currEventName the current event name
+   * @param currStartTime the current start time
+   * @param currEndTime   the current end time
+   * @param eventName     the new event name, if this field is to be updated
+   * @param startTime     the new start time, if this field is to be updated
+   * @param endTime       the new end time, if this field is to be updated
+   * @param description   the new description, if this field is to be updated
+   * @param location      the new location, if this field is to be updated
+   * @param isPublic      the new is public, if this field is to be updated
+   * @param isRecurring   the new is recurring, if this field is to be updated
+   * @param isAllDay      the new is all day, if this field is to be updated
+   * @param repeatDays    the new repeat days, if this field is to be updated
+   * @param untilDate     the new until date, if this field is to be updated
+   * @param occurrences   the new occurrences, if this field is to be updated
+   */
+  public EditEventCommand(Long eventId, String currEventName, LocalDateTime currStartTime,
+      LocalDateTime currEndTime, String eventName, LocalDateTime startTime,
+      LocalDateTime endTime, String description, String location, Boolean isPublic,
+      Boolean isRecurring, Boolean isAllDay,
+      Set<CalendarDayOfWeek> repeatDays,
+      LocalDateTime untilDate, Integer occurrences) {
+    this.eventId = eventId;
     this.eventName = currEventName;
     this.startTime = currStartTime;
     this.endTime = currEndTime;
@@ -360,15 +397,23 @@ class EditEventCommand extends Command {
   @Override
   void executeCommand(ControllerUtility controllerUtility)
       throws CalendarExportException, EventConflictException {
-    updatedEvents = controllerUtility.getCurrentCalendar().model
-        .editEvent(eventName, startTime, endTime,
-            eventBuilder
-                .setRecurringDetails(
-                    Objects.nonNull(recurringDetailsDTOPropertySetter)
-                        ? recurringDetailsDTOBuilder.build()
-                        : null)
-                .setIsRecurring(Objects.nonNull(recurringDetailsDTOPropertySetter) ? true : null)
-                .build());
+    EventDTO parametersToUpdate = eventBuilder
+        .setRecurringDetails(
+            Objects.nonNull(recurringDetailsDTOPropertySetter)
+                ? recurringDetailsDTOBuilder.build()
+                : null)
+        .setIsRecurring(Objects.nonNull(recurringDetailsDTOPropertySetter) ? true : null)
+        .build();
+    if (Objects.nonNull(eventId) && Objects.nonNull(endTime)) {
+      updatedEvents = controllerUtility.getCurrentCalendar().model
+          .editEventById(eventId, parametersToUpdate);
+    } else if (Objects.nonNull(eventId)) {
+      updatedEvents = controllerUtility.getCurrentCalendar().model
+          .editSeriesById(eventId, startTime, parametersToUpdate);
+    } else {
+      updatedEvents = controllerUtility.getCurrentCalendar().model
+          .editEvent(eventName, startTime, endTime, parametersToUpdate);
+    }
   }
 
 
@@ -25,6 +25,8 @@ public class EventData {
 
   private final RecurrenceData recurringDetails;
 
+  private final Long id;
+
   /**
    * Constructor for EventData.
    *
@@ -37,6 +39,7 @@ public class EventData {
    * @param isAllDay         whether the event is all day or not
    * @param isRecurring      whether the event is recurring or not
    * @param recurringDetails the recurring details of the event
+   * @param id               the identifier of the event
    */
   private EventData(
       String subject,
@@ -47,7 +50,8 @@ public class EventData {
       Boolean isPublic,
       Boolean isAllDay,
       Boolean isRecurring,
-      RecurrenceData recurringDetails) {
+      RecurrenceData recurringDetails,
+      Long id) {
     this.subject = subject;
     this.startTime = startTime;
     this.endTime = endTime;
@@ -57,6 +61,7 @@ public class EventData {
     this.isAllDay = isAllDay;
     this.isRecurring = isRecurring;
     this.recurringDetails = recurringDetails;
+    this.id = id;
   }
 
   /**
@@ -82,6 +87,7 @@ public class EventData {
     private Boolean isAllDay;
     private Boolean isRecurring;
     private RecurrenceData recurringDetails;
+    private Long id;
 
     private EventDataBuilder() {
       this.subject = null;
@@ -93,6 +99,7 @@ public class EventData {
       this.isAllDay = null;
       this.isRecurring = null;
       this.recurringDetails = null;
+      this.id = null;
     }
 
     /**
@@ -194,6 +201,17 @@ public class EventData {
       return this;
     }
 
+    /**
+     * Sets id.
+     *
+     * @param id the id
+     * @return the id
+     */
+    public EventDataBuilder setId(Long id) {
+      this.id = id;
+      return this;
+    }
+
     /**
      * Build event data.
      *
@@ -209,7 +227,8 @@ public class EventData {
           this.isPublic,
           this.isAllDay,
           this.isRecurring,
-          this.recurringDetails);
+          this.recurringDetails,
+          this.id);
     }
   }
 
@@ -293,4 +312,13 @@ public class EventData {
   public RecurrenceData getRecurringDetails() {
     return recurringDetails;
   }
-}
\ No newline at end of file
+
+  /**
+   * Gets id.
+   *
+   * @return the id
+   */
+  public Long getId() {
+    return id;
+  }
+}
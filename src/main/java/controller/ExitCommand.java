@@ -4,13 +4,17 @@ import controller.CalendarController.ControllerUtility;
 import exception.CalendarExportException;
 import exception.EventConflictException;
 import exception.ParseCommandException;
+import java.util.Objects;
 import java.util.Scanner;
+import model.IModel;
 
 /**
  * This class represents an implementation of abstract Command class to exit the program.
  */
 public class ExitCommand extends Command {
 
+  private boolean isTransactionRolledBack;
+
   /**
    * This method is not used in this class as ExitCommand does not require any parsing.
    *
@@ -25,7 +29,8 @@ public class ExitCommand extends Command {
 
   /**
    * This method executes the exit command by calling the exitProgram method of the
-   * ControllerUtility object. It does not require any parameters.
+   * ControllerUtility object. It does not require any parameters. A transaction still in progress
+   * is rolled back, so its mutations are not kept without a commit.
    *
    * @param controllerUtility the controller utility object
    * @throws CalendarExportException if there is an error on exporting the calendar.
@@ -34,16 +39,25 @@ public class ExitCommand extends Command {
   @Override
   void executeCommand(ControllerUtility controllerUtility)
       throws CalendarExportException, EventConflictException {
+    IModel transactionModel = controllerUtility.getTransactionModel();
+    if (Objects.nonNull(transactionModel)) {
+      controllerUtility.setTransactionModel(null);
+      transactionModel.rollbackTransaction();
+      isTransactionRolledBack = true;
+    }
     controllerUtility.exitProgram();
   }
 
   /**
-   * This method is not used in this class as ExitCommand does not require any result prompting.
+   * Prompt that the transaction in progress was rolled back, if there was one. The exit itself
+   * does not require any result prompting.
    *
    * @param controllerUtility the controller utility object
    */
   @Override
   void promptResult(ControllerUtility controllerUtility) {
-    return;
+    if (isTransactionRolledBack) {
+      controllerUtility.promptOutput("Transaction in progress was rolled back without a commit");
+    }
   }
 }
@@ -1,21 +1,24 @@
 package controller;
 
 import dto.EventDTO;
-import dto.ImportResult;
 import dto.RecurringDetailsDTO;
-import exception.CalendarExportException;
 import exception.EventConflictException;
+import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileReader;
+import java.io.FilterReader;
 import java.io.IOException;
+import java.io.Reader;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.time.YearMonth;
 import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.function.Consumer;
+import java.util.function.IntConsumer;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import model.CalendarDayOfWeek;
@@ -41,6 +44,10 @@ public class GUIController extends CalendarController implements CalendarFeature
 
   private static final String editAllEvents = "All events with same name";
 
+  private static final int SEARCH_LIMIT = 200;
+
+  private static final int SEARCH_BATCH_SIZE = 20;
+
   private EventData existingEventData;
 
   private EventData newEventData;
@@ -49,15 +56,38 @@ public class GUIController extends CalendarController implements CalendarFeature
 
   private ICalendarImporter importer;
 
+  private YearMonth displayedYearMonth;
+
+  private final ModelAccess modelAccess;
+
+  private final MonthPrefetcher monthPrefetcher;
+
   /**
-   * Constructor for initializing the class attributes for the controller.
+   * Constructor for initializing the class attributes for the controller. The work on the models
+   * and the files runs on a background thread, and its results are shown on the Swing event
+   * dispatch thread.
    *
    * @param modelFactory The model factory for the calendar application
    * @param view         The view for the calendar application
    */
   public GUIController(Supplier<IModel> modelFactory, IGUIView view) {
+    this(modelFactory, view, ModelAccess.swing());
+  }
+
+  /**
+   * Constructor for initializing the class attributes for the controller, with the threads the
+   * work on the models and the files and its results run on.
+   *
+   * @param modelFactory The model factory for the calendar application
+   * @param view         The view for the calendar application
+   * @param modelAccess  The runner of the work on the models and the files
+   */
+  public GUIController(Supplier<IModel> modelFactory, IGUIView view, ModelAccess modelAccess) {
     super(modelFactory, view, ControllerMode.GUI);
     this.view = view;
+    this.modelAccess = modelAccess;
+    this.monthPrefetcher = new MonthPrefetcher(modelAccess, 12,
+        this::convertEventDTOsToEventData);
     importer = new CSVCalendarImporter();
   }
 
@@ -75,35 +105,45 @@ public class GUIController extends CalendarController implements CalendarFeature
     createDefaultCalendar();
     view.setAvailableCalendars(controllerUtility.getAllCalendarNames());
     view.setCurrentCalendarTz(controllerUtility.getCurrentCalendar().zoneId.getId());
-    view.setMonthYearLabel(YearMonth.now());
-    view.setCalendarMonthDates(YearMonth.now());
+    showMonth(YearMonth.now());
     view.setFeatures(new CalendarFeaturesAdaptor(this));
   }
 
   private void createDefaultCalendar() {
-    controllerUtility.addCalendarEntry("Default", CalendarEntry.getBuilder()
+    CalendarEntry calendarEntry = CalendarEntry.getBuilder()
         .setModel(controllerUtility.getModelFactory().get())
         .setZoneId(ZoneId.systemDefault().getId())
-        .build()
-    );
+        .build();
+    calendarEntry.model.setZoneId(calendarEntry.zoneId);
+    controllerUtility.addCalendarEntry("Default", calendarEntry);
     controllerUtility.setCurrentCalendar("Default");
   }
 
   @Override
   public void importCalendarFromFile(String filePath) {
-    Consumer<EventDTO> eventConsumer = eventDto -> {
-      controllerUtility.getCurrentCalendar()
-          .model.createEvent(eventDto, true);
-    };
-
-    try (FileReader reader = new FileReader(filePath)) {
-      ImportResult importResult = importer.importEvents(reader, eventConsumer);
+    IModel model = controllerUtility.getCurrentCalendar().model;
+    Consumer<EventDTO> eventConsumer = eventDto -> model.createEvent(eventDto, true);
+    ICalendarImporter calendarImporter = importer;
+
+    modelAccess.submit(null, progress -> {
+      File file = new File(filePath);
+      try (Reader reader = new ProgressReader(new FileReader(file), file.length(), progress)) {
+        return calendarImporter.importEvents(reader, eventConsumer);
+      }
+    }, importResult -> {
+      view.hideProgress();
       view.displayMessage(importResult.generateSummary());
-    } catch (FileNotFoundException e) {
-      view.displayError("Import Error: File not found - " + filePath);
-    } catch (IOException e) {
-      view.displayError("Import Error: Could not read file - " + e.getMessage());
-    }
+      refreshDaySummaries();
+    }, e -> {
+      view.hideProgress();
+      if (e instanceof FileNotFoundException) {
+        view.displayError("Import Error: File not found - " + filePath);
+      } else if (e instanceof IOException) {
+        view.displayError("Import Error: Could not read file - " + e.getMessage());
+      } else {
+        view.displayError("Import Error: " + e.getMessage());
+      }
+    }, percent -> view.showProgress("Importing events", percent));
   }
 
   @Override
@@ -135,22 +175,21 @@ public class GUIController extends CalendarController implements CalendarFeature
   public void editCalendar(String currentCalendarName, String newCalendarName, String newTimezone) {
     if (newCalendarName != null && !newCalendarName.isEmpty() && newTimezone != null
         && !newTimezone.isEmpty()) {
-      String updatedCalendarName = newCalendarName;
-      if (newCalendarName.equals(currentCalendarName)) {
-        newCalendarName = null;
-      }
       try {
         EditCalendarCommand editCommand = new EditCalendarCommand(
             currentCalendarName,
-            newCalendarName,
+            newCalendarName.equals(currentCalendarName) ? null : newCalendarName,
             newTimezone.equals(controllerUtility.getCurrentCalendar().zoneId.getId())
                 ? null
                 : newTimezone);
-        editCommand.executeCommand(controllerUtility);
-        // refresh the calendar list in the view
-        view.setAvailableCalendars(controllerUtility.getAllCalendarNames());
-        view.setCurrentCalendar(updatedCalendarName);
-        view.setCurrentCalendarTz(controllerUtility.getCurrentCalendar().zoneId.getId());
+        IModel model = editCommand.validate(controllerUtility).model;
+        // the events of the calendar move with its zone without being changed one by one, on the
+        // thread the model is used on, and only the entry is then updated here
+        modelAccess.submit(null, progress -> {
+          editCommand.applyTimeZone(model);
+          return editCommand;
+        }, command -> applyCalendarEdit(command, model, newCalendarName),
+            e -> view.displayError("Error editing calendar: " + e.getMessage()));
       } catch (Exception e) {
         view.displayError("Error editing calendar: " + e.getMessage());
       }
@@ -159,15 +198,33 @@ public class GUIController extends CalendarController implements CalendarFeature
     }
   }
 
+  private void applyCalendarEdit(EditCalendarCommand editCommand, IModel model,
+      String updatedCalendarName) {
+    try {
+      editCommand.updateCalendarEntry(controllerUtility);
+    } catch (Exception e) {
+      view.displayError("Error editing calendar: " + e.getMessage());
+      return;
+    }
+    monthPrefetcher.invalidate(model);
+    // refresh the calendar list in the view
+    view.setAvailableCalendars(controllerUtility.getAllCalendarNames());
+    view.setCurrentCalendar(updatedCalendarName);
+    view.setCurrentCalendarTz(controllerUtility.getCurrentCalendar().zoneId.getId());
+    refreshDaySummaries();
+  }
+
   @Override
   public void exportCalendar(String saveFilePath) {
     ExportCalendarCommand exportCalendarCommand = new ExportCalendarCommand(saveFilePath);
-    try {
-      exportCalendarCommand.executeCommand(controllerUtility);
-      exportCalendarCommand.promptResult(controllerUtility);
-    } catch (CalendarExportException e) {
-      view.displayError(e.getMessage());
-    }
+    // the calendar is resolved here, as it may be switched before the export runs
+    ControllerUtility calendarUtility =
+        controllerUtility.withCurrentCalendar(controllerUtility.getCurrentCalendar());
+    modelAccess.submit(null, progress -> {
+      exportCalendarCommand.executeCommand(calendarUtility);
+      return exportCalendarCommand;
+    }, command -> command.promptResult(controllerUtility),
+        e -> view.displayError(e.getMessage()));
   }
 
   @Override
@@ -177,6 +234,7 @@ public class GUIController extends CalendarController implements CalendarFeature
       command.executeCommand(controllerUtility);
       view.setCurrentCalendar(calendarName);
       view.setCurrentCalendarTz(controllerUtility.getCurrentCalendar().zoneId.getId());
+      refreshDaySummaries();
     } catch (Exception e) {
       view.displayError("Error switching calendar: " + e.getMessage());
     }
@@ -204,24 +262,98 @@ public class GUIController extends CalendarController implements CalendarFeature
 
   @Override
   public void viewDay(LocalDate date) {
-    List<EventDTO> eventsOnDate = controllerUtility.getCurrentCalendar()
-        .model.getEventsOnDate(date);
-    List<EventData> events = convertEventDTOsToEventData(eventsOnDate);
-    view.showDayViewDialog(date, events);
+    IModel model = controllerUtility.getCurrentCalendar().model;
+    MonthPrefetcher.MonthData monthData = monthPrefetcher.get(model, YearMonth.from(date));
+    if (Objects.nonNull(monthData)) {
+      modelAccess.cancel("viewDay");
+      view.showDayViewDialog(date, monthData.getEventsOnDate(date));
+      return;
+    }
+    modelAccess.submit("viewDay",
+        progress -> convertEventDTOsToEventData(model.getEventsOnDate(date)),
+        events -> view.showDayViewDialog(date, events),
+        e -> view.displayError("Error viewing day: " + e.getMessage()));
   }
 
   @Override
   public void nextMonthYear(YearMonth yearMonth) {
-    YearMonth nextMonth = yearMonth.plusMonths(1);
-    view.setMonthYearLabel(nextMonth);
-    view.setCalendarMonthDates(nextMonth);
+    showMonth(yearMonth.plusMonths(1));
   }
 
   @Override
   public void previousMonthYear(YearMonth yearMonth) {
-    YearMonth previousMonth = yearMonth.minusMonths(1);
-    view.setMonthYearLabel(previousMonth);
-    view.setCalendarMonthDates(previousMonth);
+    showMonth(yearMonth.minusMonths(1));
+  }
+
+  @Override
+  public void requestMonthAgenda() {
+    if (Objects.isNull(displayedYearMonth)) {
+      return;
+    }
+    IModel model = controllerUtility.getCurrentCalendar().model;
+    LocalDate startDate = displayedYearMonth.atDay(1);
+    LocalDate endDate = displayedYearMonth.atEndOfMonth();
+    view.showAgendaDialog(startDate, endDate,
+        agendaSource(model, startDate.atStartOfDay(), LocalDateTime.of(endDate, LocalTime.MAX)));
+  }
+
+  @Override
+  public void searchEvents(String query) {
+    view.clearSearchResults();
+    if (Objects.isNull(query) || query.isBlank()) {
+      modelAccess.cancel("search");
+      return;
+    }
+    IModel model = controllerUtility.getCurrentCalendar().model;
+    // every key typed supersedes the search before it, which stops at its next event found
+    modelAccess.<EventDTO>submitStream("search",
+        results -> model.searchEvents(query, SEARCH_LIMIT, results), SEARCH_BATCH_SIZE,
+        events -> view.addSearchResults(convertEventDTOsToEventData(events)),
+        e -> view.displayError("Error searching events: " + e.getMessage()));
+  }
+
+  /**
+   * Create the source of the pages of the events of a range, loading every page on the background
+   * thread as the view asks for it.
+   */
+  private AgendaSource agendaSource(IModel model, LocalDateTime startTime,
+      LocalDateTime endTime) {
+    return (cursorStart, cursorSkip, limit, onPage) -> modelAccess.submit(null,
+        progress -> model.getEventsPage(startTime, endTime, cursorStart, cursorSkip, limit),
+        page -> onPage.accept(new AgendaPageData(convertEventDTOsToEventData(page.getEvents()),
+            page.getNextStart(), page.getNextSkip(), page.hasMore())),
+        e -> view.displayError("Error loading agenda: " + e.getMessage()));
+  }
+
+  private void showMonth(YearMonth yearMonth) {
+    displayedYearMonth = yearMonth;
+    view.setMonthYearLabel(yearMonth);
+    view.setCalendarMonthDates(yearMonth);
+    refreshDaySummaries();
+  }
+
+  /**
+   * Show the summaries of the days of the month displayed, after the month, the current calendar or
+   * its events change, and load the months around it in the background.
+   */
+  private void refreshDaySummaries() {
+    if (Objects.isNull(displayedYearMonth)) {
+      return;
+    }
+    IModel model = controllerUtility.getCurrentCalendar().model;
+    YearMonth yearMonth = displayedYearMonth;
+    MonthPrefetcher.MonthData monthData = monthPrefetcher.get(model, yearMonth);
+    if (Objects.nonNull(monthData)) {
+      // a month still loading must not replace the month shown from the cache
+      modelAccess.cancel("daySummaries");
+      view.setDaySummaries(monthData.getDaySummaries());
+    } else {
+      // flipping through months only shows the summaries of the last month
+      modelAccess.submit("daySummaries", progress -> monthPrefetcher.load(model, yearMonth),
+          loaded -> view.setDaySummaries(loaded.getDaySummaries()),
+          e -> view.displayError("Error loading month: " + e.getMessage()));
+    }
+    monthPrefetcher.prefetchAround(model, yearMonth);
   }
 
   private List<EventData> convertEventDTOsToEventData(List<EventDTO> eventsDTOs) {
@@ -239,6 +371,7 @@ public class GUIController extends CalendarController implements CalendarFeature
               .setEndTime(dto.getEndTime())
               .setIsAllDay(dto.getIsAllDay())
               .setRecurringDetails(createRecurringDTOToRecurringData(dto.getRecurringDetails()))
+              .setId(dto.getId())
               .build()
       );
     }
@@ -289,16 +422,74 @@ public class GUIController extends CalendarController implements CalendarFeature
               ? eventData.getRecurringDetails().getOccurrences()
               : null
       );
-      createEventCommand.executeCommand(controllerUtility);
-      createEventCommand.promptResult(controllerUtility);
       LocalDate date = eventData.getStartTime().toLocalDate();
-      List<EventDTO> eventsOnDate = controllerUtility.getCurrentCalendar()
-          .model.getEventsOnDate(date);
-      List<EventData> events = convertEventDTOsToEventData(eventsOnDate);
-      view.showDayViewDialog(date, events);
-    } catch (EventConflictException e) {
-      view.displayError("The event conflicts with another existing event.");
+      CalendarEntry calendar = controllerUtility.getCurrentCalendar();
+      ControllerUtility calendarUtility = controllerUtility.withCurrentCalendar(calendar);
+      modelAccess.submit(null, progress -> {
+        createEventCommand.executeCommand(calendarUtility);
+        return convertEventDTOsToEventData(calendar.model.getEventsOnDate(date));
+      }, events -> {
+        createEventCommand.promptResult(controllerUtility);
+        refreshDaySummaries();
+        view.showDayViewDialog(date, events);
+      }, this::displayCreateEventError);
     } catch (Exception e) {
+      displayCreateEventError(e);
+    }
+  }
+
+  /**
+   * A reader that reports the share of the characters of a file read so far, in percent.
+   */
+  private static class ProgressReader extends FilterReader {
+
+    private final long length;
+
+    private final IntConsumer progress;
+
+    private long read;
+
+    private int lastPercent;
+
+    ProgressReader(Reader reader, long length, IntConsumer progress) {
+      super(reader);
+      this.length = length;
+      this.progress = progress;
+      this.lastPercent = -1;
+    }
+
+    @Override
+    public int read() throws IOException {
+      int character = super.read();
+      if (character >= 0) {
+        advance(1);
+      }
+      return character;
+    }
+
+    @Override
+    public int read(char[] buffer, int offset, int count) throws IOException {
+      int charactersRead = super.read(buffer, offset, count);
+      if (charactersRead > 0) {
+        advance(charactersRead);
+      }
+      return charactersRead;
+    }
+
+    private void advance(int characters) {
+      read += characters;
+      int percent = length <= 0 ? 100 : (int) Math.min(100, read * 100 / length);
+      if (percent != lastPercent) {
+        lastPercent = percent;
+        progress.accept(percent);
+      }
+    }
+  }
+
+  private void displayCreateEventError(Exception e) {
+    if (e instanceof EventConflictException) {
+      view.displayError("The event conflicts with another existing event.");
+    } else {
       view.displayError("Error creating event: " + e.getMessage());
     }
   }
@@ -328,6 +519,8 @@ public class GUIController extends CalendarController implements CalendarFeature
   private void invokeEditEventCommand(EventData existingEventData, EventData newEventData,
       Boolean isRecurringDetailsChanged, LocalDateTime startDateTime, LocalDateTime endDateTime) {
     EditEventCommand editEventCommand = new EditEventCommand(
+        // the event, or the series of the occurrence, is addressed by its identifier
+        existingEventData.getId(),
         existingEventData.getSubject(),
         startDateTime,
         endDateTime,
@@ -359,17 +552,17 @@ public class GUIController extends CalendarController implements CalendarFeature
             ? newEventData.getRecurringDetails().getOccurrences()
             : null
     );
-    try {
-      editEventCommand.executeCommand(controllerUtility);
+    LocalDate date = newEventData.getStartTime().toLocalDate();
+    CalendarEntry calendar = controllerUtility.getCurrentCalendar();
+    ControllerUtility calendarUtility = controllerUtility.withCurrentCalendar(calendar);
+    modelAccess.submit(null, progress -> {
+      editEventCommand.executeCommand(calendarUtility);
+      return convertEventDTOsToEventData(calendar.model.getEventsOnDate(date));
+    }, events -> {
       editEventCommand.promptResult(controllerUtility);
-      LocalDate date = newEventData.getStartTime().toLocalDate();
-      List<EventDTO> eventsOnDate = controllerUtility.getCurrentCalendar()
-          .model.getEventsOnDate(date);
-      List<EventData> events = convertEventDTOsToEventData(eventsOnDate);
+      refreshDaySummaries();
       view.showDayViewDialog(date, events);
-    } catch (Exception exception) {
-      view.displayError("Error creating event: " + exception.getMessage());
-    }
+    }, exception -> view.displayError("Error creating event: " + exception.getMessage()));
   }
 
   @Override
@@ -460,8 +653,6 @@ public class GUIController extends CalendarController implements CalendarFeature
   public void requestThisMonthView() {
     ZoneId currentZone = controllerUtility.getCurrentCalendar().zoneId;
     LocalDate now = LocalDate.now(currentZone);
-    YearMonth yearMonth = YearMonth.from(now);
-    view.setMonthYearLabel(yearMonth);
-    view.setCalendarMonthDates(yearMonth);
+    showMonth(YearMonth.from(now));
   }
 }
@@ -0,0 +1,247 @@
+package controller;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import javax.swing.SwingUtilities;
+
+/**
+ * This class runs the work of the GUI on the models and the files away from the thread of the
+ * view, and hands the results back to the thread of the view.
+ *
+ * <p>The work runs on a single background thread, so the models are never used by two tasks at
+ * once, and the results, errors and progress are passed to the foreground executor. Tasks
+ * submitted with the same key supersede each other: a superseded task that has not started is
+ * skipped, and the result of a superseded task that already ran is dropped, so only the latest of
+ * rapid requests, such as flipping through months, reaches the view.
+ */
+public class ModelAccess {
+
+  /**
+   * A unit of work run on the background thread, which may report its progress.
+   *
+   * @param <T> the type of the result of the work
+   */
+  @FunctionalInterface
+  public interface Task<T> {
+
+    /**
+     * Run the work.
+     *
+     * @param progress the consumer of the progress of the work, in percent
+     * @return the result of the work
+     * @throws Exception if the work fails
+     */
+    T run(IntConsumer progress) throws Exception;
+  }
+
+  /**
+   * A unit of work run on the background thread that passes its results one at a time as it finds
+   * them.
+   *
+   * @param <T> the type of the results of the work
+   */
+  @FunctionalInterface
+  public interface StreamTask<T> {
+
+    /**
+     * Run the work.
+     *
+     * @param results the consumer of the results of the work
+     * @throws Exception if the work fails
+     */
+    void run(Consumer<T> results) throws Exception;
+  }
+
+  private final Executor background;
+
+  private final Executor foreground;
+
+  private final Map<String, Long> latestTasks;
+
+  private long lastTask;
+
+  /**
+   * Constructor for ModelAccess.
+   *
+   * @param background the executor the work runs on
+   * @param foreground the executor the results, errors and progress are passed on
+   */
+  public ModelAccess(Executor background, Executor foreground) {
+    this.background = Objects.requireNonNull(background, "background cannot be null");
+    this.foreground = Objects.requireNonNull(foreground, "foreground cannot be null");
+    this.latestTasks = new ConcurrentHashMap<>();
+    this.lastTask = 0;
+  }
+
+  /**
+   * Create a ModelAccess running the work on a single background thread and passing the results to
+   * the Swing event dispatch thread.
+   *
+   * @return the ModelAccess for a Swing view
+   */
+  public static ModelAccess swing() {
+    ExecutorService background = Executors.newSingleThreadExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "model-access");
+      thread.setDaemon(true);
+      return thread;
+    });
+    return new ModelAccess(background, SwingUtilities::invokeLater);
+  }
+
+  /**
+   * Create a ModelAccess running the work and passing the results on the calling thread, such as
+   * for tests.
+   *
+   * @return the ModelAccess running everything in place
+   */
+  public static ModelAccess direct() {
+    return new ModelAccess(Runnable::run, Runnable::run);
+  }
+
+  /**
+   * Submit work without progress.
+   *
+   * @param key      the key of the tasks superseding each other, null if the task is never
+   *                 superseded
+   * @param task     the work to run on the background thread
+   * @param onResult the consumer of the result on the foreground thread
+   * @param onError  the consumer of the error on the foreground thread
+   * @param <T>      the type of the result of the work
+   */
+  public <T> void submit(String key, Task<T> task, Consumer<T> onResult,
+      Consumer<Exception> onError) {
+    submit(key, task, onResult, onError, null);
+  }
+
+  /**
+   * Submit work that reports its progress.
+   *
+   * @param key        the key of the tasks superseding each other, null if the task is never
+   *                   superseded
+   * @param task       the work to run on the background thread
+   * @param onResult   the consumer of the result on the foreground thread
+   * @param onError    the consumer of the error on the foreground thread
+   * @param onProgress the consumer of the progress on the foreground thread, null to ignore it
+   * @param <T>        the type of the result of the work
+   */
+  public <T> void submit(String key, Task<T> task, Consumer<T> onResult,
+      Consumer<Exception> onError, IntConsumer onProgress) {
+    long taskNumber;
+    synchronized (this) {
+      taskNumber = ++lastTask;
+      if (Objects.nonNull(key)) {
+        latestTasks.put(key, taskNumber);
+      }
+    }
+    background.execute(() -> {
+      if (isSuperseded(key, taskNumber)) {
+        return;
+      }
+      IntConsumer progress = Objects.isNull(onProgress) ? percent -> { }
+          : percent -> foreground.execute(() -> {
+            if (!isSuperseded(key, taskNumber)) {
+              onProgress.accept(percent);
+            }
+          });
+      T result;
+      try {
+        result = task.run(progress);
+      } catch (Exception e) {
+        foreground.execute(() -> {
+          if (!isSuperseded(key, taskNumber)) {
+            onError.accept(e);
+          }
+        });
+        return;
+      }
+      foreground.execute(() -> {
+        if (!isSuperseded(key, taskNumber)) {
+          onResult.accept(result);
+        }
+      });
+    });
+  }
+
+  /**
+   * Submit work whose results are passed to the foreground in batches while it runs, such as a
+   * search showing the first events found before it ends. A superseded task is stopped at the next
+   * result it passes, and its batches not yet passed are dropped.
+   *
+   * @param key       the key of the tasks superseding each other, null if the task is never
+   *                  superseded
+   * @param task      the work to run on the background thread
+   * @param batchSize the number of results passed together, the last batch may be smaller
+   * @param onResults the consumer of the batches of results on the foreground thread
+   * @param onError   the consumer of the error on the foreground thread
+   * @param <T>       the type of the results of the work
+   */
+  public <T> void submitStream(String key, StreamTask<T> task, int batchSize,
+      Consumer<List<T>> onResults, Consumer<Exception> onError) {
+    long taskNumber;
+    synchronized (this) {
+      taskNumber = ++lastTask;
+      if (Objects.nonNull(key)) {
+        latestTasks.put(key, taskNumber);
+      }
+    }
+    background.execute(() -> {
+      if (isSuperseded(key, taskNumber)) {
+        return;
+      }
+      List<T> batch = new ArrayList<>(batchSize);
+      Consumer<List<T>> passBatch = results -> foreground.execute(() -> {
+        if (!isSuperseded(key, taskNumber)) {
+          onResults.accept(results);
+        }
+      });
+      try {
+        task.run(result -> {
+          if (isSuperseded(key, taskNumber)) {
+            throw new CancellationException();
+          }
+          batch.add(result);
+          if (batch.size() >= batchSize) {
+            passBatch.accept(new ArrayList<>(batch));
+            batch.clear();
+          }
+        });
+      } catch (CancellationException e) {
+        return;
+      } catch (Exception e) {
+        foreground.execute(() -> {
+          if (!isSuperseded(key, taskNumber)) {
+            onError.accept(e);
+          }
+        });
+        return;
+      }
+      if (!batch.isEmpty()) {
+        passBatch.accept(batch);
+      }
+    });
+  }
+
+  /**
+   * Supersede the tasks submitted with the key, such as when the view was updated without them.
+   *
+   * @param key the key of the tasks to supersede
+   */
+  public void cancel(String key) {
+    synchronized (this) {
+      latestTasks.put(key, ++lastTask);
+    }
+  }
+
+  private boolean isSuperseded(String key, long taskNumber) {
+    return Objects.nonNull(key) && latestTasks.get(key) != taskNumber;
+  }
+}
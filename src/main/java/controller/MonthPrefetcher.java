@@ -0,0 +1,203 @@
+package controller;
+
+import dto.EventDTO;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import model.IModel;
+import model.ModelChange;
+
+/**
+ * This class keeps the day summaries and the events of the days of recently shown months, and
+ * loads the months before and after the month shown in the background, so that browsing from
+ * month to month and opening a day do not wait for the model.
+ *
+ * <p>The months are kept in a bounded least recently used cache per model. The cache listens to
+ * the changes of every model it holds months of, and drops the months the changed events fall
+ * in. The months are loaded on the background thread of the {@link ModelAccess}, but a model may
+ * still change while one of its months loads, such as when its zone is set elsewhere. Every drop
+ * counts a new generation of the months of the model, and a month loaded while the generation
+ * changed is returned without being kept.
+ */
+class MonthPrefetcher {
+
+  /**
+   * The day summaries and the events of the days of a month.
+   */
+  static class MonthData {
+
+    private final List<DaySummaryData> daySummaries;
+
+    private final Map<LocalDate, List<EventData>> eventsByDate;
+
+    MonthData(List<DaySummaryData> daySummaries, Map<LocalDate, List<EventData>> eventsByDate) {
+      this.daySummaries = daySummaries;
+      this.eventsByDate = eventsByDate;
+    }
+
+    List<DaySummaryData> getDaySummaries() {
+      return daySummaries;
+    }
+
+    List<EventData> getEventsOnDate(LocalDate date) {
+      return new ArrayList<>(eventsByDate.get(date));
+    }
+  }
+
+  private final ModelAccess modelAccess;
+
+  private final Function<List<EventDTO>, List<EventData>> converter;
+
+  private final Map<IModel, Map<YearMonth, MonthData>> months;
+
+  private final Set<IModel> listenedModels;
+
+  private final Map<IModel, Long> generations;
+
+  private final int capacity;
+
+  /**
+   * Constructor for MonthPrefetcher.
+   *
+   * @param modelAccess the runner of the loads on the background thread
+   * @param capacity    the maximum number of months kept for every model
+   * @param converter   the converter of the events of the model to the events of the view
+   */
+  MonthPrefetcher(ModelAccess modelAccess, int capacity,
+      Function<List<EventDTO>, List<EventData>> converter) {
+    this.modelAccess = modelAccess;
+    this.capacity = capacity;
+    this.converter = converter;
+    this.months = new IdentityHashMap<>();
+    this.listenedModels = Collections.newSetFromMap(new IdentityHashMap<>());
+    this.generations = new IdentityHashMap<>();
+  }
+
+  /**
+   * Get a month if it is kept.
+   *
+   * @param model     the model of the month
+   * @param yearMonth the month
+   * @return the data of the month, or null if it is not kept
+   */
+  synchronized MonthData get(IModel model, YearMonth yearMonth) {
+    Map<YearMonth, MonthData> modelMonths = months.get(model);
+    return Objects.isNull(modelMonths) ? null : modelMonths.get(yearMonth);
+  }
+
+  /**
+   * Get a month, loading it from the model if it is not kept. It is to be called on the background
+   * thread of the {@link ModelAccess}.
+   *
+   * @param model     the model of the month
+   * @param yearMonth the month
+   * @return the data of the month
+   */
+  MonthData load(IModel model, YearMonth yearMonth) {
+    long generation;
+    synchronized (this) {
+      MonthData monthData = get(model, yearMonth);
+      if (Objects.nonNull(monthData)) {
+        return monthData;
+      }
+      generation = generations.getOrDefault(model, 0L);
+    }
+    listenTo(model);
+    List<DaySummaryData> daySummaries = model.getDaySummaries(yearMonth).stream()
+        .map(summary -> new DaySummaryData(summary.getDate(), summary.getEventCount(),
+            summary.getBusyMinutes()))
+        .collect(Collectors.toList());
+    Map<LocalDate, List<EventData>> eventsByDate = new HashMap<>();
+    for (int day = 1; day <= yearMonth.lengthOfMonth(); day++) {
+      LocalDate date = yearMonth.atDay(day);
+      eventsByDate.put(date, converter.apply(model.getEventsOnDate(date)));
+    }
+    MonthData monthData = new MonthData(daySummaries, eventsByDate);
+    synchronized (this) {
+      // a month loaded while its model changed may already be stale
+      if (generation == generations.getOrDefault(model, 0L)) {
+        months.computeIfAbsent(model, key -> newMonthCache()).put(yearMonth, monthData);
+      }
+    }
+    return monthData;
+  }
+
+  /**
+   * Load the months before and after the month in the background, if they are not kept. A newer
+   * prefetch supersedes the prefetches that have not started yet.
+   *
+   * @param model     the model of the month
+   * @param yearMonth the month shown
+   */
+  void prefetchAround(IModel model, YearMonth yearMonth) {
+    prefetch("prefetchPrevious", model, yearMonth.minusMonths(1));
+    prefetch("prefetchNext", model, yearMonth.plusMonths(1));
+  }
+
+  /**
+   * Drop all the months of a model, such as after its zone changed.
+   *
+   * @param model the model to drop the months of
+   */
+  synchronized void invalidate(IModel model) {
+    generations.merge(model, 1L, Long::sum);
+    months.remove(model);
+  }
+
+  private void prefetch(String key, IModel model, YearMonth yearMonth) {
+    if (Objects.nonNull(get(model, yearMonth))) {
+      return;
+    }
+    modelAccess.submit(key, progress -> load(model, yearMonth), monthData -> { },
+        e -> { });
+  }
+
+  private void listenTo(IModel model) {
+    synchronized (this) {
+      if (!listenedModels.add(model)) {
+        return;
+      }
+    }
+    model.addChangeListener(changes -> invalidate(model, changes));
+  }
+
+  private synchronized void invalidate(IModel model, List<ModelChange> changes) {
+    generations.merge(model, 1L, Long::sum);
+    Map<YearMonth, MonthData> modelMonths = months.get(model);
+    if (Objects.isNull(modelMonths)) {
+      return;
+    }
+    for (ModelChange change : changes) {
+      EventDTO event = change.getEvent();
+      if (Objects.isNull(event)) {
+        continue;
+      }
+      // the events ending at midnight are also shown on the date they end
+      YearMonth last = YearMonth.from(Objects.isNull(event.getEndTime())
+          ? event.getStartTime() : event.getEndTime());
+      for (YearMonth month = YearMonth.from(event.getStartTime()); !month.isAfter(last);
+          month = month.plusMonths(1)) {
+        modelMonths.remove(month);
+      }
+    }
+  }
+
+  private Map<YearMonth, MonthData> newMonthCache() {
+    return new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<YearMonth, MonthData> eldest) {
+        return size() > capacity;
+      }
+    };
+  }
+}
@@ -9,7 +9,6 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
-import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Scanner;
@@ -22,23 +21,28 @@ import java.util.Scanner;
  */
 class PrintEventsCommand extends Command {
 
+  private static final DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+  private static final DateTimeFormatter dateTimeFormatter =
+      DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
   private LocalDate onDate;
 
   private LocalDateTime startTime;
 
   private LocalDateTime endTime;
 
-  private List<EventDTO> eventsOnDate;
+  private final StringBuilder eventOutput;
 
   /**
    * This constructor for PrintEventsCommand initializes the onDate, startTime, endTime, and
-   * eventsOnDate.
+   * the event output.
    */
   PrintEventsCommand() {
     onDate = null;
     startTime = null;
     endTime = null;
-    eventsOnDate = null;
+    eventOutput = new StringBuilder();
   }
 
   /**
@@ -120,7 +124,8 @@ class PrintEventsCommand extends Command {
   /**
    * This method makes call to model to get the events on a specific date or in a specific interval.
    * It uses the controller utility to get the events. If the onDate is not null, it gets the events
-   * on that date, otherwise it gets the events in the specified interval.
+   * on that date, otherwise it gets the events in the specified interval. The events are formatted
+   * as the model passes them, without collecting them in a list.
    *
    * @param controllerUtility the controller utility object
    * @throws CalendarExportException if the calendar export fails
@@ -129,46 +134,53 @@ class PrintEventsCommand extends Command {
   @Override
   void executeCommand(ControllerUtility controllerUtility)
       throws CalendarExportException, EventConflictException {
+    eventOutput.setLength(0);
     if (!Objects.isNull(onDate)) {
-      eventsOnDate = controllerUtility.getCurrentCalendar().model
-          .getEventsOnDate(
-              onDate.atStartOfDay()
-                  .toLocalDate());
+      controllerUtility.getCurrentCalendar().model
+          .getEventsOnDate(onDate, this::appendEvent);
     } else {
-      eventsOnDate = controllerUtility.getCurrentCalendar().model
-          .getEventsInRange(startTime, endTime);
+      controllerUtility.getCurrentCalendar().model
+          .getEventsInRange(startTime, endTime, this::appendEvent);
     }
   }
 
   /**
-   * Prompt the result of the print events command. It formats the output to show the events in a
-   * specific date or in a specific interval.
+   * Format an event as a line of the output. It shows the date, the time range or all day, the
+   * recurrence, the subject and the location of the event.
+   *
+   * @param event the event to be formatted
+   */
+  private void appendEvent(EventDTO event) {
+    if (eventOutput.length() > 0) {
+      eventOutput.append('\n');
+    }
+    eventOutput.append('[')
+        .append(event.getStartTime().format(dateFormatter))
+        .append("] ");
+    if (event.getIsAllDay()) {
+      eventOutput.append(String.format("%-38s", "[ALL DAY EVENT]"));
+    } else {
+      eventOutput.append('[')
+          .append(event.getStartTime().format(dateTimeFormatter))
+          .append(" - ")
+          .append(event.getEndTime().format(dateTimeFormatter))
+          .append("] ");
+    }
+    eventOutput.append(event.getIsRecurring() ? "[Recurring]     " : "[Not Recurring] ")
+        .append(event.getSubject())
+        .append(" || ")
+        .append(Objects.nonNull(event.getLocation()) ? event.getLocation() : "");
+  }
+
+  /**
+   * Prompt the result of the print events command. It shows the events in a specific date or in a
+   * specific interval, one event per line.
    *
    * @param controllerUtility the controller utility object
    */
   @Override
   void promptResult(ControllerUtility controllerUtility) {
-    StringBuilder eventOutput = new StringBuilder();
-    DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-    DateTimeFormatter dateTimeFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
-    for (EventDTO event : eventsOnDate) {
-      eventOutput.setLength(0);
-      eventOutput.append('[')
-          .append(event.getStartTime().format(dateFormatter))
-          .append("] ");
-      if (event.getIsAllDay()) {
-        eventOutput.append(String.format("%-38s", "[ALL DAY EVENT]"));
-      } else {
-        eventOutput.append('[')
-            .append(event.getStartTime().format(dateTimeFormatter))
-            .append(" - ")
-            .append(event.getEndTime().format(dateTimeFormatter))
-            .append("] ");
-      }
-      eventOutput.append(event.getIsRecurring() ? "[Recurring]     " : "[Not Recurring] ")
-          .append(event.getSubject())
-          .append(" || ")
-          .append(Objects.nonNull(event.getLocation()) ? event.getLocation() : "");
+    if (eventOutput.length() > 0) {
       controllerUtility.promptOutput(eventOutput.toString());
     }
   }
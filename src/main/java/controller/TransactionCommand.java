@@ -0,0 +1,103 @@
+package controller;
+
+import controller.CalendarController.ControllerUtility;
+import exception.CalendarExportException;
+import exception.EventConflictException;
+import exception.ParseCommandException;
+import java.util.Objects;
+import java.util.Scanner;
+import model.IModel;
+
+/**
+ * This class represents an implementation of the abstract Command class to begin, commit or roll
+ * back a transaction on the model of the current calendar. The commands between `begin` and
+ * `commit` are applied as they are executed, and are undone together on `rollback` or when the
+ * edited events have a conflict on `commit`.
+ *
+ * <p>The transaction belongs to the calendar that was current on `begin`, which the controller
+ * keeps until the transaction ends, so `commit` and `rollback` end it on that calendar.
+ */
+class TransactionCommand extends Command {
+
+  private final String keyword;
+
+  /**
+   * This constructor for TransactionCommand initializes the keyword of the command.
+   *
+   * @param keyword the keyword of the command: `begin`, `commit` or `rollback`
+   */
+  TransactionCommand(String keyword) {
+    this.keyword = keyword;
+  }
+
+  /**
+   * This method checks that nothing follows the keyword, as the transaction commands do not take
+   * any parameters.
+   *
+   * @param commandScanner a Scanner object that reads the command (File or console input)
+   * @return this command object
+   * @throws ParseCommandException if the command provided is invalid
+   */
+  @Override
+  Command parseCommand(Scanner commandScanner) throws ParseCommandException {
+    if (commandScanner.hasNext()) {
+      throw new ParseCommandException("Invalid command format: " + keyword);
+    }
+    return this;
+  }
+
+  /**
+   * This method begins a transaction on the model of the current calendar, or commits or rolls
+   * back the transaction in progress on the model it was begun on.
+   *
+   * @param controllerUtility the controller utility object
+   * @throws CalendarExportException if the calendar export fails
+   * @throws EventConflictException  if an edited event has a conflict on commit
+   * @throws IllegalStateException   if a transaction is begun while one is in progress, or ended
+   *                                 while none is
+   */
+  @Override
+  void executeCommand(ControllerUtility controllerUtility)
+      throws CalendarExportException, EventConflictException, IllegalStateException {
+    IModel transactionModel = controllerUtility.getTransactionModel();
+    if (keyword.equals("begin")) {
+      if (Objects.nonNull(transactionModel)) {
+        throw new IllegalStateException("A transaction is already in progress");
+      }
+      IModel model = controllerUtility.getCurrentCalendar().model;
+      model.beginTransaction();
+      controllerUtility.setTransactionModel(model);
+      return;
+    }
+    if (Objects.isNull(transactionModel)) {
+      throw new IllegalStateException("No transaction is in progress");
+    }
+    // the transaction ends even when it is rolled back by a conflict on commit
+    controllerUtility.setTransactionModel(null);
+    if (keyword.equals("commit")) {
+      transactionModel.commitTransaction();
+    } else {
+      transactionModel.rollbackTransaction();
+    }
+  }
+
+  /**
+   * Prompt the outcome of the transaction command to the user.
+   *
+   * @param controllerUtility the controller utility object
+   */
+  @Override
+  void promptResult(ControllerUtility controllerUtility) {
+    switch (keyword) {
+      case "begin":
+        controllerUtility.promptOutput("Transaction started");
+        break;
+      case "commit":
+        controllerUtility.promptOutput("Transaction committed");
+        break;
+      default:
+        controllerUtility.promptOutput("Transaction rolled back");
+        break;
+    }
+  }
+}
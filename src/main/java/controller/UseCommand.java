@@ -90,13 +90,21 @@ public class UseCommand extends Command {
    * @param controllerUtility the controller utility object
    * @throws CalendarExportException if there is an error on exporting the calendar
    * @throws EventConflictException  if there is a conflict with the event
+   * @throws IllegalStateException   if a transaction is in progress on another calendar
    */
   @Override
   void executeCommand(ControllerUtility controllerUtility)
       throws CalendarExportException, EventConflictException {
-    if (Objects.isNull(controllerUtility.getCalendarEntry(calendarName))) {
+    CalendarEntry calendarEntry = controllerUtility.getCalendarEntry(calendarName);
+    if (Objects.isNull(calendarEntry)) {
       throw new CalendarNotPresentException("Calendar with the provided name doesn't exists");
     }
+    // the commands of a transaction must all apply to the calendar it was begun on
+    if (Objects.nonNull(controllerUtility.getTransactionModel())
+        && controllerUtility.getTransactionModel() != calendarEntry.model) {
+      throw new IllegalStateException(
+          "Cannot switch calendars during a transaction, commit or rollback first");
+    }
     controllerUtility.setCurrentCalendar(calendarName);
   }
 
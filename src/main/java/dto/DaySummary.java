@@ -0,0 +1,70 @@
+package dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * The Class is used by the {@link model.IModel} to summarize the events of a day, such as for
+ * shading the days of a month by how busy they are.
+ */
+public class DaySummary {
+
+  private final LocalDate date;
+  private final int eventCount;
+  private final long busyMinutes;
+  private final LocalDateTime firstStart;
+
+  /**
+   * Instantiates a new Day summary.
+   *
+   * @param date        the date summarized
+   * @param eventCount  the number of events on the date
+   * @param busyMinutes the minutes of the events on the date, summed
+   * @param firstStart  the earliest start of the events on the date, null if there are none
+   */
+  public DaySummary(LocalDate date, int eventCount, long busyMinutes, LocalDateTime firstStart) {
+    this.date = date;
+    this.eventCount = eventCount;
+    this.busyMinutes = busyMinutes;
+    this.firstStart = firstStart;
+  }
+
+  /**
+   * Gets the date summarized.
+   *
+   * @return the date
+   */
+  public LocalDate getDate() {
+    return date;
+  }
+
+  /**
+   * Gets the number of events on the date, including the events continuing from or into other
+   * dates.
+   *
+   * @return the event count
+   */
+  public int getEventCount() {
+    return eventCount;
+  }
+
+  /**
+   * Gets the minutes of the events on the date, summed over the events. The part of an event on
+   * other dates is not counted, and overlapping events are counted once each.
+   *
+   * @return the busy minutes
+   */
+  public long getBusyMinutes() {
+    return busyMinutes;
+  }
+
+  /**
+   * Gets the earliest start of the events on the date. An event continuing from the previous date
+   * starts at the start of the date.
+   *
+   * @return the first start, or null if there are no events on the date
+   */
+  public LocalDateTime getFirstStart() {
+    return firstStart;
+  }
+}
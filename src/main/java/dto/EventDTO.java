@@ -17,6 +17,8 @@ public class EventDTO {
   private final Boolean isAllDay;
   private final Boolean isRecurring;
   private final RecurringDetailsDTO recurringDetails;
+  private final Long seriesId;
+  private final Long id;
 
   /**
    * Protected constructor for EventDTO. The object is created using the EventDTOBuilder class.
@@ -30,6 +32,8 @@ public class EventDTO {
    * @param isAllDay         Whether the event is all day or not
    * @param isRecurring      Whether the event is recurring or not
    * @param recurringDetails The recurring details of the event
+   * @param seriesId         The identifier of the recurrence series the event belongs to
+   * @param id               The identifier of the event
    */
   private EventDTO(
       String subject,
@@ -40,7 +44,9 @@ public class EventDTO {
       Boolean isPublic,
       Boolean isAllDay,
       Boolean isRecurring,
-      RecurringDetailsDTO recurringDetails) {
+      RecurringDetailsDTO recurringDetails,
+      Long seriesId,
+      Long id) {
     this.subject = subject;
     this.startTime = startTime;
     this.endTime = endTime;
@@ -50,6 +56,8 @@ public class EventDTO {
     this.isAllDay = isAllDay;
     this.isRecurring = isRecurring;
     this.recurringDetails = recurringDetails;
+    this.seriesId = seriesId;
+    this.id = id;
   }
 
   public static EventDTOBuilder getBuilder() {
@@ -70,6 +78,8 @@ public class EventDTO {
     private Boolean isAllDay;
     private Boolean isRecurring;
     private RecurringDetailsDTO recurringDetails;
+    private Long seriesId;
+    private Long id;
 
     private EventDTOBuilder() {
       this.subject = null;
@@ -81,6 +91,8 @@ public class EventDTO {
       this.isAllDay = null;
       this.isRecurring = null;
       this.recurringDetails = null;
+      this.seriesId = null;
+      this.id = null;
     }
 
     /**
@@ -182,6 +194,28 @@ public class EventDTO {
       return this;
     }
 
+    /**
+     * Sets the identifier of the recurrence series the event belongs to.
+     *
+     * @param seriesId The identifier of the recurrence series
+     * @return EventDTOBuilder object
+     */
+    public EventDTOBuilder setSeriesId(Long seriesId) {
+      this.seriesId = seriesId;
+      return this;
+    }
+
+    /**
+     * Sets the identifier of the event.
+     *
+     * @param id The identifier of the event
+     * @return EventDTOBuilder object
+     */
+    public EventDTOBuilder setId(Long id) {
+      this.id = id;
+      return this;
+    }
+
     /**
      * Builds an EventDTO object with attributes from EventDTOBuilder class.
      *
@@ -197,7 +231,9 @@ public class EventDTO {
           this.isPublic,
           this.isAllDay,
           this.isRecurring,
-          this.recurringDetails);
+          this.recurringDetails,
+          this.seriesId,
+          this.id);
     }
   }
 
@@ -282,6 +318,32 @@ public class EventDTO {
     return this.recurringDetails;
   }
 
+  /**
+   * Gets the identifier of the recurrence series the event belongs to. All the occurrences
+   * generated from one recurring event share the identifier, which is null for an event that is
+   * not part of a series.
+   *
+   * <p>The identifier is assigned by the model and is not part of the equality of events.
+   *
+   * @return The identifier of the recurrence series of the event
+   */
+  public Long getSeriesId() {
+    return this.seriesId;
+  }
+
+  /**
+   * Gets the identifier of the event. The identifier is assigned when the event is stored in a
+   * calendar and does not change while the event is stored, so it addresses the event without its
+   * name, start time and end time. It is null for an event that was not stored.
+   *
+   * <p>The identifier is not part of the equality of events.
+   *
+   * @return The identifier of the event
+   */
+  public Long getId() {
+    return this.id;
+  }
+
   @Override
   public boolean equals(Object o) {
     if (!(o instanceof EventDTO)) {
@@ -0,0 +1,72 @@
+package dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * The Class is used by the {@link model.IModel} to return the events of a range one page at a
+ * time, such as for scrolling through a long agenda.
+ *
+ * <p>A page ends at a time cursor: the start time of its last event and the number of events
+ * starting at that time that were returned up to and including this page. Passing the cursor to
+ * the next query continues right after the last event, without counting the events before it.
+ */
+public class EventPage {
+
+  private final List<EventDTO> events;
+  private final LocalDateTime nextStart;
+  private final int nextSkip;
+  private final boolean hasMore;
+
+  /**
+   * Instantiates a new Event page.
+   *
+   * @param events    the events of the page, in the order of their start time
+   * @param nextStart the start time of the last event of the page, null if the page is empty
+   * @param nextSkip  the number of events starting at the next start returned so far
+   * @param hasMore   whether there are events after this page
+   */
+  public EventPage(List<EventDTO> events, LocalDateTime nextStart, int nextSkip,
+      boolean hasMore) {
+    this.events = events;
+    this.nextStart = nextStart;
+    this.nextSkip = nextSkip;
+    this.hasMore = hasMore;
+  }
+
+  /**
+   * Gets the events of the page.
+   *
+   * @return the events, in the order of their start time
+   */
+  public List<EventDTO> getEvents() {
+    return events;
+  }
+
+  /**
+   * Gets the start time of the cursor to query the next page with.
+   *
+   * @return the start time of the last event of the page, or null if the page is empty
+   */
+  public LocalDateTime getNextStart() {
+    return nextStart;
+  }
+
+  /**
+   * Gets the number of events starting at the start time of the cursor that were returned so far.
+   *
+   * @return the number of events to skip at the start time of the cursor
+   */
+  public int getNextSkip() {
+    return nextSkip;
+  }
+
+  /**
+   * Gets whether there are events after this page.
+   *
+   * @return true if the next page is not empty
+   */
+  public boolean hasMore() {
+    return hasMore;
+  }
+}
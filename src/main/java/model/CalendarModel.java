@@ -1,18 +1,39 @@
 package model;
 
+import dto.DaySummary;
 import dto.EventDTO;
 import dto.EventDTO.EventDTOBuilder;
+import dto.EventPage;
 import dto.RecurringDetailsDTO;
 import exception.CalendarExportException;
 import exception.EventConflictException;
+import exception.InvalidDateTimeRangeException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.zone.ZoneRules;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import repository.CachingEventRepository;
+import repository.DayAggregateIndex;
+import repository.EventSearchIndex;
 import repository.IEventRepository;
 import repository.InMemoryEventRepository;
+import repository.ZonedEventRepository;
 import service.ICalendarExporter;
 
 /**
@@ -23,6 +44,12 @@ import service.ICalendarExporter;
  *
  * <p>It also provides methods to export the calendar to a CSV file and check if the user is busy
  * at a given time.
+ *
+ * <p>Mutations are applied to the repository as they are made and recorded in an {@link UndoLog}
+ * while a transaction is in progress. Every mutation runs in a transaction of its own when none
+ * was begun. The conflicts of edited events are checked once against the final state of the
+ * repository when the transaction commits, and a failed transaction is rolled back from the undo
+ * log.
  */
 public class CalendarModel implements IModel {
 
@@ -30,13 +57,46 @@ public class CalendarModel implements IModel {
   ConflictDetector conflictDetector;
   EventService eventService;
 
+  long lastSeriesId;
+
+  private static final int QUERY_CACHE_CAPACITY = 256;
+
+  private final ZonedEventRepository zonedEventRepository;
+
+  private final CachingEventRepository cachingEventRepository;
+
+  private UndoLog undoLog;
+
+  private List<Set<EventDTO>> pendingConflictChecks;
+
+  private final List<ModelChangeListener> changeListeners;
+
+  private final DayAggregateIndex dayAggregateIndex;
+
+  private boolean dayAggregatesCurrent;
+
+  private final EventSearchIndex searchIndex;
+
+  private boolean searchIndexCurrent;
+
   /**
-   * Constructs a CalendarModel object with an InMemoryEventRepository.
+   * Constructs a CalendarModel object with an InMemoryEventRepository, keeping the events at UTC
+   * behind a ZonedEventRepository that presents them in the zone of the calendar. The results of
+   * the date and range queries are cached by a CachingEventRepository in front of it.
    */
   public CalendarModel() {
-    this.eventRepository = new InMemoryEventRepository();
+    this.zonedEventRepository = new ZonedEventRepository(new InMemoryEventRepository());
+    this.cachingEventRepository =
+        new CachingEventRepository(zonedEventRepository, QUERY_CACHE_CAPACITY);
+    this.eventRepository = cachingEventRepository;
     this.conflictDetector = new ConflictDetector(eventRepository);
     this.eventService = new EventService(eventRepository);
+    this.lastSeriesId = 0;
+    this.changeListeners = new CopyOnWriteArrayList<>();
+    this.dayAggregateIndex = new DayAggregateIndex();
+    this.dayAggregatesCurrent = true;
+    this.searchIndex = new EventSearchIndex();
+    this.searchIndexCurrent = true;
   }
 
   /**
@@ -55,12 +115,19 @@ public class CalendarModel implements IModel {
       throw new IllegalArgumentException("EventDTO cannot be null");
     }
     EventValidator.validateEvent(eventDTO);
-    eventDTO = EventValidator.createValidEvent(eventDTO);
+    EventDTO validEvent = EventValidator.createValidEvent(eventDTO);
+    runAtomically(() -> {
+      createValidEvent(validEvent, autoDecline);
+      return null;
+    });
+  }
 
+  private void createValidEvent(EventDTO eventDTO, boolean autoDecline) {
     if (eventDTO.getIsRecurring()) {
       // recurring all day or spanned event
       // generate recurrence
-      List<EventDTO> eventDTOs = RecurrenceService.generateRecurrence(eventDTO);
+      List<EventDTO> eventDTOs = RecurrenceService.generateRecurrence(eventDTO, nextSeriesId());
+      eventDTOs.forEach(this::validateZoneTimes);
       // check for conflict
       if (eventDTOs.stream().anyMatch(
           event -> conflictDetector
@@ -71,6 +138,7 @@ public class CalendarModel implements IModel {
       eventDTOs.forEach(eventService::createEvent);
     } else {
       // an all day or spanned event
+      validateZoneTimes(eventDTO);
       // check conflict if autoDecline is specified
       if (autoDecline
           && conflictDetector.hasConflict(eventDTO.getStartTime(), eventDTO.getEndTime())) {
@@ -81,6 +149,80 @@ public class CalendarModel implements IModel {
     }
   }
 
+  /**
+   * Create a batch of events in the calendar, with the same outcome as creating them one at a
+   * time in order with {@link #createEvent(EventDTO, boolean)}, except that an event that cannot
+   * be created does not stop the others.
+   *
+   * <p>The events are validated in parallel, their conflicts are found with a single sweep in the
+   * order of start time, and the accepted events are inserted into the repository in bulk.
+   *
+   * @param eventDTOs   the events to be created
+   * @param autoDecline whether the events should be auto declined on a conflict
+   * @return the outcome of each event in order: null if the event was created, otherwise the
+   *         exception it was not created with
+   */
+  @Override
+  public List<RuntimeException> createEvents(List<EventDTO> eventDTOs, boolean autoDecline) {
+    if (Objects.isNull(eventDTOs)) {
+      throw new IllegalArgumentException("EventDTOs cannot be null");
+    }
+    RuntimeException[] outcomes = new RuntimeException[eventDTOs.size()];
+    EventDTO[] validEvents = new EventDTO[eventDTOs.size()];
+    // the events are validated independently of each other
+    IntStream.range(0, eventDTOs.size()).parallel().forEach(index -> {
+      try {
+        if (Objects.isNull(eventDTOs.get(index))) {
+          throw new IllegalArgumentException("EventDTO cannot be null");
+        }
+        EventValidator.validateEvent(eventDTOs.get(index));
+        EventDTO validEvent = EventValidator.createValidEvent(eventDTOs.get(index));
+        if (!validEvent.getIsRecurring()) {
+          validateZoneTimes(validEvent);
+        }
+        validEvents[index] = validEvent;
+      } catch (RuntimeException e) {
+        outcomes[index] = e;
+      }
+    });
+
+    List<List<EventDTO>> occurrences = new ArrayList<>(eventDTOs.size());
+    boolean[] checked = new boolean[eventDTOs.size()];
+    for (int index = 0; index < validEvents.length; index++) {
+      EventDTO validEvent = validEvents[index];
+      if (Objects.isNull(validEvent)) {
+        occurrences.add(null);
+      } else if (validEvent.getIsRecurring()) {
+        try {
+          List<EventDTO> series = RecurrenceService.generateRecurrence(validEvent, nextSeriesId());
+          series.forEach(this::validateZoneTimes);
+          occurrences.add(series);
+          checked[index] = true;
+        } catch (RuntimeException e) {
+          occurrences.add(null);
+          validEvents[index] = null;
+          outcomes[index] = e;
+        }
+      } else {
+        occurrences.add(List.of(validEvent));
+        checked[index] = autoDecline;
+      }
+    }
+
+    boolean[] accepted = conflictDetector.acceptBatch(occurrences, checked);
+    List<EventDTO> eventsToCreate = new ArrayList<>();
+    for (int index = 0; index < accepted.length; index++) {
+      if (accepted[index]) {
+        eventsToCreate.addAll(occurrences.get(index));
+      } else if (Objects.nonNull(validEvents[index])) {
+        outcomes[index] = new EventConflictException(validEvents[index].getIsRecurring()
+            ? "Recurring event have conflict" : "Auto-declined event has conflict");
+      }
+    }
+    runAtomically(() -> eventService.createEvents(eventsToCreate));
+    return Arrays.asList(outcomes);
+  }
+
   /**
    * Edit a specific event in the calendar.
    *
@@ -100,9 +242,10 @@ public class CalendarModel implements IModel {
       throw new IllegalArgumentException("parametersToUpdate cannot be null");
     }
     if (Objects.isNull(endTime)) {
-      return editEventsWithName(eventName, startTime, parametersToUpdate);
+      return runAtomically(() -> editEventsWithName(eventName, startTime, parametersToUpdate));
     }
-    return editEventWithKey(eventName, startTime, endTime, parametersToUpdate);
+    return runAtomically(
+        () -> editEventWithKey(eventName, startTime, endTime, parametersToUpdate));
   }
 
   /**
@@ -116,12 +259,46 @@ public class CalendarModel implements IModel {
    */
   private Integer editEventWithKey(String eventName, LocalDateTime startTime, LocalDateTime endTime,
       EventDTO parametersToUpdate) {
-    int eventsUpdated = 0;
-
     EventDTO existingEvent = eventRepository.getEvent(eventName, startTime, endTime);
     if (Objects.isNull(existingEvent)) {
       throw new IllegalArgumentException("Event with name " + eventName + " not found");
     }
+    return editExistingEvent(existingEvent, parametersToUpdate);
+  }
+
+  /**
+   * Edit the single event with the given identifier. The event is looked up in the identifier
+   * index of the repository instead of by its name, start time and end time.
+   *
+   * @param id                 the identifier of the event
+   * @param parametersToUpdate EventDTO with fields set for the corresponding parameters to be
+   *                           updated
+   * @return The number of events edited
+   * @throws EventConflictException   If the event conflicts with an existing event
+   * @throws IllegalArgumentException If there is no such event or the edit request is invalid
+   */
+  @Override
+  public Integer editEventById(long id, EventDTO parametersToUpdate)
+      throws EventConflictException, IllegalArgumentException {
+    if (Objects.isNull(parametersToUpdate)) {
+      throw new IllegalArgumentException("parametersToUpdate cannot be null");
+    }
+    EventDTO existingEvent = eventRepository.getById(id);
+    if (Objects.isNull(existingEvent)) {
+      throw new IllegalArgumentException("Event with id " + id + " not found");
+    }
+    return runAtomically(() -> editExistingEvent(existingEvent, parametersToUpdate));
+  }
+
+  /**
+   * Edit an event found in the repository.
+   *
+   * @param existingEvent      the event to update
+   * @param parametersToUpdate the parameters to update
+   * @return the number of events updated
+   */
+  private Integer editExistingEvent(EventDTO existingEvent, EventDTO parametersToUpdate) {
+    int eventsUpdated = 0;
 
     // existingEvent to update found
     // simple field updates (no conflict check)
@@ -141,25 +318,55 @@ public class CalendarModel implements IModel {
 
     EventDTO updatedEvent = updatedEventBuilder.build();
     EventValidator.validateEvent(updatedEvent);
-    // any event conflict except the one to be updated
-    if (!existingEvent.getIsRecurring() && conflictDetector.getConflicts(updatedEvent).stream()
-        .anyMatch(event -> !event.equals(existingEvent))) {
-      throw new EventConflictException("Updated event has conflict with existing event");
-    }
 
-    if (!existingEvent.getIsRecurring() && updatedEvent.getIsRecurring()) {
-      List<EventDTO> eventsToAdd = RecurrenceService.generateRecurrence(updatedEvent);
-      eventsToAdd.forEach(eventService::createEvent);
-    } else {
-      eventService.createEvent(updatedEvent);
-    }
+    List<EventDTO> eventsToAdd = !existingEvent.getIsRecurring() && updatedEvent.getIsRecurring()
+        ? RecurrenceService.generateRecurrence(updatedEvent, nextSeriesId())
+        : List.of(updatedEvent);
+    eventsToAdd.forEach(this::validateZoneTimes);
+    // the event is replaced first, so that the conflicts are checked against the final state
     eventService.deleteEvent(existingEvent);
+    List<EventDTO> insertedEvents = eventsToAdd.stream()
+        .map(eventService::createEvent)
+        .collect(Collectors.toList());
+    if (!existingEvent.getIsRecurring()) {
+      deferConflictCheck(insertedEvents);
+    }
     eventsUpdated++;
     return eventsUpdated;
   }
 
   /**
-   * Edit events with the same name.
+   * Edit the occurrences of the recurrence series of the event with the given identifier. The
+   * event is looked up in the identifier index of the repository, and the occurrences in the
+   * series index.
+   *
+   * @param id                 the identifier of an occurrence of the series
+   * @param startTime          the start time of the first occurrence to edit, null to edit all the
+   *                           occurrences
+   * @param parametersToUpdate EventDTO with fields set for the corresponding parameters to be
+   *                           updated
+   * @return The number of events edited
+   * @throws EventConflictException   If an edited event conflicts with an existing event
+   * @throws IllegalArgumentException If there is no recurring event with the identifier or the
+   *                                  edit request is invalid
+   */
+  @Override
+  public Integer editSeriesById(long id, LocalDateTime startTime, EventDTO parametersToUpdate)
+      throws EventConflictException, IllegalArgumentException {
+    if (Objects.isNull(parametersToUpdate)) {
+      throw new IllegalArgumentException("parametersToUpdate cannot be null");
+    }
+    EventDTO occurrence = eventRepository.getById(id);
+    if (Objects.isNull(occurrence) || !isOccurrenceOf(occurrence, occurrence.getSubject())) {
+      throw new IllegalArgumentException("Recurring event with id " + id + " not found");
+    }
+    return runAtomically(() -> editSeriesOccurrences(occurrence, startTime, parametersToUpdate));
+  }
+
+  /**
+   * Edit the recurring events with the given name, starting from the start time if it is given.
+   * The events with the name are walked once to find the first occurrence of every series they
+   * belong to, and the occurrences of each series are then edited through the series index.
    *
    * @param eventName          the event name
    * @param startTime          the start time
@@ -168,22 +375,46 @@ public class CalendarModel implements IModel {
    */
   private Integer editEventsWithName(String eventName, LocalDateTime startTime,
       EventDTO parametersToUpdate) {
-    // get the existing recurring events whose start time in after the provided start time
-    List<EventDTO> eventsByName = eventRepository.getEventsByName(eventName);
-    eventsByName = eventsByName.stream()
-        .filter(EventDTO::getIsRecurring) // ignore events that are not part of recurrence series
-        .collect(Collectors.toList());
-    if (Objects.nonNull(startTime)) {
-      eventsByName = eventsByName.stream()
-          .filter(event -> (startTime.isBefore(event.getStartTime())
-              || startTime.equals(event.getStartTime())))
-          .collect(Collectors.toList());
-    }
+    // the first occurrence of every series with the name, from the start time
+    Map<Long, EventDTO> firstOccurrences = new LinkedHashMap<>();
+    eventRepository.getEventsByName(eventName, event -> {
+      if (isOccurrenceOf(event, eventName)
+          && (Objects.isNull(startTime) || !event.getStartTime().isBefore(startTime))) {
+        firstOccurrences.merge(event.getSeriesId(), event,
+            (first, other) -> other.getStartTime().isBefore(first.getStartTime()) ? other : first);
+      }
+    });
     // found no events to update
-    if (eventsByName.isEmpty()) {
+    if (firstOccurrences.isEmpty()) {
       throw new IllegalArgumentException("Event with name " + eventName + " not found");
     }
+    int eventsUpdated = 0;
+    for (EventDTO occurrence : firstOccurrences.values()) {
+      eventsUpdated += editSeriesOccurrences(occurrence, startTime, parametersToUpdate);
+    }
+    return eventsUpdated;
+  }
 
+  /**
+   * Edit the occurrences of the series of an occurrence, found through the series index of the
+   * repository.
+   *
+   * @param occurrence         an occurrence of the series
+   * @param startTime          the start time of the first occurrence to edit, null to edit all the
+   *                           occurrences
+   * @param parametersToUpdate the parameters to update
+   * @return the number of events updated
+   */
+  private Integer editSeriesOccurrences(EventDTO occurrence, LocalDateTime startTime,
+      EventDTO parametersToUpdate) {
+    // the occurrences of the series from the start time, in the order of start time
+    List<EventDTO> eventsByName = new ArrayList<>();
+    eventRepository.getEventsBySeries(occurrence.getSeriesId(), event -> {
+      if (event.getSubject().equals(occurrence.getSubject())
+          && (Objects.isNull(startTime) || !event.getStartTime().isBefore(startTime))) {
+        eventsByName.add(event);
+      }
+    });
     // gather the events to update in a list
     List<EventDTO> eventsToUpdate = new ArrayList<>();
 
@@ -193,8 +424,8 @@ public class CalendarModel implements IModel {
       for (EventDTO existingEvent : eventsByName) {
         EventDTOBuilder updatedEventBuilder = getEventBuilderWithUpdatedParameters(
             existingEvent, parametersToUpdate);
-        EventDTO updatedEvent = checkIfNoConflicts(updatedEventBuilder, eventsByName);
-
+        EventDTO updatedEvent = updatedEventBuilder.build();
+        EventValidator.validateEvent(updatedEvent);
         eventsToUpdate.add(updatedEvent);
       }
 
@@ -204,29 +435,56 @@ public class CalendarModel implements IModel {
       EventDTOBuilder newRecurEventBuilder = getEventBuilderWithUpdatedParameters(
           eventsByName.get(0), parametersToUpdate);
 
-      EventDTO updatedRecurEvent = checkIfNoConflicts(newRecurEventBuilder, eventsByName);
+      EventDTO updatedRecurEvent = newRecurEventBuilder.build();
+      EventValidator.validateEvent(updatedRecurEvent);
 
-      eventsToUpdate.addAll(RecurrenceService.generateRecurrence(updatedRecurEvent));
+      eventsToUpdate.addAll(
+          RecurrenceService.generateRecurrence(updatedRecurEvent, nextSeriesId()));
 
     }
-    eventsToUpdate.forEach(eventService::createEvent);
+    eventsToUpdate.forEach(this::validateZoneTimes);
+    // the events are replaced first, so that the conflicts are checked against the final state
     eventsByName.forEach(eventService::deleteEvent);
+    deferConflictCheck(eventsToUpdate.stream()
+        .map(eventService::createEvent)
+        .collect(Collectors.toList()));
     return eventsByName.size();
   }
 
-  private EventDTO checkIfNoConflicts(EventDTOBuilder updatedEventBuilder,
-      List<EventDTO> eventsByName) {
-    EventDTO updatedEvent = updatedEventBuilder.build();
-    EventValidator.validateEvent(updatedEvent);
-    // check conflicts (early exit)
-    List<EventDTO> finalEventsByName = eventsByName;
-    if (conflictDetector.getConflicts(updatedEvent).stream()
-        .anyMatch(event -> {
-          return finalEventsByName.stream().noneMatch(event::equals);
-        })) {
-      throw new EventConflictException("Updated event has conflict with existing event");
+  private static boolean isOccurrenceOf(EventDTO event, String eventName) {
+    // ignore events that are not part of recurrence series
+    return event.getIsRecurring() && Objects.nonNull(event.getSeriesId())
+        && event.getSubject().equals(eventName);
+  }
+
+  private long nextSeriesId() {
+    return ++lastSeriesId;
+  }
+
+  /**
+   * Check that the start and end time of an event exist in the zone of the calendar. A time
+   * skipped by a daylight saving gap would be moved past the gap when the event is stored at UTC,
+   * so the event would come back at other times, possibly without its duration. A time repeated
+   * by a daylight saving overlap is taken at the earlier offset, and comes back unchanged. An
+   * all-day event is a date rather than an instant, so a midnight skipped by a gap, as in zones
+   * that change their clocks at midnight, is resolved to the first valid instant of the day.
+   *
+   * @param event the event to check
+   * @throws InvalidDateTimeRangeException if a time of the event is in a daylight saving gap
+   */
+  private void validateZoneTimes(EventDTO event) {
+    ZoneRules rules = zonedEventRepository.getZoneId().getRules();
+    if (rules.isFixedOffset()) {
+      return;
+    }
+    boolean isAllDay = Boolean.TRUE.equals(event.getIsAllDay());
+    for (LocalDateTime dateTime : Arrays.asList(event.getStartTime(), event.getEndTime())) {
+      if (Objects.nonNull(dateTime) && rules.getValidOffsets(dateTime).isEmpty()
+          && !(isAllDay && dateTime.toLocalTime().equals(LocalTime.MIDNIGHT))) {
+        throw new InvalidDateTimeRangeException("Time " + dateTime + " does not exist in "
+            + zonedEventRepository.getZoneId() + " due to a daylight saving time change");
+      }
     }
-    return updatedEvent;
   }
 
   private static EventDTOBuilder getEventBuilderWithUpdatedParameters(
@@ -299,7 +557,242 @@ public class CalendarModel implements IModel {
                                 parametersToUpdate.getRecurringDetails().getOccurrences())
                                 ? null : existingEvent.getRecurringDetails().getUntilDate())
                     .build()
-        );
+        )
+        .setSeriesId(
+            Objects.requireNonNullElse(
+                parametersToUpdate.getIsRecurring(),
+                existingEvent.getIsRecurring())
+                ? existingEvent.getSeriesId() : null);
+  }
+
+  /**
+   * Delete all the events in the calendar that overlap with the given time range with a single
+   * range delete on the repository.
+   *
+   * @param startTime the start time of the range
+   * @param endTime   the end time of the range
+   * @param name      the name of the events to be deleted, null to delete events with any name
+   * @return the number of events deleted
+   * @throws IllegalArgumentException if the range is invalid
+   */
+  @Override
+  public Integer deleteEvents(LocalDateTime startTime, LocalDateTime endTime, String name)
+      throws IllegalArgumentException {
+    if (Objects.isNull(startTime) || Objects.isNull(endTime)) {
+      throw new IllegalArgumentException("Start time and end time cannot be null");
+    }
+    if (endTime.isBefore(startTime)) {
+      throw new IllegalArgumentException("End time cannot be before start time");
+    }
+    return runAtomically(() -> {
+      // the range delete takes the same events as the overlap search
+      eventRepository.searchOverlaps(startTime, endTime, event -> {
+        if (Objects.isNull(name) || event.getSubject().equals(name)) {
+          undoLog.recordDelete(event);
+        }
+      });
+      return eventRepository.deleteRange(startTime, endTime, name);
+    });
+  }
+
+  /**
+   * Set the zone the events of the calendar are presented in. The events are stored at UTC and
+   * keep their instants, so only their presentation changes and no event is rewritten. Setting the
+   * zone the events are already presented in keeps the cached results.
+   *
+   * @param zoneId the zone of the calendar
+   * @throws IllegalStateException if a transaction is in progress
+   */
+  @Override
+  public void setZoneId(ZoneId zoneId) throws IllegalStateException {
+    if (Objects.nonNull(undoLog)) {
+      throw new IllegalStateException("The zone cannot be changed during a transaction");
+    }
+    if (zoneId.equals(zonedEventRepository.getZoneId())) {
+      return;
+    }
+    zonedEventRepository.setZoneId(zoneId);
+    // the cached results, the dates of the day aggregates and the times of the events found by the
+    // search index are in the previous zone
+    cachingEventRepository.clear();
+    dayAggregatesCurrent = false;
+    searchIndexCurrent = false;
+  }
+
+  /**
+   * Register a listener for the changes made to the events of the calendar. The changes of every
+   * committed transaction are reported in one batch, after the transaction ends.
+   *
+   * @param listener the listener to register
+   */
+  @Override
+  public void addChangeListener(ModelChangeListener listener) {
+    changeListeners.add(Objects.requireNonNull(listener, "listener cannot be null"));
+  }
+
+  /**
+   * Remove a registered listener for the changes made to the events of the calendar.
+   *
+   * @param listener the listener to remove
+   */
+  @Override
+  public void removeChangeListener(ModelChangeListener listener) {
+    changeListeners.remove(listener);
+  }
+
+  /**
+   * Begin a transaction. The mutations made until the transaction is committed or rolled back are
+   * recorded in an undo log.
+   *
+   * @throws IllegalStateException if a transaction is already in progress
+   */
+  @Override
+  public void beginTransaction() throws IllegalStateException {
+    if (Objects.nonNull(undoLog)) {
+      throw new IllegalStateException("A transaction is already in progress");
+    }
+    undoLog = new UndoLog();
+    pendingConflictChecks = new ArrayList<>();
+    eventService.setUndoLog(undoLog);
+  }
+
+  /**
+   * Commit the transaction in progress. The events edited in the transaction are checked for
+   * conflicts against the final state of the calendar, and the transaction is rolled back if any of
+   * them has a conflict. The changes of a committed transaction are then reported to the change
+   * listeners.
+   *
+   * @throws EventConflictException if an edited event has a conflict
+   * @throws IllegalStateException  if no transaction is in progress
+   */
+  @Override
+  public void commitTransaction() throws EventConflictException, IllegalStateException {
+    requireTransaction();
+    try {
+      checkPendingConflicts();
+    } catch (EventConflictException e) {
+      rollbackTransaction();
+      throw e;
+    }
+    List<ModelChange> changes = undoLog.changes();
+    endTransaction();
+    if (dayAggregatesCurrent) {
+      changes.forEach(this::applyToDayAggregates);
+    }
+    if (searchIndexCurrent) {
+      changes.forEach(this::applyToSearchIndex);
+    }
+    if (!changes.isEmpty()) {
+      List<ModelChange> batch = Collections.unmodifiableList(changes);
+      changeListeners.forEach(listener -> listener.modelChanged(batch));
+    }
+  }
+
+  /**
+   * Roll back the transaction in progress, undoing its mutations in the reverse order they were
+   * made.
+   *
+   * @throws IllegalStateException if no transaction is in progress
+   */
+  @Override
+  public void rollbackTransaction() throws IllegalStateException {
+    requireTransaction();
+    undoLog.rollbackTo(0, eventRepository);
+    endTransaction();
+  }
+
+  /**
+   * Run the mutations in a transaction, which is committed if they complete and rolled back if
+   * they throw. Within a transaction in progress, mutations that throw are rolled back to the state
+   * before them and the transaction stays in progress.
+   *
+   * @param mutations the mutations to run
+   * @throws EventConflictException if an edited event has a conflict on commit
+   */
+  @Override
+  public void transaction(Runnable mutations) throws EventConflictException {
+    runAtomically(() -> {
+      mutations.run();
+      return null;
+    });
+  }
+
+  /**
+   * Run a mutation atomically. Without a transaction in progress the mutation runs in a transaction
+   * of its own. Within a transaction a failed mutation is rolled back to the state before it, and
+   * the transaction stays in progress.
+   */
+  private <T> T runAtomically(Supplier<T> mutation) {
+    if (Objects.isNull(undoLog)) {
+      T result;
+      beginTransaction();
+      try {
+        result = mutation.get();
+      } catch (RuntimeException e) {
+        rollbackTransaction();
+        throw e;
+      }
+      commitTransaction();
+      return result;
+    }
+    int savepoint = undoLog.size();
+    int pendingChecks = pendingConflictChecks.size();
+    try {
+      return mutation.get();
+    } catch (RuntimeException e) {
+      undoLog.rollbackTo(savepoint, eventRepository);
+      pendingConflictChecks.subList(pendingChecks, pendingConflictChecks.size()).clear();
+      throw e;
+    }
+  }
+
+  /**
+   * Check the events inserted by an edit for conflicts when the transaction commits. The events of
+   * the same edit do not count as conflicts of each other.
+   */
+  private void deferConflictCheck(List<EventDTO> insertedEvents) {
+    pendingConflictChecks.add(new HashSet<>(insertedEvents));
+  }
+
+  private void checkPendingConflicts() {
+    for (Set<EventDTO> insertedEvents : pendingConflictChecks) {
+      for (EventDTO event : insertedEvents) {
+        // skip the events deleted again later in the transaction
+        if (Objects.nonNull(eventRepository.getById(event.getId()))
+            && conflictDetector.hasConflict(event.getStartTime(), event.getEndTime(),
+            insertedEvents)) {
+          throw new EventConflictException("Updated event has conflict with existing event");
+        }
+      }
+    }
+  }
+
+  private void applyToDayAggregates(ModelChange change) {
+    if (change.getType() == ModelChange.Type.INSERTED) {
+      dayAggregateIndex.add(change.getEvent());
+    } else if (change.getType() == ModelChange.Type.DELETED) {
+      dayAggregateIndex.remove(change.getEvent());
+    }
+  }
+
+  private void applyToSearchIndex(ModelChange change) {
+    if (change.getType() == ModelChange.Type.INSERTED) {
+      searchIndex.add(change.getEvent());
+    } else if (change.getType() == ModelChange.Type.DELETED) {
+      searchIndex.remove(change.getEvent());
+    }
+  }
+
+  private void requireTransaction() {
+    if (Objects.isNull(undoLog)) {
+      throw new IllegalStateException("No transaction is in progress");
+    }
+  }
+
+  private void endTransaction() {
+    undoLog = null;
+    pendingConflictChecks = null;
+    eventService.setUndoLog(null);
   }
 
   /**
@@ -313,6 +806,17 @@ public class CalendarModel implements IModel {
     return eventRepository.getEventsOnDate(date);
   }
 
+  /**
+   * Pass all events in the calendar on specified date to the sink.
+   *
+   * @param date date to get events on
+   * @param sink consumer of the events on the given date
+   */
+  @Override
+  public void getEventsOnDate(LocalDate date, Consumer<EventDTO> sink) {
+    eventRepository.getEventsOnDate(date, sink);
+  }
+
   /**
    * Get all events in the calendar on specified date range.
    *
@@ -325,19 +829,87 @@ public class CalendarModel implements IModel {
     return eventRepository.getEventsInRange(startTime, endTime);
   }
 
+  /**
+   * Pass all events in the calendar on specified date range to the sink.
+   *
+   * @param startTime start time of the range
+   * @param endTime   end time of the range
+   * @param sink      consumer of the events in the given range
+   */
+  @Override
+  public void getEventsInRange(LocalDateTime startTime, LocalDateTime endTime,
+      Consumer<EventDTO> sink) {
+    eventRepository.getEventsInRange(startTime, endTime, sink);
+  }
+
+  /**
+   * Get one page of the events overlapping the specified range, continuing after a time cursor.
+   *
+   * @param startTime   start time of the range
+   * @param endTime     end time of the range
+   * @param cursorStart start time of the cursor, null for the first page
+   * @param cursorSkip  number of events starting at the start time of the cursor to skip
+   * @param limit       maximum number of events in the page
+   * @return the page of events and the cursor to the next page
+   */
+  @Override
+  public EventPage getEventsPage(LocalDateTime startTime, LocalDateTime endTime,
+      LocalDateTime cursorStart, int cursorSkip, int limit) {
+    return eventRepository.getEventsPage(startTime, endTime, cursorStart, cursorSkip, limit);
+  }
+
   @Override
   public List<EventDTO> getAllEvents() {
     return eventRepository.getAllEvents();
   }
 
+  /**
+   * Get the summaries of the events on every date of the month. The day aggregates are updated with
+   * the changes of every committed transaction, and rebuilt from the events once after the zone of
+   * the calendar changes.
+   *
+   * @param yearMonth the month to summarize
+   * @return the summaries of the dates of the month, in the order of the dates
+   */
+  @Override
+  public List<DaySummary> getDaySummaries(YearMonth yearMonth) {
+    if (!dayAggregatesCurrent) {
+      dayAggregateIndex.clear();
+      eventRepository.stream().forEach(dayAggregateIndex::add);
+      dayAggregatesCurrent = true;
+    }
+    return dayAggregateIndex.getDaySummaries(yearMonth);
+  }
+
+  /**
+   * Pass the events whose subject and location have words starting with every word of the query to
+   * the sink as they are found. The search index is updated with the changes of every committed
+   * transaction, and rebuilt from the events once after the zone of the calendar changes.
+   *
+   * @param query the words to search for
+   * @param limit the maximum number of events passed
+   * @param sink  the consumer of the events found
+   */
+  @Override
+  public void searchEvents(String query, int limit, Consumer<EventDTO> sink) {
+    if (!searchIndexCurrent) {
+      searchIndex.clear();
+      eventRepository.stream().forEach(searchIndex::add);
+      searchIndexCurrent = true;
+    }
+    searchIndex.search(query, limit, sink);
+  }
+
   @Override
   public String exportEventsWithExporter(ICalendarExporter exporter) {
-    List<EventDTO> events = eventRepository.getAllEvents();
     // If there are no events, throw a CalendarExportException
-    if (events.isEmpty()) {
+    if (eventRepository.stream().findAny().isEmpty()) {
       throw new CalendarExportException("No events to export");
     }
-    return exporter.export(events);
+    // the events are formatted as they are walked, without collecting them first
+    ICalendarExporter.ExportSink exportSink = exporter.newExportSink();
+    eventRepository.stream().forEach(exportSink);
+    return exportSink.finish();
   }
 
   /**
@@ -350,4 +922,25 @@ public class CalendarModel implements IModel {
   public Boolean isBusy(LocalDateTime dateTime) {
     return conflictDetector.hasConflict(dateTime);
   }
+
+  /**
+   * Get the number of date and range queries answered from the cache of query results.
+   *
+   * @return the number of cache hits
+   */
+  @Override
+  public long getQueryCacheHitCount() {
+    return cachingEventRepository.getHitCount();
+  }
+
+  /**
+   * Get the number of date and range queries passed to the events because their result was not
+   * cached.
+   *
+   * @return the number of cache misses
+   */
+  @Override
+  public long getQueryCacheMissCount() {
+    return cachingEventRepository.getMissCount();
+  }
 }
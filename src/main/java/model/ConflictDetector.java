@@ -3,7 +3,12 @@ package model;
 import dto.EventDTO;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.Consumer;
 import repository.IEventRepository;
 
 /**
@@ -33,7 +38,26 @@ class ConflictDetector {
    * @return {@code true} if there is an overlapping event, {@code false} otherwise
    */
   boolean hasConflict(LocalDateTime startTime, LocalDateTime endTime) {
-    return !eventRepository.searchOverlaps(startTime, endTime).isEmpty();
+    ConflictFlag conflictFlag = new ConflictFlag(Set.of());
+    eventRepository.searchOverlaps(startTime, endTime, conflictFlag);
+    return conflictFlag.found;
+  }
+
+  /**
+   * Checks if there is any event other than the excluded ones that overlaps with the given start
+   * and end times. The excluded events are looked up in the set, so that excluding the whole
+   * series being edited costs the same for every overlapping event.
+   *
+   * @param startTime the start of the time range to check
+   * @param endTime   the end of the time range to check
+   * @param excluded  the events that are not counted as conflicts
+   * @return {@code true} if there is an overlapping event that is not excluded, {@code false}
+   *         otherwise
+   */
+  boolean hasConflict(LocalDateTime startTime, LocalDateTime endTime, Set<EventDTO> excluded) {
+    ConflictFlag conflictFlag = new ConflictFlag(excluded);
+    eventRepository.searchOverlaps(startTime, endTime, conflictFlag);
+    return conflictFlag.found;
   }
 
   /**
@@ -43,7 +67,9 @@ class ConflictDetector {
    * @return {@code true} if there is an event at the given time, {@code false} otherwise
    */
   boolean hasConflict(LocalDateTime dateTime) {
-    return !eventRepository.getEventsAt(dateTime).isEmpty();
+    ConflictFlag conflictFlag = new ConflictFlag(Set.of());
+    eventRepository.getEventsAt(dateTime, conflictFlag);
+    return conflictFlag.found;
   }
 
   /**
@@ -57,14 +83,154 @@ class ConflictDetector {
   List<EventDTO> getConflicts(EventDTO event) {
     List<EventDTO> conflicts = new ArrayList<>();
     if (event.getIsRecurring()) {
-      RecurrenceService.generateRecurrence(event).forEach(
-          eventDTO -> conflicts.addAll(
-              eventRepository.searchOverlaps(eventDTO.getStartTime(), eventDTO.getEndTime())
-          )
-      );
+      for (EventDTO eventDTO : RecurrenceService.generateRecurrence(event)) {
+        eventRepository.searchOverlaps(eventDTO.getStartTime(), eventDTO.getEndTime(),
+            conflicts::add);
+      }
     } else {
-      conflicts.addAll(eventRepository.searchOverlaps(event.getStartTime(), event.getEndTime()));
+      eventRepository.searchOverlaps(event.getStartTime(), event.getEndTime(), conflicts::add);
     }
     return conflicts;
   }
+
+  /**
+   * Decides which events of a batch can be created, with a single sweep over the occurrences of the
+   * batch and the events of the repository in the order of their start time, instead of a search
+   * of the repository per occurrence.
+   *
+   * <p>The events are decided in the order of the batch, as if they were created one at a time. A
+   * checked event is declined if any of its occurrences overlaps an event of the repository or an
+   * occurrence of an earlier accepted event of the batch. The occurrences of an event do not
+   * conflict with each other, and an event that is not checked is always accepted.
+   *
+   * @param occurrences the occurrences of each event of the batch, null for an event that is
+   *                    already declined
+   * @param checked     whether each event is declined if it has a conflict
+   * @return whether each event is accepted
+   */
+  boolean[] acceptBatch(List<List<EventDTO>> occurrences, boolean[] checked) {
+    int batchSize = occurrences.size();
+    boolean[] accepted = new boolean[batchSize];
+    List<Interval> intervals = new ArrayList<>();
+    LocalDateTime first = null;
+    LocalDateTime last = null;
+    for (int owner = 0; owner < batchSize; owner++) {
+      if (occurrences.get(owner) == null) {
+        continue;
+      }
+      for (EventDTO occurrence : occurrences.get(owner)) {
+        intervals.add(new Interval(occurrence.getStartTime(), occurrence.getEndTime(), owner));
+        if (first == null || occurrence.getStartTime().isBefore(first)) {
+          first = occurrence.getStartTime();
+        }
+        if (last == null || occurrence.getEndTime().isAfter(last)) {
+          last = occurrence.getEndTime();
+        }
+      }
+    }
+    if (intervals.isEmpty()) {
+      return accepted;
+    }
+    // every event of the repository overlapping an occurrence overlaps this range
+    eventRepository.searchOverlaps(first, last.plusNanos(1), event -> intervals.add(
+        new Interval(event.getStartTime(), event.getEndTime(), Interval.REPOSITORY)));
+    intervals.sort(Comparator.comparing(interval -> interval.start));
+
+    // sweep in the order of start time, keeping the intervals that may still overlap
+    boolean[] overlapsRepository = new boolean[batchSize];
+    List<List<Integer>> overlappingOwners = new ArrayList<>(Collections.nCopies(batchSize, null));
+    PriorityQueue<Interval> active = new PriorityQueue<>(
+        Comparator.comparing(interval -> interval.end));
+    for (Interval interval : intervals) {
+      while (!active.isEmpty() && active.peek().end.isBefore(interval.start)) {
+        active.poll();
+      }
+      for (Interval other : active) {
+        if (other.owner == interval.owner || !other.overlaps(interval)) {
+          continue;
+        }
+        if (other.owner == Interval.REPOSITORY) {
+          overlapsRepository[interval.owner] = true;
+        } else if (interval.owner == Interval.REPOSITORY) {
+          overlapsRepository[other.owner] = true;
+        } else {
+          addOverlap(overlappingOwners, interval.owner, other.owner);
+          addOverlap(overlappingOwners, other.owner, interval.owner);
+        }
+      }
+      active.add(interval);
+    }
+
+    for (int owner = 0; owner < batchSize; owner++) {
+      if (occurrences.get(owner) == null) {
+        continue;
+      }
+      boolean hasConflict = overlapsRepository[owner];
+      if (!hasConflict && overlappingOwners.get(owner) != null) {
+        for (int other : overlappingOwners.get(owner)) {
+          // only the earlier events are accepted at this point
+          hasConflict |= accepted[other];
+        }
+      }
+      accepted[owner] = !checked[owner] || !hasConflict;
+    }
+    return accepted;
+  }
+
+  private static void addOverlap(List<List<Integer>> overlappingOwners, int owner, int other) {
+    if (overlappingOwners.get(owner) == null) {
+      overlappingOwners.set(owner, new ArrayList<>());
+    }
+    overlappingOwners.get(owner).add(other);
+  }
+
+  /**
+   * This class is the time range of an occurrence of the batch or of an event of the repository,
+   * for the sweep of {@link #acceptBatch(List, boolean[])}.
+   */
+  private static class Interval {
+
+    static final int REPOSITORY = -1;
+
+    final LocalDateTime start;
+
+    final LocalDateTime end;
+
+    final int owner;
+
+    Interval(LocalDateTime start, LocalDateTime end, int owner) {
+      this.start = start;
+      this.end = end;
+      this.owner = owner;
+    }
+
+    /**
+     * Check if the intervals overlap, exactly like the overlap search of the repository.
+     */
+    boolean overlaps(Interval other) {
+      return start.isEqual(other.start)
+          || start.isBefore(other.end) && end.isAfter(other.start);
+    }
+  }
+
+  /**
+   * This class records whether the repository passed any event to it that is not excluded.
+   */
+  private static class ConflictFlag implements Consumer<EventDTO> {
+
+    private final Set<EventDTO> excluded;
+
+    private boolean found;
+
+    ConflictFlag(Set<EventDTO> excluded) {
+      this.excluded = excluded;
+    }
+
+    @Override
+    public void accept(EventDTO event) {
+      if (!found && !excluded.contains(event)) {
+        found = true;
+      }
+    }
+  }
 }
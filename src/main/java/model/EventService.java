@@ -1,16 +1,25 @@
 package model;
 
 import dto.EventDTO;
+import java.util.ArrayList;
+import java.util.List;
 import repository.IEventRepository;
 
 /**
  * This class provides methods for managing calendar events, specifically creating and deleting
  * events using the provided {@link IEventRepository}.
+ *
+ * <p>Every event created through the service is given a new identifier, by which it is deleted
+ * again. While an {@link UndoLog} is set, the events created and deleted are recorded in it.
  */
 class EventService {
 
   private final IEventRepository eventRepository;
 
+  private long lastEventId;
+
+  private UndoLog undoLog;
+
   /**
    * Constructs an {@code EventService} with the specified event repository.
    *
@@ -18,28 +27,84 @@ class EventService {
    */
   EventService(IEventRepository eventRepository) {
     this.eventRepository = eventRepository;
+    this.lastEventId = 0;
+  }
+
+  /**
+   * Set the undo log to record the events created and deleted in.
+   *
+   * @param undoLog the undo log, or null to stop recording
+   */
+  void setUndoLog(UndoLog undoLog) {
+    this.undoLog = undoLog;
   }
 
   /**
    * Creates a new event in the calendar using the details provided in the {@link EventDTO}.
    *
    * @param eventDTO the data transfer object containing the details of the event to be created
+   * @return the event as it was inserted, with its identifier
    */
-  void createEvent(EventDTO eventDTO) {
-    eventRepository.insertEvent(eventDTO);
+  EventDTO createEvent(EventDTO eventDTO) {
+    EventDTO event = withNewId(eventDTO);
+    eventRepository.insertEvent(event);
+    if (undoLog != null) {
+      undoLog.recordInsert(event);
+    }
+    return event;
+  }
+
+  /**
+   * Creates new events in the calendar with a single bulk insert into the repository.
+   *
+   * @param eventDTOs the data transfer objects containing the details of the events to be created
+   * @return the events as they were inserted, with their identifiers
+   */
+  List<EventDTO> createEvents(List<EventDTO> eventDTOs) {
+    List<EventDTO> events = new ArrayList<>(eventDTOs.size());
+    for (EventDTO eventDTO : eventDTOs) {
+      events.add(withNewId(eventDTO));
+    }
+    eventRepository.insertEvents(events);
+    if (undoLog != null) {
+      events.forEach(undoLog::recordInsert);
+    }
+    return events;
+  }
+
+  private EventDTO withNewId(EventDTO eventDTO) {
+    return EventDTO.getBuilder()
+        .setSubject(eventDTO.getSubject())
+        .setStartTime(eventDTO.getStartTime())
+        .setEndTime(eventDTO.getEndTime())
+        .setDescription(eventDTO.getDescription())
+        .setLocation(eventDTO.getLocation())
+        .setIsPublic(eventDTO.getIsPublic())
+        .setIsAllDay(eventDTO.getIsAllDay())
+        .setIsRecurring(eventDTO.getIsRecurring())
+        .setRecurringDetails(eventDTO.getRecurringDetails())
+        .setSeriesId(eventDTO.getSeriesId())
+        .setId(++lastEventId)
+        .build();
   }
 
   /**
-   * Deletes an event from the calendar based on its name, start time, and end time.
+   * Deletes an event from the calendar based on its identifier, or on its name, start time, and
+   * end time if it has no identifier.
    *
    * @param eventDTO the data transfer object containing the identifying details of the event to be
-   *                 deleted
+   *                 deleted, as it is stored
    */
   void deleteEvent(EventDTO eventDTO) {
-    eventRepository.deleteEvent(
-        eventDTO.getSubject(),
-        eventDTO.getStartTime(),
-        eventDTO.getEndTime());
+    boolean deleted = eventDTO.getId() != null
+        ? eventRepository.deleteById(eventDTO.getId())
+        : eventRepository.deleteEvent(
+            eventDTO.getSubject(),
+            eventDTO.getStartTime(),
+            eventDTO.getEndTime());
+    if (deleted && undoLog != null) {
+      undoLog.recordDelete(eventDTO);
+    }
   }
 
 }
@@ -80,6 +80,7 @@ class EventValidator {
                 eventDTO.getStartTime().toLocalDate().atStartOfDay().plusDays(1)))
         .setIsRecurring(Objects.nonNull(eventDTO.getIsRecurring()) && eventDTO.getIsRecurring())
         .setRecurringDetails(eventDTO.getRecurringDetails())
+        .setSeriesId(eventDTO.getSeriesId())
         .build();
     return eventDTO;
   }
@@ -1,11 +1,16 @@
 package model;
 
+import dto.DaySummary;
 import dto.EventDTO;
+import dto.EventPage;
 import exception.CalendarExportException;
 import exception.EventConflictException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
 import java.util.List;
+import java.util.function.Consumer;
 import service.ICalendarExporter;
 
 /**
@@ -35,6 +40,23 @@ public interface IModel {
   void createEvent(EventDTO eventDTO, boolean autoDecline)
       throws EventConflictException, IllegalArgumentException;
 
+  /**
+   * Creates a batch of events in the calendar, with the same outcome as creating them one at a
+   * time in order with {@link #createEvent(EventDTO, boolean)}, except that an event that cannot
+   * be created does not stop the others.
+   *
+   * @param eventDTOs   the data transfer objects containing the details of the events to be
+   *                    created
+   * @param autoDecline a boolean flag indicating whether the events should be automatically
+   *                    declined if they conflict with an existing event
+   * @return the outcome of each event in order: null if the event was created, otherwise the
+   *         exception it was not created with, an {@link EventConflictException} if it has a
+   *         conflict
+   * @throws IllegalArgumentException if the list of events is null
+   */
+  List<RuntimeException> createEvents(List<EventDTO> eventDTOs, boolean autoDecline)
+      throws IllegalArgumentException;
+
   /**
    * Edits an existing event in the calendar.
    *
@@ -42,7 +64,8 @@ public interface IModel {
    * (all fields provided).
    *
    * <p>Update recurring events if {@code endTime} is null. The events are filtered
-   * starting from the provided {@code startTime}.
+   * starting from the provided {@code startTime}, and every recurrence series with the name is
+   * updated on its own.
    *
    * <p>Update all recurring events with a name if both {@code startTime} and {@code endTime} is
    * null.
@@ -65,6 +88,120 @@ public interface IModel {
   Integer editEvent(String name, LocalDateTime startTime, LocalDateTime endTime,
       EventDTO parametersToUpdate) throws EventConflictException, IllegalArgumentException;
 
+  /**
+   * Edits the single event with the given identifier, as returned on the events of the calendar.
+   *
+   * <p>The {@code parametersToUpdate} DTO contains the fields to be modified, as for
+   * {@link #editEvent(String, LocalDateTime, LocalDateTime, EventDTO)} with all the fields of the
+   * event provided.
+   *
+   * @param id                 the identifier of the event to be edited
+   * @param parametersToUpdate a {@link EventDTO} containing the fields and their new values to
+   *                           update in the existing event
+   * @return the number of events that were successfully edited
+   * @throws EventConflictException   if the updated event details cause a conflict with an existing
+   *                                  event.
+   * @throws IllegalArgumentException if there is no event with the identifier or the provided edit
+   *                                  request is invalid
+   */
+  Integer editEventById(long id, EventDTO parametersToUpdate)
+      throws EventConflictException, IllegalArgumentException;
+
+  /**
+   * Edits the occurrences of the recurrence series of the event with the given identifier, as
+   * returned on the events of the calendar.
+   *
+   * <p>The occurrences are filtered starting from the provided {@code startTime}, and all the
+   * occurrences of the series are updated if it is null. The {@code parametersToUpdate} DTO
+   * contains the fields to be modified, as for
+   * {@link #editEvent(String, LocalDateTime, LocalDateTime, EventDTO)} without an end time.
+   *
+   * @param id                 the identifier of an occurrence of the series to be edited
+   * @param startTime          the start time of the first occurrence to be edited, null to edit
+   *                           all the occurrences
+   * @param parametersToUpdate a {@link EventDTO} containing the fields and their new values to
+   *                           update in the existing events
+   * @return the number of events that were successfully edited
+   * @throws EventConflictException   if the updated event details cause a conflict with an existing
+   *                                  event.
+   * @throws IllegalArgumentException if there is no recurring event with the identifier or the
+   *                                  provided edit request is invalid
+   */
+  Integer editSeriesById(long id, LocalDateTime startTime, EventDTO parametersToUpdate)
+      throws EventConflictException, IllegalArgumentException;
+
+  /**
+   * Deletes all events in the calendar that overlap with the given time range.
+   *
+   * <p>Only the events with the given name are deleted if {@code name} is not null.
+   *
+   * @param startTime the start time of the range
+   * @param endTime   the end time of the range
+   * @param name      the name of the events to be deleted, null to delete events with any name
+   * @return the number of events that were deleted
+   * @throws IllegalArgumentException if the provided range is invalid
+   */
+  Integer deleteEvents(LocalDateTime startTime, LocalDateTime endTime, String name)
+      throws IllegalArgumentException;
+
+  /**
+   * Sets the zone the events of the calendar are presented in. The events keep their instants, so
+   * their local date and times follow the new zone.
+   *
+   * @param zoneId the zone of the calendar
+   * @throws IllegalStateException if a transaction is in progress
+   */
+  void setZoneId(ZoneId zoneId) throws IllegalStateException;
+
+  /**
+   * Registers a listener for the changes made to the events of the model. The changes are reported
+   * once every transaction, including the transaction each mutation runs in on its own, commits.
+   *
+   * @param listener the listener to register
+   */
+  void addChangeListener(ModelChangeListener listener);
+
+  /**
+   * Removes a listener registered with {@link #addChangeListener(ModelChangeListener)}.
+   *
+   * @param listener the listener to remove
+   */
+  void removeChangeListener(ModelChangeListener listener);
+
+  /**
+   * Begins a transaction. The mutations made until the transaction is committed are visible to the
+   * queries of the model, and are undone if the transaction is rolled back.
+   *
+   * @throws IllegalStateException if a transaction is already in progress
+   */
+  void beginTransaction() throws IllegalStateException;
+
+  /**
+   * Commits the transaction in progress. The events edited in the transaction are checked for
+   * conflicts once against the final state of the calendar, and the whole transaction is rolled
+   * back if any of them has a conflict.
+   *
+   * @throws EventConflictException if an edited event has a conflict
+   * @throws IllegalStateException  if no transaction is in progress
+   */
+  void commitTransaction() throws EventConflictException, IllegalStateException;
+
+  /**
+   * Rolls back the transaction in progress, undoing all of its mutations.
+   *
+   * @throws IllegalStateException if no transaction is in progress
+   */
+  void rollbackTransaction() throws IllegalStateException;
+
+  /**
+   * Runs the mutations in a transaction, which is committed if they complete and rolled back if
+   * they throw. Within a transaction already in progress, mutations that throw are rolled back to
+   * the state before them and the transaction stays in progress.
+   *
+   * @param mutations the mutations to run on this model
+   * @throws EventConflictException if an edited event has a conflict on commit
+   */
+  void transaction(Runnable mutations) throws EventConflictException;
 
   /**
    * Gets all events in the calendar on specified date.
@@ -74,6 +211,15 @@ public interface IModel {
    */
   List<EventDTO> getEventsOnDate(LocalDate date);
 
+  /**
+   * Passes all events in the calendar on specified date to the sink, in the order of their start
+   * time, without building a list.
+   *
+   * @param date date to get events on
+   * @param sink consumer of the events on the given date
+   */
+  void getEventsOnDate(LocalDate date, Consumer<EventDTO> sink);
+
   /**
    * Gets all events in the calendar on specified date range.
    *
@@ -83,6 +229,32 @@ public interface IModel {
    */
   List<EventDTO> getEventsInRange(LocalDateTime start, LocalDateTime end);
 
+  /**
+   * Passes all events in the calendar on specified date range to the sink, in the order of their
+   * start time, without building a list.
+   *
+   * @param start start time of the range
+   * @param end   end time of the range
+   * @param sink  consumer of the events in the given range
+   */
+  void getEventsInRange(LocalDateTime start, LocalDateTime end, Consumer<EventDTO> sink);
+
+  /**
+   * Gets one page of the events overlapping the specified range, in the order of their start time,
+   * continuing after a time cursor. The cursor to the next page is returned with the page, so a
+   * long range can be read a page at a time without loading all of its events.
+   *
+   * @param start       start time of the range
+   * @param end         end time of the range
+   * @param cursorStart start time of the cursor, null for the first page
+   * @param cursorSkip  number of events starting at the start time of the cursor to skip
+   * @param limit       maximum number of events in the page
+   * @return the page of events and the cursor to the next page
+   * @throws IllegalArgumentException if the limit is not positive
+   */
+  EventPage getEventsPage(LocalDateTime start, LocalDateTime end, LocalDateTime cursorStart,
+      int cursorSkip, int limit);
+
   /**
    * Get all events in the calendar.
    *
@@ -90,6 +262,28 @@ public interface IModel {
    */
   List<EventDTO> getAllEvents();
 
+  /**
+   * Get the summaries of the events on every date of the month: the number of events, the busy
+   * minutes and the first start. The summaries are kept as the events change, so reading them does
+   * not query the events of each date.
+   *
+   * @param yearMonth the month to summarize
+   * @return the summaries of the dates of the month, in the order of the dates
+   */
+  List<DaySummary> getDaySummaries(YearMonth yearMonth);
+
+  /**
+   * Search the events by the words of their subject and location. An event is found when every
+   * word of the query starts a word of its subject or location, without case. The events are
+   * passed to the sink as they are found, in no particular order, so the first events can be shown
+   * before the search ends.
+   *
+   * @param query the words to search for
+   * @param limit the maximum number of events passed
+   * @param sink  the consumer of the events found
+   */
+  void searchEvents(String query, int limit, Consumer<EventDTO> sink);
+
   /**
    * Exports all events as string using the exporter strategy provided.
    *
@@ -109,4 +303,19 @@ public interface IModel {
    * @return true if an event overlaps at the time, false otherwise
    */
   Boolean isBusy(LocalDateTime dateTime);
+
+  /**
+   * Get the number of date and range queries answered from the cache of query results.
+   *
+   * @return the number of cache hits
+   */
+  long getQueryCacheHitCount();
+
+  /**
+   * Get the number of date and range queries passed to the events because their result was not
+   * cached.
+   *
+   * @return the number of cache misses
+   */
+  long getQueryCacheMissCount();
 }
@@ -0,0 +1,82 @@
+package model;
+
+import dto.EventDTO;
+
+/**
+ * Represents a change made to the events of a model, as reported to a
+ * {@link ModelChangeListener}.
+ *
+ * <p>An {@code INSERTED} or {@code DELETED} change carries the event inserted or deleted, as it
+ * is presented by the model. A {@code SERIES_UPDATED} change carries the identifier of a recurrence
+ * series whose occurrences were inserted or deleted in the same batch, and no event.
+ */
+public class ModelChange {
+
+  /**
+   * The kinds of change made to the events of a model.
+   */
+  public enum Type {
+
+    /**
+     * An event was inserted.
+     */
+    INSERTED,
+
+    /**
+     * An event was deleted.
+     */
+    DELETED,
+
+    /**
+     * The occurrences of a recurrence series were changed.
+     */
+    SERIES_UPDATED
+  }
+
+  private final Type type;
+
+  private final EventDTO event;
+
+  private final Long seriesId;
+
+  /**
+   * Constructs a ModelChange.
+   *
+   * @param type     the kind of change
+   * @param event    the event inserted or deleted, null for a series update
+   * @param seriesId the identifier of the series of the change, null if there is none
+   */
+  ModelChange(Type type, EventDTO event, Long seriesId) {
+    this.type = type;
+    this.event = event;
+    this.seriesId = seriesId;
+  }
+
+  /**
+   * Get the kind of the change.
+   *
+   * @return the kind of the change
+   */
+  public Type getType() {
+    return type;
+  }
+
+  /**
+   * Get the event inserted or deleted.
+   *
+   * @return the event of the change, null for a series update
+   */
+  public EventDTO getEvent() {
+    return event;
+  }
+
+  /**
+   * Get the identifier of the recurrence series of the change.
+   *
+   * @return the series identifier, null if the change is not part of a series
+   */
+  public Long getSeriesId() {
+    return seriesId;
+  }
+
+}
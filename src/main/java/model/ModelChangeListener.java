@@ -0,0 +1,20 @@
+package model;
+
+import java.util.List;
+
+/**
+ * A listener for the changes made to the events of a model. It is registered with
+ * {@link IModel#addChangeListener(ModelChangeListener)}.
+ */
+@FunctionalInterface
+public interface ModelChangeListener {
+
+  /**
+   * Called after a transaction that changed the events of the model is committed, with the changes
+   * of the transaction coalesced into one batch. An event inserted and deleted again in the same
+   * transaction is not reported. The series updates follow the insertions and deletions.
+   *
+   * @param changes the changes of the transaction, never empty
+   */
+  void modelChanged(List<ModelChange> changes);
+}
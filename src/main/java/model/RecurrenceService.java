@@ -29,6 +29,20 @@ class RecurrenceService {
    * @throws IllegalArgumentException if the recurring details are invalid or inconsistent
    */
   static List<EventDTO> generateRecurrence(EventDTO eventDTO) {
+    return generateRecurrence(eventDTO, eventDTO.getSeriesId());
+  }
+
+  /**
+   * Generates a list of {@link EventDTO} objects representing all occurrences of a recurring
+   * event, all carrying the given series identifier.
+   *
+   * @param eventDTO the {@link EventDTO} representing the recurring event
+   * @param seriesId the identifier of the series the occurrences belong to
+   * @return a list of {@link EventDTO} objects, each representing a single occurrence of the
+   *         recurring event
+   * @throws IllegalArgumentException if the recurring details are invalid or inconsistent
+   */
+  static List<EventDTO> generateRecurrence(EventDTO eventDTO, Long seriesId) {
     // check if recurring event has repeat days
     if (Objects.isNull(eventDTO.getRecurringDetails().getRepeatDays())) {
       throw new IllegalArgumentException("Recurring event must have repeat days");
@@ -75,7 +89,8 @@ class RecurrenceService {
           .setIsPublic(eventDTO.getIsPublic())
           .setIsAllDay(eventDTO.getIsAllDay())
           .setIsRecurring(true)
-          .setRecurringDetails(eventDTO.getRecurringDetails()).build();
+          .setRecurringDetails(eventDTO.getRecurringDetails())
+          .setSeriesId(seriesId).build();
       eventDTOs.add(recurringEvent);
     }
     return eventDTOs;
@@ -0,0 +1,118 @@
+package model;
+
+import dto.EventDTO;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import repository.IEventRepository;
+
+/**
+ * This class records the events inserted into and deleted from an {@link IEventRepository} during
+ * a transaction, so that the repository can be brought back to the state it had at any earlier
+ * point of the transaction.
+ *
+ * <p>The entries are undone in the reverse order they were recorded in: an inserted event is
+ * deleted by its identifier and a deleted event is inserted again as it was.
+ *
+ * <p>The entries are also the changes reported to the listeners of the model when the transaction
+ * commits.
+ */
+class UndoLog {
+
+  private final List<EventDTO> events;
+
+  private final List<Boolean> inserted;
+
+  /**
+   * Constructs an empty {@code UndoLog}.
+   */
+  UndoLog() {
+    this.events = new ArrayList<>();
+    this.inserted = new ArrayList<>();
+  }
+
+  /**
+   * Record that an event was inserted.
+   *
+   * @param event the inserted event, with its identifier
+   */
+  void recordInsert(EventDTO event) {
+    events.add(event);
+    inserted.add(true);
+  }
+
+  /**
+   * Record that an event was deleted.
+   *
+   * @param event the deleted event, as it was stored
+   */
+  void recordDelete(EventDTO event) {
+    events.add(event);
+    inserted.add(false);
+  }
+
+  /**
+   * Get the number of recorded entries, to be used as a savepoint for
+   * {@link #rollbackTo(int, IEventRepository)}.
+   *
+   * @return the number of recorded entries
+   */
+  int size() {
+    return events.size();
+  }
+
+  /**
+   * Undo the entries recorded after the given savepoint, newest first, and drop them from the
+   * log.
+   *
+   * @param savepoint       the number of entries to keep
+   * @param eventRepository the repository the entries were recorded on
+   */
+  void rollbackTo(int savepoint, IEventRepository eventRepository) {
+    for (int index = events.size() - 1; index >= savepoint; index--) {
+      EventDTO event = events.remove(index);
+      if (inserted.remove(index)) {
+        eventRepository.deleteById(event.getId());
+      } else {
+        eventRepository.insertEvent(event);
+      }
+    }
+  }
+
+  /**
+   * Get the changes recorded, coalesced by event identifier: an event inserted and deleted again is
+   * dropped, and every series with a recorded occurrence is reported once after the events.
+   *
+   * @return the changes in the order they were recorded
+   */
+  List<ModelChange> changes() {
+    Map<Long, ModelChange> changes = new LinkedHashMap<>();
+    Set<Long> seriesIds = new LinkedHashSet<>();
+    for (int index = 0; index < events.size(); index++) {
+      EventDTO event = events.get(index);
+      if (inserted.get(index)) {
+        changes.put(event.getId(),
+            new ModelChange(ModelChange.Type.INSERTED, event, event.getSeriesId()));
+      } else if (changes.containsKey(event.getId())
+          && changes.get(event.getId()).getType() == ModelChange.Type.INSERTED) {
+        changes.remove(event.getId());
+      } else {
+        changes.put(event.getId(),
+            new ModelChange(ModelChange.Type.DELETED, event, event.getSeriesId()));
+      }
+    }
+    List<ModelChange> result = new ArrayList<>(changes.values());
+    for (ModelChange change : changes.values()) {
+      if (change.getSeriesId() != null) {
+        seriesIds.add(change.getSeriesId());
+      }
+    }
+    for (Long seriesId : seriesIds) {
+      result.add(new ModelChange(ModelChange.Type.SERIES_UPDATED, null, seriesId));
+    }
+    return result;
+  }
+}
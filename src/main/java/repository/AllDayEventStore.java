@@ -0,0 +1,342 @@
+package repository;
+
+import dto.EventDTO;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+/**
+ * This class stores the all-day events of the {@link InMemoryEventRepository}. An all-day event
+ * runs from the midnight of its day to the midnight of the next day, so it is fully described by
+ * its day, and the events are kept in hash buckets keyed by the epoch day.
+ *
+ * <p>The query for a single day is a hash lookup. Range queries and full scans walk the days in
+ * order through a sorted array of the days holding events, which is rebuilt only after a day is
+ * added or emptied. Events of the same day keep the order they were inserted in.
+ */
+class AllDayEventStore implements Iterable<EventDTO> {
+
+  private final Map<Long, List<EventDTO>> buckets;
+
+  private long[] sortedDays;
+
+  private int size;
+
+  /**
+   * Constructor for an empty AllDayEventStore.
+   */
+  AllDayEventStore() {
+    this.buckets = new HashMap<>();
+    this.sortedDays = new long[0];
+    this.size = 0;
+  }
+
+  /**
+   * Check if an event belongs in the store, which is the case for an all-day event running from
+   * the midnight of its day to the midnight of the next day.
+   *
+   * @param event the event to check
+   * @return true if the event is stored by its day, false otherwise
+   */
+  static boolean isAllDayEvent(EventDTO event) {
+    return Boolean.TRUE.equals(event.getIsAllDay())
+        && isDaySpan(event.getStartTime(), event.getEndTime());
+  }
+
+  /**
+   * Check if an interval runs from the midnight of a day to the midnight of the next day.
+   *
+   * @param startTime the start of the interval
+   * @param endTime   the end of the interval
+   * @return true if the interval covers exactly one day, false otherwise
+   */
+  static boolean isDaySpan(LocalDateTime startTime, LocalDateTime endTime) {
+    return startTime.toLocalTime().equals(LocalTime.MIDNIGHT)
+        && endTime.equals(startTime.plusDays(1));
+  }
+
+  /**
+   * Check if the store holds any events.
+   *
+   * @return true if the store has no events, false otherwise
+   */
+  boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Check if the store holds any events on the days from the day of the first date and time to
+   * the day of the last one.
+   *
+   * @param first the first date and time
+   * @param last  the last date and time
+   * @return true if a day of the range has events, false otherwise
+   */
+  boolean hasEventsBetween(LocalDateTime first, LocalDateTime last) {
+    if (size == 0) {
+      return false;
+    }
+    long firstDay = first.toLocalDate().toEpochDay();
+    long lastDay = Math.max(firstDay, last.toLocalDate().toEpochDay());
+    if (lastDay - firstDay < buckets.size()) {
+      for (long day = firstDay; day <= lastDay; day++) {
+        if (buckets.containsKey(day)) {
+          return true;
+        }
+      }
+      return false;
+    }
+    long[] days = sortedDays();
+    int index = Arrays.binarySearch(days, firstDay);
+    index = index < 0 ? -index - 1 : index;
+    return index < days.length && days[index] <= lastDay;
+  }
+
+  /**
+   * Add an all-day event to the bucket of its day.
+   *
+   * @param event the all-day event
+   */
+  void insert(EventDTO event) {
+    long day = event.getStartTime().toLocalDate().toEpochDay();
+    List<EventDTO> bucket = buckets.get(day);
+    if (bucket == null) {
+      bucket = new ArrayList<>(1);
+      buckets.put(day, bucket);
+      sortedDays = null;
+    }
+    bucket.add(event);
+    size++;
+  }
+
+  /**
+   * Remove the all-day event of the given day with the given name, and return it.
+   *
+   * @param subject the name of the event
+   * @param date    the day of the event
+   * @return the event removed, or null if there is no such event
+   */
+  EventDTO remove(String subject, LocalDate date) {
+    List<EventDTO> bucket = buckets.get(date.toEpochDay());
+    if (bucket == null) {
+      return null;
+    }
+    for (Iterator<EventDTO> iterator = bucket.iterator(); iterator.hasNext(); ) {
+      EventDTO event = iterator.next();
+      if (event.getSubject().equals(subject)) {
+        iterator.remove();
+        size--;
+        removeIfEmpty(date.toEpochDay(), bucket);
+        return event;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Delete the given all-day event instance, matched by identity.
+   *
+   * @param event the event to delete, as it was inserted
+   * @return true if the event was deleted, false otherwise
+   */
+  boolean delete(EventDTO event) {
+    long day = event.getStartTime().toLocalDate().toEpochDay();
+    List<EventDTO> bucket = buckets.get(day);
+    if (bucket == null) {
+      return false;
+    }
+    for (Iterator<EventDTO> iterator = bucket.iterator(); iterator.hasNext(); ) {
+      if (iterator.next() == event) {
+        iterator.remove();
+        size--;
+        removeIfEmpty(day, bucket);
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Find the all-day event of the given day with the given name.
+   *
+   * @param subject the name of the event
+   * @param date    the day of the event
+   * @return the event, or null if there is none
+   */
+  EventDTO find(String subject, LocalDate date) {
+    for (EventDTO event : buckets.getOrDefault(date.toEpochDay(), List.of())) {
+      if (event.getSubject().equals(subject)) {
+        return event;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Pass the events overlapping the given time range to the sink in the order of their day. The
+   * events are matched exactly like {@link IntervalTree#searchOverlapping}.
+   *
+   * @param startTime the start of the range
+   * @param endTime   the end of the range
+   * @param sink      the consumer of the events
+   */
+  void searchOverlapping(LocalDateTime startTime, LocalDateTime endTime,
+      Consumer<EventDTO> sink) {
+    forEachDay(startTime, endTime, (day, bucket) -> {
+      if (overlaps(day, startTime, endTime)) {
+        bucket.forEach(sink);
+      }
+    });
+  }
+
+  /**
+   * Pass the events in progress, starting or ending at the given date and time to the sink in the
+   * order of their day.
+   *
+   * @param dateTime the date and time
+   * @param sink     the consumer of the events
+   */
+  void searchOverlappingPoint(LocalDateTime dateTime, Consumer<EventDTO> sink) {
+    // an event of the previous day ends at the date and time if it is a midnight
+    forEachDay(dateTime.minusDays(1), dateTime, (day, bucket) -> {
+      LocalDateTime start = LocalDate.ofEpochDay(day).atStartOfDay();
+      if (!start.isAfter(dateTime) && !start.plusDays(1).isBefore(dateTime)) {
+        bucket.forEach(sink);
+      }
+    });
+  }
+
+  /**
+   * Pass the events with the given name to the sink in the order of their day.
+   *
+   * @param subject the name of the events
+   * @param sink    the consumer of the events
+   */
+  void findByName(String subject, Consumer<EventDTO> sink) {
+    for (EventDTO event : this) {
+      if (event.getSubject().equals(subject)) {
+        sink.accept(event);
+      }
+    }
+  }
+
+  /**
+   * Delete the events overlapping the given time range, optionally only those with the given name.
+   *
+   * @param startTime the start of the range
+   * @param endTime   the end of the range
+   * @param subject   the name of the events to delete, null to delete events with any name
+   * @return the number of events deleted
+   */
+  int deleteRange(LocalDateTime startTime, LocalDateTime endTime, String subject) {
+    List<Long> days = new ArrayList<>();
+    forEachDay(startTime, endTime, (day, bucket) -> {
+      if (overlaps(day, startTime, endTime)) {
+        days.add(day);
+      }
+    });
+    int deleted = 0;
+    for (long day : days) {
+      List<EventDTO> bucket = buckets.get(day);
+      int before = bucket.size();
+      bucket.removeIf(event -> subject == null || event.getSubject().equals(subject));
+      deleted += before - bucket.size();
+      size -= before - bucket.size();
+      removeIfEmpty(day, bucket);
+    }
+    return deleted;
+  }
+
+  /**
+   * Get an iterator over the events in the order of their day.
+   *
+   * @return an iterator over the events of the store
+   */
+  @Override
+  public Iterator<EventDTO> iterator() {
+    long[] days = sortedDays();
+    return new Iterator<>() {
+
+      private int dayIndex = 0;
+
+      private Iterator<EventDTO> bucket = List.<EventDTO>of().iterator();
+
+      @Override
+      public boolean hasNext() {
+        while (!bucket.hasNext() && dayIndex < days.length) {
+          bucket = buckets.get(days[dayIndex++]).iterator();
+        }
+        return bucket.hasNext();
+      }
+
+      @Override
+      public EventDTO next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        return bucket.next();
+      }
+    };
+  }
+
+  private static boolean overlaps(long day, LocalDateTime startTime, LocalDateTime endTime) {
+    LocalDateTime start = LocalDate.ofEpochDay(day).atStartOfDay();
+    return start.isEqual(startTime)
+        || start.isBefore(endTime) && start.plusDays(1).isAfter(startTime);
+  }
+
+  /**
+   * Pass the non-empty buckets of the days from the day of the first date and time to the day of
+   * the last one, in order. A short range is looked up day by day, a long one through the sorted
+   * days.
+   */
+  private void forEachDay(LocalDateTime first, LocalDateTime last, DayConsumer consumer) {
+    long firstDay = first.toLocalDate().toEpochDay();
+    long lastDay = Math.max(firstDay, last.toLocalDate().toEpochDay());
+    if (lastDay - firstDay < buckets.size()) {
+      for (long day = firstDay; day <= lastDay; day++) {
+        List<EventDTO> bucket = buckets.get(day);
+        if (bucket != null) {
+          consumer.accept(day, bucket);
+        }
+      }
+      return;
+    }
+    long[] days = sortedDays();
+    int index = Arrays.binarySearch(days, firstDay);
+    for (index = index < 0 ? -index - 1 : index; index < days.length && days[index] <= lastDay;
+        index++) {
+      consumer.accept(days[index], buckets.get(days[index]));
+    }
+  }
+
+  private long[] sortedDays() {
+    if (sortedDays == null) {
+      sortedDays = buckets.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+    }
+    return sortedDays;
+  }
+
+  private void removeIfEmpty(long day, List<EventDTO> bucket) {
+    if (bucket.isEmpty()) {
+      buckets.remove(day);
+      sortedDays = null;
+    }
+  }
+
+  /**
+   * The consumer of the bucket of a day.
+   */
+  private interface DayConsumer {
+
+    void accept(long day, List<EventDTO> bucket);
+  }
+}
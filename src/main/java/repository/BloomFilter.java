@@ -0,0 +1,77 @@
+package repository;
+
+/**
+ * This class represents a fixed size Bloom filter over string keys. It answers whether a key may
+ * have been added (with a small false positive rate) or was definitely never added.
+ *
+ * <p>The filter uses double hashing to derive the bit positions from two 32-bit hashes of the
+ * key.
+ */
+class BloomFilter {
+
+  private static final int BITS_PER_KEY = 10;
+
+  private static final int HASH_FUNCTIONS = 7;
+
+  private final long[] bits;
+
+  private final int bitCount;
+
+  /**
+   * Constructor for BloomFilter sized for the expected number of keys.
+   *
+   * @param expectedKeys the number of keys expected to be added to the filter
+   */
+  BloomFilter(int expectedKeys) {
+    int words = Math.max(1, (Math.max(expectedKeys, 1) * BITS_PER_KEY + 63) / 64);
+    this.bits = new long[words];
+    this.bitCount = words * 64;
+  }
+
+  /**
+   * Add a key to the filter.
+   *
+   * @param key the key to be added
+   */
+  void add(String key) {
+    int hash1 = key.hashCode();
+    int hash2 = secondaryHash(key);
+    for (int i = 0; i < HASH_FUNCTIONS; i++) {
+      int bit = Math.floorMod(hash1 + i * hash2, bitCount);
+      bits[bit >>> 6] |= 1L << bit;
+    }
+  }
+
+  /**
+   * Check if the key may have been added to the filter.
+   *
+   * @param key the key to be checked
+   * @return false if the key was definitely never added, true if it may have been added
+   */
+  boolean mightContain(String key) {
+    int hash1 = key.hashCode();
+    int hash2 = secondaryHash(key);
+    for (int i = 0; i < HASH_FUNCTIONS; i++) {
+      int bit = Math.floorMod(hash1 + i * hash2, bitCount);
+      if ((bits[bit >>> 6] & (1L << bit)) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * FNV-1a hash of the key, used as the step of the double hashing.
+   *
+   * @param key the key to be hashed
+   * @return the hash of the key, forced to be odd so that the step is never zero
+   */
+  private static int secondaryHash(String key) {
+    int hash = 0x811c9dc5;
+    for (int i = 0; i < key.length(); i++) {
+      hash ^= key.charAt(i);
+      hash *= 0x01000193;
+    }
+    return hash | 1;
+  }
+}
@@ -0,0 +1,322 @@
+package repository;
+
+import dto.EventDTO;
+import dto.EventPage;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * CachingEventRepository is an implementation of IEventRepository that keeps the results of the
+ * date and range queries of another repository in a bounded least recently used cache.
+ *
+ * <p>The results of {@link #getEventsOnDate} and {@link #getEventsInRange} are cached by the
+ * date or the range queried. Every insert or delete removes only the cached results whose date or
+ * range overlaps the events changed, and the other queries are passed through. The overlap
+ * searches of the conflict checks and the pages of {@link #getEventsPage} are rarely made again
+ * for the same range, so they are not cached either. The number of hits and misses of the cache
+ * are counted.
+ */
+public class CachingEventRepository implements IEventRepository {
+
+  private final IEventRepository storage;
+
+  private final Map<QueryKey, List<EventDTO>> cache;
+
+  private long hitCount;
+
+  private long missCount;
+
+  private long version;
+
+  /**
+   * Constructor for CachingEventRepository.
+   *
+   * @param storage  the repository whose query results are cached
+   * @param capacity the maximum number of query results kept in the cache
+   * @throws IllegalArgumentException if the capacity is not positive
+   */
+  public CachingEventRepository(IEventRepository storage, int capacity) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("Capacity must be positive");
+    }
+    this.storage = Objects.requireNonNull(storage, "storage cannot be null");
+    this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<QueryKey, List<EventDTO>> eldest) {
+        return size() > capacity;
+      }
+    };
+  }
+
+  /**
+   * Get the number of queries answered from the cache.
+   *
+   * @return the number of cache hits
+   */
+  public synchronized long getHitCount() {
+    return hitCount;
+  }
+
+  /**
+   * Get the number of queries passed to the repository because their result was not cached.
+   *
+   * @return the number of cache misses
+   */
+  public synchronized long getMissCount() {
+    return missCount;
+  }
+
+  /**
+   * Get the number of query results in the cache.
+   *
+   * @return the size of the cache
+   */
+  public synchronized int size() {
+    return cache.size();
+  }
+
+  /**
+   * Remove all the query results from the cache, for when the events change without passing
+   * through this repository.
+   */
+  public synchronized void clear() {
+    version++;
+    cache.clear();
+  }
+
+  @Override
+  public boolean insertEvent(EventDTO event) {
+    boolean inserted = storage.insertEvent(event);
+    invalidate(event);
+    return inserted;
+  }
+
+  @Override
+  public void insertEvents(List<EventDTO> events) {
+    storage.insertEvents(events);
+    events.forEach(this::invalidate);
+  }
+
+  @Override
+  public boolean deleteEvent(String name, LocalDateTime startTime, LocalDateTime endTime) {
+    boolean deleted = storage.deleteEvent(name, startTime, endTime);
+    if (deleted) {
+      invalidate(startTime, endTime);
+    }
+    return deleted;
+  }
+
+  @Override
+  public int deleteRange(LocalDateTime startTime, LocalDateTime endTime, String name) {
+    // the events deleted may extend past the range, so their own times are invalidated
+    List<EventDTO> deleting = new ArrayList<>();
+    if (size() > 0) {
+      storage.searchOverlaps(startTime, endTime, event -> {
+        if (name == null || name.equals(event.getSubject())) {
+          deleting.add(event);
+        }
+      });
+    }
+    int deleted = storage.deleteRange(startTime, endTime, name);
+    deleting.forEach(this::invalidate);
+    return deleted;
+  }
+
+  @Override
+  public EventDTO getEvent(String name, LocalDateTime startTime, LocalDateTime endTime) {
+    return storage.getEvent(name, startTime, endTime);
+  }
+
+  @Override
+  public List<EventDTO> getAllEvents() {
+    return storage.getAllEvents();
+  }
+
+  @Override
+  public Stream<EventDTO> stream() {
+    return storage.stream();
+  }
+
+  @Override
+  public Stream<EventDTO> parallelStream() {
+    return storage.parallelStream();
+  }
+
+  @Override
+  public List<EventDTO> getEventsOnDate(LocalDate date) {
+    return new ArrayList<>(lookup(new QueryKey(QueryKey.ON_DATE, date.atStartOfDay(),
+        date.plusDays(1).atStartOfDay())));
+  }
+
+  @Override
+  public void getEventsOnDate(LocalDate date, Consumer<EventDTO> sink) {
+    lookup(new QueryKey(QueryKey.ON_DATE, date.atStartOfDay(), date.plusDays(1).atStartOfDay()))
+        .forEach(sink);
+  }
+
+  @Override
+  public List<EventDTO> getEventsInRange(LocalDateTime startTime, LocalDateTime endTime) {
+    return new ArrayList<>(lookup(new QueryKey(QueryKey.IN_RANGE, startTime, endTime)));
+  }
+
+  @Override
+  public void getEventsInRange(LocalDateTime startTime, LocalDateTime endTime,
+      Consumer<EventDTO> sink) {
+    lookup(new QueryKey(QueryKey.IN_RANGE, startTime, endTime)).forEach(sink);
+  }
+
+  @Override
+  public List<EventDTO> getEventsByName(String name) {
+    return storage.getEventsByName(name);
+  }
+
+  @Override
+  public void getEventsByName(String name, Consumer<EventDTO> sink) {
+    storage.getEventsByName(name, sink);
+  }
+
+  @Override
+  public List<EventDTO> getEventsAt(LocalDateTime dateTime) {
+    return storage.getEventsAt(dateTime);
+  }
+
+  @Override
+  public void getEventsAt(LocalDateTime dateTime, Consumer<EventDTO> sink) {
+    storage.getEventsAt(dateTime, sink);
+  }
+
+  @Override
+  public List<EventDTO> searchOverlaps(LocalDateTime startTime, LocalDateTime endTime) {
+    return storage.searchOverlaps(startTime, endTime);
+  }
+
+  @Override
+  public void searchOverlaps(LocalDateTime startTime, LocalDateTime endTime,
+      Consumer<EventDTO> sink) {
+    storage.searchOverlaps(startTime, endTime, sink);
+  }
+
+  @Override
+  public EventPage getEventsPage(LocalDateTime startTime, LocalDateTime endTime,
+      LocalDateTime cursorStart, int cursorSkip, int limit) {
+    // the windows of the pages are rarely queried again and would only push out other results
+    return storage.getEventsPage(startTime, endTime, cursorStart, cursorSkip, limit);
+  }
+
+  @Override
+  public List<EventDTO> getEventsBySeries(long seriesId) {
+    return storage.getEventsBySeries(seriesId);
+  }
+
+  @Override
+  public void getEventsBySeries(long seriesId, Consumer<EventDTO> sink) {
+    storage.getEventsBySeries(seriesId, sink);
+  }
+
+  @Override
+  public EventDTO getById(long id) {
+    return storage.getById(id);
+  }
+
+  @Override
+  public boolean deleteById(long id) {
+    EventDTO event = storage.getById(id);
+    boolean deleted = storage.deleteById(id);
+    if (deleted) {
+      invalidate(event);
+    }
+    return deleted;
+  }
+
+  private List<EventDTO> lookup(QueryKey key) {
+    long versionQueried;
+    synchronized (this) {
+      List<EventDTO> cached = cache.get(key);
+      if (cached != null) {
+        hitCount++;
+        return cached;
+      }
+      missCount++;
+      versionQueried = version;
+    }
+    List<EventDTO> result = Collections.unmodifiableList(key.kind == QueryKey.ON_DATE
+        ? storage.getEventsOnDate(key.startTime.toLocalDate())
+        : storage.getEventsInRange(key.startTime, key.endTime));
+    synchronized (this) {
+      // a result queried while the events changed may already be stale
+      if (versionQueried == version) {
+        cache.put(key, result);
+      }
+    }
+    return result;
+  }
+
+  private void invalidate(EventDTO event) {
+    if (event != null) {
+      invalidate(event.getStartTime(), event.getEndTime());
+    }
+  }
+
+  private synchronized void invalidate(LocalDateTime startTime, LocalDateTime endTime) {
+    version++;
+    LocalDateTime end = endTime == null ? startTime : endTime;
+    Iterator<QueryKey> keys = cache.keySet().iterator();
+    while (keys.hasNext()) {
+      QueryKey key = keys.next();
+      // inclusive at both ends, so events touching the bounds of a query are never left stale
+      if (!startTime.isAfter(key.endTime) && !end.isBefore(key.startTime)) {
+        keys.remove();
+      }
+    }
+  }
+
+  /**
+   * The kind of query and the date and times it was made with. A date query is kept as the range
+   * from the start of the date to the start of the next date.
+   */
+  private static class QueryKey {
+
+    static final int ON_DATE = 0;
+
+    static final int IN_RANGE = 1;
+
+    final int kind;
+
+    final LocalDateTime startTime;
+
+    final LocalDateTime endTime;
+
+    QueryKey(int kind, LocalDateTime startTime, LocalDateTime endTime) {
+      this.kind = kind;
+      this.startTime = Objects.requireNonNull(startTime, "startTime cannot be null");
+      this.endTime = Objects.requireNonNull(endTime, "endTime cannot be null");
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof QueryKey)) {
+        return false;
+      }
+      QueryKey other = (QueryKey) o;
+      return kind == other.kind && startTime.equals(other.startTime)
+          && endTime.equals(other.endTime);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(kind, startTime, endTime);
+    }
+  }
+}
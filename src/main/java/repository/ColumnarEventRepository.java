@@ -0,0 +1,777 @@
+package repository;
+
+import dto.EventDTO;
+import dto.RecurringDetailsDTO;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * ColumnarEventRepository is an implementation of IEventRepository that stores the events as a
+ * struct of arrays, for workloads dominated by scans over all the events.
+ *
+ * <p>The events are kept in a base segment ordered by start time. Every field is a column: the
+ * start and end times are primitive epoch seconds and nanoseconds, the flags are packed into a
+ * byte, and the strings are stored as codes into a {@link StringDictionary}. The order of the
+ * rows is the sorted index over the start times, and the maximum end time of every block of
+ * {@link #BLOCK_SIZE} rows lets overlap queries skip the blocks that end before the query.
+ *
+ * <p>New events are appended to a small IntervalTree (the delta) and deleted base rows are only
+ * marked. Once the pending changes reach the configured limit, or before a full scan, the delta
+ * and the base are merged into a new base segment, so full scans always run over contiguous
+ * columns.
+ */
+public class ColumnarEventRepository implements IEventRepository {
+
+  static final int BLOCK_SIZE = 64;
+
+  private static final int DEFAULT_DELTA_LIMIT = 1024;
+
+  private final int deltaLimit;
+
+  private Segment base;
+
+  private BitSet deletedRows;
+
+  private int deletedCount;
+
+  private IntervalTree delta;
+
+  private int deltaCount;
+
+  /**
+   * Constructor for ColumnarEventRepository.
+   */
+  public ColumnarEventRepository() {
+    this(DEFAULT_DELTA_LIMIT);
+  }
+
+  /**
+   * Constructor for ColumnarEventRepository.
+   *
+   * @param deltaLimit the number of pending inserts and deletes after which they are merged into
+   *                   the columns
+   * @throws IllegalArgumentException if the limit is not positive
+   */
+  public ColumnarEventRepository(int deltaLimit) {
+    if (deltaLimit < 1) {
+      throw new IllegalArgumentException("delta limit must be positive");
+    }
+    this.deltaLimit = deltaLimit;
+    this.base = new Segment(0);
+    this.deletedRows = new BitSet();
+    this.deletedCount = 0;
+    this.delta = new IntervalTree();
+    this.deltaCount = 0;
+  }
+
+  /**
+   * Insert an event into the delta, merging the delta into the columns when it is full.
+   *
+   * @param event The event to be stored in the repository
+   * @return true if the event was successfully inserted, false otherwise
+   */
+  @Override
+  public boolean insertEvent(EventDTO event) {
+    if (event == null) {
+      return false;
+    }
+    delta.insert(event);
+    deltaCount++;
+    mergeIfFull();
+    return true;
+  }
+
+  /**
+   * Delete an event from the repository. An event still in the delta is removed directly,
+   * otherwise its row is marked as deleted until the next merge.
+   *
+   * @param name      The name of the event
+   * @param startTime The start time of the event
+   * @param endTime   The end time of the event
+   * @return true if the event was successfully deleted, false otherwise
+   */
+  @Override
+  public boolean deleteEvent(String name, LocalDateTime startTime, LocalDateTime endTime) {
+    if (delta.delete(name, startTime, endTime)) {
+      deltaCount--;
+      return true;
+    }
+    int row = findRow(name, startTime, endTime);
+    if (row < 0) {
+      return false;
+    }
+    deleteRow(row);
+    mergeIfFull();
+    return true;
+  }
+
+  /**
+   * Delete all the events that overlap with the given time range. The delta is cut with a range
+   * delete, while the overlapping base rows are marked as deleted.
+   *
+   * @param startTime The start time of the range
+   * @param endTime   The end time of the range
+   * @param name      The name of the events to delete, null to delete events with any name
+   * @return the number of events deleted
+   */
+  @Override
+  public int deleteRange(LocalDateTime startTime, LocalDateTime endTime, String name) {
+    int deletedFromDelta = delta.deleteRange(startTime, endTime, name);
+    deltaCount -= deletedFromDelta;
+    int subjectCode = name == null ? StringDictionary.NULL_CODE : base.dictionary.lookup(name);
+    List<Integer> rows = new ArrayList<>();
+    if (subjectCode != StringDictionary.ABSENT_CODE) {
+      scanOverlappingRows(startTime, endTime, row -> {
+        if (name == null || base.subjectCodes[row] == subjectCode) {
+          rows.add(row);
+        }
+      });
+    }
+    rows.forEach(this::deleteRow);
+    mergeIfFull();
+    return deletedFromDelta + rows.size();
+  }
+
+  /**
+   * Get an event with the given name, start time and end time.
+   *
+   * @param name      The name of the event
+   * @param startTime The start time of the event
+   * @param endTime   The end time of the event
+   * @return The event with the given name, start time and end time
+   */
+  @Override
+  public EventDTO getEvent(String name, LocalDateTime startTime, LocalDateTime endTime) {
+    int row = findRow(name, startTime, endTime);
+    return row < 0 ? delta.findEvent(name, startTime, endTime) : base.materialize(row);
+  }
+
+  /**
+   * Get all events in the repository, merging the pending changes into the columns first.
+   *
+   * @return A list of all events in the repository
+   */
+  @Override
+  public List<EventDTO> getAllEvents() {
+    return stream().collect(Collectors.toList());
+  }
+
+  /**
+   * Stream all events in the repository with a scan over the columns. The pending changes are
+   * merged into the columns first.
+   *
+   * @return A sequential stream of all events in the repository
+   */
+  @Override
+  public Stream<EventDTO> stream() {
+    merge();
+    Segment segment = base;
+    return IntStream.range(0, segment.rowCount).mapToObj(segment::materialize);
+  }
+
+  /**
+   * Stream all events in the repository, splitting the scan over the columns into row ranges.
+   * The pending changes are merged into the columns first.
+   *
+   * @return A parallel stream of all events in the repository
+   */
+  @Override
+  public Stream<EventDTO> parallelStream() {
+    return stream().parallel();
+  }
+
+  /**
+   * Get all events that occur on the given date.
+   *
+   * @param date The date to get events for from repository
+   * @return A list of events that occur on the given date
+   */
+  @Override
+  public List<EventDTO> getEventsOnDate(LocalDate date) {
+    return searchOverlaps(date.atStartOfDay(), LocalDateTime.of(date, LocalTime.MAX));
+  }
+
+  /**
+   * Pass the events that occur on the given date to the sink.
+   *
+   * @param date The date to get events for from repository
+   * @param sink The consumer of the events on the given date
+   */
+  @Override
+  public void getEventsOnDate(LocalDate date, Consumer<EventDTO> sink) {
+    searchOverlaps(date.atStartOfDay(), LocalDateTime.of(date, LocalTime.MAX), sink);
+  }
+
+  /**
+   * Get all events that occur in the given time range.
+   *
+   * @param start The start time of the events range
+   * @param end   The end time of the events range
+   * @return A list of events that occur in the given time range
+   */
+  @Override
+  public List<EventDTO> getEventsInRange(LocalDateTime start, LocalDateTime end) {
+    return searchOverlaps(start, end);
+  }
+
+  /**
+   * Pass the events that occur in the given time range to the sink.
+   *
+   * @param start The start time of the events range
+   * @param end   The end time of the events range
+   * @param sink  The consumer of the events in the given time range
+   */
+  @Override
+  public void getEventsInRange(LocalDateTime start, LocalDateTime end, Consumer<EventDTO> sink) {
+    searchOverlaps(start, end, sink);
+  }
+
+  /**
+   * Get all events with the given name.
+   *
+   * @param name The name of the event to search for
+   * @return A list of events with the given name
+   */
+  @Override
+  public List<EventDTO> getEventsByName(String name) {
+    List<EventDTO> result = new ArrayList<>();
+    getEventsByName(name, result::add);
+    return result;
+  }
+
+  /**
+   * Pass the events with the given name to the sink. The base rows are found by comparing the
+   * dictionary code of the name with the subject column.
+   *
+   * @param name The name of the event to search for
+   * @param sink The consumer of the events with the given name
+   */
+  @Override
+  public void getEventsByName(String name, Consumer<EventDTO> sink) {
+    DeltaMergingSink merging = new DeltaMergingSink(delta.findByName(name), sink);
+    int subjectCode = base.dictionary.lookup(name);
+    if (subjectCode >= 0) {
+      int[] subjectCodes = base.subjectCodes;
+      for (int row = 0; row < base.rowCount; row++) {
+        if (subjectCodes[row] == subjectCode && !deletedRows.get(row)) {
+          merging.accept(base.materialize(row));
+        }
+      }
+    }
+    merging.finish();
+  }
+
+  /**
+   * Get the occurrences of the recurrence series with the given identifier.
+   *
+   * @param seriesId The identifier of the recurrence series
+   * @return A list of the occurrences of the series
+   */
+  @Override
+  public List<EventDTO> getEventsBySeries(long seriesId) {
+    List<EventDTO> result = new ArrayList<>();
+    getEventsBySeries(seriesId, result::add);
+    return result;
+  }
+
+  /**
+   * Pass the occurrences of the recurrence series with the given identifier to the sink. The base
+   * rows are found by comparing the identifier with the series column.
+   *
+   * @param seriesId The identifier of the recurrence series
+   * @param sink     The consumer of the occurrences of the series
+   */
+  @Override
+  public void getEventsBySeries(long seriesId, Consumer<EventDTO> sink) {
+    Long series = seriesId;
+    DeltaMergingSink merging = new DeltaMergingSink(delta.stream()
+        .filter(event -> series.equals(event.getSeriesId()))
+        .collect(Collectors.toList()), sink);
+    for (int row = 0; row < base.rowCount; row++) {
+      if (base.hasSeriesId(row, seriesId) && !deletedRows.get(row)) {
+        merging.accept(base.materialize(row));
+      }
+    }
+    merging.finish();
+  }
+
+  /**
+   * Get the event with the given identifier. The base rows are found by comparing the identifier
+   * with the identifier column.
+   *
+   * @param id The identifier of the event
+   * @return The event with the identifier, or null if there is none
+   */
+  @Override
+  public EventDTO getById(long id) {
+    Long eventId = id;
+    EventDTO event = delta.stream().filter(candidate -> eventId.equals(candidate.getId()))
+        .findFirst().orElse(null);
+    if (event != null) {
+      return event;
+    }
+    for (int row = 0; row < base.rowCount; row++) {
+      if (base.hasId(row, id) && !deletedRows.get(row)) {
+        return base.materialize(row);
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Delete the event with the given identifier.
+   *
+   * @param id The identifier of the event
+   * @return true if the event was deleted, false otherwise
+   */
+  @Override
+  public boolean deleteById(long id) {
+    EventDTO event = getById(id);
+    return event != null
+        && deleteEvent(event.getSubject(), event.getStartTime(), event.getEndTime());
+  }
+
+  /**
+   * Get all events that occur at the given date and time.
+   *
+   * @param dateTime The date and time to get events for
+   * @return A list of events that occur at the given date and time
+   */
+  @Override
+  public List<EventDTO> getEventsAt(LocalDateTime dateTime) {
+    List<EventDTO> result = new ArrayList<>();
+    getEventsAt(dateTime, result::add);
+    return result;
+  }
+
+  /**
+   * Pass the events that occur at the given date and time to the sink.
+   *
+   * @param dateTime The date and time to get events for
+   * @param sink     The consumer of the events at the given date and time
+   */
+  @Override
+  public void getEventsAt(LocalDateTime dateTime, Consumer<EventDTO> sink) {
+    DeltaMergingSink merging = new DeltaMergingSink(delta.searchOverlappingPoint(dateTime), sink);
+    long seconds = dateTime.toEpochSecond(ZoneOffset.UTC);
+    int nanos = dateTime.getNano();
+    scanCandidateRows(dateTime, Node.toEpochMicros(dateTime), row -> {
+      if (base.compareEnd(row, seconds, nanos) >= 0) {
+        merging.accept(base.materialize(row));
+      }
+    });
+    merging.finish();
+  }
+
+  /**
+   * Search for events that overlap with the given time range.
+   *
+   * @param startTime The start time of the event
+   * @param endTime   The end time of the event
+   * @return A list of events that overlap with the given time range
+   */
+  @Override
+  public List<EventDTO> searchOverlaps(LocalDateTime startTime, LocalDateTime endTime) {
+    List<EventDTO> result = new ArrayList<>();
+    searchOverlaps(startTime, endTime, result::add);
+    return result;
+  }
+
+  /**
+   * Pass the events that overlap with the given time range to the sink.
+   *
+   * @param startTime The start time of the event
+   * @param endTime   The end time of the event
+   * @param sink      The consumer of the events that overlap with the given time range
+   */
+  @Override
+  public void searchOverlaps(LocalDateTime startTime, LocalDateTime endTime,
+      Consumer<EventDTO> sink) {
+    DeltaMergingSink merging =
+        new DeltaMergingSink(delta.searchOverlapping(startTime, endTime), sink);
+    scanOverlappingRows(startTime, endTime, row -> merging.accept(base.materialize(row)));
+    merging.finish();
+  }
+
+  /**
+   * Pass the live base rows that overlap with the given time range to the consumer, matched
+   * exactly like {@link IntervalTree#searchOverlapping}.
+   *
+   * @param startTime the start time of the range
+   * @param endTime   the end time of the range
+   * @param rows      the consumer of the rows
+   */
+  private void scanOverlappingRows(LocalDateTime startTime, LocalDateTime endTime,
+      IntConsumer rows) {
+    long startSeconds = startTime.toEpochSecond(ZoneOffset.UTC);
+    int startNanos = startTime.getNano();
+    long endSeconds = endTime.toEpochSecond(ZoneOffset.UTC);
+    int endNanos = endTime.getNano();
+    LocalDateTime lastStart = endTime.isBefore(startTime) ? startTime : endTime;
+    scanCandidateRows(lastStart, Node.toEpochMicros(startTime), row -> {
+      if (base.compareStart(row, startSeconds, startNanos) == 0
+          || base.compareStart(row, endSeconds, endNanos) < 0
+          && base.compareEnd(row, startSeconds, startNanos) > 0) {
+        rows.accept(row);
+      }
+    });
+  }
+
+  /**
+   * Pass the live base rows that start at or before the given time, in the blocks that may hold
+   * events ending at or after the given microseconds, to the consumer. The consumer must apply
+   * its own exact filter on the rows.
+   *
+   * @param lastStart the latest start time of the rows
+   * @param fromMicros the earliest end time of the rows in epoch microseconds
+   * @param rows      the consumer of the rows
+   */
+  private void scanCandidateRows(LocalDateTime lastStart, long fromMicros, IntConsumer rows) {
+    Segment segment = base;
+    int endRow = segment.firstRowAfter(lastStart.toEpochSecond(ZoneOffset.UTC),
+        lastStart.getNano());
+    for (int block = segment.firstBlockEndingAfter(fromMicros);
+        block * BLOCK_SIZE < endRow; block++) {
+      if (segment.blockMaxEnd[block] < fromMicros) {
+        continue;
+      }
+      int blockEnd = Math.min(endRow, (block + 1) * BLOCK_SIZE);
+      for (int row = block * BLOCK_SIZE; row < blockEnd; row++) {
+        if (!deletedRows.get(row)) {
+          rows.accept(row);
+        }
+      }
+    }
+  }
+
+  /**
+   * Find the live base row of the event with the given name, start time and end time.
+   *
+   * @param name      The name of the event
+   * @param startTime The start time of the event
+   * @param endTime   The end time of the event
+   * @return the row of the event, or -1 if no base row holds the event
+   */
+  private int findRow(String name, LocalDateTime startTime, LocalDateTime endTime) {
+    int subjectCode = base.dictionary.lookup(name);
+    if (subjectCode < 0) {
+      return -1;
+    }
+    long startSeconds = startTime.toEpochSecond(ZoneOffset.UTC);
+    int startNanos = startTime.getNano();
+    long endSeconds = endTime.toEpochSecond(ZoneOffset.UTC);
+    int endNanos = endTime.getNano();
+    for (int row = base.firstRowAfter(startSeconds, startNanos) - 1;
+        row >= 0 && base.compareStart(row, startSeconds, startNanos) == 0; row--) {
+      if (base.subjectCodes[row] == subjectCode && base.compareEnd(row, endSeconds, endNanos) == 0
+          && !deletedRows.get(row)) {
+        return row;
+      }
+    }
+    return -1;
+  }
+
+  private void deleteRow(int row) {
+    deletedRows.set(row);
+    deletedCount++;
+  }
+
+  private void mergeIfFull() {
+    if (deltaCount + deletedCount >= deltaLimit) {
+      merge();
+    }
+  }
+
+  /**
+   * Merge the live base rows and the delta into a new base segment. Events with the same start
+   * time keep the base rows before the delta events, which is the order they were inserted in.
+   */
+  private void merge() {
+    if (deltaCount == 0 && deletedCount == 0) {
+      return;
+    }
+    List<EventDTO> deltaEvents = delta.getAllEvents();
+    Segment merged = new Segment(base.rowCount - deletedCount + deltaEvents.size());
+    int next = 0;
+    for (int row = 0; row < base.rowCount; row++) {
+      if (deletedRows.get(row)) {
+        continue;
+      }
+      while (next < deltaEvents.size() && base.compareStart(row,
+          deltaEvents.get(next).getStartTime().toEpochSecond(ZoneOffset.UTC),
+          deltaEvents.get(next).getStartTime().getNano()) > 0) {
+        merged.append(deltaEvents.get(next++));
+      }
+      merged.appendRow(base, row);
+    }
+    while (next < deltaEvents.size()) {
+      merged.append(deltaEvents.get(next++));
+    }
+    merged.seal();
+    base = merged;
+    deletedRows = new BitSet();
+    deletedCount = 0;
+    delta = new IntervalTree();
+    deltaCount = 0;
+  }
+
+  /**
+   * This class holds the columns of the events ordered by start time, along with the block
+   * summaries used to skip blocks in overlap queries. Rows are appended once and then only read.
+   */
+  private static class Segment {
+
+    private static final int FLAG_BITS = 2;
+
+    private static final int SERIES_FLAG = 1 << 3 * FLAG_BITS;
+
+    private static final int ID_FLAG = SERIES_FLAG << 1;
+
+    final StringDictionary dictionary;
+
+    int rowCount;
+
+    final long[] startSeconds;
+
+    final int[] startNanos;
+
+    final long[] endSeconds;
+
+    final int[] endNanos;
+
+    final byte[] flags;
+
+    final int[] subjectCodes;
+
+    final int[] descriptionCodes;
+
+    final int[] locationCodes;
+
+    final RecurringDetailsDTO[] recurringDetails;
+
+    // only meaningful for the rows with the series flag set
+    final long[] seriesIds;
+
+    // only meaningful for the rows with the identifier flag set
+    final long[] ids;
+
+    // the maximum end time of each block, and of all the blocks up to it, in epoch microseconds
+    long[] blockMaxEnd;
+
+    long[] blockPrefixMaxEnd;
+
+    Segment(int capacity) {
+      this.dictionary = new StringDictionary();
+      this.rowCount = 0;
+      this.startSeconds = new long[capacity];
+      this.startNanos = new int[capacity];
+      this.endSeconds = new long[capacity];
+      this.endNanos = new int[capacity];
+      this.flags = new byte[capacity];
+      this.subjectCodes = new int[capacity];
+      this.descriptionCodes = new int[capacity];
+      this.locationCodes = new int[capacity];
+      this.recurringDetails = new RecurringDetailsDTO[capacity];
+      this.seriesIds = new long[capacity];
+      this.ids = new long[capacity];
+      this.blockMaxEnd = new long[0];
+      this.blockPrefixMaxEnd = new long[0];
+    }
+
+    void append(EventDTO event) {
+      int row = rowCount++;
+      startSeconds[row] = event.getStartTime().toEpochSecond(ZoneOffset.UTC);
+      startNanos[row] = event.getStartTime().getNano();
+      endSeconds[row] = event.getEndTime().toEpochSecond(ZoneOffset.UTC);
+      endNanos[row] = event.getEndTime().getNano();
+      flags[row] = (byte) (encodeFlag(event.getIsPublic())
+          | encodeFlag(event.getIsAllDay()) << FLAG_BITS
+          | encodeFlag(event.getIsRecurring()) << 2 * FLAG_BITS
+          | (event.getSeriesId() != null ? SERIES_FLAG : 0)
+          | (event.getId() != null ? ID_FLAG : 0));
+      subjectCodes[row] = dictionary.encode(event.getSubject());
+      descriptionCodes[row] = dictionary.encode(event.getDescription());
+      locationCodes[row] = dictionary.encode(event.getLocation());
+      recurringDetails[row] = event.getRecurringDetails();
+      seriesIds[row] = event.getSeriesId() != null ? event.getSeriesId() : 0;
+      ids[row] = event.getId() != null ? event.getId() : 0;
+    }
+
+    void appendRow(Segment other, int otherRow) {
+      int row = rowCount++;
+      startSeconds[row] = other.startSeconds[otherRow];
+      startNanos[row] = other.startNanos[otherRow];
+      endSeconds[row] = other.endSeconds[otherRow];
+      endNanos[row] = other.endNanos[otherRow];
+      flags[row] = other.flags[otherRow];
+      // the strings are encoded again so that the merged dictionary drops the deleted strings
+      subjectCodes[row] = dictionary.encode(other.dictionary.decode(other.subjectCodes[otherRow]));
+      descriptionCodes[row] =
+          dictionary.encode(other.dictionary.decode(other.descriptionCodes[otherRow]));
+      locationCodes[row] =
+          dictionary.encode(other.dictionary.decode(other.locationCodes[otherRow]));
+      recurringDetails[row] = other.recurringDetails[otherRow];
+      seriesIds[row] = other.seriesIds[otherRow];
+      ids[row] = other.ids[otherRow];
+    }
+
+    /**
+     * Compute the block summaries once all the rows are appended.
+     */
+    void seal() {
+      int blockCount = (rowCount + BLOCK_SIZE - 1) / BLOCK_SIZE;
+      blockMaxEnd = new long[blockCount];
+      blockPrefixMaxEnd = new long[blockCount];
+      Arrays.fill(blockMaxEnd, Long.MIN_VALUE);
+      for (int row = 0; row < rowCount; row++) {
+        long end = Node.toEpochMicros(endSeconds[row], endNanos[row]);
+        blockMaxEnd[row / BLOCK_SIZE] = Math.max(blockMaxEnd[row / BLOCK_SIZE], end);
+      }
+      long prefixMaxEnd = Long.MIN_VALUE;
+      for (int block = 0; block < blockCount; block++) {
+        prefixMaxEnd = Math.max(prefixMaxEnd, blockMaxEnd[block]);
+        blockPrefixMaxEnd[block] = prefixMaxEnd;
+      }
+    }
+
+    EventDTO materialize(int row) {
+      return EventDTO.getBuilder()
+          .setSubject(dictionary.decode(subjectCodes[row]))
+          .setStartTime(
+              LocalDateTime.ofEpochSecond(startSeconds[row], startNanos[row], ZoneOffset.UTC))
+          .setEndTime(LocalDateTime.ofEpochSecond(endSeconds[row], endNanos[row], ZoneOffset.UTC))
+          .setDescription(dictionary.decode(descriptionCodes[row]))
+          .setLocation(dictionary.decode(locationCodes[row]))
+          .setIsPublic(decodeFlag(flags[row]))
+          .setIsAllDay(decodeFlag(flags[row] >> FLAG_BITS))
+          .setIsRecurring(decodeFlag(flags[row] >> 2 * FLAG_BITS))
+          .setRecurringDetails(recurringDetails[row])
+          .setSeriesId((flags[row] & SERIES_FLAG) != 0 ? seriesIds[row] : null)
+          .setId((flags[row] & ID_FLAG) != 0 ? ids[row] : null)
+          .build();
+    }
+
+    boolean hasId(int row, long id) {
+      return (flags[row] & ID_FLAG) != 0 && ids[row] == id;
+    }
+
+    boolean hasSeriesId(int row, long seriesId) {
+      return (flags[row] & SERIES_FLAG) != 0 && seriesIds[row] == seriesId;
+    }
+
+    int compareStart(int row, long seconds, int nanos) {
+      int comparison = Long.compare(startSeconds[row], seconds);
+      return comparison != 0 ? comparison : Integer.compare(startNanos[row], nanos);
+    }
+
+    int compareEnd(int row, long seconds, int nanos) {
+      int comparison = Long.compare(endSeconds[row], seconds);
+      return comparison != 0 ? comparison : Integer.compare(endNanos[row], nanos);
+    }
+
+    /**
+     * Binary search for the first row starting after the given time.
+     *
+     * @param seconds the epoch seconds of the time
+     * @param nanos   the nanoseconds of the time
+     * @return the first row starting after the time, or the row count if there is none
+     */
+    int firstRowAfter(long seconds, int nanos) {
+      int low = 0;
+      int high = rowCount;
+      while (low < high) {
+        int middle = (low + high) >>> 1;
+        if (compareStart(middle, seconds, nanos) <= 0) {
+          low = middle + 1;
+        } else {
+          high = middle;
+        }
+      }
+      return low;
+    }
+
+    /**
+     * Binary search for the first block that has a block at or before it ending at or after the
+     * given time. No row before that block can end at or after the time.
+     *
+     * @param micros the time in epoch microseconds
+     * @return the first block that may hold rows ending at or after the time
+     */
+    int firstBlockEndingAfter(long micros) {
+      int low = 0;
+      int high = blockPrefixMaxEnd.length;
+      while (low < high) {
+        int middle = (low + high) >>> 1;
+        if (blockPrefixMaxEnd[middle] < micros) {
+          low = middle + 1;
+        } else {
+          high = middle;
+        }
+      }
+      return low;
+    }
+
+    private static int encodeFlag(Boolean flag) {
+      return flag == null ? 0 : flag ? 2 : 1;
+    }
+
+    private static Boolean decodeFlag(int bits) {
+      switch (bits & 3) {
+        case 1:
+          return false;
+        case 2:
+          return true;
+        default:
+          return null;
+      }
+    }
+  }
+
+  /**
+   * This class merges the delta events matching a query into the base rows passed to it, keeping
+   * the order of start time. Base rows come before delta events with the same start time.
+   */
+  private static class DeltaMergingSink implements Consumer<EventDTO> {
+
+    private final List<EventDTO> deltaEvents;
+
+    private final Consumer<EventDTO> sink;
+
+    private int next;
+
+    DeltaMergingSink(List<EventDTO> deltaEvents, Consumer<EventDTO> sink) {
+      this.deltaEvents = deltaEvents;
+      this.sink = sink;
+      this.next = 0;
+    }
+
+    @Override
+    public void accept(EventDTO event) {
+      while (next < deltaEvents.size()
+          && deltaEvents.get(next).getStartTime().isBefore(event.getStartTime())) {
+        sink.accept(deltaEvents.get(next++));
+      }
+      sink.accept(event);
+    }
+
+    /**
+     * Pass the delta events starting after the last base row to the sink.
+     */
+    void finish() {
+      while (next < deltaEvents.size()) {
+        sink.accept(deltaEvents.get(next++));
+      }
+    }
+  }
+}
@@ -0,0 +1,115 @@
+package repository;
+
+import dto.DaySummary;
+import dto.EventDTO;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * This class keeps the number of events, the busy minutes and the first start of every date with
+ * events, updated as events are added and removed, so that the summaries of a month are read in
+ * time proportional to the days of the month instead of querying the events of every day.
+ *
+ * <p>An event counts on every date it overlaps, with the part of it on that date. An event
+ * without a duration counts on the date it starts.
+ */
+public class DayAggregateIndex {
+
+  private final Map<LocalDate, DayAggregate> days;
+
+  /**
+   * Constructor for an empty DayAggregateIndex.
+   */
+  public DayAggregateIndex() {
+    this.days = new HashMap<>();
+  }
+
+  /**
+   * Add an event to the aggregates of the dates it overlaps.
+   *
+   * @param event the event to add
+   */
+  public synchronized void add(EventDTO event) {
+    update(event, 1);
+  }
+
+  /**
+   * Remove an event from the aggregates of the dates it overlaps. The event must have been added
+   * with the same start and end time.
+   *
+   * @param event the event to remove
+   */
+  public synchronized void remove(EventDTO event) {
+    update(event, -1);
+  }
+
+  /**
+   * Remove all the events from the index.
+   */
+  public synchronized void clear() {
+    days.clear();
+  }
+
+  /**
+   * Get the summaries of every date of the month, in the order of the dates. The dates without
+   * events have a summary with no events.
+   *
+   * @param yearMonth the month to summarize
+   * @return the summaries of the dates of the month
+   */
+  public synchronized List<DaySummary> getDaySummaries(YearMonth yearMonth) {
+    List<DaySummary> summaries = new ArrayList<>(yearMonth.lengthOfMonth());
+    for (int day = 1; day <= yearMonth.lengthOfMonth(); day++) {
+      LocalDate date = yearMonth.atDay(day);
+      DayAggregate aggregate = days.get(date);
+      summaries.add(aggregate == null
+          ? new DaySummary(date, 0, 0, null)
+          : new DaySummary(date, aggregate.count, aggregate.busyMinutes,
+              aggregate.starts.firstKey()));
+    }
+    return summaries;
+  }
+
+  private void update(EventDTO event, int sign) {
+    LocalDateTime start = event.getStartTime();
+    LocalDateTime end = event.getEndTime() == null ? start : event.getEndTime();
+    LocalDate date = start.toLocalDate();
+    do {
+      LocalDateTime dayStart = date.atStartOfDay();
+      LocalDateTime dayEnd = date.plusDays(1).atStartOfDay();
+      LocalDateTime from = start.isAfter(dayStart) ? start : dayStart;
+      LocalDateTime to = end.isBefore(dayEnd) ? end : dayEnd;
+      DayAggregate aggregate = days.computeIfAbsent(date, key -> new DayAggregate());
+      aggregate.count += sign;
+      aggregate.busyMinutes += sign * Duration.between(from, to).toMinutes();
+      aggregate.starts.merge(from, sign, Integer::sum);
+      if (aggregate.starts.get(from) == 0) {
+        aggregate.starts.remove(from);
+      }
+      if (aggregate.count == 0) {
+        days.remove(date);
+      }
+      date = date.plusDays(1);
+    } while (date.atStartOfDay().isBefore(end));
+  }
+
+  /**
+   * The aggregate of the events of a date. The starts are counted, so the first start is still
+   * known after the event starting first is removed.
+   */
+  private static class DayAggregate {
+
+    int count;
+
+    long busyMinutes;
+
+    final TreeMap<LocalDateTime, Integer> starts = new TreeMap<>();
+  }
+}
@@ -0,0 +1,177 @@
+package repository;
+
+import dto.EventDTO;
+import dto.RecurringDetailsDTO;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.EnumSet;
+import java.util.Set;
+import model.CalendarDayOfWeek;
+
+/**
+ * This class provides static methods to write an {@link EventDTO} to a binary stream and to read it
+ * back. It is used by the repositories that keep events outside the Java heap objects (e.g., the
+ * sorted run files of the {@link LsmEventRepository}).
+ *
+ * <p>Date and times are written as the epoch second and nano of the second at UTC, so that the
+ * stored value is independent of the system time zone.
+ */
+class EventCodec {
+
+  private static final byte NULL_VALUE = -1;
+
+  /**
+   * Write the event to the output.
+   *
+   * @param output the output to write the event to
+   * @param event  the event to be written
+   * @throws IOException if the event could not be written
+   */
+  static void write(DataOutput output, EventDTO event) throws IOException {
+    writeString(output, event.getSubject());
+    writeDateTime(output, event.getStartTime());
+    writeDateTime(output, event.getEndTime());
+    writeString(output, event.getDescription());
+    writeString(output, event.getLocation());
+    writeBoolean(output, event.getIsPublic());
+    writeBoolean(output, event.getIsAllDay());
+    writeBoolean(output, event.getIsRecurring());
+
+    RecurringDetailsDTO recurringDetails = event.getRecurringDetails();
+    output.writeBoolean(recurringDetails != null);
+    if (recurringDetails != null) {
+      output.writeBoolean(recurringDetails.getOccurrences() != null);
+      if (recurringDetails.getOccurrences() != null) {
+        output.writeInt(recurringDetails.getOccurrences());
+      }
+      output.writeBoolean(recurringDetails.getRepeatDays() != null);
+      if (recurringDetails.getRepeatDays() != null) {
+        int repeatDays = 0;
+        for (CalendarDayOfWeek day : recurringDetails.getRepeatDays()) {
+          repeatDays |= 1 << day.ordinal();
+        }
+        output.writeByte(repeatDays);
+      }
+      output.writeBoolean(recurringDetails.getUntilDate() != null);
+      if (recurringDetails.getUntilDate() != null) {
+        writeDateTime(output, recurringDetails.getUntilDate());
+      }
+    }
+    output.writeBoolean(event.getSeriesId() != null);
+    if (event.getSeriesId() != null) {
+      output.writeLong(event.getSeriesId());
+    }
+    output.writeBoolean(event.getId() != null);
+    if (event.getId() != null) {
+      output.writeLong(event.getId());
+    }
+  }
+
+  /**
+   * Read an event from the input.
+   *
+   * @param input the input to read the event from
+   * @return the event read from the input
+   * @throws IOException if the event could not be read
+   */
+  static EventDTO read(DataInput input) throws IOException {
+    EventDTO.EventDTOBuilder builder = EventDTO.getBuilder()
+        .setSubject(readString(input))
+        .setStartTime(readDateTime(input))
+        .setEndTime(readDateTime(input))
+        .setDescription(readString(input))
+        .setLocation(readString(input))
+        .setIsPublic(readBoolean(input))
+        .setIsAllDay(readBoolean(input))
+        .setIsRecurring(readBoolean(input));
+
+    if (input.readBoolean()) {
+      RecurringDetailsDTO.RecurringDetailsDTOBuilder recurringBuilder =
+          RecurringDetailsDTO.getBuilder();
+      if (input.readBoolean()) {
+        recurringBuilder.setOccurrences(input.readInt());
+      }
+      if (input.readBoolean()) {
+        int repeatDays = input.readByte();
+        Set<CalendarDayOfWeek> days = EnumSet.noneOf(CalendarDayOfWeek.class);
+        for (CalendarDayOfWeek day : CalendarDayOfWeek.values()) {
+          if ((repeatDays & (1 << day.ordinal())) != 0) {
+            days.add(day);
+          }
+        }
+        recurringBuilder.setRepeatDays(days);
+      }
+      if (input.readBoolean()) {
+        recurringBuilder.setUntilDate(readDateTime(input));
+      }
+      builder.setRecurringDetails(recurringBuilder.build());
+    }
+    if (input.readBoolean()) {
+      builder.setSeriesId(input.readLong());
+    }
+    if (input.readBoolean()) {
+      builder.setId(input.readLong());
+    }
+    return builder.build();
+  }
+
+  /**
+   * Read only the subject of an event written by {@link #write(DataOutput, EventDTO)}, which is
+   * the first field of the event.
+   *
+   * @param input the input to read the event from
+   * @return the subject of the event
+   * @throws IOException if the subject could not be read
+   */
+  static String readSubject(DataInput input) throws IOException {
+    return readString(input);
+  }
+
+  /**
+   * Write a date and time as epoch second and nano of second at UTC.
+   *
+   * @param output   the output to write to
+   * @param dateTime the date and time to be written
+   * @throws IOException if the value could not be written
+   */
+  static void writeDateTime(DataOutput output, LocalDateTime dateTime) throws IOException {
+    output.writeLong(dateTime.toEpochSecond(ZoneOffset.UTC));
+    output.writeInt(dateTime.getNano());
+  }
+
+  /**
+   * Read a date and time written by {@link #writeDateTime(DataOutput, LocalDateTime)}.
+   *
+   * @param input the input to read from
+   * @return the date and time read
+   * @throws IOException if the value could not be read
+   */
+  static LocalDateTime readDateTime(DataInput input) throws IOException {
+    long epochSecond = input.readLong();
+    int nano = input.readInt();
+    return LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC);
+  }
+
+  private static void writeString(DataOutput output, String value) throws IOException {
+    output.writeBoolean(value != null);
+    if (value != null) {
+      output.writeUTF(value);
+    }
+  }
+
+  private static String readString(DataInput input) throws IOException {
+    return input.readBoolean() ? input.readUTF() : null;
+  }
+
+  private static void writeBoolean(DataOutput output, Boolean value) throws IOException {
+    output.writeByte(value == null ? NULL_VALUE : value ? 1 : 0);
+  }
+
+  private static Boolean readBoolean(DataInput input) throws IOException {
+    byte value = input.readByte();
+    return value == NULL_VALUE ? null : value == 1;
+  }
+}
@@ -0,0 +1,157 @@
+package repository;
+
+import dto.EventDTO;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * This class keeps the words of the subjects and the locations of the events in a sorted map,
+ * updated as events are added and removed, so that the events with words starting with the words
+ * of a query are found without scanning every event.
+ *
+ * <p>The words are the runs of letters and digits, compared without case. Every word maps to the
+ * events having it, by their identifier, so the events without an identifier are not indexed. An
+ * event matches a query when every word of the query starts a word of its subject or location.
+ * The events of the longest word of the query are checked against the other words, walking the
+ * words of the map that start with it in order and stopping once enough events are found.
+ */
+public class EventSearchIndex {
+
+  private final TreeMap<String, LongHashMap<EventDTO>> words;
+
+  /**
+   * Constructor for an empty EventSearchIndex.
+   */
+  public EventSearchIndex() {
+    this.words = new TreeMap<>();
+  }
+
+  /**
+   * Add an event to the events of the words of its subject and location.
+   *
+   * @param event the event to add
+   */
+  public synchronized void add(EventDTO event) {
+    if (event.getId() == null) {
+      return;
+    }
+    for (String word : wordsOf(event)) {
+      words.computeIfAbsent(word, key -> new LongHashMap<>()).put(event.getId(), event);
+    }
+  }
+
+  /**
+   * Remove an event from the events of the words of its subject and location. The event must have
+   * been added with the same subject and location.
+   *
+   * @param event the event to remove
+   */
+  public synchronized void remove(EventDTO event) {
+    if (event.getId() == null) {
+      return;
+    }
+    for (String word : wordsOf(event)) {
+      LongHashMap<EventDTO> events = words.get(word);
+      if (events != null) {
+        events.remove(event.getId());
+        if (events.isEmpty()) {
+          words.remove(word);
+        }
+      }
+    }
+  }
+
+  /**
+   * Remove all the events from the index.
+   */
+  public synchronized void clear() {
+    words.clear();
+  }
+
+  /**
+   * Pass the events matching the query to the sink as they are found, until the limit is reached.
+   * A query without words matches no events.
+   *
+   * @param query the words the words of the events must start with
+   * @param limit the maximum number of events passed
+   * @param sink  the consumer of the events matching the query
+   * @return the number of events passed
+   */
+  public synchronized int search(String query, int limit, Consumer<EventDTO> sink) {
+    List<String> queryWords = split(query);
+    if (queryWords.isEmpty() || limit <= 0) {
+      return 0;
+    }
+    String longest = queryWords.get(0);
+    for (String word : queryWords) {
+      if (word.length() > longest.length()) {
+        longest = word;
+      }
+    }
+    // an event is reached through each of its words starting with the longest word
+    Set<Long> passed = new HashSet<>();
+    for (Map.Entry<String, LongHashMap<EventDTO>> entry
+        : words.subMap(longest, true, longest + Character.MAX_VALUE, false).entrySet()) {
+      boolean isLimitReached = !entry.getValue().forEachValue(event -> {
+        if (!passed.contains(event.getId()) && matches(event, queryWords)) {
+          passed.add(event.getId());
+          sink.accept(event);
+        }
+        return passed.size() < limit;
+      });
+      if (isLimitReached) {
+        break;
+      }
+    }
+    return passed.size();
+  }
+
+  private static boolean matches(EventDTO event, List<String> queryWords) {
+    Set<String> eventWords = wordsOf(event);
+    for (String queryWord : queryWords) {
+      boolean isMatched = false;
+      for (String eventWord : eventWords) {
+        if (eventWord.startsWith(queryWord)) {
+          isMatched = true;
+          break;
+        }
+      }
+      if (!isMatched) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static Set<String> wordsOf(EventDTO event) {
+    Set<String> eventWords = new HashSet<>(split(event.getSubject()));
+    eventWords.addAll(split(event.getLocation()));
+    return eventWords;
+  }
+
+  private static List<String> split(String text) {
+    List<String> result = new ArrayList<>();
+    if (text == null) {
+      return result;
+    }
+    String lowerCase = text.toLowerCase(Locale.ROOT);
+    int start = -1;
+    for (int i = 0; i <= lowerCase.length(); i++) {
+      boolean isWordCharacter = i < lowerCase.length()
+          && Character.isLetterOrDigit(lowerCase.charAt(i));
+      if (isWordCharacter && start < 0) {
+        start = i;
+      } else if (!isWordCharacter && start >= 0) {
+        result.add(lowerCase.substring(start, i));
+        start = -1;
+      }
+    }
+    return result;
+  }
+}
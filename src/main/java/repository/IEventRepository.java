@@ -1,9 +1,14 @@
 package repository;
 
 import dto.EventDTO;
+import dto.EventPage;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * This class represents the interface for the Event Repository. It provides methods to insert,
@@ -13,6 +18,9 @@ import java.util.List;
  *
  * <p>For this implementation, the IntervalTree ADT is used to store the events.
  *
+ * <p>Every query comes in two forms: one returning a new list, and one pushing the results to a
+ * {@link Consumer} sink in the order of their start time without building a list.
+ *
  */
 public interface IEventRepository {
 
@@ -23,6 +31,16 @@ public interface IEventRepository {
    */
   boolean insertEvent(EventDTO event);
 
+  /**
+   * Inserts the events into the repository, with the same result as inserting them one at a time
+   * in the given order. Repositories that can load many events at once override this.
+   *
+   * @param events the events to be stored in the repository
+   */
+  default void insertEvents(List<EventDTO> events) {
+    events.forEach(this::insertEvent);
+  }
+
   /**
    * Deletes an event from the repository based on the name, start time, and end time.
    *
@@ -33,6 +51,17 @@ public interface IEventRepository {
    */
   boolean deleteEvent(String name, LocalDateTime startTime, LocalDateTime endTime);
 
+  /**
+   * Deletes all events that overlap with the given time range, optionally only those with the
+   * given name. The events deleted are the ones {@link #searchOverlaps} would return.
+   *
+   * @param startTime The start time of the range
+   * @param endTime   The end time of the range
+   * @param name      The name of the events to delete, null to delete events with any name
+   * @return the number of events deleted
+   */
+  int deleteRange(LocalDateTime startTime, LocalDateTime endTime, String name);
+
   /**
    * Retrieves an event in the repository based on the name, start time, and end time.
    *
@@ -50,6 +79,22 @@ public interface IEventRepository {
    */
   List<EventDTO> getAllEvents();
 
+  /**
+   * Streams all events in the repository in the order of their start time, without first
+   * collecting them into a list.
+   *
+   * @return a sequential stream of all events in the repository
+   */
+  Stream<EventDTO> stream();
+
+  /**
+   * Streams all events in the repository with the scan split across threads. The encounter order
+   * is the order of their start time.
+   *
+   * @return a parallel stream of all events in the repository
+   */
+  Stream<EventDTO> parallelStream();
+
   /**
    * Retrieves all events in the repository on given date.
    *
@@ -58,6 +103,14 @@ public interface IEventRepository {
    */
   List<EventDTO> getEventsOnDate(LocalDate date);
 
+  /**
+   * Passes all events in the repository on given date to the sink.
+   *
+   * @param date The date to get events for
+   * @param sink The consumer of the events on the given date
+   */
+  void getEventsOnDate(LocalDate date, Consumer<EventDTO> sink);
+
   /**
    * Retrieves all events in the repository in the given time range.
    *
@@ -67,6 +120,15 @@ public interface IEventRepository {
    */
   List<EventDTO> getEventsInRange(LocalDateTime startTime, LocalDateTime endTime);
 
+  /**
+   * Passes all events in the repository in the given time range to the sink.
+   *
+   * @param startTime The start time of the events range
+   * @param endTime   The end time of the events range
+   * @param sink      The consumer of the events in the given time range
+   */
+  void getEventsInRange(LocalDateTime startTime, LocalDateTime endTime, Consumer<EventDTO> sink);
+
   /**
    * Retrieves all events in the repository with the given name.
    *
@@ -75,6 +137,14 @@ public interface IEventRepository {
    */
   List<EventDTO> getEventsByName(String name);
 
+  /**
+   * Passes all events in the repository with the given name to the sink.
+   *
+   * @param name The name of the event
+   * @param sink The consumer of the events with the given name
+   */
+  void getEventsByName(String name, Consumer<EventDTO> sink);
+
   /**
    * Retrieves all events in the repository at the given date and time.
    *
@@ -83,6 +153,14 @@ public interface IEventRepository {
    */
   List<EventDTO> getEventsAt(LocalDateTime dateTime);
 
+  /**
+   * Passes all events in the repository at the given date and time to the sink.
+   *
+   * @param dateTime The date and time to get events for
+   * @param sink     The consumer of the events at the given date and time
+   */
+  void getEventsAt(LocalDateTime dateTime, Consumer<EventDTO> sink);
+
   /**
    * Retrieves all events in the repository that overlap with the given time range.
    *
@@ -91,4 +169,113 @@ public interface IEventRepository {
    * @return a list of events that overlap with the given time range
    */
   List<EventDTO> searchOverlaps(LocalDateTime startTime, LocalDateTime endTime);
+
+  /**
+   * Passes all events in the repository that overlap with the given time range to the sink.
+   *
+   * @param startTime The start time of the event
+   * @param endTime   The end time of the event
+   * @param sink      The consumer of the events that overlap with the given time range
+   */
+  void searchOverlaps(LocalDateTime startTime, LocalDateTime endTime, Consumer<EventDTO> sink);
+
+  /**
+   * Retrieves one page of the events {@link #searchOverlaps} would return for the given time
+   * range, in the same order, continuing after a time cursor.
+   *
+   * <p>The range is searched in windows starting at the cursor that double in length until the
+   * page is full, so a page costs about the same however far into a long range it is, and the
+   * events after the page are never visited. The events starting before a window are skipped in
+   * it, except in the window at the start of the range, since they were passed in an earlier
+   * window.
+   *
+   * @param startTime   The start time of the range
+   * @param endTime     The end time of the range
+   * @param cursorStart The start time of the cursor, null to start from the first event
+   * @param cursorSkip  The number of events starting at the start time of the cursor to skip
+   * @param limit       The maximum number of events in the page
+   * @return the page of events and the cursor to the next page
+   * @throws IllegalArgumentException if the limit is not positive
+   */
+  default EventPage getEventsPage(LocalDateTime startTime, LocalDateTime endTime,
+      LocalDateTime cursorStart, int cursorSkip, int limit) {
+    if (limit <= 0) {
+      throw new IllegalArgumentException("Limit must be positive");
+    }
+    // one event more than the page tells if there are events after it
+    List<EventDTO> events = new ArrayList<>(limit + 1);
+    int[] skipped = {0};
+    LocalDateTime windowStart = cursorStart == null || !cursorStart.isAfter(startTime)
+        ? startTime : cursorStart;
+    Duration window = Duration.ofHours(1);
+    while (events.size() <= limit) {
+      LocalDateTime from = windowStart;
+      LocalDateTime to = Duration.between(from, endTime).compareTo(window) <= 0
+          ? endTime : from.plus(window);
+      searchOverlaps(from, to, event -> {
+        if (!from.equals(startTime) && event.getStartTime().isBefore(from)) {
+          return;
+        }
+        if (cursorStart != null) {
+          int comparison = event.getStartTime().compareTo(cursorStart);
+          if (comparison < 0 || comparison == 0 && skipped[0]++ < cursorSkip) {
+            return;
+          }
+        }
+        events.add(event);
+      });
+      if (!to.isBefore(endTime)) {
+        break;
+      }
+      windowStart = to;
+      window = window.multipliedBy(2);
+    }
+
+    boolean hasMore = events.size() > limit;
+    List<EventDTO> page = hasMore ? new ArrayList<>(events.subList(0, limit)) : events;
+    if (page.isEmpty()) {
+      return new EventPage(page, cursorStart, cursorSkip, false);
+    }
+    LocalDateTime nextStart = page.get(page.size() - 1).getStartTime();
+    int nextSkip = nextStart.equals(cursorStart) ? cursorSkip : 0;
+    for (EventDTO event : page) {
+      if (event.getStartTime().equals(nextStart)) {
+        nextSkip++;
+      }
+    }
+    return new EventPage(page, nextStart, nextSkip, hasMore);
+  }
+
+  /**
+   * Retrieves the occurrences of the recurrence series with the given identifier, in the order of
+   * their start time.
+   *
+   * @param seriesId The identifier of the recurrence series
+   * @return a list of the occurrences of the series
+   */
+  List<EventDTO> getEventsBySeries(long seriesId);
+
+  /**
+   * Passes the occurrences of the recurrence series with the given identifier to the sink.
+   *
+   * @param seriesId The identifier of the recurrence series
+   * @param sink     The consumer of the occurrences of the series
+   */
+  void getEventsBySeries(long seriesId, Consumer<EventDTO> sink);
+
+  /**
+   * Retrieves the event with the given identifier.
+   *
+   * @param id The identifier of the event
+   * @return the event with the identifier, or null if there is none
+   */
+  EventDTO getById(long id);
+
+  /**
+   * Deletes the event with the given identifier.
+   *
+   * @param id The identifier of the event
+   * @return true if the event was deleted, false otherwise
+   */
+  boolean deleteById(long id);
 }
@@ -4,23 +4,53 @@ import dto.EventDTO;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * InMemoryEventRepository is an implementation of IEventRepository that stores events in memory.
  *
  * <p>It uses an IntervalTree to store the events and perform operations like insert, search,
  * delete.
+ *
+ * <p>The all-day events spanning exactly one day are kept apart in an {@link AllDayEventStore}
+ * keyed by their day, since they would otherwise pile up in a single node of the tree for every
+ * day. Queries fan out to both stores and merge the results in the order of start time, with the
+ * timed events first when an event of each kind starts at the same time.
+ *
+ * <p>The occurrences of recurrence series are also indexed by their series identifier in a
+ * {@link SeriesIndex}, and the events with an identifier by that identifier in a
+ * {@link LongHashMap}.
  */
 public class InMemoryEventRepository implements IEventRepository {
 
   IntervalTree repository;
 
+  AllDayEventStore allDayEvents;
+
+  SeriesIndex series;
+
+  LongHashMap<EventDTO> ids;
+
+  private AllDayMergingSink mergingSink;
+
   /**
    * Constructor for InMemoryEventRepository.
    */
   public InMemoryEventRepository() {
     this.repository = new IntervalTree();
+    this.allDayEvents = new AllDayEventStore();
+    this.series = new SeriesIndex();
+    this.ids = new LongHashMap<>();
+    this.mergingSink = new AllDayMergingSink();
   }
 
   /**
@@ -31,7 +61,47 @@ public class InMemoryEventRepository implements IEventRepository {
    */
   @Override
   public boolean insertEvent(EventDTO event) {
-    return repository.insert(event);
+    if (event == null) {
+      return false;
+    }
+    if (AllDayEventStore.isAllDayEvent(event)) {
+      allDayEvents.insert(event);
+    } else if (!repository.insert(event)) {
+      return false;
+    }
+    series.insert(event);
+    if (event.getId() != null) {
+      ids.put(event.getId(), event);
+    }
+    return true;
+  }
+
+  /**
+   * Insert the events into the repository. The timed events are sorted by their start time and
+   * loaded into the interval tree in bulk, see {@link IntervalTree#insertAll(List)}.
+   *
+   * @param events the events to be stored in the repository
+   */
+  @Override
+  public void insertEvents(List<EventDTO> events) {
+    List<EventDTO> timedEvents = new ArrayList<>(events.size());
+    for (EventDTO event : events) {
+      if (event == null) {
+        continue;
+      }
+      if (AllDayEventStore.isAllDayEvent(event)) {
+        allDayEvents.insert(event);
+      } else {
+        timedEvents.add(event);
+      }
+      series.insert(event);
+      if (event.getId() != null) {
+        ids.put(event.getId(), event);
+      }
+    }
+    // a stable sort keeps the events starting at the same time in the given order
+    timedEvents.sort(Comparator.comparing(EventDTO::getStartTime));
+    repository.insertAll(timedEvents);
   }
 
   /**
@@ -43,7 +113,32 @@ public class InMemoryEventRepository implements IEventRepository {
    */
   @Override
   public List<EventDTO> searchOverlaps(LocalDateTime startTime, LocalDateTime endTime) {
-    return repository.searchOverlapping(startTime, endTime);
+    if (!allDayEvents.hasEventsBetween(startTime, endTime)) {
+      return repository.searchOverlapping(startTime, endTime);
+    }
+    List<EventDTO> result = new ArrayList<>();
+    searchOverlaps(startTime, endTime, result::add);
+    return result;
+  }
+
+  /**
+   * Pass the events that overlap with the given time range to the sink.
+   *
+   * @param startTime The start time of the event
+   * @param endTime   The end time of the event
+   * @param sink      The consumer of the events that overlap with the given time range
+   */
+  @Override
+  public void searchOverlaps(LocalDateTime startTime, LocalDateTime endTime,
+      Consumer<EventDTO> sink) {
+    if (!allDayEvents.hasEventsBetween(startTime, endTime)) {
+      repository.searchOverlapping(startTime, endTime, sink);
+      return;
+    }
+    AllDayMergingSink merging = acquireMergingSink(sink);
+    allDayEvents.searchOverlapping(startTime, endTime, merging.buffer);
+    repository.searchOverlapping(startTime, endTime, merging);
+    releaseMergingSink(merging);
   }
 
   /**
@@ -56,7 +151,35 @@ public class InMemoryEventRepository implements IEventRepository {
    */
   @Override
   public boolean deleteEvent(String name, LocalDateTime startTime, LocalDateTime endTime) {
-    return repository.delete(name, startTime, endTime);
+    // the removed event is returned to drop it from the indexes, without looking it up first
+    EventDTO event = AllDayEventStore.isDaySpan(startTime, endTime)
+        ? allDayEvents.remove(name, startTime.toLocalDate()) : null;
+    if (event == null) {
+      event = repository.remove(name, startTime, endTime);
+    }
+    unindex(event);
+    return event != null;
+  }
+
+  /**
+   * Delete all the events that overlap with the given time range in a single pass over the tree.
+   *
+   * @param startTime The start time of the range
+   * @param endTime   The end time of the range
+   * @param name      The name of the events to delete, null to delete events with any name
+   * @return the number of events deleted
+   */
+  @Override
+  public int deleteRange(LocalDateTime startTime, LocalDateTime endTime, String name) {
+    if (!series.isEmpty() || !ids.isEmpty()) {
+      searchOverlaps(startTime, endTime, event -> {
+        if (name == null || name.equals(event.getSubject())) {
+          unindex(event);
+        }
+      });
+    }
+    return allDayEvents.deleteRange(startTime, endTime, name)
+        + repository.deleteRange(startTime, endTime, name);
   }
 
   /**
@@ -69,6 +192,12 @@ public class InMemoryEventRepository implements IEventRepository {
    */
   @Override
   public EventDTO getEvent(String name, LocalDateTime startTime, LocalDateTime endTime) {
+    if (AllDayEventStore.isDaySpan(startTime, endTime)) {
+      EventDTO event = allDayEvents.find(name, startTime.toLocalDate());
+      if (event != null) {
+        return event;
+      }
+    }
     return repository.findEvent(name, startTime, endTime);
   }
 
@@ -79,7 +208,42 @@ public class InMemoryEventRepository implements IEventRepository {
    */
   @Override
   public List<EventDTO> getAllEvents() {
-    return repository.getAllEvents();
+    if (allDayEvents.isEmpty()) {
+      return repository.getAllEvents();
+    }
+    List<EventDTO> result = new ArrayList<>();
+    stream().forEach(result::add);
+    return result;
+  }
+
+  /**
+   * Stream all events in the repository with an in-order walk of the tree, merged with the
+   * all-day events.
+   *
+   * @return A sequential stream of all events in the repository
+   */
+  @Override
+  public Stream<EventDTO> stream() {
+    if (allDayEvents.isEmpty()) {
+      return repository.stream();
+    }
+    return StreamSupport.stream(Spliterators.spliteratorUnknownSize(
+        new MergingIterator(repository.iterator(), allDayEvents.iterator()),
+        Spliterator.ORDERED | Spliterator.NONNULL), false);
+  }
+
+  /**
+   * Stream all events in the repository, splitting the walk of the tree at subtree boundaries.
+   * The merge with the all-day events is only split in batches.
+   *
+   * @return A parallel stream of all events in the repository
+   */
+  @Override
+  public Stream<EventDTO> parallelStream() {
+    if (allDayEvents.isEmpty()) {
+      return repository.parallelStream();
+    }
+    return stream().parallel();
   }
 
   /**
@@ -90,8 +254,18 @@ public class InMemoryEventRepository implements IEventRepository {
    */
   @Override
   public List<EventDTO> getEventsOnDate(LocalDate date) {
-    return repository
-        .searchOverlapping(date.atStartOfDay(), LocalDateTime.of(date, LocalTime.MAX));
+    return searchOverlaps(date.atStartOfDay(), LocalDateTime.of(date, LocalTime.MAX));
+  }
+
+  /**
+   * Pass the events that occur on the given date to the sink.
+   *
+   * @param date The date to get events for from repository
+   * @param sink The consumer of the events on the given date
+   */
+  @Override
+  public void getEventsOnDate(LocalDate date, Consumer<EventDTO> sink) {
+    searchOverlaps(date.atStartOfDay(), LocalDateTime.of(date, LocalTime.MAX), sink);
   }
 
   /**
@@ -106,6 +280,18 @@ public class InMemoryEventRepository implements IEventRepository {
     return searchOverlaps(start, end);
   }
 
+  /**
+   * Pass the events that occur in the given time range to the sink.
+   *
+   * @param start The start time of the events range
+   * @param end   The end time of the events range
+   * @param sink  The consumer of the events in the given time range
+   */
+  @Override
+  public void getEventsInRange(LocalDateTime start, LocalDateTime end, Consumer<EventDTO> sink) {
+    searchOverlaps(start, end, sink);
+  }
+
   /**
    * Get all events with the given name.
    *
@@ -114,7 +300,27 @@ public class InMemoryEventRepository implements IEventRepository {
    */
   @Override
   public List<EventDTO> getEventsByName(String name) {
-    return repository.findByName(name);
+    List<EventDTO> result = new ArrayList<>();
+    getEventsByName(name, result::add);
+    return result;
+  }
+
+  /**
+   * Pass the events with the given name to the sink.
+   *
+   * @param name The name of the event to search for
+   * @param sink The consumer of the events with the given name
+   */
+  @Override
+  public void getEventsByName(String name, Consumer<EventDTO> sink) {
+    if (allDayEvents.isEmpty()) {
+      repository.findByName(name, sink);
+      return;
+    }
+    AllDayMergingSink merging = acquireMergingSink(sink);
+    allDayEvents.findByName(name, merging.buffer);
+    repository.findByName(name, merging);
+    releaseMergingSink(merging);
   }
 
 
@@ -126,6 +332,211 @@ public class InMemoryEventRepository implements IEventRepository {
    */
   @Override
   public List<EventDTO> getEventsAt(LocalDateTime dateTime) {
-    return repository.searchOverlappingPoint(dateTime);
+    List<EventDTO> result = new ArrayList<>();
+    getEventsAt(dateTime, result::add);
+    return result;
+  }
+
+  /**
+   * Pass the events that occur at the given date and time to the sink.
+   *
+   * @param dateTime The date and time to get events for
+   * @param sink     The consumer of the events at the given date and time
+   */
+  @Override
+  public void getEventsAt(LocalDateTime dateTime, Consumer<EventDTO> sink) {
+    // an all-day event of the previous day ends at the date and time if it is a midnight
+    if (!allDayEvents.hasEventsBetween(dateTime.minusDays(1), dateTime)) {
+      repository.searchOverlappingPoint(dateTime, sink);
+      return;
+    }
+    AllDayMergingSink merging = acquireMergingSink(sink);
+    allDayEvents.searchOverlappingPoint(dateTime, merging.buffer);
+    repository.searchOverlappingPoint(dateTime, merging);
+    releaseMergingSink(merging);
+  }
+
+  /**
+   * Get the occurrences of the recurrence series with the given identifier.
+   *
+   * @param seriesId The identifier of the recurrence series
+   * @return A list of the occurrences of the series
+   */
+  @Override
+  public List<EventDTO> getEventsBySeries(long seriesId) {
+    List<EventDTO> result = new ArrayList<>();
+    getEventsBySeries(seriesId, result::add);
+    return result;
+  }
+
+  /**
+   * Pass the occurrences of the recurrence series with the given identifier to the sink, looked
+   * up in the series index.
+   *
+   * @param seriesId The identifier of the recurrence series
+   * @param sink     The consumer of the occurrences of the series
+   */
+  @Override
+  public void getEventsBySeries(long seriesId, Consumer<EventDTO> sink) {
+    series.find(seriesId, sink);
+  }
+
+  /**
+   * Get the event with the given identifier from the identifier index.
+   *
+   * @param id The identifier of the event
+   * @return The event with the identifier, or null if there is none
+   */
+  @Override
+  public EventDTO getById(long id) {
+    return ids.get(id);
+  }
+
+  /**
+   * Delete the event with the given identifier. The event is found in the identifier index and
+   * removed from its node by identity, without comparing names.
+   *
+   * @param id The identifier of the event
+   * @return true if the event was deleted, false otherwise
+   */
+  @Override
+  public boolean deleteById(long id) {
+    EventDTO event = ids.get(id);
+    if (event == null) {
+      return false;
+    }
+    if (AllDayEventStore.isAllDayEvent(event)) {
+      allDayEvents.delete(event);
+    } else {
+      repository.delete(event);
+    }
+    unindex(event);
+    return true;
+  }
+
+  /**
+   * Drop a deleted event from the series and identifier indexes.
+   *
+   * @param event the deleted event, may be null
+   */
+  private void unindex(EventDTO event) {
+    if (event == null) {
+      return;
+    }
+    series.remove(event);
+    if (event.getId() != null && ids.get(event.getId()) == event) {
+      ids.remove(event.getId());
+    }
+  }
+
+  /**
+   * Take the merging sink of the repository for a query, or a new one if it is already in use by
+   * a query that is still passing events to its sink.
+   */
+  private AllDayMergingSink acquireMergingSink(Consumer<EventDTO> sink) {
+    AllDayMergingSink merging = mergingSink != null ? mergingSink : new AllDayMergingSink();
+    mergingSink = null;
+    merging.start(sink);
+    return merging;
+  }
+
+  private void releaseMergingSink(AllDayMergingSink merging) {
+    merging.finish();
+    mergingSink = merging;
+  }
+
+  /**
+   * This class merges the all-day events matching a query into the events of the tree passed to
+   * it, keeping the order of start time. Events of the tree come before all-day events with the
+   * same start time.
+   */
+  private static class AllDayMergingSink implements Consumer<EventDTO> {
+
+    private final List<EventDTO> allDayEvents;
+
+    private final Consumer<EventDTO> buffer;
+
+    private Consumer<EventDTO> sink;
+
+    private int next;
+
+    AllDayMergingSink() {
+      this.allDayEvents = new ArrayList<>();
+      this.buffer = allDayEvents::add;
+    }
+
+    /**
+     * Prepare the merge of the all-day events collected through the buffer into the given sink.
+     *
+     * @param sink the consumer of the merged events
+     */
+    void start(Consumer<EventDTO> sink) {
+      this.sink = sink;
+      this.next = 0;
+    }
+
+    @Override
+    public void accept(EventDTO event) {
+      while (next < allDayEvents.size()
+          && allDayEvents.get(next).getStartTime().isBefore(event.getStartTime())) {
+        sink.accept(allDayEvents.get(next++));
+      }
+      sink.accept(event);
+    }
+
+    /**
+     * Pass the all-day events starting after the last event of the tree to the sink.
+     */
+    void finish() {
+      while (next < allDayEvents.size()) {
+        sink.accept(allDayEvents.get(next++));
+      }
+      allDayEvents.clear();
+      sink = null;
+    }
+  }
+
+  /**
+   * This class merges the events of the tree and the all-day events, both in the order of start
+   * time, into a single iterator in that order.
+   */
+  private static class MergingIterator implements Iterator<EventDTO> {
+
+    private final Iterator<EventDTO> timedEvents;
+
+    private final Iterator<EventDTO> allDayEvents;
+
+    private EventDTO nextTimed;
+
+    private EventDTO nextAllDay;
+
+    MergingIterator(Iterator<EventDTO> timedEvents, Iterator<EventDTO> allDayEvents) {
+      this.timedEvents = timedEvents;
+      this.allDayEvents = allDayEvents;
+      this.nextTimed = timedEvents.hasNext() ? timedEvents.next() : null;
+      this.nextAllDay = allDayEvents.hasNext() ? allDayEvents.next() : null;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return nextTimed != null || nextAllDay != null;
+    }
+
+    @Override
+    public EventDTO next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      EventDTO event;
+      if (nextAllDay == null || nextTimed != null
+          && !nextAllDay.getStartTime().isBefore(nextTimed.getStartTime())) {
+        event = nextTimed;
+        nextTimed = timedEvents.hasNext() ? timedEvents.next() : null;
+      } else {
+        event = nextAllDay;
+        nextAllDay = allDayEvents.hasNext() ? allDayEvents.next() : null;
+      }
+      return event;
+    }
   }
 }
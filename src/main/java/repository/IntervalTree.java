@@ -2,19 +2,34 @@ package repository;
 
 import dto.EventDTO;
 import java.time.LocalDateTime;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * This class represents the data structure IntervalTree. The events are stored in the nodes of the
  * tree. The tree is used to store events and perform operations like insert, search, and delete.
  * The events are stored in the nodes based on their start time.
+ *
+ * <p>The events can be walked in the order of their start time with {@link #iterator()}, or
+ * streamed with {@link #stream()}. Both keep only a stack of the nodes on the current path, and
+ * the spliterator behind the stream divides the work at subtree boundaries so that a parallel
+ * stream scans the subtrees on different threads. The tree must not be modified while it is being
+ * walked.
  */
-public class IntervalTree {
+public class IntervalTree implements Iterable<EventDTO> {
 
   private Node root;
-  private Boolean isDeleted;
+  private EventDTO deleted;
 
   /**
    * Constructor for IntervalTree.
@@ -26,35 +41,35 @@ public class IntervalTree {
     if (event == null) {
       return false;
     }
-    root = insert(root, event);
+    root = insert(root, event, Node.toEpochMicros(event.getStartTime()));
     return true;
   }
 
   /**
    * Recursive method to insert an event into the tree.
    *
-   * @param node  The node to insert the event
-   * @param event The event to be inserted
+   * @param node        The node to insert the event
+   * @param event       The event to be inserted
+   * @param startMicros The start time of the event in epoch microseconds
    * @return The node after inserting the event
    */
-  private Node insert(Node node, EventDTO event) {
+  private Node insert(Node node, EventDTO event, long startMicros) {
     if (node == null) {
       return new Node(event);
     }
 
-    if (event.getStartTime().isEqual(node.startTime)) {
-      node.events.add(event);
-      node.endTime = event.getEndTime().isAfter(node.endTime) ? event.getEndTime() : node.endTime;
-      node.maxEnd = event.getEndTime().isAfter(node.maxEnd) ? event.getEndTime() : node.maxEnd;
+    int comparison = compareToStart(event.getStartTime(), startMicros, node);
+    if (comparison == 0) {
+      node.add(event);
       return node;
     }
 
-    if (event.getStartTime().isBefore(node.startTime)) {
-      node.left = insert(node.left, event);
-      node.maxEnd = node.left.maxEnd.isAfter(node.maxEnd) ? node.left.maxEnd : node.maxEnd;
+    if (comparison < 0) {
+      node.left = insert(node.left, event, startMicros);
+      node.maxEnd = Math.max(node.maxEnd, node.left.maxEnd);
     } else {
-      node.right = insert(node.right, event);
-      node.maxEnd = node.right.maxEnd.isAfter(node.maxEnd) ? node.right.maxEnd : node.maxEnd;
+      node.right = insert(node.right, event, startMicros);
+      node.maxEnd = Math.max(node.maxEnd, node.right.maxEnd);
     }
 
     // update the height of the node
@@ -64,6 +79,38 @@ public class IntervalTree {
     return balanceTree(node);
   }
 
+  /**
+   * Insert events ordered by start time in bulk. The events already in the tree that start within
+   * the span of the new events are cut out with a split, merged with the new events and built into
+   * a balanced subtree that is joined back, so the insert takes O(log n + k + m) time for m new
+   * events and k events in their span. Events with the same start time keep the order they were
+   * inserted in, as with {@link #insert(EventDTO)}.
+   *
+   * @param sortedEvents the events to insert, ordered by start time
+   */
+  public void insertAll(List<EventDTO> sortedEvents) {
+    if (sortedEvents.isEmpty()) {
+      return;
+    }
+    LocalDateTime first = sortedEvents.get(0).getStartTime();
+    LocalDateTime last = sortedEvents.get(sortedEvents.size() - 1).getStartTime();
+    IntervalTree span = split(first);
+    IntervalTree later = span.split(last.plusNanos(1));
+
+    List<EventDTO> merged = new ArrayList<>(sortedEvents.size());
+    Iterator<EventDTO> existing = span.iterator();
+    EventDTO next = existing.hasNext() ? existing.next() : null;
+    for (EventDTO event : sortedEvents) {
+      // the events already in the tree go first when the start times are equal
+      while (next != null && !next.getStartTime().isAfter(event.getStartTime())) {
+        merged.add(next);
+        next = existing.hasNext() ? existing.next() : null;
+      }
+      merged.add(event);
+    }
+    root = join(root, join(build(merged), later.root));
+  }
+
   /**
    * Search for events that overlap with the given time range.
    *
@@ -73,52 +120,54 @@ public class IntervalTree {
    */
   public List<EventDTO> searchOverlapping(LocalDateTime startTime, LocalDateTime endTime) {
     List<EventDTO> result = new ArrayList<>();
-    searchOverlapping(root, startTime, endTime, result);
+    searchOverlapping(startTime, endTime, result::add);
     return result;
   }
 
   /**
-   * Search for events that overlap with the given time range within a node.
+   * Search for events that overlap with the given time range and pass them to the sink in the
+   * order of their start time.
    *
-   * @param node      The node to search for overlapping events
-   * @param startTime The start time
-   * @param endTime   The end time
-   * @param result    The list of events that overlap with the given time range
-   */
-  private void searchOverlapping(Node node, LocalDateTime startTime,
-      LocalDateTime endTime, List<EventDTO> result) {
-    if (node == null) {
-      return;
-    }
-    // If the left child is not null and the maxEnd of the left child is after the start time
-    if (node.left == null || node.left.maxEnd.isBefore(startTime)) {
-      searchOverlappingWithinNode(node, startTime, endTime, result);
-      searchOverlapping(node.right, startTime, endTime, result);
-    } else {
-      searchOverlapping(node.left, startTime, endTime, result);
-      searchOverlappingWithinNode(node, startTime, endTime, result);
-      searchOverlapping(node.right, startTime, endTime, result);
-    }
-  }
-
-  /**
-   * Search for events that overlap with the given time range within a node.
+   * <p>The tree is walked in order with an explicit stack. Subtrees whose maxEnd is before the
+   * start time are skipped, and the walk stops at the first node starting after the range.
    *
-   * @param node      The node to search for overlapping events
-   * @param startTime The start time
-   * @param endTime   The end time
-   * @param result    The list of events that overlap with the given time range
+   * @param startTime The start time of the event
+   * @param endTime   The end time of the event
+   * @param sink      The consumer of the events that overlap with the given time range
    */
-  private static void searchOverlappingWithinNode(Node node, LocalDateTime startTime,
-      LocalDateTime endTime, List<EventDTO> result) {
-    // Compare the node itself for overlapping
-    if (node.startTime.isBefore(endTime) && node.endTime.isAfter(startTime)
-        || node.startTime.isEqual(startTime)) {
-      node.events.stream().filter(event ->
-          (event.getStartTime().isBefore(endTime)
-              && event.getEndTime().isAfter(startTime)
-              || node.startTime.isEqual(startTime))
-      ).forEach(result::add);
+  public void searchOverlapping(LocalDateTime startTime, LocalDateTime endTime,
+      Consumer<EventDTO> sink) {
+    long startMicros = Node.toEpochMicros(startTime);
+    long endMicros = Node.toEpochMicros(endTime);
+    Node[] stack = new Node[height(root)];
+    int top = 0;
+    Node node = root;
+    while (node != null || top > 0) {
+      // descend to the earliest node whose subtree can still overlap the range
+      while (node != null && node.maxEnd >= startMicros) {
+        stack[top++] = node;
+        node = node.left;
+      }
+      if (top == 0) {
+        return;
+      }
+      node = stack[--top];
+      boolean isStartMatch = compareToStart(startTime, startMicros, node) == 0;
+      if (!isStartMatch && node.startTime > endMicros && node.startTime > startMicros) {
+        // this node and every later node start after the range
+        return;
+      }
+      // the microseconds only rule out nodes, the events are matched on their exact times
+      if (isStartMatch || node.startTime <= endMicros && node.endTime >= startMicros) {
+        for (int i = node.nextSlot(0); i < node.slotCount(); i = node.nextSlot(i + 1)) {
+          EventDTO event = node.get(i);
+          if (isStartMatch || event.getStartTime().isBefore(endTime)
+              && event.getEndTime().isAfter(startTime)) {
+            sink.accept(event);
+          }
+        }
+      }
+      node = node.right;
     }
   }
 
@@ -130,37 +179,44 @@ public class IntervalTree {
    */
   public List<EventDTO> searchOverlappingPoint(LocalDateTime dateTime) {
     List<EventDTO> result = new ArrayList<>();
-    searchOverlappingPoint(root, dateTime, result);
+    searchOverlappingPoint(dateTime, result::add);
     return result;
   }
 
   /**
-   * Search for events that overlap with the given time range within a node.
+   * Search for events that are in progress, start or end at the given date and time, and pass
+   * them to the sink in the order of their start time.
    *
-   * @param node     The node to search for overlapping events
    * @param dateTime The date and time to get events for
-   * @param result   The list of events that overlap with the given time range
+   * @param sink     The consumer of the events at the given date and time
    */
-  private void searchOverlappingPoint(Node node, LocalDateTime dateTime, List<EventDTO> result) {
-    if (node == null) {
-      return;
-    }
-
-    // If the maxEnd of the node is before the dateTime, return
-    if (node.maxEnd.isBefore(dateTime)) {
-      return;
-    }
-
-    if (node.startTime.isAfter(dateTime)) {
-      searchOverlappingPoint(node.left, dateTime, result);
-    } else {
-      node.events.stream().filter(event ->
-              (event.getStartTime().isBefore(dateTime))
-                  && event.getEndTime().isAfter(dateTime)
-                  || event.getStartTime().isEqual(dateTime)
-                  || event.getEndTime().isEqual(dateTime))
-          .forEach(result::add);
-      searchOverlappingPoint(node.right, dateTime, result);
+  public void searchOverlappingPoint(LocalDateTime dateTime, Consumer<EventDTO> sink) {
+    long dateTimeMicros = Node.toEpochMicros(dateTime);
+    Node[] stack = new Node[height(root)];
+    int top = 0;
+    Node node = root;
+    while (node != null || top > 0) {
+      // If the maxEnd of the subtree is before the dateTime, skip it
+      while (node != null && node.maxEnd >= dateTimeMicros) {
+        stack[top++] = node;
+        node = node.left;
+      }
+      if (top == 0) {
+        return;
+      }
+      node = stack[--top];
+      if (node.startTime > dateTimeMicros) {
+        return;
+      }
+      for (int i = node.nextSlot(0); i < node.slotCount(); i = node.nextSlot(i + 1)) {
+        EventDTO event = node.get(i);
+        if (event.getStartTime().isBefore(dateTime) && event.getEndTime().isAfter(dateTime)
+            || event.getStartTime().isEqual(dateTime)
+            || event.getEndTime().isEqual(dateTime)) {
+          sink.accept(event);
+        }
+      }
+      node = node.right;
     }
   }
 
@@ -172,24 +228,34 @@ public class IntervalTree {
    */
   public List<EventDTO> findByName(String subject) {
     List<EventDTO> result = new ArrayList<>();
-    findByName(root, subject, result);
+    findByName(subject, result::add);
     return result;
   }
 
   /**
-   * Search for events with the given name within a node.
+   * Pass the events with the given name to the sink in the order of their start time.
    *
-   * @param node    The node to search for events
    * @param subject The name of the event
-   * @param result  The list of events with the given name
+   * @param sink    The consumer of the events with the given name
    */
-  private void findByName(Node node, String subject, List<EventDTO> result) {
-    if (node == null) {
-      return;
+  public void findByName(String subject, Consumer<EventDTO> sink) {
+    Node[] stack = new Node[height(root)];
+    int top = 0;
+    Node node = root;
+    while (node != null || top > 0) {
+      while (node != null) {
+        stack[top++] = node;
+        node = node.left;
+      }
+      node = stack[--top];
+      for (int i = node.nextSlot(0); i < node.slotCount(); i = node.nextSlot(i + 1)) {
+        EventDTO event = node.get(i);
+        if (event.getSubject().equals(subject)) {
+          sink.accept(event);
+        }
+      }
+      node = node.right;
     }
-    findByName(node.left, subject, result);
-    node.events.stream().filter(event -> event.getSubject().equals(subject)).forEach(result::add);
-    findByName(node.right, subject, result);
   }
 
   /**
@@ -201,64 +267,99 @@ public class IntervalTree {
    * @return an event if it exists, empty otherwise
    */
   public EventDTO findEvent(String subject, LocalDateTime startTime, LocalDateTime endTime) {
-    return findEvent(root, subject, startTime, endTime);
+    return findEvent(root, subject, startTime, Node.toEpochMicros(startTime), endTime);
   }
 
   /**
    * Search for an event with the given name, start time, and end time within a node.
    *
-   * @param node      The node to search for the event
-   * @param subject   The name of the event
-   * @param startTime The start time of the event
-   * @param endTime   The end time of the event
+   * @param node        The node to search for the event
+   * @param subject     The name of the event
+   * @param startTime   The start time of the event
+   * @param startMicros The start time of the event in epoch microseconds
+   * @param endTime     The end time of the event
    * @return an event if it exists, empty otherwise
    */
-  private EventDTO findEvent(Node node, String subject, LocalDateTime startTime,
+  private EventDTO findEvent(Node node, String subject, LocalDateTime startTime, long startMicros,
       LocalDateTime endTime) {
     if (node == null) {
       return null;
     }
+    int comparison = compareToStart(startTime, startMicros, node);
     // check within the node
-    if (node.startTime.isEqual(startTime)) {
-      for (EventDTO event : node.events) {
+    if (comparison == 0) {
+      for (int i = node.nextSlot(0); i < node.slotCount(); i = node.nextSlot(i + 1)) {
+        EventDTO event = node.get(i);
         if (event.getSubject().equals(subject) && event.getEndTime().isEqual(endTime)) {
           return event;
         }
       }
     }
     // check the right child if the start time is before the node's start time
-    if (node.startTime.isBefore(startTime)) {
-      return findEvent(node.right, subject, startTime, endTime);
+    if (comparison > 0) {
+      return findEvent(node.right, subject, startTime, startMicros, endTime);
     } else {
-      return findEvent(node.left, subject, startTime, endTime);
+      return findEvent(node.left, subject, startTime, startMicros, endTime);
     }
   }
 
   /**
-   * Get all events in the repository.
+   * Get all events in the repository ordered by their start time.
    *
    * @return A list of all events in the repository
    */
   public List<EventDTO> getAllEvents() {
-    return getAllEvents(root);
+    List<EventDTO> result = new ArrayList<>();
+    forEach(result::add);
+    return result;
   }
 
   /**
-   * Get all events in the repository within a node.
+   * Get an iterator over the events in the order of their start time.
    *
-   * @param node The node to get all events from
-   * @return A list of all events in the repository
+   * @return an in-order iterator over the events of the tree
    */
-  private List<EventDTO> getAllEvents(Node node) {
-    if (node == null) {
-      return List.of();
-    }
-    List<EventDTO> result = new ArrayList<>();
-    // Inorder traversal
-    result.addAll(getAllEvents(node.left));
-    result.addAll(node.events);
-    result.addAll(getAllEvents(node.right));
-    return result;
+  @Override
+  public Iterator<EventDTO> iterator() {
+    return new InOrderIterator(root);
+  }
+
+  /**
+   * Get a spliterator over the events in the order of their start time. The spliterator splits at
+   * subtree boundaries.
+   *
+   * @return an in-order spliterator over the events of the tree
+   */
+  @Override
+  public Spliterator<EventDTO> spliterator() {
+    return new EventSpliterator(root);
+  }
+
+  /**
+   * Get a sequential stream of the events in the order of their start time.
+   *
+   * @return a stream of the events of the tree
+   */
+  public Stream<EventDTO> stream() {
+    return StreamSupport.stream(spliterator(), false);
+  }
+
+  /**
+   * Get a parallel stream of the events. The encounter order is the order of their start time.
+   *
+   * @return a parallel stream of the events of the tree
+   */
+  public Stream<EventDTO> parallelStream() {
+    return StreamSupport.stream(spliterator(), true);
+  }
+
+  /**
+   * Checks if the tree holds any events.
+   *
+   * @return true if the tree has no events, false otherwise
+   */
+  public Boolean isEmpty() {
+    return root == null;
   }
 
   /**
@@ -270,34 +371,60 @@ public class IntervalTree {
    * @return true if the event is successfully deleted, false otherwise
    */
   public Boolean delete(String subject, LocalDateTime startTime, LocalDateTime endTime) {
-    isDeleted = false;
-    root = delete(root, subject, startTime, endTime);
-    return isDeleted;
+    return remove(subject, startTime, endTime) != null;
   }
 
   /**
-   * Recursive method to delete an event from the tree.
+   * Removes an event from the repository based on the name, start time, and end time, and
+   * returns it, so that it does not have to be looked up before it is removed.
    *
-   * @param node      The node to delete the event
    * @param subject   The name of the event
    * @param startTime The start time of the event
    * @param endTime   The end time of the event
+   * @return the event removed, or null if there is no such event
+   */
+  public EventDTO remove(String subject, LocalDateTime startTime, LocalDateTime endTime) {
+    deleted = null;
+    root = delete(root, startTime, Node.toEpochMicros(startTime),
+        node -> node.remove(candidate -> candidate.getSubject().equals(subject)
+            && candidate.getEndTime().isEqual(endTime)));
+    return deleted;
+  }
+
+  /**
+   * Deletes the given event instance from the repository. The event is matched by identity, and
+   * found in its node without comparing names (see {@link Node#remove(EventDTO)}).
+   *
+   * @param event The event to delete, as it was inserted
+   * @return true if the event is successfully deleted, false otherwise
+   */
+  public Boolean delete(EventDTO event) {
+    deleted = null;
+    root = delete(root, event.getStartTime(), Node.toEpochMicros(event.getStartTime()),
+        node -> node.remove(event) ? event : null);
+    return deleted != null;
+  }
+
+  /**
+   * Recursive method to delete an event from the tree.
+   *
+   * @param node        The node to delete the event
+   * @param startTime   The start time of the event
+   * @param startMicros The start time of the event in epoch microseconds
+   * @param removeFrom  The removal of the event from the node with its start time, returning the
+   *                    event removed or null
    * @return The node after deleting the event
    */
-  private Node delete(Node node, String subject, LocalDateTime startTime, LocalDateTime endTime) {
+  private Node delete(Node node, LocalDateTime startTime, long startMicros,
+      Function<Node, EventDTO> removeFrom) {
     if (node == null) {
       return null;
     }
-    if (node.startTime.isEqual(startTime)) {
-      for (EventDTO event : node.events) {
-        if (event.getSubject().equals(subject) && event.getEndTime().isEqual(endTime)) {
-          node.events.remove(event);
-          isDeleted = true;
-          break;
-        }
-      }
+    int comparison = compareToStart(startTime, startMicros, node);
+    if (comparison == 0) {
+      deleted = removeFrom.apply(node);
       // Delete the node if it has no events
-      if (node.events.isEmpty()) {
+      if (node.isEmpty()) {
         // check if the node has no children
         if (node.left == null && node.right == null) {
           return null;
@@ -312,20 +439,20 @@ public class IntervalTree {
         // find the inorder child
         Node successor = findSuccessor(node.right);
         // copy the successor's data to the node
-        node.startTime = successor.startTime;
-        node.endTime = successor.endTime;
-        node.events.addAll(successor.events);
+        node.copyEvents(successor);
         // delete the successor
         node.right = deleteSuccessor(node.right);
         // done deleting
       }
-      updateMaxEnd(node);
-    } else if (node.startTime.isBefore(startTime)) {
-      node.right = delete(node.right, subject, startTime, endTime);
+    } else if (comparison > 0) {
+      node.right = delete(node.right, startTime, startMicros, removeFrom);
     } else {
-      node.left = delete(node.left, subject, startTime, endTime);
+      node.left = delete(node.left, startTime, startMicros, removeFrom);
     }
 
+    // the maxEnd may have come from the deleted event
+    updateMaxEnd(node);
+
     // update the height of the node
     updateHeight(node);
 
@@ -338,7 +465,7 @@ public class IntervalTree {
    * @param node The node to delete the successor
    * @return The node after deleting the successor
    */
-  private Node deleteSuccessor(Node node) {
+  private static Node deleteSuccessor(Node node) {
     // check if the node has no children
     if (node == null) {
       return null;
@@ -348,8 +475,9 @@ public class IntervalTree {
       return node.right;
     } else { // check if the node has two children
       node.left = deleteSuccessor(node.left);
+      updateHeight(node);
       updateMaxEnd(node);
-      return node;
+      return balanceTree(node);
     }
   }
 
@@ -359,13 +487,303 @@ public class IntervalTree {
    * @param node The node to find the successor
    * @return The successor of the node
    */
-  private Node findSuccessor(Node node) {
+  private static Node findSuccessor(Node node) {
     while (node.left != null) {
       node = node.left;
     }
     return node;
   }
 
+  /**
+   * Deletes all the events that overlap with the given time range, optionally only those with the
+   * given name. The events are matched exactly like {@link #searchOverlapping}.
+   *
+   * <p>The events starting within the range are cut out of the tree with a split and a join
+   * instead of being deleted one at a time. Only the few events starting before the range and
+   * running into it are deleted individually.
+   *
+   * @param startTime the start time of the range
+   * @param endTime   the end time of the range
+   * @param subject   the name of the events to delete, null to delete events with any name
+   * @return the number of events deleted
+   */
+  public int deleteRange(LocalDateTime startTime, LocalDateTime endTime, String subject) {
+    int deletedCount = 0;
+    if (startTime.isBefore(endTime)) {
+      IntervalTree range = extractRange(startTime, endTime);
+      List<EventDTO> kept = new ArrayList<>();
+      for (EventDTO event : range.getAllEvents()) {
+        if (subject == null || event.getSubject().equals(subject)) {
+          deletedCount++;
+        } else {
+          kept.add(event);
+        }
+      }
+      if (!kept.isEmpty()) {
+        IntervalTree later = split(startTime);
+        root = join(root, join(build(kept), later.root));
+      }
+    }
+    // events starting before the range and ending within or after it
+    for (EventDTO event : searchOverlapping(startTime, endTime)) {
+      if ((subject == null || event.getSubject().equals(subject))
+          && delete(event)) {
+        deletedCount++;
+      }
+    }
+    return deletedCount;
+  }
+
+  /**
+   * Build a balanced subtree from events ordered by start time. Events with the same start time
+   * share a node.
+   *
+   * @param sortedEvents the events ordered by start time
+   * @return the root of the balanced subtree
+   */
+  private static Node build(List<EventDTO> sortedEvents) {
+    List<Node> nodes = new ArrayList<>();
+    for (EventDTO event : sortedEvents) {
+      Node last = nodes.isEmpty() ? null : nodes.get(nodes.size() - 1);
+      if (last != null && last.getStart().isEqual(event.getStartTime())) {
+        last.add(event);
+      } else {
+        nodes.add(new Node(event));
+      }
+    }
+    return build(nodes, 0, nodes.size() - 1);
+  }
+
+  private static Node build(List<Node> nodes, int low, int high) {
+    if (low > high) {
+      return null;
+    }
+    int middle = (low + high) >>> 1;
+    Node node = nodes.get(middle);
+    node.left = build(nodes, low, middle - 1);
+    node.right = build(nodes, middle + 1, high);
+    updateHeight(node);
+    updateMaxEnd(node);
+    return node;
+  }
+
+  /**
+   * Detach all the events starting at or after the given time into a new tree. This tree keeps
+   * the events starting before the given time. Both trees stay balanced and the split takes
+   * O(log n) time.
+   *
+   * @param at the time at which the tree is split
+   * @return a new tree with the events starting at or after the given time
+   */
+  public IntervalTree split(LocalDateTime at) {
+    Node[] parts = split(root, at, Node.toEpochMicros(at));
+    root = parts[0];
+    IntervalTree right = new IntervalTree();
+    right.root = parts[1];
+    return right;
+  }
+
+  /**
+   * Join two trees into a new tree. All the events of the left tree must start before every event
+   * of the right tree. Both trees are emptied by the join, which takes O(log n) time.
+   *
+   * @param left  the tree with the earlier events
+   * @param right the tree with the later events
+   * @return a new tree with the events of both trees
+   * @throws IllegalArgumentException if the trees are not ordered
+   */
+  public static IntervalTree join(IntervalTree left, IntervalTree right) {
+    if (left.root != null && right.root != null
+        && !findMax(left.root).getStart().isBefore(findSuccessor(right.root).getStart())) {
+      throw new IllegalArgumentException("Events of the left tree must start before the right");
+    }
+    IntervalTree joined = new IntervalTree();
+    joined.root = join(left.root, right.root);
+    left.root = null;
+    right.root = null;
+    return joined;
+  }
+
+  /**
+   * Detach all the events starting within the given time range (start inclusive, end exclusive)
+   * into a new tree. This is done with two splits and a join, in O(log n) time.
+   *
+   * @param startTime the start of the time range
+   * @param endTime   the end of the time range
+   * @return a new tree with the events starting within the time range
+   */
+  public IntervalTree extractRange(LocalDateTime startTime, LocalDateTime endTime) {
+    IntervalTree later = split(startTime);
+    IntervalTree afterRange = later.split(endTime);
+    root = join(root, afterRange.root);
+    return later;
+  }
+
+  /**
+   * Recursive method to split the tree at the given time.
+   *
+   * @param node     the root of the subtree to split
+   * @param at       the time at which the subtree is split
+   * @param atMicros the time at which the subtree is split in epoch microseconds
+   * @return the roots of the subtrees starting before and at or after the given time
+   */
+  private static Node[] split(Node node, LocalDateTime at, long atMicros) {
+    if (node == null) {
+      return new Node[]{null, null};
+    }
+    if (compareToStart(at, atMicros, node) > 0) {
+      Node[] parts = split(node.right, at, atMicros);
+      parts[0] = join(node.left, node, parts[0]);
+      return parts;
+    }
+    Node[] parts = split(node.left, at, atMicros);
+    parts[1] = join(parts[1], node, node.right);
+    return parts;
+  }
+
+  /**
+   * Join two subtrees without a middle node, by taking the first node of the right subtree as the
+   * middle node.
+   *
+   * @param left  the root of the subtree with the earlier events
+   * @param right the root of the subtree with the later events
+   * @return the root of the joined subtree
+   */
+  private static Node join(Node left, Node right) {
+    if (right == null) {
+      return left;
+    }
+    Node first = findSuccessor(right);
+    return join(left, first, deleteFirst(right));
+  }
+
+  /**
+   * Join two subtrees with a middle node whose start time is between the two subtrees. The
+   * taller subtree is descended along its inner spine until the heights match, and the path is
+   * rebalanced on the way back.
+   *
+   * @param left   the root of the subtree with the earlier events
+   * @param middle the middle node
+   * @param right  the root of the subtree with the later events
+   * @return the root of the joined subtree
+   */
+  private static Node join(Node left, Node middle, Node right) {
+    int leftHeight = height(left);
+    int rightHeight = height(right);
+    if (leftHeight > rightHeight + 1) {
+      left.right = join(left.right, middle, right);
+      updateHeight(left);
+      updateMaxEnd(left);
+      return balanceTree(left);
+    }
+    if (rightHeight > leftHeight + 1) {
+      right.left = join(left, middle, right.left);
+      updateHeight(right);
+      updateMaxEnd(right);
+      return balanceTree(right);
+    }
+    middle.left = left;
+    middle.right = right;
+    updateHeight(middle);
+    updateMaxEnd(middle);
+    return middle;
+  }
+
+  /**
+   * Remove the first node of the subtree, rebalancing the path to it.
+   *
+   * @param node the root of the subtree
+   * @return the root of the subtree without its first node
+   */
+  private static Node deleteFirst(Node node) {
+    if (node.left == null) {
+      return node.right;
+    }
+    node.left = deleteFirst(node.left);
+    updateHeight(node);
+    updateMaxEnd(node);
+    return balanceTree(node);
+  }
+
+  /**
+   * Find the last node of a subtree.
+   *
+   * @param node the root of the subtree
+   * @return the node with the latest start time
+   */
+  private static Node findMax(Node node) {
+    while (node.right != null) {
+      node = node.right;
+    }
+    return node;
+  }
+
+  private static int height(Node node) {
+    return Objects.isNull(node) ? 0 : node.height;
+  }
+
+  /**
+   * Compare a date and time with the start time of a node. The epoch microseconds are compared
+   * first, and the exact times only break their ties.
+   *
+   * @param time       the date and time to compare
+   * @param timeMicros the date and time in epoch microseconds
+   * @param node       the node to compare with
+   * @return a negative number, zero or a positive number if the time is before, equal to or after
+   *     the start time of the node
+   */
+  private static int compareToStart(LocalDateTime time, long timeMicros, Node node) {
+    if (timeMicros != node.startTime) {
+      return timeMicros < node.startTime ? -1 : 1;
+    }
+    return time.compareTo(node.getStart());
+  }
+
+  /**
+   * Check the AVL and maxEnd invariants of every node, used by the tests after structural
+   * changes.
+   *
+   * @return true if the tree is ordered, balanced and every maxEnd is exact
+   */
+  boolean isValid() {
+    return isValid(root, null, null);
+  }
+
+  private boolean isValid(Node node, LocalDateTime lowerBound, LocalDateTime upperBound) {
+    if (node == null) {
+      return true;
+    }
+    LocalDateTime start = node.getStart();
+    if (lowerBound != null && !start.isAfter(lowerBound)
+        || upperBound != null && !start.isBefore(upperBound)
+        || node.startTime != Node.toEpochMicros(start)) {
+      return false;
+    }
+    long endTime = Long.MIN_VALUE;
+    int size = 0;
+    for (int i = node.nextSlot(0); i < node.slotCount(); i = node.nextSlot(i + 1)) {
+      if (!node.get(i).getStartTime().isEqual(start)) {
+        return false;
+      }
+      endTime = Math.max(endTime, Node.toEpochMicros(node.get(i).getEndTime()));
+      size++;
+    }
+    long maxEnd = endTime;
+    if (node.left != null) {
+      maxEnd = Math.max(maxEnd, node.left.maxEnd);
+    }
+    if (node.right != null) {
+      maxEnd = Math.max(maxEnd, node.right.maxEnd);
+    }
+    return node.size() == size
+        && node.endTime == endTime
+        && node.maxEnd == maxEnd
+        && node.height == Math.max(height(node.left), height(node.right)) + 1
+        && Math.abs(getBalanceFactor(node)) <= 1
+        && isValid(node.left, lowerBound, start)
+        && isValid(node.right, start, upperBound);
+  }
+
   /**
    * Update the height of the Node.
    *
@@ -374,7 +792,7 @@ public class IntervalTree {
    *
    * @param node The node to update the height for
    */
-  private void updateHeight(Node node) {
+  private static void updateHeight(Node node) {
     if (node != null) {
       int leftHeight = Objects.isNull(node.left) ? 0 : node.left.height;
       int rightHeight = Objects.isNull(node.right) ? 0 : node.right.height;
@@ -389,7 +807,7 @@ public class IntervalTree {
    * @param node The node to get the balance factor for
    * @return The balance factor of the node
    */
-  private int getBalanceFactor(Node node) {
+  private static int getBalanceFactor(Node node) {
     if (node != null) {
       int leftHeight = Objects.isNull(node.left) ? 0 : node.left.height;
       int rightHeight = Objects.isNull(node.right) ? 0 : node.right.height;
@@ -407,23 +825,16 @@ public class IntervalTree {
   private static void updateMaxEnd(Node node) {
     if (node != null) {
       // update the maxEnd from events within the node
-      node.maxEnd = node.events.stream()
-          .map(EventDTO::getEndTime)
-          .max(LocalDateTime::compareTo)
-          .orElse(null);
+      node.maxEnd = node.endTime;
 
       // check if the left child is not null and the maxEnd of the left child is greater
-      if (node.left != null) {
-        if (node.maxEnd != null && node.left.maxEnd.isAfter(node.maxEnd)) {
-          node.maxEnd = node.left.maxEnd;
-        }
+      if (node.left != null && node.left.maxEnd > node.maxEnd) {
+        node.maxEnd = node.left.maxEnd;
       }
 
       // check if the right child is not null and the maxEnd of the right child is greater
-      if (node.right != null) {
-        if (node.maxEnd != null && node.right.maxEnd.isAfter(node.maxEnd)) {
-          node.maxEnd = node.right.maxEnd;
-        }
+      if (node.right != null && node.right.maxEnd > node.maxEnd) {
+        node.maxEnd = node.right.maxEnd;
       }
     }
   }
@@ -435,7 +846,7 @@ public class IntervalTree {
    * @param node The node to rotate right
    * @return The new root of the tree after rotation
    */
-  private Node rotateRight(Node node) {
+  private static Node rotateRight(Node node) {
     Node newRoot = node.left;
     Node tempRight = newRoot.right;
 
@@ -461,7 +872,7 @@ public class IntervalTree {
    * @param node The node to rotate left
    * @return The new root of the tree after rotation
    */
-  private Node rotateLeft(Node node) {
+  private static Node rotateLeft(Node node) {
     Node newRoot = node.right;
     Node tempLeft = newRoot.left;
 
@@ -486,7 +897,7 @@ public class IntervalTree {
    * @param node the node on which the tree is to be balanced
    * @return the node on which the tree is balanced i.e, balance factor is between -1 and 1
    */
-  private Node balanceTree(Node node) {
+  private static Node balanceTree(Node node) {
     if (node == null) {
       return null;
     }
@@ -517,4 +928,165 @@ public class IntervalTree {
     // the node is balanced
     return node;
   }
+
+  /**
+   * Estimate the number of events in a subtree from its height. Every node holds at least one
+   * event, and an AVL tree of height h holds at most 2^h - 1 nodes.
+   *
+   * @param node the root of the subtree
+   * @return the estimated number of events in the subtree
+   */
+  private static long estimateEvents(Node node) {
+    return node == null ? 0 : (1L << Math.min(node.height, 62)) - 1;
+  }
+
+  /**
+   * Push a node and its chain of left children on the stack, so that the top of the stack is the
+   * node with the earliest start time of the subtree.
+   *
+   * @param stack the traversal stack
+   * @param node  the root of the subtree
+   */
+  private static void pushLeftSpine(Deque<Node> stack, Node node) {
+    while (node != null) {
+      stack.push(node);
+      node = node.left;
+    }
+  }
+
+  /**
+   * This class iterates over the events of the tree in the order of their start time. The stack
+   * holds the nodes whose events and right subtree are still to be visited.
+   */
+  private static class InOrderIterator implements Iterator<EventDTO> {
+
+    private final Deque<Node> stack;
+
+    private Node current;
+
+    private int index;
+
+    InOrderIterator(Node root) {
+      this.stack = new ArrayDeque<>();
+      this.current = null;
+      this.index = 0;
+      pushLeftSpine(stack, root);
+    }
+
+    @Override
+    public boolean hasNext() {
+      while (current == null || (index = current.nextSlot(index)) == current.slotCount()) {
+        if (stack.isEmpty()) {
+          return false;
+        }
+        current = stack.pop();
+        index = 0;
+        pushLeftSpine(stack, current.right);
+      }
+      return true;
+    }
+
+    @Override
+    public EventDTO next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      return current.get(index++);
+    }
+  }
+
+  /**
+   * This class splits the in-order walk of the tree for the streams. The remaining work is the
+   * rest of the events of the current node, followed by a subtree not yet descended into
+   * ({@code head}), followed by the stacked nodes, each with its right subtree.
+   *
+   * <p>A split hands out the left subtree of the head, or, once the walk has started, everything
+   * before the highest stacked node. Either way the prefix is a set of whole subtrees, so the
+   * split is close to even and costs O(1) on the tree.
+   */
+  private static class EventSpliterator implements Spliterator<EventDTO> {
+
+    private Node head;
+
+    private Node current;
+
+    private int index;
+
+    private final Deque<Node> stack;
+
+    EventSpliterator(Node head) {
+      this(head, null, 0, new ArrayDeque<>());
+    }
+
+    private EventSpliterator(Node head, Node current, int index, Deque<Node> stack) {
+      this.head = head;
+      this.current = current;
+      this.index = index;
+      this.stack = stack;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super EventDTO> action) {
+      while (current == null || (index = current.nextSlot(index)) == current.slotCount()) {
+        if (head != null) {
+          pushLeftSpine(stack, head);
+          head = null;
+        }
+        if (stack.isEmpty()) {
+          current = null;
+          return false;
+        }
+        current = stack.pop();
+        index = 0;
+        head = current.right;
+      }
+      action.accept(current.get(index++));
+      return true;
+    }
+
+    @Override
+    public Spliterator<EventDTO> trySplit() {
+      boolean started = current != null && current.nextSlot(index) < current.slotCount();
+      if (head != null && head.left != null) {
+        // the current node and the left subtree of the head are the prefix
+        Spliterator<EventDTO> prefix = new EventSpliterator(head.left, current, index,
+            new ArrayDeque<>());
+        stack.push(head);
+        head = null;
+        current = null;
+        index = 0;
+        return prefix;
+      }
+      if (stack.size() > 1 || stack.size() == 1 && (started || head != null)) {
+        // everything before the highest stacked node is the prefix
+        Node highest = stack.removeLast();
+        Spliterator<EventDTO> prefix = new EventSpliterator(head, current, index,
+            new ArrayDeque<>(stack));
+        stack.clear();
+        stack.push(highest);
+        head = null;
+        current = null;
+        index = 0;
+        return prefix;
+      }
+      return null;
+    }
+
+    @Override
+    public long estimateSize() {
+      long size = estimateEvents(head);
+      if (current != null) {
+        size += current.slotCount() - index;
+      }
+      for (Node node : stack) {
+        size += node.size() + estimateEvents(node.right);
+      }
+      return size;
+    }
+
+    @Override
+    public int characteristics() {
+      return ORDERED | NONNULL;
+    }
+  }
 }
@@ -0,0 +1,174 @@
+package repository;
+
+import java.util.function.Predicate;
+
+/**
+ * This class is a hash map from primitive long keys to values, used to look up events by their
+ * identifier without boxing the keys or allocating an entry per event.
+ *
+ * <p>The keys and values are kept in parallel arrays with open addressing and linear probing. A
+ * slot is empty when its value is null, so null values cannot be stored. Removal shifts the
+ * following entries of the probe sequence back instead of leaving tombstones.
+ *
+ * @param <V> the type of the values
+ */
+class LongHashMap<V> {
+
+  private static final int INITIAL_CAPACITY = 16;
+
+  private long[] keys;
+
+  private Object[] values;
+
+  private int size;
+
+  /**
+   * Constructor for an empty LongHashMap.
+   */
+  LongHashMap() {
+    this.keys = new long[INITIAL_CAPACITY];
+    this.values = new Object[INITIAL_CAPACITY];
+    this.size = 0;
+  }
+
+  /**
+   * Get the number of entries in the map.
+   *
+   * @return the number of entries
+   */
+  int size() {
+    return size;
+  }
+
+  /**
+   * Check if the map has no entries.
+   *
+   * @return true if the map is empty, false otherwise
+   */
+  boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Get the value of a key.
+   *
+   * @param key the key
+   * @return the value of the key, or null if the key is not in the map
+   */
+  @SuppressWarnings("unchecked")
+  V get(long key) {
+    int mask = keys.length - 1;
+    for (int slot = slot(key, mask); values[slot] != null; slot = (slot + 1) & mask) {
+      if (keys[slot] == key) {
+        return (V) values[slot];
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Associate a value with a key, replacing the previous value of the key.
+   *
+   * @param key   the key
+   * @param value the value, not null
+   * @return the previous value of the key, or null if the key was not in the map
+   */
+  @SuppressWarnings("unchecked")
+  V put(long key, V value) {
+    if (value == null) {
+      throw new IllegalArgumentException("Value cannot be null");
+    }
+    // keep the load factor at or below one half
+    if (2 * (size + 1) > keys.length) {
+      resize(2 * keys.length);
+    }
+    int mask = keys.length - 1;
+    int slot = slot(key, mask);
+    while (values[slot] != null) {
+      if (keys[slot] == key) {
+        V previous = (V) values[slot];
+        values[slot] = value;
+        return previous;
+      }
+      slot = (slot + 1) & mask;
+    }
+    keys[slot] = key;
+    values[slot] = value;
+    size++;
+    return null;
+  }
+
+  /**
+   * Remove a key from the map.
+   *
+   * @param key the key
+   * @return the value of the key, or null if the key was not in the map
+   */
+  @SuppressWarnings("unchecked")
+  V remove(long key) {
+    int mask = keys.length - 1;
+    int slot = slot(key, mask);
+    while (values[slot] != null && keys[slot] != key) {
+      slot = (slot + 1) & mask;
+    }
+    if (values[slot] == null) {
+      return null;
+    }
+    V removed = (V) values[slot];
+    // shift back the entries that were probed past the removed slot
+    int hole = slot;
+    for (int next = (hole + 1) & mask; values[next] != null; next = (next + 1) & mask) {
+      int home = slot(keys[next], mask);
+      // the entry can fill the hole if its home slot is not cyclically in (hole, next]
+      if (((next - home) & mask) >= ((next - hole) & mask)) {
+        keys[hole] = keys[next];
+        values[hole] = values[next];
+        hole = next;
+      }
+    }
+    values[hole] = null;
+    size--;
+    return removed;
+  }
+
+  /**
+   * Pass the values of the map to the action, in no particular order, until the action returns
+   * false. The map must not be changed by the action.
+   *
+   * @param action the action taking a value and returning whether to continue
+   * @return true if every value was passed, false if the action stopped early
+   */
+  @SuppressWarnings("unchecked")
+  boolean forEachValue(Predicate<? super V> action) {
+    for (Object value : values) {
+      if (value != null && !action.test((V) value)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private void resize(int capacity) {
+    long[] oldKeys = keys;
+    Object[] oldValues = values;
+    keys = new long[capacity];
+    values = new Object[capacity];
+    int mask = capacity - 1;
+    for (int i = 0; i < oldKeys.length; i++) {
+      if (oldValues[i] != null) {
+        int slot = slot(oldKeys[i], mask);
+        while (values[slot] != null) {
+          slot = (slot + 1) & mask;
+        }
+        keys[slot] = oldKeys[i];
+        values[slot] = oldValues[i];
+      }
+    }
+  }
+
+  private static int slot(long key, int mask) {
+    // spread the bits of sequential identifiers over the table
+    long hash = key * 0x9E3779B97F4A7C15L;
+    return (int) (hash ^ (hash >>> 32)) & mask;
+  }
+}
@@ -0,0 +1,789 @@
+package repository;
+
+import dto.EventDTO;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * LsmEventRepository is an implementation of IEventRepository organized as a log-structured merge
+ * tree for write heavy workloads.
+ *
+ * <p>New events are inserted into a mutable in-memory IntervalTree (the memtable). Once the
+ * memtable holds a configured number of records it is flushed to an immutable {@link SortedRun}
+ * file, so the memory used by the repository stays bounded. Deleting an event that was already
+ * flushed writes a tombstone that hides the event in the older runs.
+ *
+ * <p>A background thread compacts the runs into a single run once enough runs are accumulated,
+ * dropping the deleted events. Queries merge the results of the memtable and the runs, and a
+ * per-run Bloom filter lets {@link #getEvent} skip the runs that cannot hold the event.
+ *
+ * <p>The run files are kept in a private directory that is removed on {@link #close()}.
+ */
+public class LsmEventRepository implements IEventRepository, AutoCloseable {
+
+  private static final int DEFAULT_MEMTABLE_LIMIT = 4096;
+
+  private static final int DEFAULT_COMPACTION_TRIGGER = 4;
+
+  private final Path directory;
+
+  private final int memtableLimit;
+
+  private final int compactionTrigger;
+
+  private final ReadWriteLock lock;
+
+  private final ExecutorService compactor;
+
+  private final AtomicLong nextRunId;
+
+  private IntervalTree memtable;
+
+  private IntervalTree memtableTombstones;
+
+  private int memtableRecords;
+
+  // runs ordered from the newest to the oldest, replaced as a whole on every change
+  private List<SortedRun> runs;
+
+  private boolean compactionScheduled;
+
+  /**
+   * Constructor for LsmEventRepository storing its runs in the system temporary directory.
+   *
+   * @throws UncheckedIOException if the run directory could not be created
+   */
+  public LsmEventRepository() {
+    this(Path.of(System.getProperty("java.io.tmpdir")), DEFAULT_MEMTABLE_LIMIT,
+        DEFAULT_COMPACTION_TRIGGER);
+  }
+
+  /**
+   * Constructor for LsmEventRepository.
+   *
+   * @param baseDirectory     the directory under which the run files are stored
+   * @param memtableLimit     the number of records after which the memtable is flushed
+   * @param compactionTrigger the number of runs after which the runs are compacted
+   * @throws UncheckedIOException if the run directory could not be created
+   */
+  public LsmEventRepository(Path baseDirectory, int memtableLimit, int compactionTrigger) {
+    if (memtableLimit < 1 || compactionTrigger < 2) {
+      throw new IllegalArgumentException(
+          "memtable limit must be positive and compaction trigger at least 2");
+    }
+    try {
+      Files.createDirectories(baseDirectory);
+      this.directory = Files.createTempDirectory(baseDirectory, "lsm-");
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not create the run directory", e);
+    }
+    this.memtableLimit = memtableLimit;
+    this.compactionTrigger = compactionTrigger;
+    this.lock = new ReentrantReadWriteLock();
+    this.compactor = Executors.newSingleThreadExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "lsm-compactor");
+      thread.setDaemon(true);
+      return thread;
+    });
+    this.nextRunId = new AtomicLong();
+    this.memtable = new IntervalTree();
+    this.memtableTombstones = new IntervalTree();
+    this.memtableRecords = 0;
+    this.runs = List.of();
+    this.compactionScheduled = false;
+  }
+
+  /**
+   * Build the key identifying an event in the runs and the Bloom filters.
+   *
+   * @param subject   the subject of the event
+   * @param startTime the start time of the event
+   * @param endTime   the end time of the event
+   * @return the key of the event
+   */
+  static String key(String subject, LocalDateTime startTime, LocalDateTime endTime) {
+    return subject + '\u0000' + startTime + '\u0000' + endTime;
+  }
+
+  /**
+   * Insert an event into the memtable, flushing the memtable to a new run when it is full.
+   *
+   * @param event The event to be stored in the repository
+   * @return true if the event was successfully inserted, false otherwise
+   */
+  @Override
+  public boolean insertEvent(EventDTO event) {
+    if (event == null) {
+      return false;
+    }
+    lock.writeLock().lock();
+    try {
+      memtable.insert(event);
+      memtableRecords++;
+      flushIfFull();
+      return true;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Delete an event from the repository. An event still in the memtable is removed directly,
+   * otherwise a tombstone is recorded for the flushed event.
+   *
+   * @param name      The name of the event
+   * @param startTime The start time of the event
+   * @param endTime   The end time of the event
+   * @return true if the event was successfully deleted, false otherwise
+   */
+  @Override
+  public boolean deleteEvent(String name, LocalDateTime startTime, LocalDateTime endTime) {
+    lock.writeLock().lock();
+    try {
+      if (memtable.delete(name, startTime, endTime)) {
+        memtableRecords--;
+        return true;
+      }
+      if (findInRuns(name, startTime, endTime) == null) {
+        return false;
+      }
+      memtableTombstones.insert(EventDTO.getBuilder()
+          .setSubject(name)
+          .setStartTime(startTime)
+          .setEndTime(endTime)
+          .build());
+      memtableRecords++;
+      flushIfFull();
+      return true;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Delete all the events that overlap with the given time range. The memtable is cut with a
+   * range delete, while the events already flushed to runs each get a tombstone.
+   *
+   * @param startTime The start time of the range
+   * @param endTime   The end time of the range
+   * @param name      The name of the events to delete, null to delete events with any name
+   * @return the number of events deleted
+   */
+  @Override
+  public int deleteRange(LocalDateTime startTime, LocalDateTime endTime, String name) {
+    lock.writeLock().lock();
+    try {
+      int deleted = memtable.deleteRange(startTime, endTime, name);
+      memtableRecords -= deleted;
+      for (EventDTO event : searchOverlaps(startTime, endTime)) {
+        if ((name == null || event.getSubject().equals(name))
+            && deleteEvent(event.getSubject(), event.getStartTime(), event.getEndTime())) {
+          deleted++;
+        }
+      }
+      return deleted;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Get an event with the given name, start time and end time. Runs whose Bloom filter rules out
+   * the event are not read.
+   *
+   * @param name      The name of the event
+   * @param startTime The start time of the event
+   * @param endTime   The end time of the event
+   * @return The event with the given name, start time and end time
+   */
+  @Override
+  public EventDTO getEvent(String name, LocalDateTime startTime, LocalDateTime endTime) {
+    lock.readLock().lock();
+    try {
+      EventDTO event = memtable.findEvent(name, startTime, endTime);
+      return event != null ? event : findInRuns(name, startTime, endTime);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Get all events in the repository.
+   *
+   * @return A list of all events in the repository
+   */
+  @Override
+  public List<EventDTO> getAllEvents() {
+    return mergeSources(IntervalTree::getAllEvents, null, null, event -> true);
+  }
+
+  /**
+   * Stream all events in the repository. The runs are merged with the memtable before the stream
+   * starts.
+   *
+   * @return A sequential stream of all events in the repository
+   */
+  @Override
+  public Stream<EventDTO> stream() {
+    return getAllEvents().stream();
+  }
+
+  /**
+   * Stream all events in the repository in parallel. The runs are merged with the memtable before
+   * the stream starts.
+   *
+   * @return A parallel stream of all events in the repository
+   */
+  @Override
+  public Stream<EventDTO> parallelStream() {
+    return getAllEvents().parallelStream();
+  }
+
+  /**
+   * Get all events that occur on the given date.
+   *
+   * @param date The date to get events for from repository
+   * @return A list of events that occur on the given date
+   */
+  @Override
+  public List<EventDTO> getEventsOnDate(LocalDate date) {
+    return searchOverlaps(date.atStartOfDay(), LocalDateTime.of(date, LocalTime.MAX));
+  }
+
+  /**
+   * Pass the events that occur on the given date to the sink. The events of the runs and the
+   * memtable are merged before the first event is passed.
+   *
+   * @param date The date to get events for from repository
+   * @param sink The consumer of the events on the given date
+   */
+  @Override
+  public void getEventsOnDate(LocalDate date, Consumer<EventDTO> sink) {
+    getEventsOnDate(date).forEach(sink);
+  }
+
+  /**
+   * Get all events that occur in the given time range.
+   *
+   * @param startTime The start time of the events range
+   * @param endTime   The end time of the events range
+   * @return A list of events that occur in the given time range
+   */
+  @Override
+  public List<EventDTO> getEventsInRange(LocalDateTime startTime, LocalDateTime endTime) {
+    return searchOverlaps(startTime, endTime);
+  }
+
+  /**
+   * Pass the events that occur in the given time range to the sink.
+   *
+   * @param startTime The start time of the events range
+   * @param endTime   The end time of the events range
+   * @param sink      The consumer of the events in the given time range
+   */
+  @Override
+  public void getEventsInRange(LocalDateTime startTime, LocalDateTime endTime,
+      Consumer<EventDTO> sink) {
+    searchOverlaps(startTime, endTime).forEach(sink);
+  }
+
+  /**
+   * Get all events with the given name.
+   *
+   * @param name The name of the event to search for
+   * @return A list of events with the given name
+   */
+  @Override
+  public List<EventDTO> getEventsByName(String name) {
+    return mergeSources(tree -> tree.findByName(name), null, null,
+        event -> event.getSubject().equals(name));
+  }
+
+  /**
+   * Pass the events with the given name to the sink.
+   *
+   * @param name The name of the event to search for
+   * @param sink The consumer of the events with the given name
+   */
+  @Override
+  public void getEventsByName(String name, Consumer<EventDTO> sink) {
+    getEventsByName(name).forEach(sink);
+  }
+
+  /**
+   * Get all events that occur at the given date and time.
+   *
+   * @param dateTime The date and time to get events for
+   * @return A list of events that occur at the given date and time
+   */
+  @Override
+  public List<EventDTO> getEventsAt(LocalDateTime dateTime) {
+    return mergeSources(tree -> tree.searchOverlappingPoint(dateTime), dateTime, dateTime,
+        event -> event.getStartTime().isBefore(dateTime) && event.getEndTime().isAfter(dateTime)
+            || event.getStartTime().isEqual(dateTime)
+            || event.getEndTime().isEqual(dateTime));
+  }
+
+  /**
+   * Pass the events that occur at the given date and time to the sink.
+   *
+   * @param dateTime The date and time to get events for
+   * @param sink     The consumer of the events at the given date and time
+   */
+  @Override
+  public void getEventsAt(LocalDateTime dateTime, Consumer<EventDTO> sink) {
+    getEventsAt(dateTime).forEach(sink);
+  }
+
+  /**
+   * Search for events that overlap with the given time range across the memtable and the runs.
+   *
+   * @param startTime The start time of the event
+   * @param endTime   The end time of the event
+   * @return A list of events that overlap with the given time range
+   */
+  @Override
+  public List<EventDTO> searchOverlaps(LocalDateTime startTime, LocalDateTime endTime) {
+    return mergeSources(tree -> tree.searchOverlapping(startTime, endTime), startTime, endTime,
+        event -> event.getStartTime().isBefore(endTime) && event.getEndTime().isAfter(startTime)
+            || event.getStartTime().isEqual(startTime));
+  }
+
+  /**
+   * Pass the events that overlap with the given time range to the sink.
+   *
+   * @param startTime The start time of the event
+   * @param endTime   The end time of the event
+   * @param sink      The consumer of the events that overlap with the given time range
+   */
+  @Override
+  public void searchOverlaps(LocalDateTime startTime, LocalDateTime endTime,
+      Consumer<EventDTO> sink) {
+    searchOverlaps(startTime, endTime).forEach(sink);
+  }
+
+  /**
+   * Get the occurrences of the recurrence series with the given identifier.
+   *
+   * @param seriesId The identifier of the recurrence series
+   * @return A list of the occurrences of the series
+   */
+  @Override
+  public List<EventDTO> getEventsBySeries(long seriesId) {
+    List<EventDTO> result = new ArrayList<>();
+    getEventsBySeries(seriesId, result::add);
+    return result;
+  }
+
+  /**
+   * Pass the occurrences of the recurrence series with the given identifier to the sink. The
+   * repository keeps no series index, so all the events are merged and walked.
+   *
+   * @param seriesId The identifier of the recurrence series
+   * @param sink     The consumer of the occurrences of the series
+   */
+  @Override
+  public void getEventsBySeries(long seriesId, Consumer<EventDTO> sink) {
+    Long series = seriesId;
+    stream().filter(event -> series.equals(event.getSeriesId())).forEach(sink);
+  }
+
+  /**
+   * Get the event with the given identifier. The repository keeps no identifier index, so all
+   * the events are merged and walked.
+   *
+   * @param id The identifier of the event
+   * @return The event with the identifier, or null if there is none
+   */
+  @Override
+  public EventDTO getById(long id) {
+    Long eventId = id;
+    return stream().filter(event -> eventId.equals(event.getId())).findFirst().orElse(null);
+  }
+
+  /**
+   * Delete the event with the given identifier.
+   *
+   * @param id The identifier of the event
+   * @return true if the event was deleted, false otherwise
+   */
+  @Override
+  public boolean deleteById(long id) {
+    EventDTO event = getById(id);
+    return event != null
+        && deleteEvent(event.getSubject(), event.getStartTime(), event.getEndTime());
+  }
+
+  /**
+   * Get the number of runs currently on disk.
+   *
+   * @return the number of runs
+   */
+  public int getRunCount() {
+    lock.readLock().lock();
+    try {
+      return runs.size();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Stop the compaction thread and delete the run files.
+   *
+   * @throws UncheckedIOException if the run files could not be deleted
+   */
+  @Override
+  public void close() {
+    compactor.shutdown();
+    try {
+      compactor.awaitTermination(1, TimeUnit.MINUTES);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    lock.writeLock().lock();
+    try {
+      for (SortedRun run : runs) {
+        run.delete();
+      }
+      runs = List.of();
+      Files.deleteIfExists(directory);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not delete the run files", e);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Wait until the compactions scheduled so far are completed. Used by the tests to observe the
+   * state after a compaction.
+   *
+   * @throws InterruptedException if the thread is interrupted while waiting
+   */
+  void awaitCompaction() throws InterruptedException {
+    try {
+      compactor.submit(() -> { }).get();
+    } catch (ExecutionException e) {
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  /**
+   * Merge the results of the memtable and the runs from the newest to the oldest. A tombstone
+   * cancels one matching event of an older source.
+   *
+   * @param treeQuery the query to run on the memtable trees
+   * @param scanFrom  the start of the time range of the blocks to read, null to read all blocks
+   * @param scanTo    the end of the time range of the blocks to read, null to read all blocks
+   * @param matches   the filter applied on the records of the runs
+   * @return the events matching the query ordered by start time
+   */
+  private List<EventDTO> mergeSources(Function<IntervalTree, List<EventDTO>> treeQuery,
+      LocalDateTime scanFrom, LocalDateTime scanTo, Predicate<EventDTO> matches) {
+    lock.readLock().lock();
+    try {
+      List<EventDTO> result = new ArrayList<>(treeQuery.apply(memtable));
+      Map<String, Integer> pendingTombstones = new HashMap<>();
+      for (EventDTO tombstone : treeQuery.apply(memtableTombstones)) {
+        pendingTombstones.merge(keyOf(tombstone), 1, Integer::sum);
+      }
+      for (SortedRun run : runs) {
+        List<EventDTO> runTombstones = new ArrayList<>();
+        Consumer<SortedRun.Record> consumer = record -> {
+          if (!matches.test(record.event)) {
+            return;
+          }
+          if (record.tombstone) {
+            runTombstones.add(record.event);
+          } else if (!cancel(pendingTombstones, record.event)) {
+            result.add(record.event);
+          }
+        };
+        if (scanFrom == null) {
+          run.scanAll(consumer);
+        } else {
+          run.scan(scanFrom, scanTo, consumer);
+        }
+        // tombstones of a run only apply to the older runs
+        runTombstones.forEach(
+            tombstone -> pendingTombstones.merge(keyOf(tombstone), 1, Integer::sum));
+      }
+      result.sort(Comparator.comparing(EventDTO::getStartTime));
+      return result;
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not read the run files", e);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Find a live event in the runs. The caller must hold the lock.
+   *
+   * @param name      the name of the event
+   * @param startTime the start time of the event
+   * @param endTime   the end time of the event
+   * @return the event if it is live in the runs, null otherwise
+   */
+  private EventDTO findInRuns(String name, LocalDateTime startTime, LocalDateTime endTime) {
+    String key = key(name, startTime, endTime);
+    int pendingTombstones = (int) memtableTombstones.searchOverlappingPoint(startTime).stream()
+        .filter(tombstone -> key.equals(keyOf(tombstone)))
+        .count();
+    try {
+      for (SortedRun run : runs) {
+        if (!run.mightContain(key)) {
+          continue;
+        }
+        List<EventDTO> live = new ArrayList<>();
+        int[] runTombstones = new int[1];
+        run.scan(startTime, startTime, record -> {
+          if (key.equals(keyOf(record.event))) {
+            if (record.tombstone) {
+              runTombstones[0]++;
+            } else {
+              live.add(record.event);
+            }
+          }
+        });
+        if (live.size() > pendingTombstones) {
+          return live.get(pendingTombstones);
+        }
+        pendingTombstones += runTombstones[0] - live.size();
+      }
+      return null;
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not read the run files", e);
+    }
+  }
+
+  /**
+   * Flush the memtable to a new run if it reached its limit, and schedule a compaction when there
+   * are enough runs. The caller must hold the write lock.
+   */
+  private void flushIfFull() {
+    if (memtableRecords < memtableLimit) {
+      return;
+    }
+    List<EventDTO> live = memtable.getAllEvents();
+    List<EventDTO> tombstones = memtableTombstones.getAllEvents();
+    try (SortedRun.Writer writer = SortedRun.newWriter(nextRunFile(),
+        live.size() + tombstones.size())) {
+      int i = 0;
+      int j = 0;
+      while (i < live.size() || j < tombstones.size()) {
+        if (j == tombstones.size() || i < live.size()
+            && !tombstones.get(j).getStartTime().isBefore(live.get(i).getStartTime())) {
+          writer.append(live.get(i++), false);
+        } else {
+          writer.append(tombstones.get(j++), true);
+        }
+      }
+      List<SortedRun> updatedRuns = new ArrayList<>();
+      updatedRuns.add(writer.finish());
+      updatedRuns.addAll(runs);
+      runs = List.copyOf(updatedRuns);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not flush the memtable", e);
+    }
+    memtable = new IntervalTree();
+    memtableTombstones = new IntervalTree();
+    memtableRecords = 0;
+
+    if (runs.size() >= compactionTrigger && !compactionScheduled) {
+      scheduleCompaction();
+    }
+  }
+
+  /**
+   * Schedule a compaction on the compaction thread, unless the repository is closed. The caller
+   * must hold the write lock.
+   */
+  private void scheduleCompaction() {
+    compactionScheduled = false;
+    if (compactor.isShutdown()) {
+      return;
+    }
+    try {
+      compactor.submit(this::compact);
+      compactionScheduled = true;
+    } catch (RejectedExecutionException e) {
+      // the compaction thread was stopped by a close in the meantime
+    }
+  }
+
+  /**
+   * Compact all the runs present when the compaction starts into a single run. The runs are
+   * merged by start time one group of equal start times at a time, so only one block per run is
+   * held in memory. Runs flushed while the compaction is running are kept as they are.
+   */
+  private void compact() {
+    List<SortedRun> snapshot;
+    lock.readLock().lock();
+    try {
+      snapshot = runs;
+    } finally {
+      lock.readLock().unlock();
+    }
+
+    SortedRun merged;
+    try {
+      merged = mergeRuns(snapshot);
+    } catch (IOException e) {
+      // the runs are left untouched, a later flush will schedule another attempt
+      lock.writeLock().lock();
+      try {
+        compactionScheduled = false;
+      } finally {
+        lock.writeLock().unlock();
+      }
+      return;
+    }
+
+    lock.writeLock().lock();
+    try {
+      List<SortedRun> updatedRuns = new ArrayList<>(
+          runs.subList(0, runs.size() - snapshot.size()));
+      updatedRuns.add(merged);
+      runs = List.copyOf(updatedRuns);
+      for (SortedRun run : snapshot) {
+        run.delete();
+      }
+    } catch (IOException e) {
+      // stale run files are removed with the directory on close
+    } finally {
+      try {
+        compactionScheduled = false;
+        if (runs.size() >= compactionTrigger) {
+          scheduleCompaction();
+        }
+      } finally {
+        lock.writeLock().unlock();
+      }
+    }
+  }
+
+  /**
+   * Merge the given runs, ordered from the newest to the oldest, into a new run. As the oldest run
+   * is part of the merge, the tombstones are dropped once applied.
+   *
+   * @param runsToMerge the runs to merge
+   * @return the merged run
+   * @throws IOException if the runs could not be read or the merged run could not be written
+   */
+  private SortedRun mergeRuns(List<SortedRun> runsToMerge) throws IOException {
+    List<SortedRun.Cursor> cursors = new ArrayList<>();
+    int expectedRecords = 0;
+    try {
+      for (SortedRun run : runsToMerge) {
+        cursors.add(run.openCursor());
+        expectedRecords += run.getRecordCount();
+      }
+      // cursors ordered by their next start time, the newest run first on ties
+      PriorityQueue<Integer> queue = new PriorityQueue<>((first, second) -> {
+        try {
+          int compare = cursors.get(first).peek().event.getStartTime()
+              .compareTo(cursors.get(second).peek().event.getStartTime());
+          return compare != 0 ? compare : Integer.compare(first, second);
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      });
+      for (int i = 0; i < cursors.size(); i++) {
+        if (cursors.get(i).peek() != null) {
+          queue.add(i);
+        }
+      }
+
+      try (SortedRun.Writer writer = SortedRun.newWriter(nextRunFile(), expectedRecords)) {
+        Map<String, Integer> pendingTombstones = new HashMap<>();
+        while (!queue.isEmpty()) {
+          // all the records with the same start time, the newest run first
+          LocalDateTime groupStart = cursors.get(queue.peek()).peek().event.getStartTime();
+          pendingTombstones.clear();
+          while (!queue.isEmpty()
+              && cursors.get(queue.peek()).peek().event.getStartTime().isEqual(groupStart)) {
+            int index = queue.poll();
+            SortedRun.Cursor cursor = cursors.get(index);
+            List<EventDTO> runTombstones = new ArrayList<>();
+            while (cursor.peek() != null
+                && cursor.peek().event.getStartTime().isEqual(groupStart)) {
+              SortedRun.Record record = cursor.next();
+              if (record.tombstone) {
+                runTombstones.add(record.event);
+              } else if (!cancel(pendingTombstones, record.event)) {
+                writer.append(record.event, false);
+              }
+            }
+            runTombstones.forEach(
+                tombstone -> pendingTombstones.merge(keyOf(tombstone), 1, Integer::sum));
+            if (cursor.peek() != null) {
+              queue.add(index);
+            }
+          }
+        }
+        return writer.finish();
+      }
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    } finally {
+      for (SortedRun.Cursor cursor : cursors) {
+        cursor.close();
+      }
+    }
+  }
+
+  private Path nextRunFile() {
+    return directory.resolve(String.format("run-%08d.dat", nextRunId.getAndIncrement()));
+  }
+
+  private static String keyOf(EventDTO event) {
+    return key(event.getSubject(), event.getStartTime(), event.getEndTime());
+  }
+
+  /**
+   * Cancel the event against a pending tombstone.
+   *
+   * @param pendingTombstones the tombstones of the newer sources, by key
+   * @param event             the event to be checked
+   * @return true if a tombstone cancelled the event, false otherwise
+   */
+  private static boolean cancel(Map<String, Integer> pendingTombstones, EventDTO event) {
+    String key = keyOf(event);
+    Integer pending = pendingTombstones.get(key);
+    if (Objects.isNull(pending)) {
+      return false;
+    }
+    if (pending == 1) {
+      pendingTombstones.remove(key);
+    } else {
+      pendingTombstones.put(key, pending - 1);
+    }
+    return true;
+  }
+}
@@ -2,8 +2,9 @@ package repository;
 
 import dto.EventDTO;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.List;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.function.Predicate;
 
 /**
  * This class represents a node in the interval tree. The data related to the calendar events is
@@ -11,23 +12,42 @@ import java.util.List;
  *
  * <p>It contains the start and end time of the event, the maximum end time of the events in the
  * subtree, and the left and right child nodes along with the height of the node. Upon collision,
- * the node will store all the collided events in a list.
+ * the node will store all the collided events.
+ *
+ * <p>Almost every node holds a single event, so the first event is kept inline and the collided
+ * events go to an overflow array that is only allocated when needed, and doubles when it is full
+ * so that adding many events with the same start time stays linear. The times are kept as
+ * primitive epoch microseconds (see {@link #toEpochMicros(LocalDateTime)}), so that the tree
+ * can compare and prune without dereferencing the events. The exact times are always read from
+ * the events.
+ *
+ * <p>The events keep the slots they were added in, so a removed event leaves an empty slot
+ * instead of shifting the events after it, and the slots are compacted once more of them are
+ * empty than not. The first slot is never empty while the node has events.
  */
 class Node {
 
-  List<EventDTO> events;
+  EventDTO event;
+
+  EventDTO[] overflow;
+
+  int overflowSize;
+
+  int overflowHead;
 
-  LocalDateTime startTime;
+  int size;
 
-  LocalDateTime endTime;
+  long startTime;
 
-  LocalDateTime maxEnd;
+  long endTime;
+
+  long maxEnd;
 
   Node left;
 
   Node right;
 
-  Integer height;
+  int height;
 
   /**
    * Constructor will initialize new node and adds the event to the node. It will also set the start
@@ -40,13 +60,260 @@ class Node {
    * @param event the event to be added to the node
    */
   Node(EventDTO event) {
-    this.events = new ArrayList<>();
-    this.events.add(event);
-    this.startTime = event.getStartTime();
-    this.endTime = event.getEndTime();
-    this.maxEnd = event.getEndTime();
+    this.event = event;
+    this.overflow = null;
+    this.overflowSize = 0;
+    this.overflowHead = 0;
+    this.size = 1;
+    this.startTime = toEpochMicros(event.getStartTime());
+    this.endTime = toEpochMicros(event.getEndTime());
+    this.maxEnd = this.endTime;
     this.left = null;
     this.right = null;
     this.height = 1;
   }
+
+  /**
+   * Convert a date and time to microseconds since the epoch at UTC. The conversion is monotonic,
+   * so comparing the converted values never contradicts comparing the date and times, but two
+   * times less than a microsecond apart may convert to the same value. Values beyond the range of
+   * a long are clamped.
+   *
+   * @param dateTime the date and time to convert
+   * @return the microseconds since the epoch
+   */
+  static long toEpochMicros(LocalDateTime dateTime) {
+    return toEpochMicros(dateTime.toEpochSecond(ZoneOffset.UTC), dateTime.getNano());
+  }
+
+  /**
+   * Convert epoch seconds and nanoseconds at UTC to microseconds since the epoch, like
+   * {@link #toEpochMicros(LocalDateTime)}.
+   *
+   * @param epochSecond the seconds since the epoch
+   * @param nano        the nanoseconds within the second
+   * @return the microseconds since the epoch
+   */
+  static long toEpochMicros(long epochSecond, int nano) {
+    if (epochSecond >= Long.MAX_VALUE / 1_000_000) {
+      return Long.MAX_VALUE;
+    }
+    if (epochSecond <= Long.MIN_VALUE / 1_000_000) {
+      return Long.MIN_VALUE;
+    }
+    return epochSecond * 1_000_000 + nano / 1_000;
+  }
+
+  /**
+   * Get the exact start time shared by the events of the node.
+   *
+   * @return the start time of the node
+   */
+  LocalDateTime getStart() {
+    return event.getStartTime();
+  }
+
+  /**
+   * Get the number of events in the node.
+   *
+   * @return the number of events in the node
+   */
+  int size() {
+    return size;
+  }
+
+  /**
+   * Get the number of slots of the node, including the empty slots of removed events.
+   *
+   * @return the number of slots of the node
+   */
+  int slotCount() {
+    return overflowSize + 1;
+  }
+
+  /**
+   * Get the first slot holding an event at or after a slot. The events of the node are walked
+   * in the order they were added from {@code nextSlot(0)}.
+   *
+   * @param slot the slot to start from
+   * @return the first slot holding an event, or {@link #slotCount()} if there is none
+   */
+  int nextSlot(int slot) {
+    if (slot >= 1 && slot <= overflowHead) {
+      slot = overflowHead + 1;
+    }
+    while (slot < slotCount() && get(slot) == null) {
+      slot++;
+    }
+    return slot;
+  }
+
+  /**
+   * Get an event of the node by its slot.
+   *
+   * @param slot the slot of the event, 0 for the first event
+   * @return the event in the slot, or null if the slot is empty
+   */
+  EventDTO get(int slot) {
+    return slot == 0 ? event : overflow[slot - 1];
+  }
+
+  /**
+   * Add an event with the same start time to the node.
+   *
+   * @param newEvent the event to be added
+   */
+  void add(EventDTO newEvent) {
+    if (overflow == null) {
+      overflow = new EventDTO[2];
+    } else if (overflowSize == overflow.length) {
+      compact();
+      if (overflowSize == overflow.length) {
+        overflow = Arrays.copyOf(overflow, overflow.length * 2);
+      }
+    }
+    overflow[overflowSize++] = newEvent;
+    size++;
+    long newEnd = toEpochMicros(newEvent.getEndTime());
+    if (newEnd > endTime) {
+      endTime = newEnd;
+    }
+    if (newEnd > maxEnd) {
+      maxEnd = newEnd;
+    }
+  }
+
+  /**
+   * Add all the events of another node with the same start time to this node.
+   *
+   * @param other the node whose events are added
+   */
+  void addAll(Node other) {
+    for (int i = other.nextSlot(0); i < other.slotCount(); i = other.nextSlot(i + 1)) {
+      add(other.get(i));
+    }
+  }
+
+  /**
+   * Remove the first event matching the predicate from the node. The node is left without events
+   * (see {@link #isEmpty()}) if it was the only event.
+   *
+   * @param matches the predicate identifying the event to remove
+   * @return the event removed, or null if no event matches
+   */
+  EventDTO remove(Predicate<EventDTO> matches) {
+    for (int i = nextSlot(0); i < slotCount(); i = nextSlot(i + 1)) {
+      EventDTO candidate = get(i);
+      if (matches.test(candidate)) {
+        removeAt(i);
+        return candidate;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Remove the given event instance from the node, matched by identity.
+   *
+   * @param target the event to remove, as it was added
+   * @return true if the event was removed, false otherwise
+   */
+  boolean remove(EventDTO target) {
+    int slot = -1;
+    if (event == target) {
+      slot = 0;
+    } else {
+      for (int i = overflowHead; i < overflowSize && slot < 0; i++) {
+        if (overflow[i] == target) {
+          slot = i + 1;
+        }
+      }
+    }
+    if (slot < 0) {
+      return false;
+    }
+    removeAt(slot);
+    return true;
+  }
+
+  /**
+   * Check if the node has no events left.
+   *
+   * @return true if the node holds no events, false otherwise
+   */
+  boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Replace the events of this node with the events of another node.
+   *
+   * @param other the node whose events and times are copied
+   */
+  void copyEvents(Node other) {
+    event = other.event;
+    overflow = other.overflow;
+    overflowSize = other.overflowSize;
+    overflowHead = other.overflowHead;
+    size = other.size;
+    startTime = other.startTime;
+    endTime = other.endTime;
+  }
+
+  private void removeAt(int slot) {
+    EventDTO removed = get(slot);
+    size--;
+    if (size == 0) {
+      event = null;
+      clearOverflow();
+      return;
+    }
+    if (slot == 0) {
+      // the next event in the order they were added takes the first slot
+      slot = nextSlot(1);
+      event = get(slot);
+    }
+    overflow[slot - 1] = null;
+    while (overflowHead < overflowSize && overflow[overflowHead] == null) {
+      overflowHead++;
+    }
+    while (overflowSize > overflowHead && overflow[overflowSize - 1] == null) {
+      overflowSize--;
+    }
+    if (size == 1) {
+      clearOverflow();
+    } else if (overflowSize - overflowHead - (size - 1) > size - 1) {
+      compact();
+    }
+    // the end time only changes if it came from the removed event
+    if (toEpochMicros(removed.getEndTime()) == endTime) {
+      endTime = toEpochMicros(event.getEndTime());
+      for (int i = overflowHead; i < overflowSize; i++) {
+        if (overflow[i] != null) {
+          endTime = Math.max(endTime, toEpochMicros(overflow[i].getEndTime()));
+        }
+      }
+    }
+  }
+
+  private void clearOverflow() {
+    overflow = null;
+    overflowSize = 0;
+    overflowHead = 0;
+  }
+
+  /**
+   * Move the events of the overflow to its first slots, keeping their order.
+   */
+  private void compact() {
+    int live = 0;
+    for (int i = overflowHead; i < overflowSize; i++) {
+      if (overflow[i] != null) {
+        overflow[live++] = overflow[i];
+      }
+    }
+    Arrays.fill(overflow, live, overflowSize, null);
+    overflowSize = live;
+    overflowHead = 0;
+  }
 }
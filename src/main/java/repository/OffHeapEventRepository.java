@@ -0,0 +1,448 @@
+package repository;
+
+import dto.EventDTO;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * OffHeapEventRepository is an implementation of IEventRepository that keeps the events outside
+ * the Java heap, for calendars with millions of events.
+ *
+ * <p>Every event is encoded with {@link EventCodec} into a record allocated by a
+ * {@link SlabAllocator}, and the records are indexed by an {@link OffHeapIntervalIndex}. Neither
+ * the records nor the index nodes are Java objects, so the garbage collector has nothing to trace
+ * for the stored events. An EventDTO is only decoded from its record when a query returns it, and
+ * is not kept by the repository.
+ */
+public class OffHeapEventRepository implements IEventRepository {
+
+  private static final int LENGTH_BYTES = Integer.BYTES;
+
+  private final SlabAllocator records;
+
+  private final OffHeapIntervalIndex index;
+
+  private final ByteArrayOutputStream encodedBytes;
+
+  private final DataOutputStream encodedOutput;
+
+  /**
+   * Constructor for an empty OffHeapEventRepository.
+   */
+  public OffHeapEventRepository() {
+    this.records = new SlabAllocator();
+    this.index = new OffHeapIntervalIndex();
+    this.encodedBytes = new ByteArrayOutputStream();
+    this.encodedOutput = new DataOutputStream(encodedBytes);
+  }
+
+  /**
+   * Encode an event into a new record and index it.
+   *
+   * @param event The event to be stored in the repository
+   * @return true if the event was successfully inserted, false otherwise
+   */
+  @Override
+  public boolean insertEvent(EventDTO event) {
+    if (event == null) {
+      return false;
+    }
+    encodedBytes.reset();
+    try {
+      EventCodec.write(encodedOutput, event);
+      encodedOutput.flush();
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not encode the event", e);
+    }
+    int length = encodedBytes.size();
+    long record = records.allocate(LENGTH_BYTES + length);
+    ByteBuffer slab = records.slab(record);
+    int offset = SlabAllocator.offset(record);
+    slab.putInt(offset, length);
+    ByteBuffer payload = slab.duplicate();
+    payload.position(offset + LENGTH_BYTES);
+    payload.put(encodedBytes.toByteArray());
+    index.insert(event.getStartTime().toEpochSecond(ZoneOffset.UTC),
+        event.getStartTime().getNano(), event.getEndTime().toEpochSecond(ZoneOffset.UTC),
+        event.getEndTime().getNano(), record);
+    return true;
+  }
+
+  /**
+   * Delete an event from the repository, freeing its record.
+   *
+   * @param name      The name of the event
+   * @param startTime The start time of the event
+   * @param endTime   The end time of the event
+   * @return true if the event was successfully deleted, false otherwise
+   */
+  @Override
+  public boolean deleteEvent(String name, LocalDateTime startTime, LocalDateTime endTime) {
+    long record = index.remove(startTime.toEpochSecond(ZoneOffset.UTC), startTime.getNano(),
+        endTime.toEpochSecond(ZoneOffset.UTC), endTime.getNano(),
+        candidate -> hasSubject(candidate, name));
+    if (record == SlabAllocator.NULL_ADDRESS) {
+      return false;
+    }
+    freeRecord(record);
+    return true;
+  }
+
+  /**
+   * Delete all the events that overlap with the given time range, freeing their records.
+   *
+   * @param startTime The start time of the range
+   * @param endTime   The end time of the range
+   * @param name      The name of the events to delete, null to delete events with any name
+   * @return the number of events deleted
+   */
+  @Override
+  public int deleteRange(LocalDateTime startTime, LocalDateTime endTime, String name) {
+    List<Long> matching = new ArrayList<>();
+    index.searchOverlapping(startTime.toEpochSecond(ZoneOffset.UTC), startTime.getNano(),
+        endTime.toEpochSecond(ZoneOffset.UTC), endTime.getNano(), record -> {
+          if (name == null || hasSubject(record, name)) {
+            matching.add(record);
+          }
+        });
+    for (long record : matching) {
+      EventDTO event = read(record);
+      index.remove(event.getStartTime().toEpochSecond(ZoneOffset.UTC),
+          event.getStartTime().getNano(), event.getEndTime().toEpochSecond(ZoneOffset.UTC),
+          event.getEndTime().getNano(), candidate -> candidate == record);
+      freeRecord(record);
+    }
+    return matching.size();
+  }
+
+  /**
+   * Get an event with the given name, start time and end time.
+   *
+   * @param name      The name of the event
+   * @param startTime The start time of the event
+   * @param endTime   The end time of the event
+   * @return The event with the given name, start time and end time
+   */
+  @Override
+  public EventDTO getEvent(String name, LocalDateTime startTime, LocalDateTime endTime) {
+    long record = index.find(startTime.toEpochSecond(ZoneOffset.UTC), startTime.getNano(),
+        endTime.toEpochSecond(ZoneOffset.UTC), endTime.getNano(),
+        candidate -> hasSubject(candidate, name));
+    return record == SlabAllocator.NULL_ADDRESS ? null : read(record);
+  }
+
+  /**
+   * Get all events in the repository.
+   *
+   * @return A list of all events in the repository
+   */
+  @Override
+  public List<EventDTO> getAllEvents() {
+    List<EventDTO> result = new ArrayList<>(index.size());
+    PrimitiveIterator.OfLong iterator = index.records();
+    while (iterator.hasNext()) {
+      result.add(read(iterator.nextLong()));
+    }
+    return result;
+  }
+
+  /**
+   * Stream all events in the repository, decoding each event as it is reached.
+   *
+   * @return A sequential stream of all events in the repository
+   */
+  @Override
+  public Stream<EventDTO> stream() {
+    PrimitiveIterator.OfLong iterator = index.records();
+    return StreamSupport.stream(Spliterators.spliterator(iterator, index.size(),
+        Spliterator.ORDERED | Spliterator.NONNULL), false).map(this::read);
+  }
+
+  /**
+   * Stream all events in the repository, decoding the events on different threads.
+   *
+   * @return A parallel stream of all events in the repository
+   */
+  @Override
+  public Stream<EventDTO> parallelStream() {
+    return stream().parallel();
+  }
+
+  /**
+   * Get all events that occur on the given date.
+   *
+   * @param date The date to get events for from repository
+   * @return A list of events that occur on the given date
+   */
+  @Override
+  public List<EventDTO> getEventsOnDate(LocalDate date) {
+    return searchOverlaps(date.atStartOfDay(), LocalDateTime.of(date, LocalTime.MAX));
+  }
+
+  /**
+   * Pass the events that occur on the given date to the sink.
+   *
+   * @param date The date to get events for from repository
+   * @param sink The consumer of the events on the given date
+   */
+  @Override
+  public void getEventsOnDate(LocalDate date, Consumer<EventDTO> sink) {
+    searchOverlaps(date.atStartOfDay(), LocalDateTime.of(date, LocalTime.MAX), sink);
+  }
+
+  /**
+   * Get all events that occur in the given time range.
+   *
+   * @param start The start time of the events range
+   * @param end   The end time of the events range
+   * @return A list of events that occur in the given time range
+   */
+  @Override
+  public List<EventDTO> getEventsInRange(LocalDateTime start, LocalDateTime end) {
+    return searchOverlaps(start, end);
+  }
+
+  /**
+   * Pass the events that occur in the given time range to the sink.
+   *
+   * @param start The start time of the events range
+   * @param end   The end time of the events range
+   * @param sink  The consumer of the events in the given time range
+   */
+  @Override
+  public void getEventsInRange(LocalDateTime start, LocalDateTime end, Consumer<EventDTO> sink) {
+    searchOverlaps(start, end, sink);
+  }
+
+  /**
+   * Get all events with the given name.
+   *
+   * @param name The name of the event to search for
+   * @return A list of events with the given name
+   */
+  @Override
+  public List<EventDTO> getEventsByName(String name) {
+    List<EventDTO> result = new ArrayList<>();
+    getEventsByName(name, result::add);
+    return result;
+  }
+
+  /**
+   * Pass the events with the given name to the sink. Only the subject of every record is decoded
+   * to find them.
+   *
+   * @param name The name of the event to search for
+   * @param sink The consumer of the events with the given name
+   */
+  @Override
+  public void getEventsByName(String name, Consumer<EventDTO> sink) {
+    PrimitiveIterator.OfLong iterator = index.records();
+    while (iterator.hasNext()) {
+      long record = iterator.nextLong();
+      if (hasSubject(record, name)) {
+        sink.accept(read(record));
+      }
+    }
+  }
+
+  /**
+   * Get all events that occur at the given date and time.
+   *
+   * @param dateTime The date and time to get events for
+   * @return A list of events that occur at the given date and time
+   */
+  @Override
+  public List<EventDTO> getEventsAt(LocalDateTime dateTime) {
+    List<EventDTO> result = new ArrayList<>();
+    getEventsAt(dateTime, result::add);
+    return result;
+  }
+
+  /**
+   * Pass the events that occur at the given date and time to the sink.
+   *
+   * @param dateTime The date and time to get events for
+   * @param sink     The consumer of the events at the given date and time
+   */
+  @Override
+  public void getEventsAt(LocalDateTime dateTime, Consumer<EventDTO> sink) {
+    index.searchPoint(dateTime.toEpochSecond(ZoneOffset.UTC), dateTime.getNano(),
+        record -> sink.accept(read(record)));
+  }
+
+  /**
+   * Search for events that overlap with the given time range.
+   *
+   * @param startTime The start time of the event
+   * @param endTime   The end time of the event
+   * @return A list of events that overlap with the given time range
+   */
+  @Override
+  public List<EventDTO> searchOverlaps(LocalDateTime startTime, LocalDateTime endTime) {
+    List<EventDTO> result = new ArrayList<>();
+    searchOverlaps(startTime, endTime, result::add);
+    return result;
+  }
+
+  /**
+   * Pass the events that overlap with the given time range to the sink.
+   *
+   * @param startTime The start time of the event
+   * @param endTime   The end time of the event
+   * @param sink      The consumer of the events that overlap with the given time range
+   */
+  @Override
+  public void searchOverlaps(LocalDateTime startTime, LocalDateTime endTime,
+      Consumer<EventDTO> sink) {
+    index.searchOverlapping(startTime.toEpochSecond(ZoneOffset.UTC), startTime.getNano(),
+        endTime.toEpochSecond(ZoneOffset.UTC), endTime.getNano(),
+        record -> sink.accept(read(record)));
+  }
+
+  /**
+   * Get the occurrences of the recurrence series with the given identifier.
+   *
+   * @param seriesId The identifier of the recurrence series
+   * @return A list of the occurrences of the series
+   */
+  @Override
+  public List<EventDTO> getEventsBySeries(long seriesId) {
+    List<EventDTO> result = new ArrayList<>();
+    getEventsBySeries(seriesId, result::add);
+    return result;
+  }
+
+  /**
+   * Pass the occurrences of the recurrence series with the given identifier to the sink. The
+   * repository keeps no series index, so all the events are decoded and compared.
+   *
+   * @param seriesId The identifier of the recurrence series
+   * @param sink     The consumer of the occurrences of the series
+   */
+  @Override
+  public void getEventsBySeries(long seriesId, Consumer<EventDTO> sink) {
+    Long series = seriesId;
+    stream().filter(event -> series.equals(event.getSeriesId())).forEach(sink);
+  }
+
+  /**
+   * Get the event with the given identifier. The repository keeps no identifier index, so all
+   * the events are decoded and compared.
+   *
+   * @param id The identifier of the event
+   * @return The event with the identifier, or null if there is none
+   */
+  @Override
+  public EventDTO getById(long id) {
+    Long eventId = id;
+    return stream().filter(event -> eventId.equals(event.getId())).findFirst().orElse(null);
+  }
+
+  /**
+   * Delete the event with the given identifier.
+   *
+   * @param id The identifier of the event
+   * @return true if the event was deleted, false otherwise
+   */
+  @Override
+  public boolean deleteById(long id) {
+    EventDTO event = getById(id);
+    return event != null
+        && deleteEvent(event.getSubject(), event.getStartTime(), event.getEndTime());
+  }
+
+  /**
+   * Get the number of bytes reserved outside the heap for the records and the index.
+   *
+   * @return the number of bytes reserved outside the heap
+   */
+  public long getOffHeapBytes() {
+    return records.getReservedBytes() + index.getReservedBytes();
+  }
+
+  private EventDTO read(long record) {
+    try {
+      return EventCodec.read(new DataInputStream(openRecord(record)));
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not decode the event", e);
+    }
+  }
+
+  private boolean hasSubject(long record, String name) {
+    try {
+      String subject = EventCodec.readSubject(new DataInputStream(openRecord(record)));
+      return subject != null && subject.equals(name);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not decode the event", e);
+    }
+  }
+
+  private void freeRecord(long record) {
+    ByteBuffer slab = records.slab(record);
+    records.free(record, LENGTH_BYTES + slab.getInt(SlabAllocator.offset(record)));
+  }
+
+  private InputStream openRecord(long record) {
+    ByteBuffer slab = records.slab(record);
+    int offset = SlabAllocator.offset(record);
+    return new RecordInputStream(slab, offset + LENGTH_BYTES, slab.getInt(offset));
+  }
+
+  /**
+   * This class reads the bytes of a record directly from its slab, without copying the record
+   * to the heap first.
+   */
+  private static class RecordInputStream extends InputStream {
+
+    private final ByteBuffer slab;
+
+    private int position;
+
+    private final int end;
+
+    RecordInputStream(ByteBuffer slab, int position, int length) {
+      this.slab = slab;
+      this.position = position;
+      this.end = position + length;
+    }
+
+    @Override
+    public int read() {
+      return position < end ? slab.get(position++) & 0xFF : -1;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) {
+      if (position == end) {
+        return length == 0 ? 0 : -1;
+      }
+      int count = Math.min(length, end - position);
+      for (int i = 0; i < count; i++) {
+        bytes[offset + i] = slab.get(position++);
+      }
+      return count;
+    }
+
+    @Override
+    public int available() {
+      return end - position;
+    }
+  }
+}
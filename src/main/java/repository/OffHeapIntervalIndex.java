@@ -0,0 +1,478 @@
+package repository;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.LongConsumer;
+import java.util.function.LongPredicate;
+
+/**
+ * This class represents an AVL interval tree whose nodes live outside the Java heap. It indexes
+ * the records of the {@link OffHeapEventRepository} by their start time, and it is the off-heap
+ * counterpart of {@link IntervalTree}.
+ *
+ * <p>Every node holds one record and is a fixed {@link #NODE_SIZE} bytes in a pool of direct
+ * {@link ByteBuffer} chunks. Nodes refer to each other by their int id, and freed nodes are kept
+ * in a free list threaded through their left child field. The times are stored as epoch seconds
+ * and nanoseconds at UTC, so comparisons are exact. Nodes with the same start time are ordered by
+ * an insertion sequence number, which keeps them in the order they were inserted.
+ */
+class OffHeapIntervalIndex {
+
+  static final int NODE_SIZE = 64;
+
+  private static final int NIL = -1;
+
+  private static final int CHUNK_SHIFT = 14;
+
+  private static final int CHUNK_MASK = (1 << CHUNK_SHIFT) - 1;
+
+  private static final int START_SECONDS = 0;
+
+  private static final int END_SECONDS = 8;
+
+  private static final int MAX_END_SECONDS = 16;
+
+  private static final int SEQUENCE = 24;
+
+  private static final int RECORD = 32;
+
+  private static final int START_NANOS = 40;
+
+  private static final int END_NANOS = 44;
+
+  private static final int MAX_END_NANOS = 48;
+
+  private static final int LEFT = 52;
+
+  private static final int RIGHT = 56;
+
+  private static final int HEIGHT = 60;
+
+  private final List<ByteBuffer> chunks;
+
+  private int root;
+
+  private int nextNode;
+
+  private int freeNodes;
+
+  private int size;
+
+  private long nextSequence;
+
+  /**
+   * Constructor for an empty OffHeapIntervalIndex.
+   */
+  OffHeapIntervalIndex() {
+    this.chunks = new ArrayList<>();
+    this.root = NIL;
+    this.nextNode = 0;
+    this.freeNodes = NIL;
+    this.size = 0;
+    this.nextSequence = 0;
+  }
+
+  /**
+   * Get the number of records in the index.
+   *
+   * @return the number of records
+   */
+  int size() {
+    return size;
+  }
+
+  /**
+   * Get the number of bytes reserved outside the heap by the node pool.
+   *
+   * @return the number of bytes reserved
+   */
+  long getReservedBytes() {
+    return (long) chunks.size() * (NODE_SIZE << CHUNK_SHIFT);
+  }
+
+  /**
+   * Insert a record with the given interval. The record is placed after the records with the same
+   * start time.
+   *
+   * @param startSeconds the epoch seconds of the start time
+   * @param startNanos   the nanoseconds of the start time
+   * @param endSeconds   the epoch seconds of the end time
+   * @param endNanos     the nanoseconds of the end time
+   * @param record       the address of the record
+   */
+  void insert(long startSeconds, int startNanos, long endSeconds, int endNanos, long record) {
+    int node = allocateNode();
+    ByteBuffer chunk = chunk(node);
+    int base = base(node);
+    chunk.putLong(base + START_SECONDS, startSeconds);
+    chunk.putInt(base + START_NANOS, startNanos);
+    chunk.putLong(base + END_SECONDS, endSeconds);
+    chunk.putInt(base + END_NANOS, endNanos);
+    chunk.putLong(base + SEQUENCE, nextSequence++);
+    chunk.putLong(base + RECORD, record);
+    setLeft(node, NIL);
+    setRight(node, NIL);
+    update(node);
+    root = insert(root, node);
+    size++;
+  }
+
+  /**
+   * Find the first record with the given start and end time that matches the predicate.
+   *
+   * @param startSeconds the epoch seconds of the start time
+   * @param startNanos   the nanoseconds of the start time
+   * @param endSeconds   the epoch seconds of the end time
+   * @param endNanos     the nanoseconds of the end time
+   * @param matches      the predicate on the address of the record
+   * @return the address of the record, or {@link SlabAllocator#NULL_ADDRESS} if there is none
+   */
+  long find(long startSeconds, int startNanos, long endSeconds, int endNanos,
+      LongPredicate matches) {
+    int node = findNode(startSeconds, startNanos, endSeconds, endNanos, matches);
+    return node == NIL ? SlabAllocator.NULL_ADDRESS : record(node);
+  }
+
+  /**
+   * Remove the first record with the given start and end time that matches the predicate.
+   *
+   * @param startSeconds the epoch seconds of the start time
+   * @param startNanos   the nanoseconds of the start time
+   * @param endSeconds   the epoch seconds of the end time
+   * @param endNanos     the nanoseconds of the end time
+   * @param matches      the predicate on the address of the record
+   * @return the address of the removed record, or {@link SlabAllocator#NULL_ADDRESS} if there is
+   *     none
+   */
+  long remove(long startSeconds, int startNanos, long endSeconds, int endNanos,
+      LongPredicate matches) {
+    int node = findNode(startSeconds, startNanos, endSeconds, endNanos, matches);
+    if (node == NIL) {
+      return SlabAllocator.NULL_ADDRESS;
+    }
+    long record = record(node);
+    root = delete(root, node);
+    setLeft(node, freeNodes);
+    freeNodes = node;
+    size--;
+    return record;
+  }
+
+  /**
+   * Pass the records overlapping the given time range to the consumer in the order of their start
+   * time. The records are matched exactly like {@link IntervalTree#searchOverlapping}.
+   *
+   * @param fromSeconds the epoch seconds of the start of the range
+   * @param fromNanos   the nanoseconds of the start of the range
+   * @param toSeconds   the epoch seconds of the end of the range
+   * @param toNanos     the nanoseconds of the end of the range
+   * @param records     the consumer of the addresses of the records
+   */
+  void searchOverlapping(long fromSeconds, int fromNanos, long toSeconds, int toNanos,
+      LongConsumer records) {
+    int[] stack = new int[height(root)];
+    int top = 0;
+    int node = root;
+    while (node != NIL || top > 0) {
+      // descend to the earliest node whose subtree can still overlap the range
+      while (node != NIL && compare(node, MAX_END_SECONDS, MAX_END_NANOS, fromSeconds, fromNanos)
+          >= 0) {
+        stack[top++] = node;
+        node = left(node);
+      }
+      if (top == 0) {
+        return;
+      }
+      node = stack[--top];
+      int startToFrom = compare(node, START_SECONDS, START_NANOS, fromSeconds, fromNanos);
+      int startToTo = compare(node, START_SECONDS, START_NANOS, toSeconds, toNanos);
+      if (startToFrom > 0 && startToTo >= 0) {
+        // this node and every later node start after the range
+        return;
+      }
+      if (startToFrom == 0 || startToTo < 0
+          && compare(node, END_SECONDS, END_NANOS, fromSeconds, fromNanos) > 0) {
+        records.accept(record(node));
+      }
+      node = right(node);
+    }
+  }
+
+  /**
+   * Pass the records in progress, starting or ending at the given time to the consumer in the
+   * order of their start time.
+   *
+   * @param seconds the epoch seconds of the time
+   * @param nanos   the nanoseconds of the time
+   * @param records the consumer of the addresses of the records
+   */
+  void searchPoint(long seconds, int nanos, LongConsumer records) {
+    int[] stack = new int[height(root)];
+    int top = 0;
+    int node = root;
+    while (node != NIL || top > 0) {
+      while (node != NIL && compare(node, MAX_END_SECONDS, MAX_END_NANOS, seconds, nanos) >= 0) {
+        stack[top++] = node;
+        node = left(node);
+      }
+      if (top == 0) {
+        return;
+      }
+      node = stack[--top];
+      int startToTime = compare(node, START_SECONDS, START_NANOS, seconds, nanos);
+      if (startToTime > 0) {
+        return;
+      }
+      if (startToTime == 0 || compare(node, END_SECONDS, END_NANOS, seconds, nanos) >= 0) {
+        records.accept(record(node));
+      }
+      node = right(node);
+    }
+  }
+
+  /**
+   * Get an iterator over the addresses of the records in the order of their start time. The index
+   * must not be modified while it is being iterated.
+   *
+   * @return an in-order iterator over the addresses of the records
+   */
+  PrimitiveIterator.OfLong records() {
+    return new PrimitiveIterator.OfLong() {
+
+      private final int[] stack = new int[height(root)];
+
+      private int top = pushLeftSpine(root, stack, 0);
+
+      @Override
+      public boolean hasNext() {
+        return top > 0;
+      }
+
+      @Override
+      public long nextLong() {
+        if (top == 0) {
+          throw new NoSuchElementException();
+        }
+        int node = stack[--top];
+        top = pushLeftSpine(right(node), stack, top);
+        return record(node);
+      }
+    };
+  }
+
+  private int pushLeftSpine(int node, int[] stack, int top) {
+    while (node != NIL) {
+      stack[top++] = node;
+      node = left(node);
+    }
+    return top;
+  }
+
+  private int findNode(long startSeconds, int startNanos, long endSeconds, int endNanos,
+      LongPredicate matches) {
+    // find the first node with the start time, then walk the nodes sharing it in order
+    int node = root;
+    int[] stack = new int[height(root)];
+    int top = 0;
+    while (node != NIL) {
+      int comparison = compare(node, START_SECONDS, START_NANOS, startSeconds, startNanos);
+      if (comparison >= 0) {
+        stack[top++] = node;
+        node = left(node);
+      } else {
+        node = right(node);
+      }
+    }
+    while (top > 0) {
+      node = stack[--top];
+      if (compare(node, START_SECONDS, START_NANOS, startSeconds, startNanos) != 0) {
+        return NIL;
+      }
+      if (compare(node, END_SECONDS, END_NANOS, endSeconds, endNanos) == 0
+          && matches.test(record(node))) {
+        return node;
+      }
+      top = pushLeftSpine(right(node), stack, top);
+    }
+    return NIL;
+  }
+
+  private int insert(int node, int newNode) {
+    if (node == NIL) {
+      return newNode;
+    }
+    if (compareKeys(newNode, node) < 0) {
+      setLeft(node, insert(left(node), newNode));
+    } else {
+      setRight(node, insert(right(node), newNode));
+    }
+    update(node);
+    return balance(node);
+  }
+
+  private int delete(int node, int target) {
+    int comparison = compareKeys(target, node);
+    if (comparison < 0) {
+      setLeft(node, delete(left(node), target));
+    } else if (comparison > 0) {
+      setRight(node, delete(right(node), target));
+    } else {
+      if (left(node) == NIL) {
+        return right(node);
+      }
+      if (right(node) == NIL) {
+        return left(node);
+      }
+      // relink the successor in place of the node instead of copying its fields
+      int successor = right(node);
+      while (left(successor) != NIL) {
+        successor = left(successor);
+      }
+      setRight(successor, deleteFirst(right(node)));
+      setLeft(successor, left(node));
+      node = successor;
+    }
+    update(node);
+    return balance(node);
+  }
+
+  private int deleteFirst(int node) {
+    if (left(node) == NIL) {
+      return right(node);
+    }
+    setLeft(node, deleteFirst(left(node)));
+    update(node);
+    return balance(node);
+  }
+
+  private int balance(int node) {
+    int balanceFactor = height(left(node)) - height(right(node));
+    if (balanceFactor > 1) {
+      if (height(left(left(node))) < height(right(left(node)))) {
+        setLeft(node, rotateLeft(left(node)));
+      }
+      return rotateRight(node);
+    }
+    if (balanceFactor < -1) {
+      if (height(right(right(node))) < height(left(right(node)))) {
+        setRight(node, rotateRight(right(node)));
+      }
+      return rotateLeft(node);
+    }
+    return node;
+  }
+
+  private int rotateRight(int node) {
+    int newRoot = left(node);
+    setLeft(node, right(newRoot));
+    setRight(newRoot, node);
+    update(node);
+    update(newRoot);
+    return newRoot;
+  }
+
+  private int rotateLeft(int node) {
+    int newRoot = right(node);
+    setRight(node, left(newRoot));
+    setLeft(newRoot, node);
+    update(node);
+    update(newRoot);
+    return newRoot;
+  }
+
+  /**
+   * Update the height and the maxEnd of a node from its children.
+   */
+  private void update(int node) {
+    ByteBuffer chunk = chunk(node);
+    int base = base(node);
+    // start from the end of the node itself, then take the later maxEnd of the children
+    chunk.putLong(base + MAX_END_SECONDS, chunk.getLong(base + END_SECONDS));
+    chunk.putInt(base + MAX_END_NANOS, chunk.getInt(base + END_NANOS));
+    updateMaxEnd(node, left(node));
+    updateMaxEnd(node, right(node));
+    chunk.putInt(base + HEIGHT, Math.max(height(left(node)), height(right(node))) + 1);
+  }
+
+  private void updateMaxEnd(int node, int child) {
+    if (child == NIL) {
+      return;
+    }
+    ByteBuffer childChunk = chunk(child);
+    int childBase = base(child);
+    long childSeconds = childChunk.getLong(childBase + MAX_END_SECONDS);
+    int childNanos = childChunk.getInt(childBase + MAX_END_NANOS);
+    if (compare(node, MAX_END_SECONDS, MAX_END_NANOS, childSeconds, childNanos) < 0) {
+      chunk(node).putLong(base(node) + MAX_END_SECONDS, childSeconds);
+      chunk(node).putInt(base(node) + MAX_END_NANOS, childNanos);
+    }
+  }
+
+  private int allocateNode() {
+    if (freeNodes != NIL) {
+      int node = freeNodes;
+      freeNodes = left(node);
+      return node;
+    }
+    if ((nextNode >>> CHUNK_SHIFT) == chunks.size()) {
+      chunks.add(ByteBuffer.allocateDirect(NODE_SIZE << CHUNK_SHIFT)
+          .order(ByteOrder.nativeOrder()));
+    }
+    return nextNode++;
+  }
+
+  private int compare(int node, int secondsField, int nanosField, long seconds, int nanos) {
+    ByteBuffer chunk = chunk(node);
+    int base = base(node);
+    int comparison = Long.compare(chunk.getLong(base + secondsField), seconds);
+    return comparison != 0 ? comparison : Integer.compare(chunk.getInt(base + nanosField), nanos);
+  }
+
+  private int compareKeys(int node, int other) {
+    ByteBuffer chunk = chunk(node);
+    int base = base(node);
+    int comparison = compare(other, START_SECONDS, START_NANOS,
+        chunk.getLong(base + START_SECONDS), chunk.getInt(base + START_NANOS));
+    if (comparison != 0) {
+      return -comparison;
+    }
+    return Long.compare(chunk.getLong(base + SEQUENCE),
+        chunk(other).getLong(base(other) + SEQUENCE));
+  }
+
+  private ByteBuffer chunk(int node) {
+    return chunks.get(node >>> CHUNK_SHIFT);
+  }
+
+  private static int base(int node) {
+    return (node & CHUNK_MASK) * NODE_SIZE;
+  }
+
+  private long record(int node) {
+    return chunk(node).getLong(base(node) + RECORD);
+  }
+
+  private int left(int node) {
+    return chunk(node).getInt(base(node) + LEFT);
+  }
+
+  private int right(int node) {
+    return chunk(node).getInt(base(node) + RIGHT);
+  }
+
+  private void setLeft(int node, int child) {
+    chunk(node).putInt(base(node) + LEFT, child);
+  }
+
+  private void setRight(int node, int child) {
+    chunk(node).putInt(base(node) + RIGHT, child);
+  }
+
+  private int height(int node) {
+    return node == NIL ? 0 : chunk(node).getInt(base(node) + HEIGHT);
+  }
+}
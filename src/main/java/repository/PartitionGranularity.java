@@ -0,0 +1,39 @@
+package repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * This class is an ENUM representing the time span covered by a single partition of the
+ * {@link PartitionedEventRepository}.
+ */
+public enum PartitionGranularity {
+  MONTH,
+  YEAR;
+
+  /**
+   * Returns the start of the partition that contains the given date and time.
+   *
+   * @param dateTime the date and time to find the partition for
+   * @return the start of the partition containing the date and time
+   */
+  LocalDateTime floor(LocalDateTime dateTime) {
+    if (this == YEAR) {
+      return dateTime.toLocalDate().withDayOfYear(1).atStartOfDay();
+    }
+    return dateTime.toLocalDate().withDayOfMonth(1).atStartOfDay();
+  }
+
+  /**
+   * Returns the start of the partition that follows the partition starting at the given date and
+   * time.
+   *
+   * @param partitionStart the start of a partition
+   * @return the start of the next partition
+   */
+  LocalDateTime next(LocalDateTime partitionStart) {
+    if (this == YEAR) {
+      return partitionStart.plusYears(1);
+    }
+    return partitionStart.plusMonths(1);
+  }
+}
@@ -0,0 +1,481 @@
+package repository;
+
+import dto.EventDTO;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * PartitionedEventRepository is an implementation of IEventRepository that splits the events into
+ * time partitions (one month or one year each) and keeps a separate IntervalTree per partition.
+ *
+ * <p>An event is stored in the partition that contains its start time as long as it also ends
+ * within that partition. Events that cross a partition boundary are kept in a small spill tree
+ * that is consulted by every query.
+ *
+ * <p>Range queries only descend the trees of the partitions that overlap the range, so the cost
+ * of a query for a short range does not grow with the total history of the calendar. Whole
+ * partitions can be dropped or detached for archiving without touching the other partitions.
+ */
+public class PartitionedEventRepository implements IEventRepository {
+
+  private final PartitionGranularity granularity;
+
+  private final TreeMap<LocalDateTime, IntervalTree> partitions;
+
+  private final IntervalTree spill;
+
+  /**
+   * Constructor for PartitionedEventRepository with monthly partitions.
+   */
+  public PartitionedEventRepository() {
+    this(PartitionGranularity.MONTH);
+  }
+
+  /**
+   * Constructor for PartitionedEventRepository with the given partition granularity.
+   *
+   * @param granularity the time span covered by each partition
+   */
+  public PartitionedEventRepository(PartitionGranularity granularity) {
+    this.granularity = Objects.requireNonNull(granularity, "granularity cannot be null");
+    this.partitions = new TreeMap<>();
+    this.spill = new IntervalTree();
+  }
+
+  /**
+   * Insert an event into the partition that contains it, or into the spill tree if the event
+   * crosses a partition boundary.
+   *
+   * @param event The event to be stored in the repository
+   * @return true if the event was successfully inserted, false otherwise
+   */
+  @Override
+  public boolean insertEvent(EventDTO event) {
+    if (event == null) {
+      return false;
+    }
+    if (isSpanningPartitions(event.getStartTime(), event.getEndTime())) {
+      return spill.insert(event);
+    }
+    return partitions
+        .computeIfAbsent(granularity.floor(event.getStartTime()), key -> new IntervalTree())
+        .insert(event);
+  }
+
+  /**
+   * Delete an event from the repository. Only the partition owning the start time and the spill
+   * tree are searched.
+   *
+   * @param name      The name of the event
+   * @param startTime The start time of the event
+   * @param endTime   The end time of the event
+   * @return true if the event was successfully deleted, false otherwise
+   */
+  @Override
+  public boolean deleteEvent(String name, LocalDateTime startTime, LocalDateTime endTime) {
+    if (isSpanningPartitions(startTime, endTime)) {
+      return spill.delete(name, startTime, endTime);
+    }
+    LocalDateTime partitionKey = granularity.floor(startTime);
+    IntervalTree partition = partitions.get(partitionKey);
+    if (partition == null || !partition.delete(name, startTime, endTime)) {
+      return false;
+    }
+    // empty partitions are released so that queries never visit them
+    if (partition.isEmpty()) {
+      partitions.remove(partitionKey);
+    }
+    return true;
+  }
+
+  /**
+   * Delete all the events that overlap with the given time range. Partitions lying entirely
+   * within the range are dropped as a whole when no name is given, the partitions at the edges of
+   * the range are cut with a range delete on their trees.
+   *
+   * @param startTime The start time of the range
+   * @param endTime   The end time of the range
+   * @param name      The name of the events to delete, null to delete events with any name
+   * @return the number of events deleted
+   */
+  @Override
+  public int deleteRange(LocalDateTime startTime, LocalDateTime endTime, String name) {
+    int deleted = spill.deleteRange(startTime, endTime, name);
+    Iterator<Map.Entry<LocalDateTime, IntervalTree>> iterator =
+        overlappingPartitions(startTime, endTime).entrySet().iterator();
+    while (iterator.hasNext()) {
+      Map.Entry<LocalDateTime, IntervalTree> entry = iterator.next();
+      IntervalTree partition = entry.getValue();
+      if (name == null && !entry.getKey().isBefore(startTime)
+          && !granularity.next(entry.getKey()).isAfter(endTime)) {
+        deleted += partition.getAllEvents().size();
+        iterator.remove();
+        continue;
+      }
+      deleted += partition.deleteRange(startTime, endTime, name);
+      if (partition.isEmpty()) {
+        iterator.remove();
+      }
+    }
+    return deleted;
+  }
+
+  /**
+   * Get an event with the given name, start time and end time.
+   *
+   * @param name      The name of the event
+   * @param startTime The start time of the event
+   * @param endTime   The end time of the event
+   * @return The event with the given name, start time and end time
+   */
+  @Override
+  public EventDTO getEvent(String name, LocalDateTime startTime, LocalDateTime endTime) {
+    if (isSpanningPartitions(startTime, endTime)) {
+      return spill.findEvent(name, startTime, endTime);
+    }
+    IntervalTree partition = partitions.get(granularity.floor(startTime));
+    return partition == null ? null : partition.findEvent(name, startTime, endTime);
+  }
+
+  /**
+   * Get all events in the repository ordered by their start time.
+   *
+   * @return A list of all events in the repository
+   */
+  @Override
+  public List<EventDTO> getAllEvents() {
+    List<EventDTO> result = new ArrayList<>();
+    SpillMergingSink merging = new SpillMergingSink(spill.getAllEvents(), result::add);
+    for (IntervalTree partition : partitions.values()) {
+      partition.forEach(merging);
+    }
+    merging.finish();
+    return result;
+  }
+
+  /**
+   * Stream all events in the repository. The partitions are walked one after the other; the
+   * events of the spill tree are merged in by start time.
+   *
+   * @return A sequential stream of all events in the repository
+   */
+  @Override
+  public Stream<EventDTO> stream() {
+    if (spill.isEmpty()) {
+      return partitions.values().stream().flatMap(IntervalTree::stream);
+    }
+    return getAllEvents().stream();
+  }
+
+  /**
+   * Stream all events in the repository with the partitions scanned in parallel.
+   *
+   * @return A parallel stream of all events in the repository
+   */
+  @Override
+  public Stream<EventDTO> parallelStream() {
+    if (spill.isEmpty()) {
+      return new ArrayList<>(partitions.values()).parallelStream()
+          .flatMap(IntervalTree::parallelStream);
+    }
+    return getAllEvents().parallelStream();
+  }
+
+  /**
+   * Get all events that occur on the given date.
+   *
+   * @param date The date to get events for from repository
+   * @return A list of events that occur on the given date
+   */
+  @Override
+  public List<EventDTO> getEventsOnDate(LocalDate date) {
+    return searchOverlaps(date.atStartOfDay(), LocalDateTime.of(date, LocalTime.MAX));
+  }
+
+  /**
+   * Pass the events that occur on the given date to the sink.
+   *
+   * @param date The date to get events for from repository
+   * @param sink The consumer of the events on the given date
+   */
+  @Override
+  public void getEventsOnDate(LocalDate date, Consumer<EventDTO> sink) {
+    searchOverlaps(date.atStartOfDay(), LocalDateTime.of(date, LocalTime.MAX), sink);
+  }
+
+  /**
+   * Get all events that occur in the given time range.
+   *
+   * @param startTime The start time of the events range
+   * @param endTime   The end time of the events range
+   * @return A list of events that occur in the given time range
+   */
+  @Override
+  public List<EventDTO> getEventsInRange(LocalDateTime startTime, LocalDateTime endTime) {
+    return searchOverlaps(startTime, endTime);
+  }
+
+  /**
+   * Pass the events that occur in the given time range to the sink.
+   *
+   * @param startTime The start time of the events range
+   * @param endTime   The end time of the events range
+   * @param sink      The consumer of the events in the given time range
+   */
+  @Override
+  public void getEventsInRange(LocalDateTime startTime, LocalDateTime endTime,
+      Consumer<EventDTO> sink) {
+    searchOverlaps(startTime, endTime, sink);
+  }
+
+  /**
+   * Get all events with the given name.
+   *
+   * @param name The name of the event to search for
+   * @return A list of events with the given name
+   */
+  @Override
+  public List<EventDTO> getEventsByName(String name) {
+    List<EventDTO> result = new ArrayList<>();
+    getEventsByName(name, result::add);
+    return result;
+  }
+
+  /**
+   * Pass the events with the given name to the sink.
+   *
+   * @param name The name of the event to search for
+   * @param sink The consumer of the events with the given name
+   */
+  @Override
+  public void getEventsByName(String name, Consumer<EventDTO> sink) {
+    SpillMergingSink merging = new SpillMergingSink(spill.findByName(name), sink);
+    for (IntervalTree partition : partitions.values()) {
+      partition.findByName(name, merging);
+    }
+    merging.finish();
+  }
+
+  /**
+   * Get all events that occur at the given date and time.
+   *
+   * @param dateTime The date and time to get events for
+   * @return A list of events that occur at the given date and time
+   */
+  @Override
+  public List<EventDTO> getEventsAt(LocalDateTime dateTime) {
+    List<EventDTO> result = new ArrayList<>();
+    getEventsAt(dateTime, result::add);
+    return result;
+  }
+
+  /**
+   * Pass the events that occur at the given date and time to the sink.
+   *
+   * @param dateTime The date and time to get events for
+   * @param sink     The consumer of the events at the given date and time
+   */
+  @Override
+  public void getEventsAt(LocalDateTime dateTime, Consumer<EventDTO> sink) {
+    SpillMergingSink merging =
+        new SpillMergingSink(spill.searchOverlappingPoint(dateTime), sink);
+    // an event ending exactly at the partition start is held by the previous partition
+    for (IntervalTree partition : overlappingPartitions(dateTime.minusNanos(1), dateTime)
+        .values()) {
+      partition.searchOverlappingPoint(dateTime, merging);
+    }
+    merging.finish();
+  }
+
+  /**
+   * Search for events that overlap with the given time range. Only the partitions that overlap
+   * the range are searched.
+   *
+   * @param startTime The start time of the event
+   * @param endTime   The end time of the event
+   * @return A list of events that overlap with the given time range
+   */
+  @Override
+  public List<EventDTO> searchOverlaps(LocalDateTime startTime, LocalDateTime endTime) {
+    List<EventDTO> result = new ArrayList<>();
+    searchOverlaps(startTime, endTime, result::add);
+    return result;
+  }
+
+  /**
+   * Pass the events that overlap with the given time range to the sink. Only the partitions that
+   * overlap the range are searched.
+   *
+   * @param startTime The start time of the event
+   * @param endTime   The end time of the event
+   * @param sink      The consumer of the events that overlap with the given time range
+   */
+  @Override
+  public void searchOverlaps(LocalDateTime startTime, LocalDateTime endTime,
+      Consumer<EventDTO> sink) {
+    SpillMergingSink merging =
+        new SpillMergingSink(spill.searchOverlapping(startTime, endTime), sink);
+    for (IntervalTree partition : overlappingPartitions(startTime, endTime).values()) {
+      partition.searchOverlapping(startTime, endTime, merging);
+    }
+    merging.finish();
+  }
+
+  /**
+   * Get the occurrences of the recurrence series with the given identifier.
+   *
+   * @param seriesId The identifier of the recurrence series
+   * @return A list of the occurrences of the series
+   */
+  @Override
+  public List<EventDTO> getEventsBySeries(long seriesId) {
+    List<EventDTO> result = new ArrayList<>();
+    getEventsBySeries(seriesId, result::add);
+    return result;
+  }
+
+  /**
+   * Pass the occurrences of the recurrence series with the given identifier to the sink. The
+   * repository keeps no series index, so all the events are walked.
+   *
+   * @param seriesId The identifier of the recurrence series
+   * @param sink     The consumer of the occurrences of the series
+   */
+  @Override
+  public void getEventsBySeries(long seriesId, Consumer<EventDTO> sink) {
+    Long series = seriesId;
+    stream().filter(event -> series.equals(event.getSeriesId())).forEach(sink);
+  }
+
+  /**
+   * Get the event with the given identifier. The repository keeps no identifier index, so all
+   * the events are walked.
+   *
+   * @param id The identifier of the event
+   * @return The event with the identifier, or null if there is none
+   */
+  @Override
+  public EventDTO getById(long id) {
+    Long eventId = id;
+    return stream().filter(event -> eventId.equals(event.getId())).findFirst().orElse(null);
+  }
+
+  /**
+   * Delete the event with the given identifier.
+   *
+   * @param id The identifier of the event
+   * @return true if the event was deleted, false otherwise
+   */
+  @Override
+  public boolean deleteById(long id) {
+    EventDTO event = getById(id);
+    return event != null
+        && deleteEvent(event.getSubject(), event.getStartTime(), event.getEndTime());
+  }
+
+  /**
+   * Drop the partition containing the given date and time along with all its events. Events
+   * crossing the partition boundary are kept in the spill tree.
+   *
+   * @param dateTime any date and time within the partition to drop
+   * @return true if a partition was dropped, false if there was no such partition
+   */
+  public boolean dropPartition(LocalDateTime dateTime) {
+    return partitions.remove(granularity.floor(dateTime)) != null;
+  }
+
+  /**
+   * Detach the partition containing the given date and time from the repository so that it can
+   * be archived. The returned tree is no longer visible to any query of this repository.
+   *
+   * @param dateTime any date and time within the partition to archive
+   * @return the detached partition, or null if there was no such partition
+   */
+  public IntervalTree archivePartition(LocalDateTime dateTime) {
+    return partitions.remove(granularity.floor(dateTime));
+  }
+
+  /**
+   * Get the number of non-empty partitions (excluding the spill tree).
+   *
+   * @return the number of partitions in the repository
+   */
+  public int getPartitionCount() {
+    return partitions.size();
+  }
+
+  /**
+   * Check if an event with the given start and end time would cross a partition boundary. An
+   * event ending exactly at the start of the next partition still belongs to its own partition.
+   *
+   * @param startTime the start time of the event
+   * @param endTime   the end time of the event
+   * @return true if the event crosses a partition boundary, false otherwise
+   */
+  private boolean isSpanningPartitions(LocalDateTime startTime, LocalDateTime endTime) {
+    return endTime.isAfter(granularity.next(granularity.floor(startTime)));
+  }
+
+  /**
+   * Get the partitions that can hold events overlapping the given time range.
+   *
+   * @param startTime the start time of the range
+   * @param endTime   the end time of the range
+   * @return a view of the partitions that overlap the time range
+   */
+  private NavigableMap<LocalDateTime, IntervalTree> overlappingPartitions(
+      LocalDateTime startTime, LocalDateTime endTime) {
+    LocalDateTime firstPartition = granularity.floor(startTime);
+    if (endTime.isBefore(firstPartition)) {
+      return partitions.subMap(firstPartition, true, firstPartition, true);
+    }
+    return partitions.subMap(firstPartition, true, endTime, true);
+  }
+
+  /**
+   * This class merges the events of the spill tree into the events of the partitions as they are
+   * passed to the sink. Both are ordered by start time, and so is the merged sequence.
+   */
+  private static class SpillMergingSink implements Consumer<EventDTO> {
+
+    private final List<EventDTO> spillEvents;
+
+    private final Consumer<EventDTO> sink;
+
+    private int next;
+
+    SpillMergingSink(List<EventDTO> spillEvents, Consumer<EventDTO> sink) {
+      this.spillEvents = spillEvents;
+      this.sink = sink;
+      this.next = 0;
+    }
+
+    @Override
+    public void accept(EventDTO event) {
+      while (next < spillEvents.size()
+          && spillEvents.get(next).getStartTime().isBefore(event.getStartTime())) {
+        sink.accept(spillEvents.get(next++));
+      }
+      sink.accept(event);
+    }
+
+    /**
+     * Pass the spill events starting after the last partition event to the sink.
+     */
+    void finish() {
+      while (next < spillEvents.size()) {
+        sink.accept(spillEvents.get(next++));
+      }
+    }
+  }
+}
@@ -0,0 +1,105 @@
+package repository;
+
+import dto.EventDTO;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * This class indexes the occurrences of recurrence series by their series identifier, so that the
+ * occurrences of one series are found without walking the whole repository. The occurrences of a
+ * series are kept in the order of their start time, and occurrences starting at the same time
+ * keep the order they were inserted in.
+ *
+ * <p>Events without a series identifier are not indexed.
+ */
+class SeriesIndex {
+
+  private final Map<Long, List<EventDTO>> series;
+
+  /**
+   * Constructor for an empty SeriesIndex.
+   */
+  SeriesIndex() {
+    this.series = new HashMap<>();
+  }
+
+  /**
+   * Check if the index holds any occurrences.
+   *
+   * @return true if the index has no occurrences, false otherwise
+   */
+  boolean isEmpty() {
+    return series.isEmpty();
+  }
+
+  /**
+   * Add an event to the occurrences of its series. An event without a series identifier is
+   * ignored.
+   *
+   * @param event the event to add
+   */
+  void insert(EventDTO event) {
+    if (event.getSeriesId() == null) {
+      return;
+    }
+    List<EventDTO> occurrences =
+        series.computeIfAbsent(event.getSeriesId(), seriesId -> new ArrayList<>());
+    // occurrences are usually inserted in order, so the search mostly ends at the tail
+    int index = occurrences.size();
+    while (index > 0
+        && occurrences.get(index - 1).getStartTime().isAfter(event.getStartTime())) {
+      index--;
+    }
+    occurrences.add(index, event);
+  }
+
+  /**
+   * Remove an event from the occurrences of its series. The event is matched by identity, as it
+   * was passed to {@link #insert(EventDTO)}.
+   *
+   * @param event the event to remove, may be null
+   */
+  void remove(EventDTO event) {
+    if (event == null || event.getSeriesId() == null) {
+      return;
+    }
+    List<EventDTO> occurrences = series.get(event.getSeriesId());
+    if (occurrences == null) {
+      return;
+    }
+    // binary search for the first occurrence starting at the start time of the event
+    int low = 0;
+    int high = occurrences.size();
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (occurrences.get(middle).getStartTime().isBefore(event.getStartTime())) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    for (int index = low; index < occurrences.size()
+        && occurrences.get(index).getStartTime().equals(event.getStartTime()); index++) {
+      if (occurrences.get(index) == event) {
+        occurrences.remove(index);
+        break;
+      }
+    }
+    if (occurrences.isEmpty()) {
+      series.remove(event.getSeriesId());
+    }
+  }
+
+  /**
+   * Pass the occurrences of the series to the sink in the order of their start time.
+   *
+   * @param seriesId the identifier of the series
+   * @param sink     the consumer of the occurrences
+   */
+  void find(long seriesId, Consumer<EventDTO> sink) {
+    series.getOrDefault(seriesId, List.of()).forEach(sink);
+  }
+}
@@ -0,0 +1,149 @@
+package repository;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * This class allocates blocks of memory outside the Java heap for the {@link OffHeapEventRepository}.
+ *
+ * <p>The memory is reserved in direct {@link ByteBuffer} slabs of {@link #SLAB_SIZE} bytes. Every
+ * slab serves a single size class, a power of two from {@link #MIN_BLOCK_SIZE} bytes up to the
+ * slab size. A request is rounded up to its size class, and freed blocks are kept in a free list
+ * per size class, threaded through the freed blocks themselves, so that they are reused by the
+ * next allocation of the same class. A request larger than a slab gets a slab of its own, which
+ * is released when the block is freed.
+ *
+ * <p>A block is addressed by a long holding the index of its slab in the high 32 bits and the
+ * offset within the slab in the low 32 bits.
+ */
+class SlabAllocator {
+
+  static final int SLAB_SIZE = 1 << 20;
+
+  static final int MIN_BLOCK_SIZE = 16;
+
+  static final long NULL_ADDRESS = -1;
+
+  private static final int MIN_CLASS_SHIFT = Integer.numberOfTrailingZeros(MIN_BLOCK_SIZE);
+
+  private static final int CLASS_COUNT =
+      Integer.numberOfTrailingZeros(SLAB_SIZE) - MIN_CLASS_SHIFT + 1;
+
+  private final List<ByteBuffer> slabs;
+
+  // per size class: the head of the free list, the slab being carved and the next free offset
+  private final long[] freeLists;
+
+  private final int[] currentSlabs;
+
+  private final int[] nextOffsets;
+
+  private long reservedBytes;
+
+  /**
+   * Constructor for an empty SlabAllocator. No memory is reserved until the first allocation.
+   */
+  SlabAllocator() {
+    this.slabs = new ArrayList<>();
+    this.freeLists = new long[CLASS_COUNT];
+    this.currentSlabs = new int[CLASS_COUNT];
+    this.nextOffsets = new int[CLASS_COUNT];
+    Arrays.fill(freeLists, NULL_ADDRESS);
+    Arrays.fill(currentSlabs, -1);
+    this.reservedBytes = 0;
+  }
+
+  /**
+   * Allocate a block of at least the given size.
+   *
+   * @param size the number of bytes needed
+   * @return the address of the block
+   */
+  long allocate(int size) {
+    if (size > SLAB_SIZE) {
+      slabs.add(newSlab(size));
+      return address(slabs.size() - 1, 0);
+    }
+    int sizeClass = sizeClass(size);
+    long address = freeLists[sizeClass];
+    if (address != NULL_ADDRESS) {
+      freeLists[sizeClass] = slab(address).getLong(offset(address));
+      return address;
+    }
+    int blockSize = MIN_BLOCK_SIZE << sizeClass;
+    if (currentSlabs[sizeClass] < 0 || nextOffsets[sizeClass] + blockSize > SLAB_SIZE) {
+      slabs.add(newSlab(SLAB_SIZE));
+      currentSlabs[sizeClass] = slabs.size() - 1;
+      nextOffsets[sizeClass] = 0;
+    }
+    address = address(currentSlabs[sizeClass], nextOffsets[sizeClass]);
+    nextOffsets[sizeClass] += blockSize;
+    return address;
+  }
+
+  /**
+   * Free a block so that it can be reused. The size must be the size passed to
+   * {@link #allocate(int)} for the block.
+   *
+   * @param address the address of the block
+   * @param size    the size the block was allocated with
+   */
+  void free(long address, int size) {
+    if (size > SLAB_SIZE) {
+      int slabIndex = (int) (address >>> 32);
+      reservedBytes -= slabs.get(slabIndex).capacity();
+      // the slab is released by the garbage collector once it is unreachable
+      slabs.set(slabIndex, null);
+      return;
+    }
+    int sizeClass = sizeClass(size);
+    slab(address).putLong(offset(address), freeLists[sizeClass]);
+    freeLists[sizeClass] = address;
+  }
+
+  /**
+   * Get the slab holding a block.
+   *
+   * @param address the address of the block
+   * @return the slab holding the block
+   */
+  ByteBuffer slab(long address) {
+    return slabs.get((int) (address >>> 32));
+  }
+
+  /**
+   * Get the offset of a block within its slab.
+   *
+   * @param address the address of the block
+   * @return the offset of the block within its slab
+   */
+  static int offset(long address) {
+    return (int) address;
+  }
+
+  /**
+   * Get the number of bytes reserved outside the heap by the slabs.
+   *
+   * @return the number of bytes reserved
+   */
+  long getReservedBytes() {
+    return reservedBytes;
+  }
+
+  private ByteBuffer newSlab(int capacity) {
+    reservedBytes += capacity;
+    return ByteBuffer.allocateDirect(capacity).order(ByteOrder.nativeOrder());
+  }
+
+  private static long address(int slabIndex, int offset) {
+    return (long) slabIndex << 32 | offset;
+  }
+
+  private static int sizeClass(int size) {
+    int blockSize = Math.max(size, MIN_BLOCK_SIZE);
+    return 32 - Integer.numberOfLeadingZeros(blockSize - 1) - MIN_CLASS_SHIFT;
+  }
+}
@@ -0,0 +1,347 @@
+package repository;
+
+import dto.EventDTO;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * This class represents an immutable run of event records stored in a file, ordered by the start
+ * time of the events. It is the on-disk level of the {@link LsmEventRepository}.
+ *
+ * <p>The records are grouped into fixed size blocks. Only a sparse index of the blocks (offset,
+ * first start time and maximum end time) and a Bloom filter over the record keys are kept in
+ * memory, so a query reads only the blocks that may hold matching records.
+ *
+ * <p>A record is either a live event or a tombstone. A tombstone removes one matching event from
+ * the runs that are older than the run holding the tombstone.
+ */
+class SortedRun {
+
+  static final int BLOCK_SIZE = 64;
+
+  private final Path file;
+
+  private final List<Block> blocks;
+
+  private final BloomFilter keys;
+
+  private final int recordCount;
+
+  /**
+   * A record of the run.
+   */
+  static class Record {
+
+    final EventDTO event;
+
+    final boolean tombstone;
+
+    Record(EventDTO event, boolean tombstone) {
+      this.event = event;
+      this.tombstone = tombstone;
+    }
+  }
+
+  /**
+   * The in-memory index entry of a block of records.
+   */
+  private static class Block {
+
+    final long offset;
+
+    final int length;
+
+    final LocalDateTime firstStart;
+
+    final LocalDateTime maxEnd;
+
+    Block(long offset, int length, LocalDateTime firstStart, LocalDateTime maxEnd) {
+      this.offset = offset;
+      this.length = length;
+      this.firstStart = firstStart;
+      this.maxEnd = maxEnd;
+    }
+  }
+
+  private SortedRun(Path file, List<Block> blocks, BloomFilter keys, int recordCount) {
+    this.file = file;
+    this.blocks = blocks;
+    this.keys = keys;
+    this.recordCount = recordCount;
+  }
+
+  /**
+   * Create a writer for a new run. The records must be appended in the order of their start time.
+   *
+   * @param file            the file to write the run to
+   * @param expectedRecords the expected number of records, used to size the Bloom filter
+   * @return the writer for the new run
+   * @throws IOException if the file could not be created
+   */
+  static Writer newWriter(Path file, int expectedRecords) throws IOException {
+    return new Writer(file, expectedRecords);
+  }
+
+  /**
+   * Check if the run may hold a record with the given key.
+   *
+   * @param key the key of the event
+   * @return false if the run holds no record with the key, true if it may hold one
+   */
+  boolean mightContain(String key) {
+    return keys.mightContain(key);
+  }
+
+  /**
+   * Pass every record of the blocks that may hold events overlapping the given time range to the
+   * consumer. The consumer must apply its own filter on the records.
+   *
+   * @param from     the start of the time range
+   * @param to       the end of the time range
+   * @param consumer the consumer of the records
+   * @throws IOException if the run file could not be read
+   */
+  void scan(LocalDateTime from, LocalDateTime to, Consumer<Record> consumer) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      for (Block block : blocks) {
+        // blocks are ordered by start time, no later block can overlap
+        if (block.firstStart.isAfter(to)) {
+          break;
+        }
+        if (!block.maxEnd.isBefore(from)) {
+          readBlock(channel, block).forEach(consumer);
+        }
+      }
+    }
+  }
+
+  /**
+   * Pass every record of the run to the consumer in the order of their start time.
+   *
+   * @param consumer the consumer of the records
+   * @throws IOException if the run file could not be read
+   */
+  void scanAll(Consumer<Record> consumer) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      for (Block block : blocks) {
+        readBlock(channel, block).forEach(consumer);
+      }
+    }
+  }
+
+  /**
+   * Open a cursor that reads the records of the run one block at a time.
+   *
+   * @return the cursor over the records of the run
+   * @throws IOException if the run file could not be opened
+   */
+  Cursor openCursor() throws IOException {
+    return new Cursor();
+  }
+
+  /**
+   * Get the number of records (events and tombstones) in the run.
+   *
+   * @return the number of records in the run
+   */
+  int getRecordCount() {
+    return recordCount;
+  }
+
+  /**
+   * Delete the file of the run. The run must not be used afterward.
+   *
+   * @throws IOException if the file could not be deleted
+   */
+  void delete() throws IOException {
+    Files.deleteIfExists(file);
+  }
+
+  private static List<Record> readBlock(FileChannel channel, Block block) throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(block.length);
+    long position = block.offset;
+    while (buffer.hasRemaining()) {
+      int read = channel.read(buffer, position);
+      if (read < 0) {
+        throw new IOException("Unexpected end of run file");
+      }
+      position += read;
+    }
+    DataInputStream input = new DataInputStream(new ByteArrayInputStream(buffer.array()));
+    List<Record> records = new ArrayList<>(BLOCK_SIZE);
+    while (input.available() > 0) {
+      boolean tombstone = input.readBoolean();
+      records.add(new Record(EventCodec.read(input), tombstone));
+    }
+    return records;
+  }
+
+  /**
+   * This class writes a new run to a file. Records are buffered one block at a time.
+   */
+  static class Writer implements Closeable {
+
+    private final Path file;
+
+    private final OutputStream output;
+
+    private final ByteArrayOutputStream blockBytes;
+
+    private final DataOutputStream blockOutput;
+
+    private final List<Block> blocks;
+
+    private final BloomFilter keys;
+
+    private long offset;
+
+    private int recordCount;
+
+    private int blockRecords;
+
+    private LocalDateTime blockFirstStart;
+
+    private LocalDateTime blockMaxEnd;
+
+    private LocalDateTime lastStart;
+
+    private Writer(Path file, int expectedRecords) throws IOException {
+      this.file = file;
+      this.output = new BufferedOutputStream(Files.newOutputStream(file));
+      this.blockBytes = new ByteArrayOutputStream();
+      this.blockOutput = new DataOutputStream(blockBytes);
+      this.blocks = new ArrayList<>();
+      this.keys = new BloomFilter(expectedRecords);
+    }
+
+    /**
+     * Append a record to the run.
+     *
+     * @param event     the event of the record
+     * @param tombstone true if the record is a tombstone, false for a live event
+     * @throws IOException if the record could not be written
+     */
+    void append(EventDTO event, boolean tombstone) throws IOException {
+      if (lastStart != null && event.getStartTime().isBefore(lastStart)) {
+        throw new IllegalStateException("Records must be appended in the order of start time");
+      }
+      if (blockRecords == 0) {
+        blockFirstStart = event.getStartTime();
+        blockMaxEnd = event.getEndTime();
+      } else if (event.getEndTime().isAfter(blockMaxEnd)) {
+        blockMaxEnd = event.getEndTime();
+      }
+      blockOutput.writeBoolean(tombstone);
+      EventCodec.write(blockOutput, event);
+      keys.add(LsmEventRepository.key(
+          event.getSubject(), event.getStartTime(), event.getEndTime()));
+      lastStart = event.getStartTime();
+      recordCount++;
+      if (++blockRecords == BLOCK_SIZE) {
+        flushBlock();
+      }
+    }
+
+    /**
+     * Write the remaining records and return the completed run.
+     *
+     * @return the run that was written
+     * @throws IOException if the run could not be written
+     */
+    SortedRun finish() throws IOException {
+      flushBlock();
+      output.close();
+      return new SortedRun(file, blocks, keys, recordCount);
+    }
+
+    private void flushBlock() throws IOException {
+      if (blockRecords == 0) {
+        return;
+      }
+      blockOutput.flush();
+      blocks.add(new Block(offset, blockBytes.size(), blockFirstStart, blockMaxEnd));
+      blockBytes.writeTo(output);
+      offset += blockBytes.size();
+      blockBytes.reset();
+      blockRecords = 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+      output.close();
+    }
+  }
+
+  /**
+   * This class iterates over the records of the run in the order of their start time, keeping
+   * only one block of records in memory.
+   */
+  class Cursor implements Closeable {
+
+    private final FileChannel channel;
+
+    private List<Record> blockRecords;
+
+    private int blockIndex;
+
+    private int recordIndex;
+
+    private Cursor() throws IOException {
+      this.channel = FileChannel.open(file, StandardOpenOption.READ);
+      this.blockRecords = List.of();
+      this.blockIndex = 0;
+      this.recordIndex = 0;
+    }
+
+    /**
+     * Get the next record without consuming it.
+     *
+     * @return the next record, or null if all records were consumed
+     * @throws IOException if the run file could not be read
+     */
+    Record peek() throws IOException {
+      while (recordIndex == blockRecords.size()) {
+        if (blockIndex == blocks.size()) {
+          return null;
+        }
+        blockRecords = readBlock(channel, blocks.get(blockIndex++));
+        recordIndex = 0;
+      }
+      return blockRecords.get(recordIndex);
+    }
+
+    /**
+     * Consume the next record.
+     *
+     * @return the next record, or null if all records were consumed
+     * @throws IOException if the run file could not be read
+     */
+    Record next() throws IOException {
+      Record record = peek();
+      if (record != null) {
+        recordIndex++;
+      }
+      return record;
+    }
+
+    @Override
+    public void close() throws IOException {
+      channel.close();
+    }
+  }
+}
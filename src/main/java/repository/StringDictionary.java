@@ -0,0 +1,73 @@
+package repository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class represents a dictionary encoding of strings for the columnar event store. Every
+ * distinct string gets a dense integer code, so that a column of strings can be stored as an
+ * array of codes and compared without touching the strings.
+ */
+class StringDictionary {
+
+  static final int NULL_CODE = -1;
+
+  static final int ABSENT_CODE = -2;
+
+  private final Map<String, Integer> codes;
+
+  private final List<String> values;
+
+  /**
+   * Constructor for an empty StringDictionary.
+   */
+  StringDictionary() {
+    this.codes = new HashMap<>();
+    this.values = new ArrayList<>();
+  }
+
+  /**
+   * Get the code of a string, adding the string to the dictionary if it is not present.
+   *
+   * @param value the string to encode, may be null
+   * @return the code of the string, {@link #NULL_CODE} for null
+   */
+  int encode(String value) {
+    if (value == null) {
+      return NULL_CODE;
+    }
+    Integer code = codes.get(value);
+    if (code == null) {
+      code = values.size();
+      codes.put(value, code);
+      values.add(value);
+    }
+    return code;
+  }
+
+  /**
+   * Get the code of a string without adding it to the dictionary.
+   *
+   * @param value the string to look up, may be null
+   * @return the code of the string, {@link #NULL_CODE} for null or {@link #ABSENT_CODE} if the
+   *     string is not in the dictionary
+   */
+  int lookup(String value) {
+    if (value == null) {
+      return NULL_CODE;
+    }
+    return codes.getOrDefault(value, ABSENT_CODE);
+  }
+
+  /**
+   * Get the string of a code.
+   *
+   * @param code the code of the string
+   * @return the string of the code, null for {@link #NULL_CODE}
+   */
+  String decode(int code) {
+    return code == NULL_CODE ? null : values.get(code);
+  }
+}
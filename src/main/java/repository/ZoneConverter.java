@@ -0,0 +1,138 @@
+package repository;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ZoneConverter converts the local date and times of a source zone to the local date and times of
+ * a target zone at the same instant, as {@code dateTime.atZone(source).withZoneSameInstant(target)
+ * .toLocalDateTime()} does.
+ *
+ * <p>Instead of resolving the zone rules for every conversion, the offset transitions of every zone
+ * between the years 1900 and 2100 are computed once and cached in an offset table. A conversion is
+ * then a binary search over the transitions of the source zone by local time, followed by a binary
+ * search over the transitions of the target zone by instant. A local time in the gap of a
+ * transition is moved forward by the length of the gap and a local time in the overlap of a
+ * transition takes the earlier offset, the same as {@link java.time.ZonedDateTime}. The date and
+ * times outside the table fall back to the zone rules.
+ */
+public class ZoneConverter {
+
+  private static final long TABLE_START = Instant.parse("1900-01-01T00:00:00Z").getEpochSecond();
+
+  private static final long TABLE_END = Instant.parse("2100-01-01T00:00:00Z").getEpochSecond();
+
+  // local times within a day of the ends of the table may resolve to a transition outside of it
+  private static final long LOCAL_MARGIN = 86400;
+
+  private static final Map<ZoneId, OffsetTable> TABLES = new ConcurrentHashMap<>();
+
+  private final ZoneId source;
+
+  private final ZoneId target;
+
+  private final OffsetTable sourceTable;
+
+  private final OffsetTable targetTable;
+
+  /**
+   * Constructor for ZoneConverter from the source zone to the target zone.
+   *
+   * @param source the zone of the date and times to convert
+   * @param target the zone to convert the date and times to
+   */
+  public ZoneConverter(ZoneId source, ZoneId target) {
+    this.source = Objects.requireNonNull(source, "source cannot be null");
+    this.target = Objects.requireNonNull(target, "target cannot be null");
+    this.sourceTable = TABLES.computeIfAbsent(source, OffsetTable::new);
+    this.targetTable = TABLES.computeIfAbsent(target, OffsetTable::new);
+  }
+
+  /**
+   * Convert the local date and time of the source zone to the local date and time of the target
+   * zone at the same instant.
+   *
+   * @param dateTime the local date and time in the source zone
+   * @return the local date and time in the target zone, or null if the date and time is null
+   */
+  public LocalDateTime convert(LocalDateTime dateTime) {
+    if (dateTime == null) {
+      return null;
+    }
+    long localSecond = dateTime.toEpochSecond(ZoneOffset.UTC);
+    if (localSecond < TABLE_START + LOCAL_MARGIN || localSecond >= TABLE_END - LOCAL_MARGIN) {
+      return dateTime.atZone(source).withZoneSameInstant(target).toLocalDateTime();
+    }
+    long epochSecond = localSecond - sourceTable.offsetAtLocal(localSecond);
+    return LocalDateTime.ofEpochSecond(epochSecond + targetTable.offsetAt(epochSecond),
+        dateTime.getNano(), ZoneOffset.UTC);
+  }
+
+  /**
+   * The offsets of a zone between the start and the end of the table, in seconds. The offset at
+   * an instant is the offset after the last transition at or before the instant, and the offset
+   * at a local time is the offset after the last transition whose later local time, of the local
+   * times just before and just after it, is at or before the local time.
+   */
+  private static class OffsetTable {
+
+    private final long[] instants;
+
+    private final long[] localTimes;
+
+    private final int[] offsets;
+
+    OffsetTable(ZoneId zoneId) {
+      ZoneRules rules = zoneId.getRules();
+      List<ZoneOffsetTransition> transitions = new ArrayList<>();
+      ZoneOffsetTransition transition = rules.nextTransition(Instant.ofEpochSecond(TABLE_START));
+      while (transition != null && transition.toEpochSecond() < TABLE_END) {
+        transitions.add(transition);
+        transition = rules.nextTransition(transition.getInstant());
+      }
+      instants = new long[transitions.size()];
+      localTimes = new long[transitions.size()];
+      offsets = new int[transitions.size() + 1];
+      offsets[0] = rules.getOffset(Instant.ofEpochSecond(TABLE_START)).getTotalSeconds();
+      for (int i = 0; i < transitions.size(); i++) {
+        transition = transitions.get(i);
+        instants[i] = transition.toEpochSecond();
+        // the later of the local times is the end of the gap or the end of the overlap
+        localTimes[i] = instants[i] + Math.max(transition.getOffsetBefore().getTotalSeconds(),
+            transition.getOffsetAfter().getTotalSeconds());
+        offsets[i + 1] = transition.getOffsetAfter().getTotalSeconds();
+      }
+    }
+
+    int offsetAt(long epochSecond) {
+      return offsets[countAtOrBefore(instants, epochSecond)];
+    }
+
+    int offsetAtLocal(long localSecond) {
+      return offsets[countAtOrBefore(localTimes, localSecond)];
+    }
+
+    private static int countAtOrBefore(long[] sorted, long key) {
+      int low = 0;
+      int high = sorted.length;
+      while (low < high) {
+        int mid = (low + high) >>> 1;
+        if (sorted[mid] <= key) {
+          low = mid + 1;
+        } else {
+          high = mid;
+        }
+      }
+      return low;
+    }
+  }
+}
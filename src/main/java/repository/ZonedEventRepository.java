@@ -0,0 +1,262 @@
+package repository;
+
+import dto.EventDTO;
+import dto.RecurringDetailsDTO;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * ZonedEventRepository is an implementation of IEventRepository that keeps the events of a
+ * calendar in another repository at UTC, and presents them in the zone of the calendar.
+ *
+ * <p>The date and times passed in are local to the zone of the calendar and are converted to UTC
+ * before they reach the stored repository, and the events returned are converted back to the zone.
+ * Changing the zone therefore only changes how the stored instants are presented, in constant
+ * time, instead of rewriting every event. While the zone is UTC the events are passed through as
+ * they are, and otherwise they are converted with the cached offset tables of a
+ * {@link ZoneConverter}.
+ */
+public class ZonedEventRepository implements IEventRepository {
+
+  private final IEventRepository storage;
+
+  private ZoneId zoneId;
+
+  private boolean isUtc;
+
+  private ZoneConverter toStored;
+
+  private ZoneConverter toLocal;
+
+  /**
+   * Constructor for ZonedEventRepository presenting the events at UTC.
+   *
+   * @param storage the repository keeping the events at UTC
+   */
+  public ZonedEventRepository(IEventRepository storage) {
+    this.storage = Objects.requireNonNull(storage, "storage cannot be null");
+    setZoneId(ZoneOffset.UTC);
+  }
+
+  /**
+   * Get the zone the events are presented in.
+   *
+   * @return the zone of the calendar
+   */
+  public ZoneId getZoneId() {
+    return zoneId;
+  }
+
+  /**
+   * Set the zone the events are presented in. The stored events keep their instants, so their
+   * local date and times follow the new zone.
+   *
+   * @param zoneId the zone of the calendar
+   */
+  public void setZoneId(ZoneId zoneId) {
+    this.zoneId = Objects.requireNonNull(zoneId, "zoneId cannot be null");
+    this.isUtc = zoneId.getRules().isFixedOffset()
+        && zoneId.getRules().getOffset(Instant.EPOCH).equals(ZoneOffset.UTC);
+    this.toStored = new ZoneConverter(zoneId, ZoneOffset.UTC);
+    this.toLocal = new ZoneConverter(ZoneOffset.UTC, zoneId);
+  }
+
+  @Override
+  public boolean insertEvent(EventDTO event) {
+    return storage.insertEvent(toStored(event));
+  }
+
+  @Override
+  public void insertEvents(List<EventDTO> events) {
+    storage.insertEvents(isUtc ? events
+        : events.stream().map(this::toStored).collect(Collectors.toList()));
+  }
+
+  @Override
+  public boolean deleteEvent(String name, LocalDateTime startTime, LocalDateTime endTime) {
+    return storage.deleteEvent(name, toStored(startTime), toStored(endTime));
+  }
+
+  @Override
+  public int deleteRange(LocalDateTime startTime, LocalDateTime endTime, String name) {
+    return storage.deleteRange(toStored(startTime), toStored(endTime), name);
+  }
+
+  @Override
+  public EventDTO getEvent(String name, LocalDateTime startTime, LocalDateTime endTime) {
+    return toLocal(storage.getEvent(name, toStored(startTime), toStored(endTime)));
+  }
+
+  @Override
+  public List<EventDTO> getAllEvents() {
+    return toLocal(storage.getAllEvents());
+  }
+
+  @Override
+  public Stream<EventDTO> stream() {
+    return isUtc ? storage.stream() : storage.stream().map(this::toLocal);
+  }
+
+  @Override
+  public Stream<EventDTO> parallelStream() {
+    return isUtc ? storage.parallelStream() : storage.parallelStream().map(this::toLocal);
+  }
+
+  @Override
+  public List<EventDTO> getEventsOnDate(LocalDate date) {
+    if (isUtc) {
+      return storage.getEventsOnDate(date);
+    }
+    return searchOverlaps(date.atStartOfDay(), LocalDateTime.of(date, LocalTime.MAX));
+  }
+
+  @Override
+  public void getEventsOnDate(LocalDate date, Consumer<EventDTO> sink) {
+    if (isUtc) {
+      storage.getEventsOnDate(date, sink);
+      return;
+    }
+    searchOverlaps(date.atStartOfDay(), LocalDateTime.of(date, LocalTime.MAX), sink);
+  }
+
+  @Override
+  public List<EventDTO> getEventsInRange(LocalDateTime startTime, LocalDateTime endTime) {
+    return toLocal(storage.getEventsInRange(toStored(startTime), toStored(endTime)));
+  }
+
+  @Override
+  public void getEventsInRange(LocalDateTime startTime, LocalDateTime endTime,
+      Consumer<EventDTO> sink) {
+    storage.getEventsInRange(toStored(startTime), toStored(endTime), toLocal(sink));
+  }
+
+  @Override
+  public List<EventDTO> getEventsByName(String name) {
+    return toLocal(storage.getEventsByName(name));
+  }
+
+  @Override
+  public void getEventsByName(String name, Consumer<EventDTO> sink) {
+    storage.getEventsByName(name, toLocal(sink));
+  }
+
+  @Override
+  public List<EventDTO> getEventsAt(LocalDateTime dateTime) {
+    return toLocal(storage.getEventsAt(toStored(dateTime)));
+  }
+
+  @Override
+  public void getEventsAt(LocalDateTime dateTime, Consumer<EventDTO> sink) {
+    storage.getEventsAt(toStored(dateTime), toLocal(sink));
+  }
+
+  @Override
+  public List<EventDTO> searchOverlaps(LocalDateTime startTime, LocalDateTime endTime) {
+    return toLocal(storage.searchOverlaps(toStored(startTime), toStored(endTime)));
+  }
+
+  @Override
+  public void searchOverlaps(LocalDateTime startTime, LocalDateTime endTime,
+      Consumer<EventDTO> sink) {
+    storage.searchOverlaps(toStored(startTime), toStored(endTime), toLocal(sink));
+  }
+
+  @Override
+  public List<EventDTO> getEventsBySeries(long seriesId) {
+    return toLocal(storage.getEventsBySeries(seriesId));
+  }
+
+  @Override
+  public void getEventsBySeries(long seriesId, Consumer<EventDTO> sink) {
+    storage.getEventsBySeries(seriesId, toLocal(sink));
+  }
+
+  @Override
+  public EventDTO getById(long id) {
+    return toLocal(storage.getById(id));
+  }
+
+  @Override
+  public boolean deleteById(long id) {
+    return storage.deleteById(id);
+  }
+
+  private LocalDateTime toStored(LocalDateTime dateTime) {
+    if (isUtc || dateTime == null) {
+      return dateTime;
+    }
+    return toStored.convert(dateTime);
+  }
+
+  private LocalDateTime toLocal(LocalDateTime dateTime) {
+    if (isUtc || dateTime == null) {
+      return dateTime;
+    }
+    return toLocal.convert(dateTime);
+  }
+
+  private EventDTO toStored(EventDTO event) {
+    if (isUtc || event == null) {
+      return event;
+    }
+    return withTimes(event, toStored(event.getStartTime()), toStored(event.getEndTime()),
+        event.getRecurringDetails() == null ? null
+            : toStored(event.getRecurringDetails().getUntilDate()));
+  }
+
+  private EventDTO toLocal(EventDTO event) {
+    if (isUtc || event == null) {
+      return event;
+    }
+    return withTimes(event, toLocal(event.getStartTime()), toLocal(event.getEndTime()),
+        event.getRecurringDetails() == null ? null
+            : toLocal(event.getRecurringDetails().getUntilDate()));
+  }
+
+  private List<EventDTO> toLocal(List<EventDTO> events) {
+    if (isUtc) {
+      return events;
+    }
+    List<EventDTO> result = new ArrayList<>(events.size());
+    for (EventDTO event : events) {
+      result.add(toLocal(event));
+    }
+    return result;
+  }
+
+  private Consumer<EventDTO> toLocal(Consumer<EventDTO> sink) {
+    return isUtc ? sink : event -> sink.accept(toLocal(event));
+  }
+
+  private static EventDTO withTimes(EventDTO event, LocalDateTime startTime,
+      LocalDateTime endTime, LocalDateTime untilDate) {
+    return EventDTO.getBuilder()
+        .setSubject(event.getSubject())
+        .setStartTime(startTime)
+        .setEndTime(endTime)
+        .setDescription(event.getDescription())
+        .setLocation(event.getLocation())
+        .setIsPublic(event.getIsPublic())
+        .setIsAllDay(event.getIsAllDay())
+        .setIsRecurring(event.getIsRecurring())
+        .setRecurringDetails(event.getRecurringDetails() == null ? null
+            : RecurringDetailsDTO.getBuilder()
+                .setRepeatDays(event.getRecurringDetails().getRepeatDays())
+                .setOccurrences(event.getRecurringDetails().getOccurrences())
+                .setUntilDate(untilDate)
+                .build())
+        .setSeriesId(event.getSeriesId())
+        .setId(event.getId())
+        .build();
+  }
+}
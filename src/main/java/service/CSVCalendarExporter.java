@@ -18,13 +18,34 @@ public class CSVCalendarExporter implements ICalendarExporter {
 
   @Override
   public String export(List<EventDTO> events) {
-    StringBuilder csvContent = new StringBuilder();
+    ExportSink exportSink = newExportSink();
+    for (EventDTO event : events) {
+      exportSink.accept(event);
+    }
+    return exportSink.finish();
+  }
 
-    csvContent.append(getCSVHeader())
-        .append(System.lineSeparator());
+  @Override
+  public ExportSink newExportSink() {
+    return new CSVExportSink();
+  }
 
-    // Write each event as a row in CSV
-    for (EventDTO event : events) {
+  /**
+   * This sink writes each event as a row of the CSV as soon as it is received.
+   */
+  private static class CSVExportSink implements ExportSink {
+
+    private final StringBuilder csvContent;
+
+    CSVExportSink() {
+      csvContent = new StringBuilder();
+      csvContent.append(getCSVHeader())
+          .append(System.lineSeparator());
+    }
+
+    @Override
+    public void accept(EventDTO event) {
+      // Write the event as a row in CSV
       csvContent.append(String.join(",",
               // Subject
               escapeCSV(event.getSubject()),
@@ -54,7 +75,11 @@ public class CSVCalendarExporter implements ICalendarExporter {
               event.getIsPublic() ? "False" : "True"))
           .append(System.lineSeparator());
     }
-    return csvContent.toString();
+
+    @Override
+    public String finish() {
+      return csvContent.toString();
+    }
   }
 
   /**
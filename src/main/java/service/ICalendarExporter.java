@@ -2,6 +2,7 @@ package service;
 
 import dto.EventDTO;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * This interface represents strategies to export the events in the calendar model.
@@ -17,4 +18,26 @@ public interface ICalendarExporter {
    */
   String export(List<EventDTO> events);
 
+  /**
+   * This method starts an export that receives the events one at a time, in the order of their
+   * start time, instead of as a list. The formatted string is returned by
+   * {@link ExportSink#finish()} once all the events were passed to the sink.
+   *
+   * @return the sink to pass the events of the calendar to
+   */
+  ExportSink newExportSink();
+
+  /**
+   * This interface represents the receiving end of an export that formats the events as they
+   * arrive.
+   */
+  interface ExportSink extends Consumer<EventDTO> {
+
+    /**
+     * This method completes the export.
+     *
+     * @return the formatted string of all the events passed to the sink
+     */
+    String finish();
+  }
 }
@@ -0,0 +1,194 @@
+package view;
+
+import controller.AgendaPageData;
+import controller.AgendaSource;
+import controller.EventData;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.swing.SwingUtilities;
+import javax.swing.table.AbstractTableModel;
+
+/**
+ * This class represents the rows of a list of events that are loaded from an
+ * {@link AgendaSource} a page at a time, only when the table shows them.
+ *
+ * <p>The table only asks for the values of the rows it paints, so a page is loaded when one of
+ * its rows is first painted. The rows of a page not loaded yet show as loading. The rows end with
+ * a single loading row until the last page is loaded, and scrolling to it loads the next page.
+ * Only the pages used last are kept, and a page dropped is loaded again from the time cursor it
+ * started at when it is shown again.
+ */
+class AgendaTableModel extends AbstractTableModel {
+
+  static final int PAGE_SIZE = 100;
+
+  private static final int MAX_PAGES = 10;
+
+  private static final String[] COLUMN_NAMES = {"Time", "Event", "Location", "Description"};
+
+  private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd-MM-yy");
+
+  private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern(
+      "dd-MM-yy h:mm a");
+
+  private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("h:mm a");
+
+  private final AgendaSource source;
+
+  private final boolean showsDates;
+
+  private final List<LocalDateTime> pageStarts;
+
+  private final List<Integer> pageSkips;
+
+  private final Map<Integer, List<EventData>> pages;
+
+  private final Set<Integer> loadingPages;
+
+  private int lastPageSize;
+
+  /**
+   * Constructor for AgendaTableModel. The first page is loaded right away.
+   *
+   * @param source     the source of the pages of the events
+   * @param showsDates whether the dates of the events are shown with their times
+   */
+  AgendaTableModel(AgendaSource source, boolean showsDates) {
+    this.source = source;
+    this.showsDates = showsDates;
+    this.pageStarts = new ArrayList<>();
+    this.pageSkips = new ArrayList<>();
+    this.pages = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Integer, List<EventData>> eldest) {
+        return size() > MAX_PAGES;
+      }
+    };
+    this.loadingPages = new HashSet<>();
+    this.lastPageSize = -1;
+    pageStarts.add(null);
+    pageSkips.add(0);
+    loadPage(0);
+  }
+
+  @Override
+  public int getRowCount() {
+    int lastPage = pageStarts.size() - 1;
+    return lastPage * PAGE_SIZE + (isComplete() ? lastPageSize : 1);
+  }
+
+  @Override
+  public int getColumnCount() {
+    return COLUMN_NAMES.length;
+  }
+
+  @Override
+  public String getColumnName(int column) {
+    return COLUMN_NAMES[column];
+  }
+
+  @Override
+  public boolean isCellEditable(int row, int column) {
+    return false;
+  }
+
+  @Override
+  public Object getValueAt(int row, int column) {
+    int page = row / PAGE_SIZE;
+    List<EventData> events = pages.get(page);
+    if (events == null) {
+      // the page is loaded after this paint, not while the table is painted
+      if (loadingPages.add(page)) {
+        SwingUtilities.invokeLater(() -> loadPage(page));
+      }
+      return column == 0 ? "Loading..." : "";
+    }
+    int index = row % PAGE_SIZE;
+    if (index >= events.size()) {
+      return "";
+    }
+    EventData event = events.get(index);
+    switch (column) {
+      case 0:
+        return formatTime(event);
+      case 1:
+        return event.getSubject();
+      case 2:
+        return event.getLocation();
+      default:
+        return event.getDescription();
+    }
+  }
+
+  /**
+   * Get the event of a row, if its page is loaded.
+   *
+   * @param row the row of the event
+   * @return the event of the row, or null if its page is not loaded
+   */
+  EventData getEventAt(int row) {
+    List<EventData> events = pages.get(row / PAGE_SIZE);
+    int index = row % PAGE_SIZE;
+    return events == null || index >= events.size() ? null : events.get(index);
+  }
+
+  private boolean isComplete() {
+    return lastPageSize >= 0;
+  }
+
+  private void loadPage(int page) {
+    loadingPages.add(page);
+    source.loadPage(pageStarts.get(page), pageSkips.get(page), PAGE_SIZE,
+        data -> pageLoaded(page, data));
+  }
+
+  private void pageLoaded(int page, AgendaPageData data) {
+    loadingPages.remove(page);
+    List<EventData> events = data.getEvents();
+    pages.put(page, events);
+    int firstRow = page * PAGE_SIZE;
+    if (page < pageStarts.size() - 1 || isComplete()) {
+      fireTableRowsUpdated(firstRow, Math.min(getRowCount(), firstRow + PAGE_SIZE) - 1);
+      return;
+    }
+    // the last page known replaces the loading row at the end
+    if (data.hasMore()) {
+      pageStarts.add(data.getNextStart());
+      pageSkips.add(data.getNextSkip());
+      fireTableRowsUpdated(firstRow, firstRow);
+      fireTableRowsInserted(firstRow + 1, firstRow + PAGE_SIZE);
+    } else {
+      lastPageSize = events.size();
+      if (events.isEmpty()) {
+        fireTableRowsDeleted(firstRow, firstRow);
+      } else {
+        fireTableRowsUpdated(firstRow, firstRow);
+        if (events.size() > 1) {
+          fireTableRowsInserted(firstRow + 1, firstRow + events.size() - 1);
+        }
+      }
+    }
+  }
+
+  private String formatTime(EventData event) {
+    LocalDateTime start = event.getStartTime();
+    LocalDateTime end = event.getEndTime();
+    if (event.getAllDay()) {
+      return showsDates ? "<html>" + start.format(DATE_FORMATTER) + "<br>All day</html>"
+          : "All day";
+    }
+    if (end.toLocalDate().isAfter(start.toLocalDate())) {
+      return "<html>" + start.format(DATE_TIME_FORMATTER) + "<br>"
+          + end.format(DATE_TIME_FORMATTER) + "</html>";
+    }
+    String times = start.format(TIME_FORMATTER) + " - " + end.format(TIME_FORMATTER);
+    return showsDates ? "<html>" + start.format(DATE_FORMATTER) + "<br>" + times + "</html>"
+        : times;
+  }
+}
@@ -1,25 +1,43 @@
 package view;
 
 import controller.CalendarFeatures;
+import controller.EventData;
 import java.awt.BorderLayout;
+import java.awt.Component;
 import java.awt.Dimension;
 import java.awt.FlowLayout;
 import java.awt.Frame;
 import java.awt.event.ActionListener;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
 import java.io.File;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
 import javax.swing.BorderFactory;
+import javax.swing.DefaultListCellRenderer;
+import javax.swing.DefaultListModel;
 import javax.swing.JButton;
 import javax.swing.JComboBox;
 import javax.swing.JFileChooser;
 import javax.swing.JLabel;
+import javax.swing.JList;
 import javax.swing.JPanel;
+import javax.swing.JPopupMenu;
+import javax.swing.JScrollPane;
 import javax.swing.JSeparator;
+import javax.swing.JTextField;
 import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 
 /**
  * This class represents the banner panel of the calendar GUI. It contains the calendar selector
  * dropdown and buttons for creating, editing, exporting, and importing calendars. It also displays
  * the current timezone.
+ *
+ * <p>It also contains the search box. The search runs once the user stops typing for a moment,
+ * instead of on every key, and the events found are listed below the box as they arrive.
  */
 public class BannerPanel extends JPanel {
 
@@ -43,6 +61,19 @@ public class BannerPanel extends JPanel {
 
   private static File CURRENT_DIR;
 
+  private static final DateTimeFormatter SEARCH_RESULT_FORMATTER = DateTimeFormatter.ofPattern(
+      "dd-MM-yy h:mm a");
+
+  private static final int SEARCH_DELAY_MILLIS = 250;
+
+  private JTextField searchField;
+
+  private Timer searchTimer;
+
+  private DefaultListModel<EventData> searchResults;
+
+  private JPopupMenu searchPopup;
+
   /**
    * This constructor initializes the BannerPanel and sets up the layout and components. It
    * initializes the calendar selector dropdown and buttons for calendar operations.
@@ -68,6 +99,9 @@ public class BannerPanel extends JPanel {
     // add buttons to the panel
     addButtonsToPanel();
 
+    // search box with the list of events found
+    createSearchBox();
+
     // add separator lines
     JSeparator topSeparator = new JSeparator();
     JSeparator bottomSeparator = new JSeparator();
@@ -102,6 +136,93 @@ public class BannerPanel extends JPanel {
     buttonsPanel.add(importCalendarBtn);
   }
 
+  private void createSearchBox() {
+    searchField = new JTextField(18);
+    searchField.setToolTipText("Search events by subject or location");
+
+    // every change restarts the delay, so only the text typed last is searched
+    searchTimer = new Timer(SEARCH_DELAY_MILLIS, e -> {
+      if (calendarFeatures != null) {
+        calendarFeatures.searchEvents(searchField.getText());
+      }
+    });
+    searchTimer.setRepeats(false);
+    searchField.getDocument().addDocumentListener(new DocumentListener() {
+      @Override
+      public void insertUpdate(DocumentEvent e) {
+        searchTimer.restart();
+      }
+
+      @Override
+      public void removeUpdate(DocumentEvent e) {
+        searchTimer.restart();
+      }
+
+      @Override
+      public void changedUpdate(DocumentEvent e) {
+        searchTimer.restart();
+      }
+    });
+
+    searchResults = new DefaultListModel<>();
+    JList<EventData> resultsList = new JList<>(searchResults);
+    resultsList.setFocusable(false);
+    resultsList.setVisibleRowCount(10);
+    resultsList.setCellRenderer(new DefaultListCellRenderer() {
+      @Override
+      public Component getListCellRendererComponent(JList<?> list, Object value, int index,
+          boolean isSelected, boolean cellHasFocus) {
+        EventData event = (EventData) value;
+        String text = event.getSubject() + "  -  "
+            + event.getStartTime().format(SEARCH_RESULT_FORMATTER)
+            + (event.getLocation() == null || event.getLocation().isEmpty()
+            ? "" : "  -  " + event.getLocation());
+        return super.getListCellRendererComponent(list, text, index, isSelected, cellHasFocus);
+      }
+    });
+    resultsList.addMouseListener(new MouseAdapter() {
+      @Override
+      public void mouseClicked(MouseEvent e) {
+        int index = resultsList.locationToIndex(e.getPoint());
+        if (index >= 0) {
+          searchPopup.setVisible(false);
+          calendarFeatures.viewDay(searchResults.get(index).getStartTime().toLocalDate());
+        }
+      }
+    });
+
+    // the popup does not take the focus, so typing goes on while the results are shown
+    searchPopup = new JPopupMenu();
+    searchPopup.setFocusable(false);
+    JScrollPane resultsScrollPane = new JScrollPane(resultsList);
+    resultsScrollPane.setPreferredSize(new Dimension(360, 200));
+    searchPopup.add(resultsScrollPane);
+
+    buttonsPanel.add(new JLabel("Search:"));
+    buttonsPanel.add(searchField);
+  }
+
+  /**
+   * This method clears the events found by the search and hides their list.
+   */
+  public void clearSearchResults() {
+    searchResults.clear();
+    searchPopup.setVisible(false);
+  }
+
+  /**
+   * This method adds events found by the search to the list below the search box, and shows the
+   * list if it is hidden.
+   *
+   * @param events the events found
+   */
+  public void addSearchResults(List<EventData> events) {
+    searchResults.addAll(events);
+    if (!searchResults.isEmpty() && !searchPopup.isVisible() && searchField.isShowing()) {
+      searchPopup.show(searchField, 0, searchField.getHeight());
+    }
+  }
+
   /**
    * This method sets the calendar features for the current calendar and adds the action listeners
    * to the buttons mapping to which calendar feature they are mapped with.
@@ -1,18 +1,22 @@
 package view;
 
 import controller.CalendarFeatures;
+import controller.DaySummaryData;
 import java.awt.BorderLayout;
 import java.awt.Color;
 import java.awt.Component;
 import java.awt.Dimension;
 import java.awt.Font;
+import java.awt.Graphics;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.time.LocalDate;
 import java.time.YearMonth;
 import java.time.ZoneId;
-import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import javax.swing.BorderFactory;
 import javax.swing.JButton;
 import javax.swing.JLabel;
@@ -20,8 +24,9 @@ import javax.swing.JPanel;
 import javax.swing.JScrollPane;
 import javax.swing.JTable;
 import javax.swing.SwingConstants;
+import javax.swing.border.Border;
+import javax.swing.table.AbstractTableModel;
 import javax.swing.table.DefaultTableCellRenderer;
-import javax.swing.table.DefaultTableModel;
 
 /**
  * This class represents the calendar panel of the GUI. It displays the calendar for a specific
@@ -45,13 +50,44 @@ public class DatesPanel extends JPanel {
 
   private JTable calendarTable;
 
-  private DefaultTableModel tableModel;
+  private MonthTableModel tableModel;
 
   private YearMonth currentYearMonth;
 
   private CalendarFeatures calendarFeatures;
 
-  private String currentTimeZone;
+  private ZoneId currentZoneId = ZoneId.systemDefault();
+
+  private LocalDate today;
+
+  // shared styles of the calendar cells
+
+  private static final Color OTHER_MONTH_BACKGROUND = new Color(240, 240, 240);
+
+  private static final Color[] BUSY_BACKGROUNDS = {
+      new Color(239, 246, 255),
+      new Color(219, 234, 254),
+      new Color(191, 219, 254),
+      new Color(147, 197, 253)
+  };
+
+  private static final long BUSY_MINUTES_PER_SHADE = 120;
+
+  private static final Border TODAY_BORDER = BorderFactory.createLineBorder(Color.BLUE, 2);
+
+  private static final Border CELL_BORDER = BorderFactory.createLineBorder(Color.LIGHT_GRAY, 1);
+
+  private static final String[] DAY_LABELS = new String[32];
+
+  static {
+    for (int day = 1; day < DAY_LABELS.length; day++) {
+      DAY_LABELS[day] = "<html>"
+          + "<font size='4' color='black'>"
+          + day
+          + "</font>"
+          + "</html>";
+    }
+  }
 
   /**
    * This constructor initializes the DatesPanel and sets up the layout and components. It creates
@@ -113,11 +149,16 @@ public class DatesPanel extends JPanel {
   }
 
   private void createCalendarTable() {
-    DefaultTableModel newTableModel = createTableModel();
-    setDaysOfWeekForTableModel(newTableModel);
-    tableModel = newTableModel;
+    tableModel = new MonthTableModel();
 
-    calendarTable = new JTable(tableModel);
+    calendarTable = new JTable(tableModel) {
+      @Override
+      protected void paintComponent(Graphics g) {
+        // the date of today is the same for every cell of one paint
+        today = LocalDate.now(currentZoneId);
+        super.paintComponent(g);
+      }
+    };
 
     // set table properties
     calendarTable.setRowHeight(80);
@@ -127,25 +168,11 @@ public class DatesPanel extends JPanel {
     calendarTable.setFocusable(Boolean.FALSE);
 
     // custom renderer for calendar cells
-    calendarTable.setDefaultRenderer(Object.class, new CalendarCellRenderer());
+    calendarTable.setDefaultRenderer(MonthCell.class, new CalendarCellRenderer());
     // the table columns cannot be moved to left and right
     calendarTable.getTableHeader().setReorderingAllowed(false);
   }
 
-  private DefaultTableModel createTableModel() {
-    return new DefaultTableModel() {
-      @Override
-      public boolean isCellEditable(int row, int column) {
-        return false;
-      }
-    };
-  }
-
-  private void setDaysOfWeekForTableModel(DefaultTableModel tableModel) {
-    String[] dayNames = {"Sun", "Mon", "Tue", "Wed", "Thu", "Fri", "Sat"};
-    tableModel.setColumnIdentifiers(dayNames);
-  }
-
   /**
    * Set the calendar features to be used for handling user interactions and events. This method
    * maps the calendar features to the buttons and mouse events in the calendar table.
@@ -172,21 +199,10 @@ public class DatesPanel extends JPanel {
         int row = calendarTable.getSelectedRow();
         int col = calendarTable.getSelectedColumn();
         if (row >= 0 && col >= 0) {
-          Object value = calendarTable.getValueAt(row, col);
-          if (value != null) {
-            String cellValue = value.toString();
-            if (!cellValue.isEmpty()) {
-              // extract day number from cell value
-              String dayStr = cellValue.split("\n")[0].trim();
-              try {
-                int day = Integer.parseInt(dayStr);
-                // calculate the actual date to handle days from previous/next months
-                LocalDate selectedDate = getDateFromCell(row, col, day);
-                calendarFeatures.viewDay(selectedDate);
-              } catch (NumberFormatException ex) {
-                // not a valid day cell, so we pass heh, heh.
-              }
-            }
+          // the cells hold their dates, including the days from previous/next months
+          MonthCell cell = tableModel.getCell(row, col);
+          if (cell != null) {
+            calendarFeatures.viewDay(cell.date);
           }
         }
       }
@@ -194,185 +210,175 @@ public class DatesPanel extends JPanel {
   }
 
   /**
-   * Update the calendar table with the dates for the specified YearMonth. This method clears the
-   * existing table data and fills it with the new dates for the specified month.
+   * Update the calendar table with the dates for the specified YearMonth. The dates of the cells,
+   * including the days of the previous and next months filling the first and last weeks, are
+   * computed once here instead of on every paint.
    *
    * @param calendarYearMonth The YearMonth to be displayed in the calendar table
    */
   public void updateCalendarYearMonthDates(YearMonth calendarYearMonth) {
+    tableModel.setYearMonth(calendarYearMonth);
+  }
+
+  /**
+   * Update the number of events and the busy shading of the days in the calendar table. The days
+   * without a summary are shown without events.
+   *
+   * @param summaries the summaries of the days to be shown
+   */
+  public void updateDaySummaries(List<DaySummaryData> summaries) {
+    tableModel.setDaySummaries(summaries);
+  }
+
+  public void setCurrentTimezone(String tz) {
+    this.currentZoneId = ZoneId.of(tz);
+    calendarTable.repaint();
+  }
 
-    // clear and set new rows of the table
-    tableModel.setRowCount(0);
-    tableModel.setRowCount(6); // max 6 rows for a month
+  /**
+   * A cell of the calendar table. The label and the background are computed when the month or the
+   * summaries change, so painting the cell only reads them.
+   */
+  private static class MonthCell {
 
-    // get the day of week for the first day of month
-    LocalDate firstDayOfMonth = calendarYearMonth.atDay(1);
-    // get the calendar table cell for first day of month
-    int dayOfWeek = firstDayOfMonth.getDayOfWeek().getValue() % 7;
+    private final LocalDate date;
 
-    // get number of days in month
-    int daysInMonth = calendarYearMonth.lengthOfMonth();
+    private final boolean isCurrentMonth;
 
-    // get number of days in previous month
-    YearMonth prevMonth = calendarYearMonth.minusMonths(1);
-    int daysInPrevMonth = prevMonth.lengthOfMonth();
+    private String label;
 
-    // fill the calendar table
-    int dayCounter = 1;
-    int row = 0;
+    private Color background;
 
-    // previous month days (fill the cells prior to start filling this month's cells)
-    for (int i = 0; i < dayOfWeek; i++) {
-      int prevMonthDay = daysInPrevMonth - dayOfWeek + i + 1;
-      String cellContent = prevMonthDay + "\n";
-      tableModel.setValueAt(cellContent, row, i);
+    MonthCell(LocalDate date, boolean isCurrentMonth) {
+      this.date = date;
+      this.isCurrentMonth = isCurrentMonth;
+      setSummary(0, 0);
     }
 
-    // current month's first week days (fill first week of this month's cell)
-    for (int i = dayOfWeek; i < 7; i++) {
-      String cellContent = dayCounter + "\n";
-      tableModel.setValueAt(cellContent, row, i);
-      dayCounter++;
+    void setSummary(int eventCount, long busyMinutes) {
+      if (!isCurrentMonth) {
+        label = DAY_LABELS[date.getDayOfMonth()];
+        background = OTHER_MONTH_BACKGROUND;
+      } else if (eventCount == 0) {
+        label = DAY_LABELS[date.getDayOfMonth()];
+        background = Color.WHITE;
+      } else {
+        label = "<html>"
+            + "<font size='4' color='black'>" + date.getDayOfMonth() + "</font>"
+            + "<br><font size='3' color='gray'>" + eventCount
+            + (eventCount == 1 ? " event" : " events") + "</font>"
+            + "</html>";
+        background = BUSY_BACKGROUNDS[(int) Math.min(BUSY_BACKGROUNDS.length - 1,
+            busyMinutes / BUSY_MINUTES_PER_SHADE)];
+      }
     }
 
-    // rest of the days (remaining cells in the current month)
-    while (dayCounter <= daysInMonth) {
-      row++;
-      for (int i = 0; i < 7 && dayCounter <= daysInMonth; i++) {
-        String cellContent = dayCounter + "\n";
-        tableModel.setValueAt(cellContent, row, i);
-        dayCounter++;
+    @Override
+    public String toString() {
+      return label;
+    }
+  }
+
+  /**
+   * The table model of the calendar table, holding the 6 x 7 cells of the month displayed.
+   */
+  private static class MonthTableModel extends AbstractTableModel {
+
+    private static final String[] DAY_NAMES = {"Sun", "Mon", "Tue", "Wed", "Thu", "Fri", "Sat"};
+
+    private final MonthCell[] cells = new MonthCell[6 * 7];
+
+    void setYearMonth(YearMonth yearMonth) {
+      // get the calendar table cell for first day of month
+      int firstDayPosition = yearMonth.atDay(1).getDayOfWeek().getValue() % 7;
+      LocalDate firstCellDate = yearMonth.atDay(1).minusDays(firstDayPosition);
+      for (int position = 0; position < cells.length; position++) {
+        LocalDate date = firstCellDate.plusDays(position);
+        cells[position] = new MonthCell(date, YearMonth.from(date).equals(yearMonth));
       }
+      fireTableDataChanged();
     }
 
-    // next month days (unfilled cells in the current month will be filled with next month's dates)
-    int nextMonthDay = 1;
-    while (row < 6) {
-      for (int i = 0; i < 7; i++) {
-        if (tableModel.getValueAt(row, i) == null) {
-          String cellContent = nextMonthDay + "\n";
-          tableModel.setValueAt(cellContent, row, i);
-          nextMonthDay++;
+    void setDaySummaries(List<DaySummaryData> summaries) {
+      if (cells[0] == null) {
+        return;
+      }
+      Map<LocalDate, DaySummaryData> byDate = new HashMap<>();
+      for (DaySummaryData summary : summaries) {
+        byDate.put(summary.getDate(), summary);
+      }
+      for (MonthCell cell : cells) {
+        DaySummaryData summary = byDate.get(cell.date);
+        if (summary == null) {
+          cell.setSummary(0, 0);
+        } else {
+          cell.setSummary(summary.getEventCount(), summary.getBusyMinutes());
         }
       }
-      row++;
+      fireTableDataChanged();
     }
 
-    // create the new updated view of the calendar table
-    calendarTable.repaint();
-  }
+    MonthCell getCell(int row, int column) {
+      return cells[row * 7 + column];
+    }
 
-  /**
-   * Get the actual date for a cell based on its position and displayed day.
-   *
-   * @param row          The row of the cell
-   * @param col          The column of the cell
-   * @param displayedDay The day number displayed in the cell
-   * @return The LocalDate corresponding to this cell
-   */
-  private LocalDate getDateFromCell(int row, int col, int displayedDay) {
-    // get first day of month position
-    LocalDate firstDayOfMonth = currentYearMonth.atDay(1);
-    int firstDayPosition = firstDayOfMonth.getDayOfWeek().getValue() % 7;
-
-    // calculate position in the calendar
-    int position = row * 7 + col;
-    int daysInMonth = currentYearMonth.lengthOfMonth();
-
-    // previous month
-    if (position < firstDayPosition) {
-      return currentYearMonth.minusMonths(1).atDay(displayedDay);
+    @Override
+    public int getRowCount() {
+      return 6;
     }
-    // next month
-    else if (position >= firstDayPosition + daysInMonth) {
-      return currentYearMonth.plusMonths(1).atDay(displayedDay);
+
+    @Override
+    public int getColumnCount() {
+      return DAY_NAMES.length;
     }
-    // current month
-    else {
-      return currentYearMonth.atDay(displayedDay);
+
+    @Override
+    public String getColumnName(int column) {
+      return DAY_NAMES[column];
     }
-  }
 
-  public void setCurrentTimezone(String tz) {
-    this.currentTimeZone = tz;
-    calendarTable.repaint();
+    @Override
+    public Class<?> getColumnClass(int column) {
+      return MonthCell.class;
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+      return getCell(row, column);
+    }
   }
 
   /**
    * This class represents the custom cell renderer for the calendar table. It renders the cells in
    * the calendar table with nice style and calm gray color and makes calendar look beautiful.
+   *
+   * <p>The colors, borders and labels are shared, so rendering a cell allocates nothing.
    */
   class CalendarCellRenderer extends DefaultTableCellRenderer {
 
     @Override
     public Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected,
         boolean hasFocus, int row, int column) {
+      // the text of the cell is the label of the month cell
       Component cell = super.getTableCellRendererComponent(table, value, isSelected, hasFocus, row,
           column);
 
-      if (value != null) {
-        String cellContent = value.toString();
-        if (!cellContent.isEmpty()) {
-
-          String[] parts = cellContent.split("\n");
-          int day = Integer.parseInt(parts[0]);
+      if (value instanceof MonthCell) {
+        MonthCell monthCell = (MonthCell) value;
 
-          String parsedDay = parseDay(day);
-          setText(parsedDay);
-
-          // style days from other months
-          boolean isCurrentMonth = isCurrentMonth(row, column);
-
-          if (!isCurrentMonth) {
-            setBackground(new Color(240, 240, 240));
-            setForeground(Color.GRAY);
-          } else {
-            setBackground(Color.WHITE);
-            setForeground(Color.BLACK);
-          }
+        // style days from other months and shade the busy days
+        setBackground(monthCell.background);
+        setForeground(monthCell.isCurrentMonth ? Color.BLACK : Color.GRAY);
 
-          // highlight current day
-          highlightCurrentDay(day, isCurrentMonth);
+        // highlight current day
+        setBorder(monthCell.isCurrentMonth && monthCell.date.equals(today)
+            ? TODAY_BORDER : CELL_BORDER);
 
-          // set vertical alignment to top
-          setVerticalAlignment(SwingConstants.TOP);
-        }
+        // set vertical alignment to top
+        setVerticalAlignment(SwingConstants.TOP);
       }
 
       return cell;
     }
-
-    private String parseDay(int day) {
-      return "<html>"
-          + "<font size='4' color='black'>"
-          + day
-          + "</font>"
-          + "</html>";
-    }
-
-    private boolean isCurrentMonth(int row, int column) {
-      boolean isCurrentMonth = true;
-      int firstDayOfWeek = currentYearMonth.atDay(1).getDayOfWeek().getValue() % 7;
-      int position = row * 7 + column;
-      int daysInMonth = currentYearMonth.lengthOfMonth();
-
-      if (position < firstDayOfWeek || position >= firstDayOfWeek + daysInMonth) {
-        isCurrentMonth = false;
-      }
-      return isCurrentMonth;
-    }
-
-    private void highlightCurrentDay(int day, boolean isCurrentMonth) {
-      LocalDate today = ZonedDateTime.now(ZoneId.of(currentTimeZone)).toLocalDate();
-      if (day == today.getDayOfMonth()
-          && currentYearMonth.getMonthValue() == today.getMonthValue()
-          && currentYearMonth.getYear() == today.getYear()
-          && isCurrentMonth) {
-        setBorder(BorderFactory.createLineBorder(Color.BLUE, 2));
-      } else {
-        setBorder(BorderFactory.createLineBorder(Color.LIGHT_GRAY, 1));
-      }
-    }
-
   }
-}
\ No newline at end of file
+}
@@ -1,5 +1,6 @@
 package view;
 
+import controller.AgendaSource;
 import controller.CalendarFeatures;
 import controller.EventData;
 import java.awt.BorderLayout;
@@ -20,13 +21,17 @@ import javax.swing.JScrollPane;
 import javax.swing.JTable;
 import javax.swing.SwingConstants;
 import javax.swing.table.DefaultTableCellRenderer;
-import javax.swing.table.DefaultTableModel;
 import javax.swing.table.JTableHeader;
 
 /**
- * This class represents a dialog that displays the events for a specific day. It extends JDialog
- * and provides GUI for viewing and managing events on that day. The dialog includes a table to
- * display the events, a header with the date, and buttons for creating and editing events.
+ * This class represents a dialog that displays the events for a specific day, or for a range of
+ * days as an agenda. It extends JDialog and provides GUI for viewing and managing events on those
+ * days. The dialog includes a table to display the events, a header with the dates, and buttons for
+ * creating and editing events.
+ *
+ * <p>The rows of the table are kept by an {@link AgendaTableModel}, which loads the events a page
+ * at a time as they are scrolled into view, so a day or a range with thousands of events opens
+ * and scrolls without building a row for every event.
  */
 public class DayDialog extends JDialog {
 
@@ -35,11 +40,13 @@ public class DayDialog extends JDialog {
 
   private final LocalDate date;
 
-  private final List<EventData> events;
+  private final LocalDate endDate;
+
+  private final AgendaSource source;
 
   private JTable eventsTable;
 
-  private DefaultTableModel tableModel;
+  private AgendaTableModel tableModel;
 
   private final CalendarFeatures calendarFeatures;
 
@@ -54,13 +61,28 @@ public class DayDialog extends JDialog {
    */
   public DayDialog(Frame owner, CalendarFeatures calendarFeatures, LocalDate date,
       List<EventData> events) {
-    super(owner, date.format(DATE_FORMATTER), true);
-    this.date = date;
-    this.events = events;
+    this(owner, calendarFeatures, date, date, AgendaSource.of(events));
+  }
+
+  /**
+   * This constructor initializes the DayDialog as an agenda of the events from the start date to
+   * the end date, loaded from the source as they are scrolled into view.
+   *
+   * @param owner            the owner frame of the dialog
+   * @param calendarFeatures the calendar features to be used for event management
+   * @param startDate        the first date of the agenda
+   * @param endDate          the last date of the agenda
+   * @param source           the source of the pages of the events of the agenda
+   */
+  public DayDialog(Frame owner, CalendarFeatures calendarFeatures, LocalDate startDate,
+      LocalDate endDate, AgendaSource source) {
+    super(owner, formatDates(startDate, endDate), true);
+    this.date = startDate;
+    this.endDate = endDate;
+    this.source = source;
     this.calendarFeatures = calendarFeatures;
 
     initComponents();
-    loadEventsToTable();
 
     // Set dialog properties
     setSize(600, 500);
@@ -105,7 +127,7 @@ public class DayDialog extends JDialog {
     JPanel headerPanel = new JPanel(new BorderLayout());
     headerPanel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
 
-    JLabel dateLabel = new JLabel(date.format(DATE_FORMATTER));
+    JLabel dateLabel = new JLabel(formatDates(date, endDate));
     dateLabel.setFont(new Font("Sans-Serif", Font.BOLD, 16));
     dateLabel.setBorder(BorderFactory.createEmptyBorder(5, 5, 5, 5));
 
@@ -118,7 +140,8 @@ public class DayDialog extends JDialog {
   }
 
   private void createScrollableEventsTable() {
-    this.tableModel = createTableModel();
+    // the dates are shown with the times when the events are on more than one day
+    this.tableModel = new AgendaTableModel(source, endDate.isAfter(date));
     eventsTable = new JTable(tableModel);
     eventsTable.setRowHeight(50);
     eventsTable.setShowGrid(true);
@@ -159,43 +182,19 @@ public class DayDialog extends JDialog {
     add(scrollPane, BorderLayout.CENTER);
   }
 
-  private DefaultTableModel createTableModel() {
-    String[] columnNames = {"Time", "Event", "Location", "Description"};
-    return new DefaultTableModel(columnNames, 0) {
-      @Override
-      public boolean isCellEditable(int row, int column) {
-        return false;
-      }
-    };
+  private static String formatDates(LocalDate startDate, LocalDate endDate) {
+    return endDate.isAfter(startDate)
+        ? startDate.format(DATE_FORMATTER) + " - " + endDate.format(DATE_FORMATTER)
+        : startDate.format(DATE_FORMATTER);
   }
 
   private void runAgainstSelectedEvent(Consumer<EventData> function) {
     int selectedRow = eventsTable.getSelectedRow();
-    if (selectedRow >= 0 && selectedRow < events.size()) {
-      EventData event = events.get(selectedRow);
-      function.accept(event);
-    }
-  }
-
-  private void loadEventsToTable() {
-    tableModel.setRowCount(0); // Clear existing rows
-    for (EventData event : events) {
-      Object[] rowData = {event.getAllDay()
-          ? "All day"
-          : event.getEndTime().toLocalDate().isAfter(event.getStartTime().toLocalDate())
-              ? "<html>"
-              + event.getStartTime().format(DateTimeFormatter.ofPattern("dd-MM-yy h:mm a"))
-              + "<br>"
-              + event.getEndTime().format(DateTimeFormatter.ofPattern("dd-MM-yy h:mm a"))
-              + "</html>"
-              : event.getStartTime().format(DateTimeFormatter.ofPattern("h:mm a"))
-                  + " - "
-                  + event.getEndTime().format(DateTimeFormatter.ofPattern("h:mm a")),
-          event.getSubject(),
-          event.getLocation(),
-          event.getDescription()
-      };
-      tableModel.addRow(rowData);
+    if (selectedRow >= 0) {
+      EventData event = tableModel.getEventAt(selectedRow);
+      if (event != null) {
+        function.accept(event);
+      }
     }
   }
 
@@ -8,6 +8,7 @@ import java.time.ZonedDateTime;
 import javax.swing.BorderFactory;
 import javax.swing.JButton;
 import javax.swing.JPanel;
+import javax.swing.JProgressBar;
 
 /**
  * This is the footer panel of the calendar GUI. It contains the buttons for creating a new event.
@@ -21,6 +22,8 @@ public class FooterPanel extends JPanel {
 
   private JButton todayBtn;
 
+  private JButton agendaBtn;
+
   private CalendarFeatures calendarFeatures;
 
   private String currentTimezone;
@@ -29,6 +32,8 @@ public class FooterPanel extends JPanel {
 
   private JPanel timeZonePanel;
 
+  private JProgressBar progressBar;
+
   /**
    * This constructor initializes the OperationButtonsPanel and adds the new event button to it.
    */
@@ -49,9 +54,15 @@ public class FooterPanel extends JPanel {
     createNewEventButton();
     // create today button
     createTodayBtn();
+    // create the button listing the events of the month
+    createAgendaBtn();
+    // create the progress bar of the long running operations
+    createProgressBar();
 
     add(timeZonePanel, BorderLayout.WEST);
+    operationButtonsPanel.add(progressBar);
     operationButtonsPanel.add(todayBtn);
+    operationButtonsPanel.add(agendaBtn);
     operationButtonsPanel.add(createEventBtn);
   }
 
@@ -63,6 +74,12 @@ public class FooterPanel extends JPanel {
     timeZonePanel.add(timeZoneBtn);
   }
 
+  private void createProgressBar() {
+    progressBar = new JProgressBar(0, 100);
+    progressBar.setStringPainted(true);
+    progressBar.setVisible(false);
+  }
+
   private void createTodayBtn() {
     todayBtn = new JButton("Today");
 
@@ -71,6 +88,14 @@ public class FooterPanel extends JPanel {
     });
   }
 
+  private void createAgendaBtn() {
+    agendaBtn = new JButton("Agenda");
+
+    agendaBtn.addActionListener(e -> {
+      calendarFeatures.requestMonthAgenda();
+    });
+  }
+
   private void createNewEventButton() {
     createEventBtn = new JButton("New Event");
 
@@ -99,4 +124,23 @@ public class FooterPanel extends JPanel {
     this.currentTimezone = tz;
     timeZoneBtn.setText("Timezone: " + tz);
   }
+
+  /**
+   * This method shows the progress of a long running operation, such as importing events.
+   *
+   * @param task    the name of the operation
+   * @param percent the progress of the operation, in percent
+   */
+  public void showProgress(String task, int percent) {
+    progressBar.setValue(percent);
+    progressBar.setString(task + " " + percent + "%");
+    progressBar.setVisible(true);
+  }
+
+  /**
+   * This method hides the progress of the operation after it ends.
+   */
+  public void hideProgress() {
+    progressBar.setVisible(false);
+  }
 }
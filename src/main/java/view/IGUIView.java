@@ -1,6 +1,8 @@
 package view;
 
+import controller.AgendaSource;
 import controller.CalendarFeatures;
+import controller.DaySummaryData;
 import controller.EventData;
 import java.time.LocalDate;
 import java.time.YearMonth;
@@ -21,6 +23,28 @@ public interface IGUIView extends IView {
    */
   void showDayViewDialog(LocalDate date, List<EventData> events);
 
+  /**
+   * Show the events of a range of dates as a list, loading the events from the source a page at a
+   * time as the list is scrolled.
+   *
+   * @param startDate the first date of the range
+   * @param endDate   the last date of the range
+   * @param source    the source of the pages of the events
+   */
+  void showAgendaDialog(LocalDate startDate, LocalDate endDate, AgendaSource source);
+
+  /**
+   * Clear the events found by the search, before a new search.
+   */
+  void clearSearchResults();
+
+  /**
+   * Add events found by the search to the results shown, as the search finds them.
+   *
+   * @param events the events found
+   */
+  void addSearchResults(List<EventData> events);
+
   /**
    * It sets the month and year label in the calendar view.
    *
@@ -36,6 +60,14 @@ public interface IGUIView extends IView {
    */
   void setCalendarMonthDates(YearMonth monthYear);
 
+  /**
+   * It shows the number of events of the days in the calendar view, and shades the days by how
+   * busy they are.
+   *
+   * @param summaries the summaries of the days of the month displayed
+   */
+  void setDaySummaries(List<DaySummaryData> summaries);
+
   /**
    * It sets the current available calendar names in the calendar selector dropdown.
    *
@@ -93,6 +125,19 @@ public interface IGUIView extends IView {
    */
   void displayRecurringEventOptions(String[] options);
 
+  /**
+   * Shows the progress of a long running operation, such as importing events from a file.
+   *
+   * @param task    the name of the operation
+   * @param percent the progress of the operation, in percent
+   */
+  void showProgress(String task, int percent);
+
+  /**
+   * Hides the progress after the long running operation ends.
+   */
+  void hideProgress();
+
   /**
    * A dialog to show to the user when the create event button is clicked in the event dialog.
    *
@@ -1,6 +1,8 @@
 package view;
 
+import controller.AgendaSource;
 import controller.CalendarFeatures;
+import controller.DaySummaryData;
 import controller.EventData;
 import java.awt.BorderLayout;
 import java.awt.Dimension;
@@ -78,6 +80,28 @@ public class SwingView extends JFrame implements IGUIView {
     dayDialog.setVisible(true);
   }
 
+  @Override
+  public void showAgendaDialog(LocalDate startDate, LocalDate endDate, AgendaSource source) {
+    if (dayDialog != null) {
+      dayDialog.dispose();
+    }
+    if (eventDialog != null) {
+      eventDialog.dispose();
+    }
+    dayDialog = new DayDialog(this, calendarFeatures, startDate, endDate, source);
+    dayDialog.setVisible(true);
+  }
+
+  @Override
+  public void clearSearchResults() {
+    bannerPanel.clearSearchResults();
+  }
+
+  @Override
+  public void addSearchResults(List<EventData> events) {
+    bannerPanel.addSearchResults(events);
+  }
+
   @Override
   public void setMonthYearLabel(YearMonth monthYear) {
     datesPanel.updateMonthYearLabel(monthYear);
@@ -88,6 +112,21 @@ public class SwingView extends JFrame implements IGUIView {
     datesPanel.updateCalendarYearMonthDates(yearMonth);
   }
 
+  @Override
+  public void setDaySummaries(List<DaySummaryData> summaries) {
+    datesPanel.updateDaySummaries(summaries);
+  }
+
+  @Override
+  public void showProgress(String task, int percent) {
+    operationButtonsPanel.showProgress(task, percent);
+  }
+
+  @Override
+  public void hideProgress() {
+    operationButtonsPanel.hideProgress();
+  }
+
   @Override
   public void setAvailableCalendars(String[] calendars) {
     bannerPanel.setCalendarSelector(calendars);
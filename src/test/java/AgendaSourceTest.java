@@ -0,0 +1,61 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import controller.AgendaPageData;
+import controller.AgendaSource;
+import controller.EventData;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * This is a test class for the AgendaSource of the events already loaded.
+ */
+public class AgendaSourceTest {
+
+  private static EventData event(String subject, LocalDateTime start) {
+    return EventData.getBuilder()
+        .setSubject(subject)
+        .setStartTime(start)
+        .setEndTime(start.plusHours(1))
+        .setIsAllDay(false)
+        .setIsRecurring(false)
+        .build();
+  }
+
+  @Test
+  public void testPagesCoverEventsStartingAtSameTime() {
+    LocalDateTime nine = LocalDateTime.of(2025, 4, 10, 9, 0);
+    List<EventData> events = new ArrayList<>();
+    for (int i = 0; i < 7; i++) {
+      events.add(event("Room " + i, i < 5 ? nine : nine.plusHours(1)));
+    }
+    AgendaSource source = AgendaSource.of(events);
+
+    List<EventData> paged = new ArrayList<>();
+    List<AgendaPageData> pages = new ArrayList<>();
+    source.loadPage(null, 0, 3, pages::add);
+    while (pages.get(pages.size() - 1).hasMore()) {
+      AgendaPageData last = pages.get(pages.size() - 1);
+      paged.addAll(last.getEvents());
+      source.loadPage(last.getNextStart(), last.getNextSkip(), 3, pages::add);
+    }
+    paged.addAll(pages.get(pages.size() - 1).getEvents());
+
+    assertEquals(events, paged);
+    assertEquals(3, pages.size());
+    assertEquals(nine, pages.get(0).getNextStart());
+    assertEquals(3, pages.get(0).getNextSkip());
+    assertTrue(pages.get(1).hasMore());
+  }
+
+  @Test
+  public void testEmptyEvents() {
+    List<AgendaPageData> pages = new ArrayList<>();
+    AgendaSource.of(List.of()).loadPage(null, 0, 10, pages::add);
+    assertTrue(pages.get(0).getEvents().isEmpty());
+    assertFalse(pages.get(0).hasMore());
+  }
+}
@@ -7,6 +7,7 @@ import java.util.List;
 import org.junit.Before;
 import org.junit.Test;
 import service.CSVCalendarExporter;
+import service.ICalendarExporter;
 
 /**
  * Test class for CSVCalendarExporter. It tests the export method to ensure that it
@@ -41,6 +42,22 @@ public class CSVCalendarExporterTest {
         exporter.export(events));
   }
 
+  @Test
+  public void testExportSinkMatchesListExport() {
+    populateEvents();
+    ICalendarExporter.ExportSink exportSink = exporter.newExportSink();
+    events.forEach(exportSink);
+    assertEquals(exporter.export(events), exportSink.finish());
+  }
+
+  @Test
+  public void testExportSinkWithoutEvents() {
+    assertEquals("Subject,Start Date,Start Time,End Date,End Time,"
+            + "All Day Event,Description,Location,Private"
+            + System.lineSeparator(),
+        exporter.newExportSink().finish());
+  }
+
   private void populateEvents() {
     // simple event
     events.add(EventDTO.getBuilder()
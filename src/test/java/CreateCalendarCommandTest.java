@@ -18,7 +18,7 @@ public class CreateCalendarCommandTest extends AbstractCommandTest {
 
   @Test
   public void testInvalidEmptyCommand() {
-    assertEquals("Invalid command format: create (calendar|event) ...",
+    assertEquals("Invalid command format: create (calendar|event|events) ...",
         getErrorMessageWithInput("create"));
   }
 
@@ -61,7 +61,7 @@ public class CreateCalendarCommandTest extends AbstractCommandTest {
 
   @Test
   public void testInvalidCommandNoTimezone() {
-    assertEquals("Invalid command format: create (calendar|event) ...",
+    assertEquals("Invalid command format: create (calendar|event|events) ...",
         getErrorMessageWithInput("create calendar --name calendarName --timezone"));
   }
 
@@ -77,13 +77,13 @@ public class CreateCommandTest extends AbstractCommandTest {
 
   @Test
   public void invalidCreateMissingTokens() {
-    assertEquals("Invalid command format: create (calendar|event) ...",
+    assertEquals("Invalid command format: create (calendar|event|events) ...",
         getErrorMessageWithInput("create "));
   }
 
   @Test
   public void invalidCreateEvend() {
-    assertEquals("Invalid command: create (calendar|event) ...",
+    assertEquals("Invalid command: create (calendar|event|events) ...",
         getErrorMessageWithInput("create evend"));
   }
 
@@ -0,0 +1,84 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import exception.EventConflictException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * This is a test class for the CreateEventsCommand class.
+ */
+public class CreateEventsCommandTest extends AbstractCommandTest {
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private String writeEvents(String... rows) throws IOException {
+    File file = temporaryFolder.newFile("events.csv");
+    Files.writeString(file.toPath(),
+        "Subject,Start Date,Start Time,End Date,End Time\n" + String.join("\n", rows));
+    return file.getPath();
+  }
+
+  @Test
+  public void invalidFromFileFlag() {
+    assertEquals("Invalid command format: create events [--autoDecline] --from-file ...",
+        getErrorMessageWithInput("create events --file events.csv"));
+    assertFalse(mockModel.createEventsCalled);
+  }
+
+  @Test
+  public void missingFilePath() {
+    assertEquals("Invalid command format: create events [--autoDecline] --from-file <filePath>",
+        getErrorMessageWithInput("create events --autoDecline --from-file"));
+  }
+
+  @Test
+  public void fileNotFound() {
+    assertEquals("File not found: missing.csv",
+        getErrorMessageWithInput("create events --from-file missing.csv"));
+    assertFalse(mockModel.createEventsCalled);
+  }
+
+  @Test
+  public void validCreateEventsFromFile() throws IOException {
+    String path = writeEvents(
+        "Standup,03/10/2025,09:00 AM,03/10/2025,09:30 AM",
+        "Review,03/10/2025,10:00 AM,03/10/2025,11:00 AM");
+    mockModel.setCreateEventsReturn = Arrays.asList(null, null);
+    assertEquals("Created 2 of 2 event(s)",
+        getDisplayMessageWithInput("create events --from-file \"" + path + "\""));
+    assertTrue(mockModel.createEventsCalled);
+    assertFalse(mockModel.createEventsAutoDeclineReceived);
+    assertEquals(2, mockModel.createEventsReceived.size());
+    assertEquals("Review", mockModel.createEventsReceived.get(1).getSubject());
+    assertEquals(LocalDateTime.of(2025, 3, 10, 10, 0),
+        mockModel.createEventsReceived.get(1).getStartTime());
+  }
+
+  @Test
+  public void createEventsReportsDeclinedEvents() throws IOException {
+    String path = writeEvents(
+        "Standup,03/10/2025,09:00 AM,03/10/2025,09:30 AM",
+        "Review,03/10/2025,09:15 AM,03/10/2025,11:00 AM",
+        "Broken,03/10/2025,09:15 AM,03/10/2025,08:00 AM",
+        "Unreadable,not a date,09:15 AM,03/10/2025,11:00 AM");
+    mockModel.setCreateEventsReturn = Arrays.asList(
+        null, new EventConflictException("Auto-declined event has conflict"),
+        new IllegalArgumentException("Start time cannot be after end time"));
+    assertEquals("Created 1 of 4 event(s)\n"
+            + "- Auto-declined event has conflict: Review on 2025-03-10T09:15\n"
+            + "- Start time cannot be after end time: Broken on 2025-03-10T09:15\n"
+            + "- Skipped 1 unreadable row(s)",
+        getDisplayMessageWithInput("create events --autoDecline --from-file " + path));
+    assertTrue(mockModel.createEventsAutoDeclineReceived);
+    assertEquals(3, mockModel.createEventsReceived.size());
+  }
+}
@@ -0,0 +1,98 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+import java.time.LocalDateTime;
+import org.junit.Test;
+
+/**
+ * This is a test class for the DeleteEventsCommand class.
+ */
+public class DeleteEventsCommandTest extends AbstractCommandTest {
+
+  @Test
+  public void invalidDeleteEvent() {
+    assertEquals("Invalid command format: delete events ...",
+        getErrorMessageWithInput("delete event from 2025-01-01T00:00 to 2025-04-01T00:00"));
+    assertFalse(mockModel.deleteEventsCalled);
+  }
+
+  @Test
+  public void invalidDeleteEventsOn() {
+    assertEquals("Invalid command format: delete events from ...",
+        getErrorMessageWithInput("delete events on 2025-01-01"));
+  }
+
+  @Test
+  public void invalidStartDateTime() {
+    assertEquals("Invalid startDateTime format: yyyy-MM-dd'T'HH:mm",
+        getErrorMessageWithInput("delete events from 2025/01/01T00:00 to 2025-04-01T00:00"));
+  }
+
+  @Test
+  public void invalidTo() {
+    assertEquals("Invalid command format: delete events from <dateStringTtimeString> to ...",
+        getErrorMessageWithInput("delete events from 2025-01-01T00:00 till 2025-04-01T00:00"));
+  }
+
+  @Test
+  public void invalidEndDateTime() {
+    assertEquals("Invalid endDateTime format: yyyy-MM-dd'T'HH:mm",
+        getErrorMessageWithInput("delete events from 2025-01-01T00:00 to 2025-04-01"));
+  }
+
+  @Test
+  public void incompleteDelete() {
+    assertEquals("Invalid command format: delete events "
+            + "from <startDateTime> to <endDateTime> [--name <eventName>]",
+        getErrorMessageWithInput("delete events from 2025-01-01T00:00 to"));
+  }
+
+  @Test
+  public void endBeforeStart() {
+    assertEquals("End date time cannot be before start date time",
+        getErrorMessageWithInput("delete events from 2025-04-01T00:00 to 2025-01-01T00:00"));
+    assertFalse(mockModel.deleteEventsCalled);
+  }
+
+  @Test
+  public void invalidNameFlag() {
+    assertEquals("Invalid command format: delete events from <startDateTime> to <endDateTime> "
+            + "--name ...",
+        getErrorMessageWithInput(
+            "delete events from 2025-01-01T00:00 to 2025-04-01T00:00 --subject Standup"));
+  }
+
+  @Test
+  public void validDeleteAllInRange() {
+    mockModel.setDeleteEventsReturn = 42;
+    assertEquals("Deleted 42 event(s)",
+        getDisplayMessageWithInput("delete events from 2025-01-01T00:00 to 2025-04-01T00:00"));
+    assertEquals(LocalDateTime.of(2025, 1, 1, 0, 0), mockModel.deleteEventsReceived.startTime);
+    assertEquals(LocalDateTime.of(2025, 4, 1, 0, 0), mockModel.deleteEventsReceived.endTime);
+    assertNull(mockModel.deleteEventsReceived.name);
+  }
+
+  @Test
+  public void validDeleteWithQuotedName() {
+    mockModel.setDeleteEventsReturn = 3;
+    assertEquals("Deleted 3 event(s)",
+        getDisplayMessageWithInput("delete events from 2025-01-01T00:00 to 2025-04-01T00:00 "
+            + "--name \"Team Standup\""));
+    assertEquals("Team Standup", mockModel.deleteEventsReceived.name);
+  }
+
+  @Test
+  public void validDeleteWithName() {
+    getDisplayMessageWithInput(
+        "delete events from 2025-01-01T00:00 to 2025-04-01T00:00 --name Standup");
+    assertEquals("Standup", mockModel.deleteEventsReceived.name);
+  }
+
+  @Test
+  public void deleteWithModelError() {
+    mockModel.shouldThrowIllegalArgumentException = true;
+    assertEquals("Illegal argument thrown by MockModel",
+        getErrorMessageWithInput("delete events from 2025-01-01T00:00 to 2025-04-01T00:00"));
+  }
+}
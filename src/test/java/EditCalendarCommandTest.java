@@ -1,4 +1,5 @@
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import controller.CalendarController;
@@ -6,6 +7,7 @@ import controller.ControllerMode;
 import dto.EventDTO;
 import dto.RecurringDetailsDTO;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -112,7 +114,7 @@ public class EditCalendarCommandTest extends AbstractCommandTest {
   }
 
   @Test
-  public void testEditTimezoneForCalendarWithRecurringEventUntilShiftsTime() {
+  public void testEditTimezoneForCalendarWithRecurringEventUntilSetsModelZone() {
     String command = "create calendar --name \"test_calendar\" --timezone Asia/Kolkata"
         + System.lineSeparator()
         + "use calendar --name \"test_calendar\""
@@ -141,18 +143,17 @@ public class EditCalendarCommandTest extends AbstractCommandTest {
     controller = new CalendarController(mockModelFactory, mockView, ControllerMode.INTERACTIVE);
     controller.run();
 
-    assertTrue(mockModel.getAllEventsCalled);
-    assertTrue(mockModel.createEventCalled);
-    // check for timezone shift on editing the timezone property
-    assertEquals("2025-04-11T02:30", mockModel.targetStartDateTime.toString());
-    assertTrue(mockModel.eventIsRecurring);
+    assertFalse(mockModel.getAllEventsCalled);
+    assertFalse(mockModel.createEventCalled);
+    // the timezone shift is left to the model, which presents its events in the new zone
+    assertEquals(ZoneId.of("America/New_York"), mockModel.setZoneIdReceived);
     assertTrue(mockView.displayMessage.toString().contains("Created calendar test_calendar"));
     assertTrue(mockView.displayMessage.toString().contains("Switched to test_calendar"));
     assertTrue(mockView.displayMessage.toString().contains("Calendar updated successfully"));
   }
 
   @Test
-  public void testEditTimezoneForCalendarWithRecurringEventOccurrenceShiftsTime() {
+  public void testEditTimezoneForCalendarWithRecurringEventOccurrenceSetsModelZone() {
     String command = "create calendar --name \"test_calendar\" --timezone Asia/Kolkata"
         + System.lineSeparator()
         + "use calendar --name \"test_calendar\""
@@ -181,18 +182,17 @@ public class EditCalendarCommandTest extends AbstractCommandTest {
     controller = new CalendarController(mockModelFactory, mockView, ControllerMode.INTERACTIVE);
     controller.run();
 
-    assertTrue(mockModel.getAllEventsCalled);
-    assertTrue(mockModel.createEventCalled);
-    // check for timezone shift on editing the timezone property
-    assertEquals("2025-04-11T02:30", mockModel.targetStartDateTime.toString());
-    assertTrue(mockModel.eventIsRecurring);
+    assertFalse(mockModel.getAllEventsCalled);
+    assertFalse(mockModel.createEventCalled);
+    // the timezone shift is left to the model, which presents its events in the new zone
+    assertEquals(ZoneId.of("America/New_York"), mockModel.setZoneIdReceived);
     assertTrue(mockView.displayMessage.toString().contains("Created calendar test_calendar"));
     assertTrue(mockView.displayMessage.toString().contains("Switched to test_calendar"));
     assertTrue(mockView.displayMessage.toString().contains("Calendar updated successfully"));
   }
 
   @Test
-  public void testEditTimezoneForCalendarWithSimpleEventsShiftsTime() {
+  public void testEditTimezoneForCalendarWithSimpleEventsSetsModelZone() {
     String command = "create calendar --name \"test_calendar\" --timezone Asia/Kolkata"
         + System.lineSeparator()
         + "use calendar --name \"test_calendar\""
@@ -214,8 +214,9 @@ public class EditCalendarCommandTest extends AbstractCommandTest {
     controller = new CalendarController(mockModelFactory, mockView, ControllerMode.INTERACTIVE);
     controller.run();
 
-    assertTrue(mockModel.getAllEventsCalled);
-    assertTrue(mockModel.createEventCalled);
-    assertEquals("2025-04-10T16:30", mockModel.targetStartDateTime.toString());
+    assertFalse(mockModel.getAllEventsCalled);
+    assertFalse(mockModel.createEventCalled);
+    // the timezone shift is left to the model, which presents its events in the new zone
+    assertEquals(ZoneId.of("America/New_York"), mockModel.setZoneIdReceived);
   }
 }
@@ -37,6 +37,22 @@ public class ExportCalendarTest {
       this.events.addAll(events);
       return "Export Called";
     }
+
+    @Override
+    public ExportSink newExportSink() {
+      exportCalled = true;
+      return new ExportSink() {
+        @Override
+        public void accept(EventDTO event) {
+          events.add(event);
+        }
+
+        @Override
+        public String finish() {
+          return "Export Called";
+        }
+      };
+    }
   }
 
   @Test
@@ -4,6 +4,7 @@ import static org.junit.Assert.assertTrue;
 
 import dto.EventDTO;
 import dto.RecurringDetailsDTO;
+import exception.EventConflictException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -11,6 +12,7 @@ import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import model.CalendarDayOfWeek;
+import model.CalendarModel;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -209,6 +211,31 @@ public class ExtendedCopyEventCommandTest extends AbstractCommandTest {
     assertTrue(mockModel.createEventCalled);
   }
 
+  @Test
+  public void testCopyEventsReportsErrorsApartFromConflicts() {
+    List<EventDTO> eventsToReturn = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      eventsToReturn.add(EventDTO.getBuilder()
+          .setSubject("Event " + (i + 1))
+          .setStartTime(LocalDateTime.of(2025, 4, 1 + i, 8 + i, 0))
+          .setEndTime(LocalDateTime.of(2025, 4, 1 + i, 9 + i, 0))
+          .setIsAllDay(false)
+          .setIsRecurring(false)
+          .build());
+    }
+    mockModel.setGetEventsOnDate = eventsToReturn;
+    mockModel.setCreateEventsReturn = Arrays.asList(null,
+        new IllegalArgumentException("Invalid event details"),
+        new EventConflictException("Auto-declined event has conflict"));
+
+    assertEquals("Successfully copied 1 event(s) to default\n"
+            + "The following events were not copied due to conflicts:\n"
+            + "- Event Conflict: Event 3 on 2025-04-05T10:00\n"
+            + "The following events were not copied due to errors:\n"
+            + "- Invalid event details: Event 2 on 2025-04-04T09:00",
+        getDisplayMessageWithInput("copy events on 2025-04-01 --target default to 2025-04-03"));
+  }
+
   @Test
   public void testCopyEventsBetweenDates() {
     // create events to copy between the dates
@@ -312,4 +339,19 @@ public class ExtendedCopyEventCommandTest extends AbstractCommandTest {
     // recurring details should be reset (event copied is not recurring)
     assertFalse(mockModel.eventIsRecurring);
   }
+
+  @Test
+  public void testCopyEventsWithCalendarModel() {
+    mockModelFactory = CalendarModel::new;
+    String output = getDisplayMessageWithInput(
+        "create event Standup from 2025-04-01T09:00 to 2025-04-01T10:00\n"
+            + "create event Review from 2025-04-01T10:00 to 2025-04-01T11:00\n"
+            + "create event Retro from 2025-04-01T11:00 to 2025-04-01T12:00\n"
+            + "create event Blocker from 2025-04-03T10:30 to 2025-04-03T11:30\n"
+            + "copy events on 2025-04-01 --target default to 2025-04-03");
+    assertTrue(output.endsWith("Successfully copied 1 event(s) to default\n"
+        + "The following events were not copied due to conflicts:\n"
+        + "- Event Conflict: Review on 2025-04-03T10:00\n"
+        + "- Event Conflict: Retro on 2025-04-03T11:00"));
+  }
 }
@@ -4,12 +4,15 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
+import controller.AgendaPageData;
 import controller.CalendarFeatures;
 import controller.CalendarWeekDays;
 import controller.EventData;
 import controller.GUIController;
 import controller.IController;
+import controller.ModelAccess;
 import controller.RecurrenceData;
+import dto.DaySummary;
 import dto.EventDTO;
 import dto.ImportResult;
 import dto.RecurringDetailsDTO;
@@ -19,14 +22,18 @@ import java.io.Reader;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Queue;
 import java.util.Scanner;
 import java.util.Set;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 import model.CalendarDayOfWeek;
+import model.CalendarModel;
 import model.IModel;
 import org.junit.Before;
 import org.junit.Test;
@@ -54,7 +61,7 @@ public class GUIControllerTest {
     view = new MockGUIView();
     model = new MockModel();
     modelSupplier = () -> model;
-    GUIController guiController = new GUIController(modelSupplier, view);
+    GUIController guiController = new GUIController(modelSupplier, view, ModelAccess.direct());
     importer = new MockImporter();
     guiController.setImporter(importer);
     controller = guiController;
@@ -62,11 +69,15 @@ public class GUIControllerTest {
     ((IController) controller).run();
     controller = view.lastSetFeatures;
     view.reset();
+    // showing the current month loads it and the months around it
+    model.getEventsOnDateCalled = false;
+    model.getEventsOnDateReceived = null;
+    model.getDaySummariesReceived = null;
   }
 
   @Test
   public void testRun() {
-    GUIController controller = new GUIController(modelSupplier, view);
+    GUIController controller = new GUIController(modelSupplier, view, ModelAccess.direct());
     controller.run();
     assertTrue(view.setAvailableCalendarsCalled);
     assertTrue(view.setCurrentCalendarTzCalled);
@@ -196,6 +207,35 @@ public class GUIControllerTest {
     assertFalse(view.displayErrorCalled);
   }
 
+  @Test
+  public void testEditCalendarChangesZoneOnBackgroundThread() {
+    Queue<Runnable> background = new ArrayDeque<>();
+    Queue<Runnable> foreground = new ArrayDeque<>();
+    GUIController guiController = new GUIController(modelSupplier, view,
+        new ModelAccess(background::add, foreground::add));
+    guiController.run();
+    CalendarFeatures features = view.lastSetFeatures;
+    background.clear();
+    foreground.clear();
+    view.reset();
+    model.setZoneIdReceived = null;
+
+    features.editCalendar("Default", "Default", "Europe/London");
+    assertNull(model.setZoneIdReceived);
+    assertFalse(view.setCurrentCalendarTzCalled);
+
+    background.poll().run();
+    assertEquals(ZoneId.of("Europe/London"), model.setZoneIdReceived);
+    assertFalse(view.setCurrentCalendarTzCalled);
+
+    // the entry is updated on the thread of the view without using the model
+    model.setZoneIdReceived = null;
+    foreground.poll().run();
+    assertNull(model.setZoneIdReceived);
+    assertEquals("Europe/London", view.lastSetCurrentCalendarTz);
+    assertFalse(view.displayErrorCalled);
+  }
+
   @Test
   public void testEditCalendarNewNameExists() {
     controller.createCalendar("ExistingCal", "UTC");
@@ -379,6 +419,78 @@ public class GUIControllerTest {
     assertEquals(next, view.lastSetMonthYearLabelMonthYear);
     assertTrue(view.setCalendarMonthDatesCalled);
     assertEquals(next, view.lastSetCalendarMonthDatesMonthYear);
+    assertTrue(view.setDaySummariesCalled);
+    // the month after the month shown is prefetched last
+    assertEquals(next.plusMonths(1), model.getDaySummariesReceived);
+    assertEquals(31, view.lastSetDaySummaries.size());
+    assertEquals(next.atDay(1), view.lastSetDaySummaries.get(0).getDate());
+  }
+
+  @Test
+  public void testNextMonthYearShowsPrefetchedMonth() {
+    YearMonth current = YearMonth.of(2025, 4);
+    controller.nextMonthYear(current);
+    model.getDaySummariesReceived = null;
+    model.getEventsOnDateCalled = false;
+    view.reset();
+
+    controller.nextMonthYear(current.plusMonths(1));
+
+    assertEquals(YearMonth.of(2025, 6), view.lastSetMonthYearLabelMonthYear);
+    assertTrue(view.setDaySummariesCalled);
+    assertEquals(30, view.lastSetDaySummaries.size());
+    assertEquals(LocalDate.of(2025, 6, 1), view.lastSetDaySummaries.get(0).getDate());
+    // only the month after it is loaded from the model
+    assertEquals(YearMonth.of(2025, 7), model.getDaySummariesReceived);
+
+    model.getEventsOnDateCalled = false;
+    controller.viewDay(LocalDate.of(2025, 6, 10));
+    assertFalse(model.getEventsOnDateCalled);
+    assertTrue(view.showDayViewDialogCalled);
+    assertEquals(LocalDate.of(2025, 6, 10), view.lastShowDayViewDialogDate);
+  }
+
+  @Test
+  public void testPrefetchedMonthIsInvalidatedByModelChanges() {
+    GUIController guiController = new GUIController(CalendarModel::new, view,
+        ModelAccess.direct());
+    guiController.run();
+    CalendarFeatures features = view.lastSetFeatures;
+    YearMonth april = YearMonth.of(2025, 4);
+    features.nextMonthYear(april);
+    features.previousMonthYear(april.plusMonths(1));
+    assertEquals(0, view.lastSetDaySummaries.get(9).getEventCount());
+
+    features.createEvent(createBasicEventData(LocalDate.of(2025, 4, 10)));
+    assertEquals(1, view.lastSetDaySummaries.get(9).getEventCount());
+
+    // the month is only prefetched while the month before it is shown
+    features.previousMonthYear(april);
+    features.createEvent(createBasicEventData(LocalDate.of(2025, 4, 11)));
+    features.nextMonthYear(april.minusMonths(1));
+    assertEquals(1, view.lastSetDaySummaries.get(10).getEventCount());
+    features.viewDay(LocalDate.of(2025, 4, 11));
+    assertEquals(1, view.lastShowDayViewDialogEvents.size());
+  }
+
+  @Test
+  public void testMonthLoadedWhileModelChangedIsNotKept() {
+    MockModel changingModel = new MockModel() {
+      @Override
+      public List<DaySummary> getDaySummaries(YearMonth yearMonth) {
+        // the model changes while its month is loaded
+        changeListeners.forEach(listener -> listener.modelChanged(List.of()));
+        return super.getDaySummaries(yearMonth);
+      }
+    };
+    GUIController guiController = new GUIController(() -> changingModel, view,
+        ModelAccess.direct());
+    guiController.run();
+    changingModel.getEventsOnDateCalled = false;
+
+    view.lastSetFeatures.viewDay(LocalDate.now());
+    assertTrue(changingModel.getEventsOnDateCalled);
+    assertTrue(view.showDayViewDialogCalled);
   }
 
   @Test
@@ -393,6 +505,68 @@ public class GUIControllerTest {
     assertEquals(previous, view.lastSetCalendarMonthDatesMonthYear);
   }
 
+  @Test
+  public void testRequestMonthAgenda() {
+    YearMonth month = YearMonth.of(2025, 4);
+    controller.nextMonthYear(month.minusMonths(1));
+    model.setGetEventsInRange = List.of(EventDTO.getBuilder()
+        .setSubject("Booking")
+        .setStartTime(month.atDay(3).atTime(9, 0))
+        .setEndTime(month.atDay(3).atTime(10, 0))
+        .setIsAllDay(false)
+        .setIsRecurring(false)
+        .build());
+
+    controller.requestMonthAgenda();
+
+    assertTrue(view.showAgendaDialogCalled);
+    assertEquals(month.atDay(1), view.lastAgendaStartDate);
+    assertEquals(month.atEndOfMonth(), view.lastAgendaEndDate);
+    // the events are only loaded when the view asks for a page
+    assertEquals(0, model.getEventsPageCallCount);
+
+    List<AgendaPageData> pages = new ArrayList<>();
+    LocalDateTime cursor = month.atDay(2).atTime(8, 0);
+    view.lastAgendaSource.loadPage(cursor, 1, 50, pages::add);
+    assertEquals(1, model.getEventsPageCallCount);
+    assertEquals(cursor, model.getEventsPageCursorReceived);
+    assertEquals(1, pages.size());
+    assertEquals("Booking", pages.get(0).getEvents().get(0).getSubject());
+    assertFalse(pages.get(0).hasMore());
+  }
+
+  @Test
+  public void testSearchEvents() {
+    List<EventDTO> found = new ArrayList<>();
+    for (int i = 0; i < 25; i++) {
+      found.add(EventDTO.getBuilder()
+          .setSubject("Design review " + i)
+          .setStartTime(LocalDateTime.of(2025, 4, 1, 9, 0).plusDays(i))
+          .setEndTime(LocalDateTime.of(2025, 4, 1, 10, 0).plusDays(i))
+          .setIsAllDay(false)
+          .setIsRecurring(false)
+          .build());
+    }
+    model.setSearchEvents = found;
+
+    controller.searchEvents("des rev");
+
+    assertTrue(view.clearSearchResultsCalled);
+    assertEquals("des rev", model.searchEventsReceived);
+    assertEquals(25, view.searchResults.size());
+    assertEquals("Design review 24", view.searchResults.get(24).getSubject());
+    assertFalse(view.displayErrorCalled);
+  }
+
+  @Test
+  public void testSearchEventsEmptyQueryClearsResults() {
+    controller.searchEvents("  ");
+
+    assertTrue(view.clearSearchResultsCalled);
+    assertNull(model.searchEventsReceived);
+    assertTrue(view.searchResults.isEmpty());
+  }
+
   // create event
 
   private EventData createBasicEventData(LocalDate date) {
@@ -440,6 +614,33 @@ public class GUIControllerTest {
     assertTrue(view.displayMessageCalled);
   }
 
+  @Test
+  public void testCreateEventUsesCalendarCurrentWhenRequested() {
+    List<MockModel> models = new ArrayList<>();
+    Queue<Runnable> background = new ArrayDeque<>();
+    GUIController guiController = new GUIController(() -> {
+      MockModel created = new MockModel();
+      models.add(created);
+      return created;
+    }, view, new ModelAccess(background::add, Runnable::run));
+    guiController.run();
+    CalendarFeatures features = view.lastSetFeatures;
+    features.createCalendar("Other", "UTC");
+    features.switchCalendar("Default");
+    background.clear();
+
+    features.createEvent(createBasicEventData(LocalDate.of(2025, 5, 1)));
+    // the calendar is switched before the create runs on the background thread
+    features.switchCalendar("Other");
+    while (!background.isEmpty()) {
+      background.poll().run();
+    }
+
+    assertTrue(models.get(0).createEventCalled);
+    assertTrue(models.get(0).getEventsOnDateCalled);
+    assertFalse(models.get(1).createEventCalled);
+  }
+
   @Test
   public void testCreateEventRecurringSuccess() {
     LocalDate date = LocalDate.of(2025, 5, 1);
@@ -602,6 +803,7 @@ public class GUIControllerTest {
     assertTrue(view.displayMessageCalled);
     assertFalse(view.displayErrorCalled);
     assertEquals("Successfully imported 1 out of 1 records.", view.lastDisplayMessage);
+    assertTrue(view.hideProgressCalled);
   }
 
   @Test
@@ -708,6 +910,63 @@ public class GUIControllerTest {
         .build();
   }
 
+  @Test
+  public void testEditEventAddressedById() {
+    LocalDate date = LocalDate.of(2025, 6, 1);
+    EventData existing = EventData.getBuilder()
+        .setSubject("Existing Event")
+        .setStartTime(date.atTime(10, 0))
+        .setEndTime(date.atTime(11, 0))
+        .setDescription("Desc")
+        .setLocation("Loc")
+        .setIsPublic(true)
+        .setIsRecurring(false)
+        .setIsAllDay(false)
+        .setId(17L)
+        .build();
+    EventData changed = createNewNonRecurringEventData(date);
+    model.setGetEventsOnDate = Collections.emptyList();
+
+    controller.editEvent(existing, changed);
+
+    assertTrue(model.editEventCalled);
+    assertEquals(Long.valueOf(17), model.editEventReceived.id);
+    assertEquals(null, model.editEventReceived.name);
+    assertEquals(changed.getSubject(), model.editEventReceived.parametersToUpdate.getSubject());
+    assertFalse(view.displayErrorCalled);
+  }
+
+  @Test
+  public void testEditSeriesAddressedById() {
+    LocalDate date = LocalDate.of(2025, 6, 1);
+    Set<CalendarWeekDays> days = Set.of(CalendarWeekDays.T);
+    LocalDateTime until = LocalDate.of(2025, 7, 1).atStartOfDay();
+    EventData existing = EventData.getBuilder()
+        .setSubject("Existing Recurring")
+        .setStartTime(date.atTime(11, 0))
+        .setEndTime(date.atTime(12, 0))
+        .setDescription("Desc")
+        .setLocation("Loc")
+        .setIsPublic(true)
+        .setIsRecurring(true)
+        .setIsAllDay(false)
+        .setRecurringDetails(new RecurrenceData(null, days, until))
+        .setId(23L)
+        .build();
+    EventData changed = createNewRecurringEventDataNoRecurrenceChange(date, days, until);
+    model.setGetEventsOnDate = Collections.emptyList();
+
+    controller.editEvent(existing, changed);
+    controller.selectedRecurringEventOption(EDIT_THIS_AND_FOLLOWING);
+
+    assertTrue(model.editEventCalled);
+    assertEquals(Long.valueOf(23), model.editEventReceived.id);
+    assertEquals(existing.getStartTime(), model.editEventReceived.startTime);
+    assertNull(model.editEventReceived.endTime);
+    assertNull(model.editEventReceived.name);
+    assertFalse(view.displayErrorCalled);
+  }
+
   @Test
   public void testEditEventSuccess() {
     LocalDate date = LocalDate.of(2025, 6, 1);
@@ -1,7 +1,10 @@
+import controller.AgendaSource;
 import controller.CalendarFeatures;
+import controller.DaySummaryData;
 import controller.EventData;
 import java.time.LocalDate;
 import java.time.YearMonth;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import view.IGUIView;
@@ -12,8 +15,12 @@ import view.IGUIView;
 public class MockGUIView implements IGUIView {
 
   boolean showDayViewDialogCalled;
+  boolean showAgendaDialogCalled;
+  boolean clearSearchResultsCalled;
   boolean setMonthYearLabelCalled;
   boolean setCalendarMonthDatesCalled;
+  boolean setDaySummariesCalled;
+  boolean hideProgressCalled;
   boolean setAvailableCalendarsCalled;
   boolean setCurrentCalendarCalled;
   boolean setFeaturesCalled;
@@ -38,8 +45,14 @@ public class MockGUIView implements IGUIView {
   String lastDisplayErrorMessage;
   LocalDate lastShowDayViewDialogDate;
   List<EventData> lastShowDayViewDialogEvents;
+  LocalDate lastAgendaStartDate;
+  LocalDate lastAgendaEndDate;
+  AgendaSource lastAgendaSource;
+  List<EventData> searchResults;
   YearMonth lastSetMonthYearLabelMonthYear;
   YearMonth lastSetCalendarMonthDatesMonthYear;
+  List<DaySummaryData> lastSetDaySummaries;
+  List<Integer> progressShown;
   String lastDisplayMessage;
   List<String> lastDisplayRecurringEventOptions;
 
@@ -55,8 +68,12 @@ public class MockGUIView implements IGUIView {
    */
   public void reset() {
     showDayViewDialogCalled = false;
+    showAgendaDialogCalled = false;
+    clearSearchResultsCalled = false;
     setMonthYearLabelCalled = false;
     setCalendarMonthDatesCalled = false;
+    setDaySummariesCalled = false;
+    hideProgressCalled = false;
     setAvailableCalendarsCalled = false;
     setCurrentCalendarCalled = false;
     setFeaturesCalled = false;
@@ -81,8 +98,14 @@ public class MockGUIView implements IGUIView {
     lastDisplayErrorMessage = null;
     lastShowDayViewDialogDate = null;
     lastShowDayViewDialogEvents = null;
+    lastAgendaStartDate = null;
+    lastAgendaEndDate = null;
+    lastAgendaSource = null;
+    searchResults = new ArrayList<>();
     lastSetMonthYearLabelMonthYear = null;
     lastSetCalendarMonthDatesMonthYear = null;
+    lastSetDaySummaries = null;
+    progressShown = new ArrayList<>();
     lastDisplayMessage = null;
     lastDisplayRecurringEventOptions = null;
   }
@@ -94,6 +117,25 @@ public class MockGUIView implements IGUIView {
     lastShowDayViewDialogEvents = events;
   }
 
+  @Override
+  public void showAgendaDialog(LocalDate startDate, LocalDate endDate, AgendaSource source) {
+    showAgendaDialogCalled = true;
+    lastAgendaStartDate = startDate;
+    lastAgendaEndDate = endDate;
+    lastAgendaSource = source;
+  }
+
+  @Override
+  public void clearSearchResults() {
+    clearSearchResultsCalled = true;
+    searchResults.clear();
+  }
+
+  @Override
+  public void addSearchResults(List<EventData> events) {
+    searchResults.addAll(events);
+  }
+
   @Override
   public void setMonthYearLabel(YearMonth monthYear) {
     setMonthYearLabelCalled = true;
@@ -106,6 +148,22 @@ public class MockGUIView implements IGUIView {
     lastSetCalendarMonthDatesMonthYear = monthYear;
   }
 
+  @Override
+  public void setDaySummaries(List<DaySummaryData> summaries) {
+    setDaySummariesCalled = true;
+    lastSetDaySummaries = summaries;
+  }
+
+  @Override
+  public void showProgress(String task, int percent) {
+    progressShown.add(percent);
+  }
+
+  @Override
+  public void hideProgress() {
+    hideProgressCalled = true;
+  }
+
   @Override
   public void setAvailableCalendars(String[] calendars) {
     setAvailableCalendarsCalled = true;
@@ -1,12 +1,18 @@
+import dto.DaySummary;
 import dto.EventDTO;
+import dto.EventPage;
 import exception.CalendarExportException;
 import exception.EventConflictException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Consumer;
 import model.IModel;
+import model.ModelChangeListener;
 import service.ICalendarExporter;
 
 /**
@@ -16,20 +22,35 @@ class MockModel implements IModel {
 
   // flags to track the method calls from the controller
   boolean createEventCalled;
+  boolean createEventsCalled;
   boolean editEventCalled;
   boolean getEventsOnDateCalled;
   boolean getEventsInRangeCalled;
   boolean exportEventsWithExporterCalled;
   boolean isBusyCalled;
   boolean getAllEventsCalled;
+  boolean deleteEventsCalled;
+  boolean beginTransactionCalled;
+  boolean commitTransactionCalled;
+  boolean rollbackTransactionCalled;
+  boolean transactionCalled;
 
   // class to store the parameters received in the method calls
   CreateEvent createEventReceived;
+  List<EventDTO> createEventsReceived;
+  boolean createEventsAutoDeclineReceived;
   EditEvent editEventReceived;
   GetEventsOnDate getEventsOnDateReceived;
   GetEventsInRange getEventsInRangeReceived;
   String exportEventsWithExporterReceived;
   IsBusy isBusyReceived;
+  DeleteEvents deleteEventsReceived;
+  ZoneId setZoneIdReceived;
+  List<ModelChangeListener> changeListeners;
+  YearMonth getDaySummariesReceived;
+  LocalDateTime getEventsPageCursorReceived;
+  int getEventsPageCallCount;
+  String searchEventsReceived;
 
   // flags to control the exceptions thrown from the model
   boolean shouldThrowEventConflictException;
@@ -38,10 +59,13 @@ class MockModel implements IModel {
 
   // flags to control the return values from the model
   Integer setEditEventReturn;
+  List<RuntimeException> setCreateEventsReturn;
   boolean setIsBusyReturn;
   List<EventDTO> setGetEventsInRange;
+  List<EventDTO> setSearchEvents;
   List<EventDTO> setGetEventsOnDate;
   List<EventDTO> setGetAllEvents;
+  Integer setDeleteEventsReturn;
 
   // flags to control the event counts on the date and in the range
   Integer eventsOnDateCount;
@@ -60,29 +84,47 @@ class MockModel implements IModel {
 
   MockModel() {
     createEventCalled = false;
+    createEventsCalled = false;
     editEventCalled = false;
     getEventsOnDateCalled = false;
     getEventsInRangeCalled = false;
     exportEventsWithExporterCalled = false;
     isBusyCalled = false;
     getAllEventsCalled = false;
+    deleteEventsCalled = false;
+    beginTransactionCalled = false;
+    commitTransactionCalled = false;
+    rollbackTransactionCalled = false;
+    transactionCalled = false;
 
     createEventReceived = null;
+    createEventsReceived = null;
+    createEventsAutoDeclineReceived = false;
     editEventReceived = null;
     getEventsOnDateReceived = null;
     getEventsInRangeReceived = null;
     exportEventsWithExporterReceived = null;
     isBusyReceived = null;
+    deleteEventsReceived = null;
+    setZoneIdReceived = null;
+    changeListeners = new ArrayList<>();
+    getDaySummariesReceived = null;
+    getEventsPageCursorReceived = null;
+    getEventsPageCallCount = 0;
+    searchEventsReceived = null;
 
     shouldThrowEventConflictException = false;
     shouldThrowCalendarExportException = false;
     shouldThrowIllegalArgumentException = false;
 
     setEditEventReturn = null;
+    setCreateEventsReturn = null;
     setIsBusyReturn = false;
     setGetEventsInRange = null;
+    setSearchEvents = null;
     setGetEventsOnDate = null;
     setGetAllEvents = null;
+    setDeleteEventsReturn = null;
 
     eventsOnDateCount = 0;
     eventsInRangeCount = 0;
@@ -108,6 +150,28 @@ class MockModel implements IModel {
     }
   }
 
+  @Override
+  public List<RuntimeException> createEvents(List<EventDTO> eventDTOs, boolean autoDecline)
+      throws IllegalArgumentException {
+    createEventsCalled = true;
+    createEventsReceived = eventDTOs;
+    createEventsAutoDeclineReceived = autoDecline;
+    if (Objects.nonNull(setCreateEventsReturn)) {
+      return setCreateEventsReturn;
+    }
+    // create the events one at a time, so that the createEvent flags apply to every event
+    List<RuntimeException> outcomes = new ArrayList<>();
+    for (EventDTO eventDTO : eventDTOs) {
+      try {
+        createEvent(eventDTO, autoDecline);
+        outcomes.add(null);
+      } catch (EventConflictException | IllegalArgumentException e) {
+        outcomes.add(e);
+      }
+    }
+    return outcomes;
+  }
+
   @Override
   public void createEvent(EventDTO eventDTO, boolean autoDecline)
       throws EventConflictException, IllegalArgumentException {
@@ -148,6 +212,7 @@ class MockModel implements IModel {
 
     LocalDateTime startTime;
     LocalDateTime endTime;
+    Long id;
     EventDTO parametersToUpdate;
 
     EditEvent(String name, LocalDateTime startTime, LocalDateTime endTime,
@@ -157,6 +222,17 @@ class MockModel implements IModel {
       this.endTime = endTime;
       this.parametersToUpdate = parametersToUpdate;
     }
+
+    EditEvent(Long id, EventDTO parametersToUpdate) {
+      this.id = id;
+      this.parametersToUpdate = parametersToUpdate;
+    }
+
+    EditEvent(Long id, LocalDateTime startTime, EventDTO parametersToUpdate) {
+      this.id = id;
+      this.startTime = startTime;
+      this.parametersToUpdate = parametersToUpdate;
+    }
   }
 
   @Override
@@ -173,6 +249,107 @@ class MockModel implements IModel {
     return Objects.nonNull(setEditEventReturn) ? setEditEventReturn : 1;
   }
 
+  @Override
+  public Integer editEventById(long id, EventDTO parametersToUpdate)
+      throws EventConflictException, IllegalArgumentException {
+    editEventCalled = true;
+    editEventReceived = new EditEvent(id, parametersToUpdate);
+    if (shouldThrowEventConflictException) {
+      throw new EventConflictException("Event conflict thrown by MockModel");
+    }
+    if (shouldThrowIllegalArgumentException) {
+      throw new IllegalArgumentException("Illegal argument thrown by MockModel");
+    }
+    return Objects.nonNull(setEditEventReturn) ? setEditEventReturn : 1;
+  }
+
+  @Override
+  public Integer editSeriesById(long id, LocalDateTime startTime, EventDTO parametersToUpdate)
+      throws EventConflictException, IllegalArgumentException {
+    editEventCalled = true;
+    editEventReceived = new EditEvent(id, startTime, parametersToUpdate);
+    if (shouldThrowEventConflictException) {
+      throw new EventConflictException("Event conflict thrown by MockModel");
+    }
+    if (shouldThrowIllegalArgumentException) {
+      throw new IllegalArgumentException("Illegal argument thrown by MockModel");
+    }
+    return Objects.nonNull(setEditEventReturn) ? setEditEventReturn : 1;
+  }
+
+  class DeleteEvents {
+
+    LocalDateTime startTime;
+    LocalDateTime endTime;
+    String name;
+
+    DeleteEvents(LocalDateTime startTime, LocalDateTime endTime, String name) {
+      this.startTime = startTime;
+      this.endTime = endTime;
+      this.name = name;
+    }
+  }
+
+  @Override
+  public Integer deleteEvents(LocalDateTime startTime, LocalDateTime endTime, String name)
+      throws IllegalArgumentException {
+    deleteEventsCalled = true;
+    deleteEventsReceived = new DeleteEvents(startTime, endTime, name);
+    if (shouldThrowIllegalArgumentException) {
+      throw new IllegalArgumentException("Illegal argument thrown by MockModel");
+    }
+    return Objects.nonNull(setDeleteEventsReturn) ? setDeleteEventsReturn : 0;
+  }
+
+  @Override
+  public void setZoneId(ZoneId zoneId) throws IllegalStateException {
+    setZoneIdReceived = zoneId;
+  }
+
+  @Override
+  public List<DaySummary> getDaySummaries(YearMonth yearMonth) {
+    getDaySummariesReceived = yearMonth;
+    List<DaySummary> summaries = new ArrayList<>();
+    for (int day = 1; day <= yearMonth.lengthOfMonth(); day++) {
+      summaries.add(new DaySummary(yearMonth.atDay(day), 0, 0, null));
+    }
+    return summaries;
+  }
+
+  @Override
+  public void addChangeListener(ModelChangeListener listener) {
+    changeListeners.add(listener);
+  }
+
+  @Override
+  public void removeChangeListener(ModelChangeListener listener) {
+    changeListeners.remove(listener);
+  }
+
+  @Override
+  public void beginTransaction() throws IllegalStateException {
+    beginTransactionCalled = true;
+  }
+
+  @Override
+  public void commitTransaction() throws EventConflictException, IllegalStateException {
+    commitTransactionCalled = true;
+    if (shouldThrowEventConflictException) {
+      throw new EventConflictException("Event conflict thrown by MockModel");
+    }
+  }
+
+  @Override
+  public void rollbackTransaction() throws IllegalStateException {
+    rollbackTransactionCalled = true;
+  }
+
+  @Override
+  public void transaction(Runnable mutations) throws EventConflictException {
+    transactionCalled = true;
+    mutations.run();
+  }
+
   class GetEventsOnDate {
 
     LocalDate date;
@@ -196,6 +373,11 @@ class MockModel implements IModel {
     return List.of();
   }
 
+  @Override
+  public void getEventsOnDate(LocalDate date, Consumer<EventDTO> sink) {
+    getEventsOnDate(date).forEach(sink);
+  }
+
   class GetEventsInRange {
 
     LocalDateTime start;
@@ -227,6 +409,28 @@ class MockModel implements IModel {
 
   }
 
+  @Override
+  public void getEventsInRange(LocalDateTime start, LocalDateTime end, Consumer<EventDTO> sink) {
+    getEventsInRange(start, end).forEach(sink);
+  }
+
+  @Override
+  public void searchEvents(String query, int limit, Consumer<EventDTO> sink) {
+    searchEventsReceived = query;
+    if (Objects.nonNull(setSearchEvents)) {
+      setSearchEvents.stream().limit(limit).forEach(sink);
+    }
+  }
+
+  @Override
+  public EventPage getEventsPage(LocalDateTime start, LocalDateTime end,
+      LocalDateTime cursorStart, int cursorSkip, int limit) {
+    getEventsPageCallCount++;
+    getEventsPageCursorReceived = cursorStart;
+    List<EventDTO> events = Objects.nonNull(setGetEventsInRange) ? setGetEventsInRange : List.of();
+    return new EventPage(events, null, 0, false);
+  }
+
   @Override
   public List<EventDTO> getAllEvents() {
     getAllEventsCalled = true;
@@ -257,4 +461,14 @@ class MockModel implements IModel {
     isBusyReceived = new IsBusy(dateTime);
     return setIsBusyReturn;
   }
+
+  @Override
+  public long getQueryCacheHitCount() {
+    return 0;
+  }
+
+  @Override
+  public long getQueryCacheMissCount() {
+    return 0;
+  }
 }
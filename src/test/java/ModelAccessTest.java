@@ -0,0 +1,127 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import controller.ModelAccess;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import javax.swing.SwingUtilities;
+import org.junit.Test;
+
+/**
+ * This is a test class for the ModelAccess class.
+ */
+public class ModelAccessTest {
+
+  private final Queue<Runnable> background = new ArrayDeque<>();
+
+  private final ModelAccess modelAccess = new ModelAccess(background::add, Runnable::run);
+
+  private void runBackground() {
+    while (!background.isEmpty()) {
+      background.poll().run();
+    }
+  }
+
+  @Test
+  public void testResultIsPassedOnForeground() {
+    List<String> results = new ArrayList<>();
+    modelAccess.submit(null, progress -> "done", results::add, e -> { });
+    assertTrue(results.isEmpty());
+    runBackground();
+    assertEquals(List.of("done"), results);
+  }
+
+  @Test
+  public void testSupersededTasksAreSkipped() {
+    List<Integer> results = new ArrayList<>();
+    List<Integer> ran = new ArrayList<>();
+    for (int month = 1; month <= 5; month++) {
+      int requested = month;
+      modelAccess.submit("month", progress -> {
+        ran.add(requested);
+        return requested;
+      }, results::add, e -> { });
+    }
+    modelAccess.submit("other", progress -> 0, results::add, e -> { });
+    runBackground();
+    assertEquals(List.of(5), ran);
+    assertEquals(List.of(5, 0), results);
+  }
+
+  @Test
+  public void testResultOfSupersededRunningTaskIsDropped() {
+    List<Integer> results = new ArrayList<>();
+    modelAccess.submit("month", progress -> {
+      // a newer request arrives while this one runs
+      modelAccess.submit("month", newer -> 2, results::add, e -> { });
+      return 1;
+    }, results::add, e -> { });
+    runBackground();
+    assertEquals(List.of(2), results);
+  }
+
+  @Test
+  public void testErrorAndProgressArePassedOnForeground() {
+    List<Exception> errors = new ArrayList<>();
+    List<Integer> progress = new ArrayList<>();
+    modelAccess.submit(null, reporter -> {
+      reporter.accept(50);
+      throw new IOException("unreadable");
+    }, result -> { }, errors::add, progress::add);
+    runBackground();
+    assertEquals(List.of(50), progress);
+    assertEquals("unreadable", errors.get(0).getMessage());
+  }
+
+  @Test
+  public void testStreamPassesResultsInBatches() {
+    List<List<Integer>> batches = new ArrayList<>();
+    modelAccess.<Integer>submitStream("search", results -> {
+      for (int i = 0; i < 5; i++) {
+        results.accept(i);
+      }
+    }, 2, batches::add, e -> { });
+    runBackground();
+    assertEquals(List.of(List.of(0, 1), List.of(2, 3), List.of(4)), batches);
+  }
+
+  @Test
+  public void testSupersededStreamStops() {
+    List<List<Integer>> batches = new ArrayList<>();
+    List<Integer> passed = new ArrayList<>();
+    List<Exception> errors = new ArrayList<>();
+    modelAccess.<Integer>submitStream("search", results -> {
+      for (int i = 0; i < 5; i++) {
+        if (i == 3) {
+          // the user types again while this search runs
+          modelAccess.cancel("search");
+        }
+        results.accept(i);
+        passed.add(i);
+      }
+    }, 2, batches::add, errors::add);
+    runBackground();
+    assertEquals(List.of(0, 1, 2), passed);
+    assertEquals(List.of(List.of(0, 1)), batches);
+    assertTrue(errors.isEmpty());
+  }
+
+  @Test
+  public void testSwingRunsWorkOffTheEventDispatchThread() throws InterruptedException {
+    CountDownLatch done = new CountDownLatch(1);
+    List<Boolean> onDispatchThread = new ArrayList<>();
+    ModelAccess.swing().submit(null, progress -> SwingUtilities.isEventDispatchThread(),
+        result -> {
+          onDispatchThread.add(result);
+          onDispatchThread.add(SwingUtilities.isEventDispatchThread());
+          done.countDown();
+        }, e -> done.countDown());
+    assertTrue(done.await(5, TimeUnit.SECONDS));
+    assertEquals(List.of(false, true), onDispatchThread);
+  }
+}
@@ -0,0 +1,88 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * This is a test class for the TransactionCommand class.
+ */
+public class TransactionCommandTest extends AbstractCommandTest {
+
+  @Test
+  public void validBegin() {
+    assertEquals("Transaction started", getDisplayMessageWithInput("begin"));
+    assertTrue(mockModel.beginTransactionCalled);
+  }
+
+  @Test
+  public void validCommit() {
+    assertTrue(getDisplayMessageWithInput("begin\ncommit").endsWith("Transaction committed"));
+    assertTrue(mockModel.commitTransactionCalled);
+  }
+
+  @Test
+  public void validRollback() {
+    assertTrue(getDisplayMessageWithInput("begin\nrollback")
+        .endsWith("Transaction rolled back"));
+    assertTrue(mockModel.rollbackTransactionCalled);
+  }
+
+  @Test
+  public void commitWithoutBegin() {
+    assertEquals("No transaction is in progress", getErrorMessageWithInput("commit"));
+    assertFalse(mockModel.commitTransactionCalled);
+  }
+
+  @Test
+  public void beginWhileInProgress() {
+    assertEquals("A transaction is already in progress",
+        getErrorMessageWithInput("begin\nbegin"));
+  }
+
+  @Test
+  public void invalidBeginWithParameters() {
+    assertEquals("Invalid command format: begin",
+        getErrorMessageWithInput("begin transaction"));
+    assertFalse(mockModel.beginTransactionCalled);
+  }
+
+  @Test
+  public void commitWithConflict() {
+    mockModel.shouldThrowEventConflictException = true;
+    assertEquals("Event conflict thrown by MockModel",
+        getErrorMessageWithInput("begin\ncommit"));
+    assertTrue(mockModel.commitTransactionCalled);
+  }
+
+  @Test
+  public void beginAfterCommitWithConflict() {
+    mockModel.shouldThrowEventConflictException = true;
+    // the transaction ended with the failed commit, so another one can begin
+    assertEquals(2, getDisplayMessageWithInput("begin\ncommit\nbegin")
+        .split("Transaction started", -1).length - 1);
+  }
+
+  @Test
+  public void switchCalendarDuringTransaction() {
+    mockModelFactory = MockModel::new;
+    assertEquals("Cannot switch calendars during a transaction, commit or rollback first",
+        getErrorMessageWithInput("create calendar --name other --timezone UTC\n"
+            + "begin\nuse calendar --name other"));
+  }
+
+  @Test
+  public void copyToOtherCalendarDuringTransaction() {
+    mockModelFactory = MockModel::new;
+    assertEquals("Cannot copy events to another calendar during a transaction",
+        getErrorMessageWithInput("create calendar --name other --timezone UTC\n"
+            + "begin\ncopy events on 2025-03-04 --target other to 2025-03-05"));
+  }
+
+  @Test
+  public void exitRollsBackTransactionInProgress() {
+    assertTrue(getDisplayMessageWithInput("begin\nexit")
+        .endsWith("Transaction in progress was rolled back without a commit"));
+    assertTrue(mockModel.rollbackTransactionCalled);
+  }
+}
@@ -0,0 +1,99 @@
+package benchmark;
+
+import dto.EventDTO;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import repository.IEventRepository;
+import repository.InMemoryEventRepository;
+
+/**
+ * Benchmark comparing the range delete of a quarter of events against deleting the same events
+ * one at a time, as the model did before the range delete existed.
+ *
+ * <p>Run with {@code mvn test-compile} followed by
+ * {@code java -cp target/test-classes:target/classes:<test classpath> benchmark.DeleteRangeBenchmark}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeleteRangeBenchmark {
+
+  private static final LocalDateTime QUARTER_START = LocalDateTime.of(2025, 4, 1, 0, 0);
+
+  private static final LocalDateTime QUARTER_END = LocalDateTime.of(2025, 7, 1, 0, 0);
+
+  @Param({"10000", "100000"})
+  private int eventCount;
+
+  private IEventRepository repository;
+
+  /**
+   * Fill the repository with a year of events before every invocation, since both benchmarks
+   * remove the events of a quarter.
+   */
+  @Setup(Level.Invocation)
+  public void setUp() {
+    Random random = new Random(42);
+    repository = new InMemoryEventRepository();
+    for (int i = 0; i < eventCount; i++) {
+      LocalDateTime start = LocalDateTime.of(2025, 1, 1, 0, 0)
+          .plusMinutes(random.nextInt(525600));
+      repository.insertEvent(EventDTO.getBuilder()
+          .setSubject("Event " + i)
+          .setStartTime(start)
+          .setEndTime(start.plusMinutes(30 + random.nextInt(120)))
+          .setIsAllDay(false)
+          .setIsRecurring(false)
+          .build());
+    }
+  }
+
+  @Benchmark
+  public int deleteRange() {
+    return repository.deleteRange(QUARTER_START, QUARTER_END, null);
+  }
+
+  @Benchmark
+  public int deleteEachEvent() {
+    List<EventDTO> events = repository.searchOverlaps(QUARTER_START, QUARTER_END);
+    int deleted = 0;
+    for (EventDTO event : events) {
+      if (repository.deleteEvent(event.getSubject(), event.getStartTime(), event.getEndTime())) {
+        deleted++;
+      }
+    }
+    return deleted;
+  }
+
+  /**
+   * Run the benchmark.
+   *
+   * @param args the command line arguments (unused)
+   * @throws RunnerException if the benchmark fails to run
+   */
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+        .include(DeleteRangeBenchmark.class.getSimpleName())
+        .build()).run();
+  }
+}
@@ -0,0 +1,113 @@
+package benchmark;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+import dto.EventDTO;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Random;
+import javax.management.NotificationEmitter;
+import javax.management.openmbean.CompositeData;
+import repository.IEventRepository;
+import repository.InMemoryEventRepository;
+import repository.OffHeapEventRepository;
+
+/**
+ * Reports the garbage collection pauses of a repository holding a large number of events, while
+ * it serves a query workload that allocates short-lived objects.
+ *
+ * <p>Run each repository in its own JVM so that the pauses are not mixed, e.g.
+ * {@code java -Xmx4g -cp target/test-classes:target/classes benchmark.GcPauseReport in-memory
+ * 10000000} and the same with {@code off-heap}. The pauses are the durations reported by the
+ * collector notifications, concurrent cycles excluded.
+ */
+public class GcPauseReport {
+
+  private static final int QUERIES = 200_000;
+
+  private static long pauseCount;
+
+  private static long totalPauseMillis;
+
+  private static long maxPauseMillis;
+
+  /**
+   * Run the report.
+   *
+   * @param args the repository ({@code in-memory} or {@code off-heap}) and the number of events
+   */
+  public static void main(String[] args) {
+    IEventRepository repository = args.length > 0 && args[0].equals("off-heap")
+        ? new OffHeapEventRepository() : new InMemoryEventRepository();
+    int eventCount = args.length > 1 ? Integer.parseInt(args[1]) : 10_000_000;
+    listenToPauses();
+
+    Random random = new Random(42);
+    LocalDateTime first = LocalDateTime.of(2020, 1, 1, 0, 0);
+    long startMillis = System.currentTimeMillis();
+    for (int i = 0; i < eventCount; i++) {
+      LocalDateTime start = first.plusMinutes(5L * random.nextInt(eventCount));
+      repository.insertEvent(EventDTO.getBuilder()
+          .setSubject("Event " + i)
+          .setStartTime(start)
+          .setEndTime(start.plusMinutes(30 + random.nextInt(90)))
+          .setIsAllDay(false)
+          .setIsRecurring(false)
+          .setIsPublic(true)
+          .build());
+    }
+    report(repository.getClass().getSimpleName() + " load of " + eventCount + " events",
+        System.currentTimeMillis() - startMillis);
+
+    // a day view query, a point query and a replaced event per iteration
+    startMillis = System.currentTimeMillis();
+    long found = 0;
+    int days = (int) (5L * eventCount / (24 * 60));
+    for (int i = 0; i < QUERIES; i++) {
+      LocalDate date = first.toLocalDate().plusDays(random.nextInt(days));
+      found += repository.getEventsOnDate(date).size();
+      found += repository.getEventsAt(date.atTime(12, 0)).size();
+      LocalDateTime start = date.atTime(random.nextInt(24), 0);
+      EventDTO event = EventDTO.getBuilder()
+          .setSubject("Query " + i)
+          .setStartTime(start)
+          .setEndTime(start.plusMinutes(45))
+          .build();
+      repository.insertEvent(event);
+      repository.deleteEvent(event.getSubject(), event.getStartTime(), event.getEndTime());
+    }
+    report(QUERIES + " query iterations (" + found + " events read)",
+        System.currentTimeMillis() - startMillis);
+  }
+
+  private static void listenToPauses() {
+    for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+      ((NotificationEmitter) collector).addNotificationListener((notification, handback) -> {
+        if (!notification.getType()
+            .equals(GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION)) {
+          return;
+        }
+        GarbageCollectionNotificationInfo info = GarbageCollectionNotificationInfo
+            .from((CompositeData) notification.getUserData());
+        if (info.getGcName().contains("Concurrent")) {
+          return;
+        }
+        synchronized (GcPauseReport.class) {
+          long duration = info.getGcInfo().getDuration();
+          pauseCount++;
+          totalPauseMillis += duration;
+          maxPauseMillis = Math.max(maxPauseMillis, duration);
+        }
+      }, null, null);
+    }
+  }
+
+  private static synchronized void report(String phase, long elapsedMillis) {
+    System.out.printf("%s: %,d ms elapsed, %d pauses, %,d ms paused, max pause %,d ms%n",
+        phase, elapsedMillis, pauseCount, totalPauseMillis, maxPauseMillis);
+    pauseCount = 0;
+    totalPauseMillis = 0;
+    maxPauseMillis = 0;
+  }
+}
@@ -0,0 +1,68 @@
+package benchmark;
+
+import dto.EventDTO;
+import java.time.LocalDateTime;
+import java.util.Random;
+import repository.IntervalTree;
+
+/**
+ * Reports the heap used by the bookkeeping of an IntervalTree per million events, separately from
+ * the heap used by the events themselves.
+ *
+ * <p>Run with {@code mvn test-compile} followed by
+ * {@code java -cp target/test-classes:target/classes benchmark.IntervalTreeHeapReport}. The
+ * numbers are read from the runtime after a full collection, so they are estimates; run with a
+ * fixed heap (e.g. {@code -Xms2g -Xmx2g}) for stable results.
+ */
+public class IntervalTreeHeapReport {
+
+  private static final int EVENT_COUNT = 1_000_000;
+
+  /**
+   * Run the report.
+   *
+   * @param args the command line arguments (unused)
+   */
+  public static void main(String[] args) {
+    Random random = new Random(42);
+    long baseline = usedHeap();
+
+    EventDTO[] events = new EventDTO[EVENT_COUNT];
+    for (int i = 0; i < EVENT_COUNT; i++) {
+      // a start every few minutes over ten years, so that a few events share a start time
+      LocalDateTime start = LocalDateTime.of(2020, 1, 1, 0, 0)
+          .plusMinutes(5L * random.nextInt(EVENT_COUNT));
+      events[i] = EventDTO.getBuilder()
+          .setSubject("Event " + i)
+          .setStartTime(start)
+          .setEndTime(start.plusMinutes(30 + random.nextInt(90)))
+          .setIsAllDay(false)
+          .setIsRecurring(false)
+          .setIsPublic(true)
+          .build();
+    }
+    long withEvents = usedHeap();
+
+    IntervalTree tree = new IntervalTree();
+    for (EventDTO event : events) {
+      tree.insert(event);
+    }
+    long withTree = usedHeap();
+
+    System.out.printf("events:            %,d%n", EVENT_COUNT);
+    System.out.printf("event data:        %,d bytes (%d bytes per event)%n",
+        withEvents - baseline, (withEvents - baseline) / EVENT_COUNT);
+    System.out.printf("tree bookkeeping:  %,d bytes (%d bytes per event)%n",
+        withTree - withEvents, (withTree - withEvents) / EVENT_COUNT);
+    // keep both reachable until the last measurement
+    System.out.println(tree.isEmpty() || events.length == 0 ? "" : "done");
+  }
+
+  private static long usedHeap() {
+    Runtime runtime = Runtime.getRuntime();
+    for (int i = 0; i < 3; i++) {
+      System.gc();
+    }
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+}
@@ -0,0 +1,88 @@
+package benchmark;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import repository.ZoneConverter;
+
+/**
+ * Benchmark comparing the conversion of a batch of date and times between two zones with the
+ * cached offset tables of a ZoneConverter against resolving the zone rules for every date and time,
+ * as copying events across calendars did before the converter existed.
+ *
+ * <p>Run with {@code mvn test-compile} followed by
+ * {@code java -cp target/test-classes:target/classes:<test classpath> benchmark.ZoneConversionBenchmark}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ZoneConversionBenchmark {
+
+  private static final ZoneId SOURCE = ZoneId.of("America/New_York");
+
+  private static final ZoneId TARGET = ZoneId.of("Europe/London");
+
+  @Param({"1000", "100000"})
+  private int dateTimeCount;
+
+  private LocalDateTime[] dateTimes;
+
+  /**
+   * Create date and times spread over a few years, so that the conversions cross the transitions
+   * of both zones.
+   */
+  @Setup
+  public void setUp() {
+    Random random = new Random(42);
+    dateTimes = new LocalDateTime[dateTimeCount];
+    for (int i = 0; i < dateTimeCount; i++) {
+      dateTimes[i] = LocalDateTime.of(2023, 1, 1, 0, 0).plusMinutes(random.nextInt(3 * 525600));
+    }
+  }
+
+  @Benchmark
+  public void zoneRules(Blackhole blackhole) {
+    for (LocalDateTime dateTime : dateTimes) {
+      blackhole.consume(dateTime.atZone(SOURCE).withZoneSameInstant(TARGET).toLocalDateTime());
+    }
+  }
+
+  @Benchmark
+  public void zoneConverter(Blackhole blackhole) {
+    ZoneConverter converter = new ZoneConverter(SOURCE, TARGET);
+    for (LocalDateTime dateTime : dateTimes) {
+      blackhole.consume(converter.convert(dateTime));
+    }
+  }
+
+  /**
+   * Run the benchmark.
+   *
+   * @param args the command line arguments (unused)
+   * @throws RunnerException if the benchmark fails to run
+   */
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+        .include(ZoneConversionBenchmark.class.getSimpleName())
+        .build()).run();
+  }
+}
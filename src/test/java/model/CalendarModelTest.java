@@ -2,8 +2,11 @@ package model;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
+import dto.DaySummary;
 import dto.EventDTO;
 import dto.RecurringDetailsDTO;
 import exception.EventConflictException;
@@ -11,7 +14,12 @@ import exception.InvalidDateTimeRangeException;
 import exception.InvalidEventDetailsException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
 import java.util.Set;
 import org.junit.Before;
 import org.junit.Test;
@@ -678,4 +686,711 @@ public class CalendarModelTest {
     ));
   }
 
+  // Test deleteEvents Method in CalendarModel
+
+  @Test
+  public void testDeleteEventsInRange() {
+    calendarModel.createEvent(sampleSpannedSingleEventDTO, false);
+    calendarModel.createEvent(EventDTO.getBuilder()
+        .setSubject("Recurring Event")
+        .setStartTime(LocalDateTime.of(2025, 3, 10, 9, 0))
+        .setEndTime(LocalDateTime.of(2025, 3, 10, 10, 0))
+        .setIsAllDay(false)
+        .setIsRecurring(true)
+        .setRecurringDetails(RecurringDetailsDTO.getBuilder()
+            .setRepeatDays(Set.of(CalendarDayOfWeek.M, CalendarDayOfWeek.W))
+            .setOccurrences(6)
+            .build())
+        .build(), false);
+
+    assertEquals(Integer.valueOf(2), calendarModel.deleteEvents(
+        LocalDateTime.of(2025, 3, 12, 0, 0), LocalDateTime.of(2025, 3, 18, 0, 0),
+        "Recurring Event"));
+    assertEquals(5, calendarModel.getAllEvents().size());
+    assertEquals(Integer.valueOf(5), calendarModel.deleteEvents(
+        LocalDateTime.of(2025, 3, 1, 0, 0), LocalDateTime.of(2025, 4, 1, 0, 0), null));
+    assertTrue(calendarModel.getAllEvents().isEmpty());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testDeleteEventsWithInvalidRange() {
+    calendarModel.deleteEvents(
+        LocalDateTime.of(2025, 4, 1, 0, 0), LocalDateTime.of(2025, 3, 1, 0, 0), null);
+  }
+
+  @Test
+  public void testEditFromStartTimeEditsEverySeriesWithName() {
+    RecurringDetailsDTO recurringDetails = RecurringDetailsDTO.getBuilder()
+        .setRepeatDays(Set.of(CalendarDayOfWeek.M, CalendarDayOfWeek.W))
+        .setOccurrences(4)
+        .build();
+    calendarModel.createEvent(EventDTO.getBuilder()
+        .setSubject("Standup")
+        .setStartTime(LocalDateTime.of(2025, 3, 3, 9, 0))
+        .setEndTime(LocalDateTime.of(2025, 3, 3, 9, 30))
+        .setIsRecurring(true)
+        .setRecurringDetails(recurringDetails)
+        .build(), false);
+    calendarModel.createEvent(EventDTO.getBuilder()
+        .setSubject("Standup")
+        .setStartTime(LocalDateTime.of(2025, 3, 3, 17, 0))
+        .setEndTime(LocalDateTime.of(2025, 3, 3, 17, 30))
+        .setIsRecurring(true)
+        .setRecurringDetails(recurringDetails)
+        .build(), false);
+    List<EventDTO> events = calendarModel.getAllEvents();
+    assertEquals(8, events.size());
+    Long morningSeries = events.get(0).getSeriesId();
+    Long eveningSeries = events.get(1).getSeriesId();
+    assertFalse(morningSeries.equals(eveningSeries));
+
+    // the occurrences of both series from the 5th are edited, each in its own series
+    assertEquals(Integer.valueOf(6), calendarModel.editEvent("Standup",
+        LocalDateTime.of(2025, 3, 4, 12, 0), null,
+        EventDTO.getBuilder().setLocation("Room 2").build()));
+    List<EventDTO> edited = calendarModel.getAllEvents();
+    assertEquals(8, edited.size());
+    for (EventDTO event : edited) {
+      boolean isEdited = event.getStartTime().isAfter(LocalDateTime.of(2025, 3, 4, 12, 0));
+      assertEquals(isEdited ? "Room 2" : null, event.getLocation());
+      assertTrue(event.getSeriesId().equals(morningSeries)
+          || event.getSeriesId().equals(eveningSeries));
+    }
+  }
+
+  @Test
+  public void testEditSeriesOverlappingItsOwnOccurrences() {
+    calendarModel.createEvent(EventDTO.getBuilder()
+        .setSubject("Workshop")
+        .setStartTime(LocalDateTime.of(2025, 3, 3, 9, 0))
+        .setEndTime(LocalDateTime.of(2025, 3, 3, 10, 0))
+        .setIsRecurring(true)
+        .setRecurringDetails(RecurringDetailsDTO.getBuilder()
+            .setRepeatDays(Set.of(CalendarDayOfWeek.M, CalendarDayOfWeek.T))
+            .setOccurrences(1000)
+            .build())
+        .build(), false);
+    // every updated occurrence overlaps the occurrence it replaces, which is not a conflict
+    assertEquals(Integer.valueOf(1000), calendarModel.editEvent("Workshop", null, null,
+        EventDTO.getBuilder().setDescription("Hands-on").build()));
+    assertEquals(1000, calendarModel.getAllEvents().stream()
+        .filter(event -> "Hands-on".equals(event.getDescription())).count());
+  }
+
+  @Test
+  public void testEditByNameEditsEverySeriesAndByIdOnlyOne() {
+    for (int series = 0; series < 2; series++) {
+      calendarModel.createEvent(EventDTO.getBuilder()
+          .setSubject("Standup")
+          .setStartTime(LocalDateTime.of(2025, 3, 3 + 2 * series, 9 + 5 * series, 0))
+          .setEndTime(LocalDateTime.of(2025, 3, 3 + 2 * series, 10 + 5 * series, 0))
+          .setIsRecurring(true)
+          .setRecurringDetails(RecurringDetailsDTO.getBuilder()
+              .setRepeatDays(Set.of(series == 0 ? CalendarDayOfWeek.M : CalendarDayOfWeek.W))
+              .setOccurrences(3)
+              .build())
+          .build(), false);
+    }
+
+    // without a start time, every series with the name is edited
+    assertEquals(Integer.valueOf(6), calendarModel.editEvent("Standup", null, null,
+        EventDTO.getBuilder().setLocation("Room A").build()));
+    // with a start time, the occurrences of every series from it are edited
+    assertEquals(Integer.valueOf(3), calendarModel.editEvent("Standup",
+        LocalDateTime.of(2025, 3, 12, 14, 0), null,
+        EventDTO.getBuilder().setLocation("Room B").build()));
+    List<String> locations = new ArrayList<>();
+    calendarModel.getAllEvents().forEach(event -> locations.add(event.getLocation()));
+    assertEquals(Arrays.asList("Room A", "Room A", "Room A", "Room B", "Room B", "Room B"),
+        locations);
+    assertEquals(2, calendarModel.getAllEvents().stream()
+        .map(EventDTO::getSeriesId).distinct().count());
+
+    EventDTO occurrence = calendarModel.getAllEvents().get(1);
+    assertEquals(Integer.valueOf(3), calendarModel.editSeriesById(occurrence.getId(), null,
+        EventDTO.getBuilder().setDescription("Weekly").build()));
+    assertEquals(3, calendarModel.getAllEvents().stream()
+        .filter(event -> "Weekly".equals(event.getDescription())).count());
+    assertTrue(calendarModel.getEventsOnDate(LocalDate.of(2025, 3, 3)).stream()
+        .noneMatch(event -> "Weekly".equals(event.getDescription())));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testEditSeriesByIdOfSingleEvent() {
+    calendarModel.createEvent(sampleSpannedSingleEventDTO, false);
+    calendarModel.editSeriesById(calendarModel.getAllEvents().get(0).getId(), null,
+        EventDTO.getBuilder().setLocation("Room 3").build());
+  }
+
+  @Test
+  public void testEditEventById() {
+    calendarModel.createEvent(sampleSpannedSingleEventDTO, false);
+    calendarModel.createEvent(EventDTO.getBuilder()
+        .setSubject("Sample Event")
+        .setStartTime(LocalDateTime.of(2025, 3, 12, 2, 0))
+        .setEndTime(LocalDateTime.of(2025, 3, 12, 3, 0))
+        .build(), false);
+    List<EventDTO> events = calendarModel.getAllEvents();
+    assertFalse(events.get(0).getId().equals(events.get(1).getId()));
+
+    assertEquals(Integer.valueOf(1), calendarModel.editEventById(events.get(1).getId(),
+        EventDTO.getBuilder().setLocation("Room 3").build()));
+    List<EventDTO> edited = calendarModel.getAllEvents();
+    assertEquals(events.get(0).getId(), edited.get(0).getId());
+    assertEquals(null, edited.get(0).getLocation());
+    assertEquals("Room 3", edited.get(1).getLocation());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testEditEventByUnknownId() {
+    calendarModel.createEvent(sampleSpannedSingleEventDTO, false);
+    calendarModel.editEventById(-1, EventDTO.getBuilder().setLocation("Room 3").build());
+  }
+
+  @Test
+  public void testRollbackTransaction() {
+    calendarModel.createEvent(sampleSpannedSingleEventDTO, false);
+    List<EventDTO> before = calendarModel.getAllEvents();
+
+    calendarModel.beginTransaction();
+    calendarModel.createEvent(EventDTO.getBuilder()
+        .setSubject("Sample Event")
+        .setStartTime(LocalDateTime.of(2025, 3, 12, 2, 0))
+        .setEndTime(LocalDateTime.of(2025, 3, 12, 3, 0))
+        .build(), false);
+    calendarModel.editEventById(before.get(0).getId(),
+        EventDTO.getBuilder().setLocation("Room 3").build());
+    assertEquals(2, calendarModel.getAllEvents().size());
+    calendarModel.deleteEvents(LocalDateTime.of(2025, 1, 1, 0, 0),
+        LocalDateTime.of(2026, 1, 1, 0, 0), null);
+    assertTrue(calendarModel.getAllEvents().isEmpty());
+    calendarModel.rollbackTransaction();
+
+    assertEquals(before, calendarModel.getAllEvents());
+    assertEquals(before.get(0).getId(), calendarModel.getAllEvents().get(0).getId());
+  }
+
+  @Test
+  public void testCommitChecksConflictsAgainstFinalState() {
+    calendarModel.createEvent(EventDTO.getBuilder()
+        .setSubject("First")
+        .setStartTime(LocalDateTime.of(2025, 3, 12, 10, 0))
+        .setEndTime(LocalDateTime.of(2025, 3, 12, 11, 0))
+        .build(), false);
+    calendarModel.createEvent(EventDTO.getBuilder()
+        .setSubject("Second")
+        .setStartTime(LocalDateTime.of(2025, 3, 12, 12, 0))
+        .setEndTime(LocalDateTime.of(2025, 3, 12, 13, 0))
+        .build(), false);
+
+    // the two events swap their slots, which only conflicts halfway through
+    calendarModel.transaction(() -> {
+      calendarModel.editEvent("Second", LocalDateTime.of(2025, 3, 12, 12, 0),
+          LocalDateTime.of(2025, 3, 12, 13, 0), EventDTO.getBuilder()
+              .setStartTime(LocalDateTime.of(2025, 3, 12, 10, 0))
+              .setEndTime(LocalDateTime.of(2025, 3, 12, 11, 0))
+              .build());
+      calendarModel.editEvent("First", LocalDateTime.of(2025, 3, 12, 10, 0),
+          LocalDateTime.of(2025, 3, 12, 11, 0), EventDTO.getBuilder()
+              .setStartTime(LocalDateTime.of(2025, 3, 12, 12, 0))
+              .setEndTime(LocalDateTime.of(2025, 3, 12, 13, 0))
+              .build());
+    });
+
+    List<EventDTO> events = calendarModel.getAllEvents();
+    assertEquals("Second", events.get(0).getSubject());
+    assertEquals("First", events.get(1).getSubject());
+  }
+
+  @Test
+  public void testCommitWithConflictRollsBack() {
+    calendarModel.createEvent(EventDTO.getBuilder()
+        .setSubject("First")
+        .setStartTime(LocalDateTime.of(2025, 3, 12, 10, 0))
+        .setEndTime(LocalDateTime.of(2025, 3, 12, 11, 0))
+        .build(), false);
+    calendarModel.createEvent(EventDTO.getBuilder()
+        .setSubject("Second")
+        .setStartTime(LocalDateTime.of(2025, 3, 12, 12, 0))
+        .setEndTime(LocalDateTime.of(2025, 3, 12, 13, 0))
+        .build(), false);
+    List<EventDTO> before = calendarModel.getAllEvents();
+
+    calendarModel.beginTransaction();
+    calendarModel.editEvent("Second", LocalDateTime.of(2025, 3, 12, 12, 0),
+        LocalDateTime.of(2025, 3, 12, 13, 0), EventDTO.getBuilder()
+            .setLocation("Room 3")
+            .build());
+    calendarModel.editEvent("Second", LocalDateTime.of(2025, 3, 12, 12, 0),
+        LocalDateTime.of(2025, 3, 12, 13, 0), EventDTO.getBuilder()
+            .setStartTime(LocalDateTime.of(2025, 3, 12, 10, 30))
+            .build());
+    try {
+      calendarModel.commitTransaction();
+      fail("Expected EventConflictException");
+    } catch (EventConflictException e) {
+      assertEquals("Updated event has conflict with existing event", e.getMessage());
+    }
+
+    assertEquals(before, calendarModel.getAllEvents());
+    assertEquals(null, calendarModel.getAllEvents().get(1).getLocation());
+    // the transaction has ended
+    calendarModel.beginTransaction();
+    calendarModel.rollbackTransaction();
+  }
+
+  @Test
+  public void testFailedMutationInTransactionRollsBackToSavepoint() {
+    calendarModel.beginTransaction();
+    calendarModel.createEvent(sampleSpannedSingleEventDTO, false);
+    try {
+      calendarModel.transaction(() -> {
+        calendarModel.deleteEvents(LocalDateTime.of(2025, 1, 1, 0, 0),
+            LocalDateTime.of(2026, 1, 1, 0, 0), null);
+        calendarModel.editEvent("Missing", LocalDateTime.of(2025, 3, 12, 10, 0),
+            LocalDateTime.of(2025, 3, 12, 11, 0), EventDTO.getBuilder().build());
+      });
+      fail("Expected IllegalArgumentException");
+    } catch (IllegalArgumentException e) {
+      assertEquals(1, calendarModel.getAllEvents().size());
+    }
+    calendarModel.commitTransaction();
+    assertEquals(1, calendarModel.getAllEvents().size());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testBeginTransactionTwice() {
+    calendarModel.beginTransaction();
+    calendarModel.beginTransaction();
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testCommitWithoutTransaction() {
+    calendarModel.commitTransaction();
+  }
+
+  @Test
+  public void testCreateEventsMatchesCreatingOneAtATime() {
+    CalendarModel sequentialModel = new CalendarModel();
+    EventDTO existing = EventDTO.getBuilder()
+        .setSubject("Existing")
+        .setStartTime(LocalDateTime.of(2025, 3, 10, 9, 0))
+        .setEndTime(LocalDateTime.of(2025, 3, 10, 17, 0))
+        .build();
+    calendarModel.createEvent(existing, false);
+    sequentialModel.createEvent(existing, false);
+
+    Random random = new Random(42);
+    List<EventDTO> batch = new ArrayList<>();
+    for (int i = 0; i < 500; i++) {
+      LocalDateTime start = LocalDateTime.of(2025, 3, 10, 0, 0)
+          .plusMinutes(30L * random.nextInt(2000));
+      EventDTO.EventDTOBuilder builder = EventDTO.getBuilder()
+          .setSubject("Event " + i)
+          .setStartTime(start)
+          // some of the events end before they start
+          .setEndTime(start.plusMinutes(30L * random.nextInt(8) - 30));
+      if (random.nextInt(10) == 0) {
+        builder.setIsRecurring(true)
+            .setRecurringDetails(RecurringDetailsDTO.getBuilder()
+                .setRepeatDays(Set.of(CalendarDayOfWeek.M, CalendarDayOfWeek.R))
+                .setOccurrences(4)
+                .build());
+      }
+      batch.add(builder.build());
+    }
+
+    List<String> outcomes = new ArrayList<>();
+    for (RuntimeException outcome : calendarModel.createEvents(batch, true)) {
+      outcomes.add(outcome == null ? null : outcome.getMessage());
+    }
+    List<String> sequentialOutcomes = new ArrayList<>();
+    for (EventDTO event : batch) {
+      try {
+        sequentialModel.createEvent(event, true);
+        sequentialOutcomes.add(null);
+      } catch (RuntimeException e) {
+        sequentialOutcomes.add(e.getMessage());
+      }
+    }
+
+    assertEquals(sequentialOutcomes, outcomes);
+    assertTrue(outcomes.contains(null));
+    assertTrue(outcomes.contains("Auto-declined event has conflict"));
+    assertEquals(sequentialModel.getAllEvents(), calendarModel.getAllEvents());
+  }
+
+  @Test
+  public void testEventTimesInDaylightSavingGapAreRejected() {
+    calendarModel.setZoneId(ZoneId.of("America/New_York"));
+    // 2025-03-09 02:00 to 03:00 is skipped in New York
+    assertThrows(InvalidDateTimeRangeException.class, () -> calendarModel.createEvent(
+        EventDTO.getBuilder()
+            .setSubject("Gap")
+            .setStartTime(LocalDateTime.of(2025, 3, 9, 2, 0))
+            .setEndTime(LocalDateTime.of(2025, 3, 9, 3, 0))
+            .build(), false));
+    assertThrows(InvalidDateTimeRangeException.class, () -> calendarModel.createEvent(
+        EventDTO.getBuilder()
+            .setSubject("Gap")
+            .setStartTime(LocalDateTime.of(2025, 3, 9, 2, 30))
+            .setEndTime(LocalDateTime.of(2025, 3, 9, 2, 45))
+            .build(), false));
+    // an occurrence of the series would start in the gap
+    assertThrows(InvalidDateTimeRangeException.class, () -> calendarModel.createEvent(
+        EventDTO.getBuilder()
+            .setSubject("Weekly")
+            .setStartTime(LocalDateTime.of(2025, 3, 2, 2, 30))
+            .setEndTime(LocalDateTime.of(2025, 3, 2, 3, 30))
+            .setIsRecurring(true)
+            .setRecurringDetails(RecurringDetailsDTO.getBuilder()
+                .setRepeatDays(Set.of(CalendarDayOfWeek.U))
+                .setOccurrences(3)
+                .build())
+            .build(), false));
+    assertTrue(calendarModel.getAllEvents().isEmpty());
+
+    calendarModel.createEvent(EventDTO.getBuilder()
+        .setSubject("Early")
+        .setStartTime(LocalDateTime.of(2025, 3, 9, 1, 0))
+        .setEndTime(LocalDateTime.of(2025, 3, 9, 1, 30))
+        .build(), false);
+    assertThrows(InvalidDateTimeRangeException.class, () -> calendarModel.editEvent("Early",
+        LocalDateTime.of(2025, 3, 9, 1, 0), LocalDateTime.of(2025, 3, 9, 1, 30),
+        EventDTO.getBuilder().setEndTime(LocalDateTime.of(2025, 3, 9, 2, 15)).build()));
+    List<RuntimeException> outcomes = calendarModel.createEvents(List.of(EventDTO.getBuilder()
+        .setSubject("Gap")
+        .setStartTime(LocalDateTime.of(2025, 3, 9, 2, 0))
+        .setEndTime(LocalDateTime.of(2025, 3, 9, 3, 0))
+        .build()), false);
+    assertTrue(outcomes.get(0) instanceof InvalidDateTimeRangeException);
+
+    List<EventDTO> events = calendarModel.getAllEvents();
+    assertEquals(1, events.size());
+    assertEquals(LocalDateTime.of(2025, 3, 9, 1, 0), events.get(0).getStartTime());
+    assertEquals(LocalDateTime.of(2025, 3, 9, 1, 30), events.get(0).getEndTime());
+  }
+
+  @Test
+  public void testAllDayEventOnDayWithoutMidnightIsCreated() {
+    calendarModel.setZoneId(ZoneId.of("America/Santiago"));
+    // 2024-09-08 00:00 to 01:00 is skipped in Santiago
+    calendarModel.createEvent(EventDTO.getBuilder()
+        .setSubject("Holiday")
+        .setStartTime(LocalDateTime.of(2024, 9, 8, 0, 0))
+        .setIsAllDay(true)
+        .build(), false);
+
+    List<EventDTO> events = calendarModel.getEventsOnDate(LocalDate.of(2024, 9, 8));
+    assertEquals(1, events.size());
+    assertTrue(events.get(0).getIsAllDay());
+    assertEquals(LocalDateTime.of(2024, 9, 8, 1, 0), events.get(0).getStartTime());
+    assertEquals(LocalDateTime.of(2024, 9, 9, 0, 0), events.get(0).getEndTime());
+    // a timed event is still not allowed to start at the skipped midnight
+    assertThrows(InvalidDateTimeRangeException.class, () -> calendarModel.createEvent(
+        EventDTO.getBuilder()
+            .setSubject("Breakfast")
+            .setStartTime(LocalDateTime.of(2024, 9, 8, 0, 0))
+            .setEndTime(LocalDateTime.of(2024, 9, 8, 1, 30))
+            .build(), false));
+  }
+
+  @Test
+  public void testEventTimesInDaylightSavingOverlapAreKept() {
+    calendarModel.setZoneId(ZoneId.of("America/New_York"));
+    // 2025-11-02 01:00 to 02:00 happens twice in New York
+    calendarModel.createEvent(EventDTO.getBuilder()
+        .setSubject("Overlap")
+        .setStartTime(LocalDateTime.of(2025, 11, 2, 1, 30))
+        .setEndTime(LocalDateTime.of(2025, 11, 2, 2, 0))
+        .build(), false);
+    calendarModel.createEvent(EventDTO.getBuilder()
+        .setSubject("Before")
+        .setStartTime(LocalDateTime.of(2025, 11, 2, 0, 30))
+        .setEndTime(LocalDateTime.of(2025, 11, 2, 1, 15))
+        .build(), false);
+
+    List<EventDTO> events = calendarModel.getEventsOnDate(LocalDate.of(2025, 11, 2));
+    assertEquals(2, events.size());
+    assertEquals(LocalDateTime.of(2025, 11, 2, 0, 30), events.get(0).getStartTime());
+    assertEquals(LocalDateTime.of(2025, 11, 2, 1, 15), events.get(0).getEndTime());
+    assertEquals(LocalDateTime.of(2025, 11, 2, 1, 30), events.get(1).getStartTime());
+    assertEquals(LocalDateTime.of(2025, 11, 2, 2, 0), events.get(1).getEndTime());
+    assertEquals(Integer.valueOf(1), calendarModel.editEvent("Overlap",
+        LocalDateTime.of(2025, 11, 2, 1, 30), LocalDateTime.of(2025, 11, 2, 2, 0),
+        EventDTO.getBuilder().setLocation("Room 1").build()));
+    assertEquals(LocalDateTime.of(2025, 11, 2, 1, 30),
+        calendarModel.getEventsOnDate(LocalDate.of(2025, 11, 2)).get(1).getStartTime());
+  }
+
+  @Test
+  public void testSetZoneIdShiftsEventsWithoutRecreatingThem() {
+    calendarModel.setZoneId(ZoneId.of("Asia/Kolkata"));
+    calendarModel.createEvent(EventDTO.getBuilder()
+        .setSubject("Weekly")
+        .setStartTime(LocalDateTime.of(2025, 4, 14, 12, 0))
+        .setEndTime(LocalDateTime.of(2025, 4, 14, 13, 0))
+        .setIsRecurring(true)
+        .setRecurringDetails(RecurringDetailsDTO.getBuilder()
+            .setRepeatDays(Set.of(CalendarDayOfWeek.M))
+            .setUntilDate(LocalDateTime.of(2025, 4, 21, 13, 0))
+            .build())
+        .build(), false);
+    calendarModel.createEvent(EventDTO.getBuilder()
+        .setSubject("Single")
+        .setStartTime(LocalDateTime.of(2025, 4, 11, 2, 0))
+        .setEndTime(LocalDateTime.of(2025, 4, 11, 3, 0))
+        .build(), false);
+
+    calendarModel.setZoneId(ZoneId.of("America/New_York"));
+
+    List<EventDTO> weekly = calendarModel.getEventsOnDate(LocalDate.of(2025, 4, 14));
+    assertEquals(1, weekly.size());
+    assertEquals(LocalDateTime.of(2025, 4, 14, 2, 30), weekly.get(0).getStartTime());
+    assertEquals(LocalDateTime.of(2025, 4, 21, 3, 30),
+        weekly.get(0).getRecurringDetails().getUntilDate());
+    List<EventDTO> single = calendarModel.getEventsOnDate(LocalDate.of(2025, 4, 10));
+    assertEquals(1, single.size());
+    assertEquals(LocalDateTime.of(2025, 4, 10, 16, 30), single.get(0).getStartTime());
+
+    // edits and queries take the date and times in the new zone
+    calendarModel.editEvent("Single", LocalDateTime.of(2025, 4, 10, 16, 30),
+        LocalDateTime.of(2025, 4, 10, 17, 30),
+        EventDTO.getBuilder().setLocation("Room 1").build());
+    assertEquals("Room 1",
+        calendarModel.getEventsInRange(LocalDateTime.of(2025, 4, 10, 16, 0),
+            LocalDateTime.of(2025, 4, 10, 17, 0)).get(0).getLocation());
+
+    calendarModel.setZoneId(ZoneId.of("Asia/Kolkata"));
+    assertEquals(LocalDateTime.of(2025, 4, 11, 2, 0),
+        calendarModel.getEventsOnDate(LocalDate.of(2025, 4, 11)).get(0).getStartTime());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testSetZoneIdDuringTransaction() {
+    calendarModel.beginTransaction();
+    calendarModel.setZoneId(ZoneId.of("America/New_York"));
+  }
+
+  @Test
+  public void testChangeListenerReceivesOneBatchPerTransaction() {
+    List<List<ModelChange>> batches = new ArrayList<>();
+    calendarModel.addChangeListener(batches::add);
+
+    calendarModel.createEvent(EventDTO.getBuilder()
+        .setSubject("Weekly")
+        .setStartTime(LocalDateTime.of(2025, 4, 14, 12, 0))
+        .setEndTime(LocalDateTime.of(2025, 4, 14, 13, 0))
+        .setIsRecurring(true)
+        .setRecurringDetails(RecurringDetailsDTO.getBuilder()
+            .setRepeatDays(Set.of(CalendarDayOfWeek.M))
+            .setOccurrences(3)
+            .build())
+        .build(), false);
+    assertEquals(1, batches.size());
+    assertEquals(4, batches.get(0).size());
+    assertEquals(ModelChange.Type.INSERTED, batches.get(0).get(0).getType());
+    assertEquals("Weekly", batches.get(0).get(0).getEvent().getSubject());
+    ModelChange seriesUpdate = batches.get(0).get(3);
+    assertEquals(ModelChange.Type.SERIES_UPDATED, seriesUpdate.getType());
+    assertEquals(batches.get(0).get(0).getSeriesId(), seriesUpdate.getSeriesId());
+
+    calendarModel.createEvent(EventDTO.getBuilder()
+        .setSubject("Single")
+        .setStartTime(LocalDateTime.of(2025, 4, 15, 9, 0))
+        .setEndTime(LocalDateTime.of(2025, 4, 15, 10, 0))
+        .build(), false);
+    calendarModel.editEvent("Single", LocalDateTime.of(2025, 4, 15, 9, 0),
+        LocalDateTime.of(2025, 4, 15, 10, 0),
+        EventDTO.getBuilder().setLocation("Room 1").build());
+    assertEquals(3, batches.size());
+    List<ModelChange> edit = batches.get(2);
+    assertEquals(2, edit.size());
+    assertEquals(ModelChange.Type.DELETED, edit.get(0).getType());
+    assertEquals(ModelChange.Type.INSERTED, edit.get(1).getType());
+    assertEquals("Room 1", edit.get(1).getEvent().getLocation());
+
+    calendarModel.deleteEvents(LocalDateTime.of(2025, 4, 15, 0, 0),
+        LocalDateTime.of(2025, 4, 16, 0, 0), "Single");
+    assertEquals(4, batches.size());
+    assertEquals(ModelChange.Type.DELETED, batches.get(3).get(0).getType());
+  }
+
+  @Test
+  public void testChangeListenerSkipsRolledBackAndCancelledChanges() {
+    List<List<ModelChange>> batches = new ArrayList<>();
+    ModelChangeListener listener = batches::add;
+    calendarModel.addChangeListener(listener);
+    EventDTO event = EventDTO.getBuilder()
+        .setSubject("Single")
+        .setStartTime(LocalDateTime.of(2025, 4, 15, 9, 0))
+        .setEndTime(LocalDateTime.of(2025, 4, 15, 10, 0))
+        .build();
+
+    calendarModel.beginTransaction();
+    calendarModel.createEvent(event, false);
+    calendarModel.rollbackTransaction();
+    assertTrue(batches.isEmpty());
+
+    // an event created and deleted in the same transaction is not reported
+    calendarModel.beginTransaction();
+    calendarModel.createEvent(event, false);
+    calendarModel.deleteEvents(event.getStartTime(), event.getEndTime(), null);
+    calendarModel.commitTransaction();
+    assertTrue(batches.isEmpty());
+
+    calendarModel.removeChangeListener(listener);
+    calendarModel.createEvent(event, false);
+    assertTrue(batches.isEmpty());
+  }
+
+  @Test
+  public void testDaySummariesFollowChanges() {
+    calendarModel.createEvent(EventDTO.getBuilder()
+        .setSubject("Overnight")
+        .setStartTime(LocalDateTime.of(2025, 4, 14, 22, 0))
+        .setEndTime(LocalDateTime.of(2025, 4, 15, 2, 0))
+        .build(), false);
+    calendarModel.createEvent(EventDTO.getBuilder()
+        .setSubject("Standup")
+        .setStartTime(LocalDateTime.of(2025, 4, 15, 9, 0))
+        .setEndTime(LocalDateTime.of(2025, 4, 15, 9, 30))
+        .build(), false);
+
+    List<DaySummary> summaries = calendarModel.getDaySummaries(YearMonth.of(2025, 4));
+    assertEquals(30, summaries.size());
+    DaySummary monday = summaries.get(13);
+    assertEquals(LocalDate.of(2025, 4, 14), monday.getDate());
+    assertEquals(1, monday.getEventCount());
+    assertEquals(120, monday.getBusyMinutes());
+    DaySummary tuesday = summaries.get(14);
+    assertEquals(2, tuesday.getEventCount());
+    assertEquals(150, tuesday.getBusyMinutes());
+    assertEquals(LocalDateTime.of(2025, 4, 15, 0, 0), tuesday.getFirstStart());
+    assertEquals(0, summaries.get(15).getEventCount());
+
+    calendarModel.deleteEvents(LocalDateTime.of(2025, 4, 14, 22, 0),
+        LocalDateTime.of(2025, 4, 14, 23, 0), "Overnight");
+    tuesday = calendarModel.getDaySummaries(YearMonth.of(2025, 4)).get(14);
+    assertEquals(1, tuesday.getEventCount());
+    assertEquals(30, tuesday.getBusyMinutes());
+    assertEquals(LocalDateTime.of(2025, 4, 15, 9, 0), tuesday.getFirstStart());
+    assertEquals(0, calendarModel.getDaySummaries(YearMonth.of(2025, 4)).get(13)
+        .getEventCount());
+  }
+
+  private List<String> searchSubjects(String query, int limit) {
+    List<String> subjects = new ArrayList<>();
+    calendarModel.searchEvents(query, limit, event -> subjects.add(event.getSubject()));
+    subjects.sort(null);
+    return subjects;
+  }
+
+  private void createMeeting(String subject, String location, int day) {
+    calendarModel.createEvent(EventDTO.getBuilder()
+        .setSubject(subject)
+        .setLocation(location)
+        .setStartTime(LocalDateTime.of(2025, 4, day, 9, 0))
+        .setEndTime(LocalDateTime.of(2025, 4, day, 10, 0))
+        .build(), false);
+  }
+
+  @Test
+  public void testSearchEventsByWordPrefixes() {
+    createMeeting("Design Review", "Room 4B", 1);
+    createMeeting("Weekly design sync", "Zoom", 2);
+    createMeeting("Lunch", "Cafe Review", 3);
+
+    assertEquals(List.of("Design Review", "Weekly design sync"), searchSubjects("des", 10));
+    assertEquals(List.of("Design Review", "Lunch"), searchSubjects("rev", 10));
+    assertEquals(List.of("Design Review"), searchSubjects("des  REV", 10));
+    assertEquals(List.of("Weekly design sync"), searchSubjects("DESIGN, zo", 10));
+    assertEquals(List.of("Design Review"), searchSubjects("4b", 10));
+    assertEquals(List.of(), searchSubjects("esign", 10));
+    assertEquals(List.of(), searchSubjects("  ", 10));
+    assertEquals(1, searchSubjects("des", 1).size());
+  }
+
+  @Test
+  public void testSearchEventsFollowChangesAndZone() {
+    calendarModel.setZoneId(ZoneId.of("UTC"));
+    createMeeting("Design Review", "Room 4B", 1);
+    createMeeting("Design sync", "Zoom", 2);
+    assertEquals(2, searchSubjects("design", 10).size());
+
+    calendarModel.deleteEvents(LocalDateTime.of(2025, 4, 2, 9, 0),
+        LocalDateTime.of(2025, 4, 2, 9, 30), "Design sync");
+    assertEquals(List.of("Design Review"), searchSubjects("design", 10));
+
+    calendarModel.setZoneId(ZoneId.of("Asia/Kolkata"));
+    List<EventDTO> found = new ArrayList<>();
+    calendarModel.searchEvents("design", 10, found::add);
+    assertEquals(1, found.size());
+    assertEquals(LocalDateTime.of(2025, 4, 1, 14, 30), found.get(0).getStartTime());
+
+    createMeeting("Design retro", "Room 4B", 3);
+    assertEquals(List.of("Design Review", "Design retro"), searchSubjects("design r", 10));
+  }
+
+  @Test
+  public void testDaySummariesMatchEventsOnDate() {
+    Random random = new Random(7);
+    for (int i = 0; i < 300; i++) {
+      LocalDateTime start = LocalDateTime.of(2025, 3, 1, 0, 0)
+          .plusMinutes(15L * random.nextInt(4 * 24 * 90));
+      try {
+        calendarModel.createEvent(EventDTO.getBuilder()
+            .setSubject("Event " + i)
+            .setStartTime(start)
+            .setEndTime(start.plusMinutes(15L * (1 + random.nextInt(12))))
+            .build(), true);
+      } catch (EventConflictException e) {
+        // the declined events are not counted
+      }
+    }
+    calendarModel.setZoneId(ZoneId.of("Asia/Kolkata"));
+    for (DaySummary summary : calendarModel.getDaySummaries(YearMonth.of(2025, 4))) {
+      List<EventDTO> events = calendarModel.getEventsOnDate(summary.getDate());
+      events.removeIf(event -> !event.getStartTime().isBefore(
+          summary.getDate().plusDays(1).atStartOfDay()));
+      events.removeIf(event -> !event.getEndTime().isAfter(summary.getDate().atStartOfDay()));
+      assertEquals(summary.getDate().toString(), events.size(), summary.getEventCount());
+    }
+  }
+
+  @Test
+  public void testDaySummariesSkipRolledBackEvents() {
+    calendarModel.beginTransaction();
+    calendarModel.createEvent(sampleSpannedSingleEventDTO, false);
+    calendarModel.rollbackTransaction();
+    for (DaySummary summary : calendarModel.getDaySummaries(
+        YearMonth.from(sampleSpannedSingleEventDTO.getStartTime()))) {
+      assertEquals(0, summary.getEventCount());
+    }
+  }
+
+  @Test
+  public void testQueryCacheCountsOnlyDateAndRangeQueries() {
+    calendarModel.createEvent(EventDTO.getBuilder()
+        .setSubject("Standup")
+        .setStartTime(LocalDateTime.of(2025, 4, 14, 9, 0))
+        .setEndTime(LocalDateTime.of(2025, 4, 14, 9, 30))
+        .build(), true);
+    // the conflict checks of the create search the overlaps without the cache
+    assertEquals(0, calendarModel.getQueryCacheMissCount());
+
+    calendarModel.getEventsOnDate(LocalDate.of(2025, 4, 14));
+    calendarModel.getEventsOnDate(LocalDate.of(2025, 4, 14));
+    assertEquals(1, calendarModel.getQueryCacheMissCount());
+    assertEquals(1, calendarModel.getQueryCacheHitCount());
+  }
+
+  @Test
+  public void testSettingSameZoneKeepsCachedResults() {
+    calendarModel.setZoneId(ZoneId.of("Asia/Kolkata"));
+    calendarModel.getEventsOnDate(LocalDate.of(2025, 4, 14));
+    calendarModel.setZoneId(ZoneId.of("Asia/Kolkata"));
+    calendarModel.getEventsOnDate(LocalDate.of(2025, 4, 14));
+    assertEquals(1, calendarModel.getQueryCacheHitCount());
+  }
 }
@@ -0,0 +1,164 @@
+package repository;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import dto.EventDTO;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for CachingEventRepository.
+ */
+public class CachingEventRepositoryTest {
+
+  private static final LocalDate DAY = LocalDate.of(2025, 3, 10);
+
+  private InMemoryEventRepository storage;
+
+  private CachingEventRepository repository;
+
+  private static EventDTO event(String subject, LocalDateTime start, LocalDateTime end) {
+    return EventDTO.getBuilder()
+        .setSubject(subject)
+        .setStartTime(start)
+        .setEndTime(end)
+        .setIsAllDay(false)
+        .setIsRecurring(false)
+        .build();
+  }
+
+  @Before
+  public void setUp() {
+    storage = new InMemoryEventRepository();
+    repository = new CachingEventRepository(storage, 4);
+    repository.insertEvent(event("Standup", DAY.atTime(9, 0), DAY.atTime(9, 30)));
+    repository.insertEvent(event("Review", DAY.plusDays(1).atTime(10, 0),
+        DAY.plusDays(1).atTime(11, 0)));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNonPositiveCapacity() {
+    new CachingEventRepository(storage, 0);
+  }
+
+  @Test
+  public void testRepeatedQueryIsHit() {
+    assertEquals(1, repository.getEventsOnDate(DAY).size());
+    assertEquals(1, repository.getEventsOnDate(DAY).size());
+    assertEquals(1, repository.getMissCount());
+    assertEquals(1, repository.getHitCount());
+  }
+
+  @Test
+  public void testReturnedListCanBeChanged() {
+    repository.getEventsOnDate(DAY).clear();
+    assertEquals(1, repository.getEventsOnDate(DAY).size());
+  }
+
+  @Test
+  public void testInsertInvalidatesOnlyOverlappingKeys() {
+    repository.getEventsOnDate(DAY);
+    repository.getEventsOnDate(DAY.plusDays(1));
+    repository.insertEvent(event("Lunch", DAY.atTime(12, 0), DAY.atTime(13, 0)));
+    assertEquals(1, repository.size());
+
+    assertEquals(2, repository.getEventsOnDate(DAY).size());
+    assertEquals(1, repository.getEventsOnDate(DAY.plusDays(1)).size());
+    assertEquals(3, repository.getMissCount());
+    assertEquals(1, repository.getHitCount());
+  }
+
+  @Test
+  public void testDeleteInvalidatesOverlappingRanges() {
+    assertEquals(2, repository.getEventsInRange(DAY.atStartOfDay(),
+        DAY.plusDays(2).atStartOfDay()).size());
+    repository.deleteEvent("Review", DAY.plusDays(1).atTime(10, 0),
+        DAY.plusDays(1).atTime(11, 0));
+    assertEquals(1, repository.getEventsInRange(DAY.atStartOfDay(),
+        DAY.plusDays(2).atStartOfDay()).size());
+  }
+
+  @Test
+  public void testOverlapSearchIsNotCached() {
+    repository.searchOverlaps(DAY.atTime(9, 0), DAY.atTime(10, 0));
+    repository.searchOverlaps(DAY.atTime(9, 0), DAY.atTime(10, 0), event -> { });
+    assertEquals(0, repository.size());
+    assertEquals(0, repository.getHitCount());
+    assertEquals(0, repository.getMissCount());
+  }
+
+  @Test
+  public void testDeleteRangeInvalidatesFullExtentOfDeletedEvents() {
+    repository.insertEvent(event("Offsite", DAY.atTime(8, 0), DAY.plusDays(1).atTime(18, 0)));
+    assertEquals(2, repository.getEventsOnDate(DAY.plusDays(1)).size());
+    // the range only covers the first day of the offsite
+    repository.deleteRange(DAY.atTime(8, 0), DAY.atTime(8, 30), null);
+    assertEquals(1, repository.getEventsOnDate(DAY.plusDays(1)).size());
+  }
+
+  @Test
+  public void testDeleteByIdInvalidates() {
+    EventDTO lunch = event("Lunch", DAY.atTime(12, 0), DAY.atTime(13, 0));
+    repository.insertEvent(EventDTO.getBuilder()
+        .setSubject(lunch.getSubject())
+        .setStartTime(lunch.getStartTime())
+        .setEndTime(lunch.getEndTime())
+        .setIsAllDay(false)
+        .setIsRecurring(false)
+        .setId(7L)
+        .build());
+    assertEquals(2, repository.getEventsInRange(DAY.atStartOfDay(), DAY.atTime(23, 59)).size());
+    repository.deleteById(7L);
+    assertEquals(1, repository.getEventsInRange(DAY.atStartOfDay(), DAY.atTime(23, 59)).size());
+  }
+
+  @Test
+  public void testLeastRecentlyUsedIsEvicted() {
+    for (int day = 0; day < 4; day++) {
+      repository.getEventsOnDate(DAY.plusDays(day));
+    }
+    repository.getEventsOnDate(DAY);
+    repository.getEventsOnDate(DAY.plusDays(4));
+    assertEquals(4, repository.size());
+    repository.getEventsOnDate(DAY);
+    repository.getEventsOnDate(DAY.plusDays(1));
+    // the first date was used again before the fifth date was added, the second date was not
+    assertEquals(2, repository.getHitCount());
+    assertEquals(6, repository.getMissCount());
+  }
+
+  @Test
+  public void testMatchesUncachedRepositoryUnderRandomMutations() {
+    InMemoryEventRepository reference = new InMemoryEventRepository();
+    repository = new CachingEventRepository(new InMemoryEventRepository(), 8);
+    Random random = new Random(42);
+    List<EventDTO> inserted = new ArrayList<>();
+    for (int i = 0; i < 2000; i++) {
+      LocalDate date = DAY.plusDays(random.nextInt(10));
+      int operation = random.nextInt(4);
+      if (operation == 0 || inserted.isEmpty()) {
+        LocalDateTime start = date.atStartOfDay().plusMinutes(30L * random.nextInt(48));
+        EventDTO event = event("Event " + i, start, start.plusMinutes(30L * random.nextInt(60)));
+        inserted.add(event);
+        reference.insertEvent(event);
+        repository.insertEvent(event);
+      } else if (operation == 1) {
+        EventDTO event = inserted.remove(random.nextInt(inserted.size()));
+        assertEquals(
+            reference.deleteEvent(event.getSubject(), event.getStartTime(), event.getEndTime()),
+            repository.deleteEvent(event.getSubject(), event.getStartTime(), event.getEndTime()));
+      } else {
+        assertEquals(reference.getEventsOnDate(date), repository.getEventsOnDate(date));
+        assertEquals(reference.getEventsInRange(date.atTime(9, 0), date.atTime(17, 0)),
+            repository.getEventsInRange(date.atTime(9, 0), date.atTime(17, 0)));
+      }
+    }
+    assertTrue(repository.getHitCount() > 0);
+  }
+}
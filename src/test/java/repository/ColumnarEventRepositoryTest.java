@@ -0,0 +1,184 @@
+package repository;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import dto.EventDTO;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for ColumnarEventRepository.
+ */
+public class ColumnarEventRepositoryTest {
+
+  private ColumnarEventRepository repository;
+
+  @Before
+  public void setUp() {
+    // merge the delta every 4 pending changes
+    repository = new ColumnarEventRepository(4);
+  }
+
+  private static EventDTO createEvent(String subject, int day, int hour) {
+    return EventDTO.getBuilder()
+        .setSubject(subject)
+        .setStartTime(LocalDateTime.of(2025, 3, day, hour, 0))
+        .setEndTime(LocalDateTime.of(2025, 3, day, hour + 1, 0))
+        .setLocation("Room " + day)
+        .setIsPublic(day % 2 == 0)
+        .setIsAllDay(false)
+        .setIsRecurring(null)
+        .build();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidDeltaLimit() {
+    new ColumnarEventRepository(0);
+  }
+
+  @Test
+  public void testInsertNullEvent() {
+    assertFalse(repository.insertEvent(null));
+  }
+
+  @Test
+  public void testQueriesMergeColumnsAndDelta() {
+    for (int day = 1; day <= 6; day++) {
+      assertTrue(repository.insertEvent(createEvent("Standup", day, 9)));
+    }
+    // 4 events were merged into the columns, 2 are still in the delta
+    assertEquals(List.of(createEvent("Standup", 4, 9), createEvent("Standup", 5, 9)),
+        repository.searchOverlaps(LocalDateTime.of(2025, 3, 4, 9, 30),
+            LocalDateTime.of(2025, 3, 5, 9, 30)));
+    assertEquals(List.of(createEvent("Standup", 2, 9)),
+        repository.getEventsOnDate(LocalDate.of(2025, 3, 2)));
+    assertEquals(List.of(createEvent("Standup", 3, 9)),
+        repository.getEventsAt(LocalDateTime.of(2025, 3, 3, 10, 0)));
+    assertEquals(6, repository.getEventsByName("Standup").size());
+    assertTrue(repository.getEventsByName("Review").isEmpty());
+    assertNotNull(repository.getEvent("Standup",
+        LocalDateTime.of(2025, 3, 1, 9, 0), LocalDateTime.of(2025, 3, 1, 10, 0)));
+    assertNotNull(repository.getEvent("Standup",
+        LocalDateTime.of(2025, 3, 6, 9, 0), LocalDateTime.of(2025, 3, 6, 10, 0)));
+
+    List<EventDTO> events = repository.getAllEvents();
+    assertEquals(6, events.size());
+    assertEquals(createEvent("Standup", 1, 9), events.get(0));
+    assertEquals(createEvent("Standup", 6, 9), events.get(5));
+  }
+
+  @Test
+  public void testEventsWithSameStartKeepInsertionOrder() {
+    repository.insertEvent(createEvent("First", 1, 9));
+    repository.insertEvent(createEvent("Other", 2, 9));
+    repository.insertEvent(createEvent("Other", 3, 9));
+    repository.insertEvent(createEvent("Other", 4, 9));
+    // the first event is in the columns, the second in the delta
+    repository.insertEvent(createEvent("Second", 1, 9));
+
+    assertEquals(List.of(createEvent("First", 1, 9), createEvent("Second", 1, 9)),
+        repository.getEventsOnDate(LocalDate.of(2025, 3, 1)));
+    assertEquals(List.of(createEvent("First", 1, 9), createEvent("Second", 1, 9)),
+        repository.stream().limit(2).collect(Collectors.toList()));
+  }
+
+  @Test
+  public void testDeleteMarksRowsUntilMerge() {
+    for (int day = 1; day <= 4; day++) {
+      repository.insertEvent(createEvent("Review", day, 14));
+    }
+    assertTrue(repository.deleteEvent("Review",
+        LocalDateTime.of(2025, 3, 2, 14, 0), LocalDateTime.of(2025, 3, 2, 15, 0)));
+    assertFalse(repository.deleteEvent("Review",
+        LocalDateTime.of(2025, 3, 2, 14, 0), LocalDateTime.of(2025, 3, 2, 15, 0)));
+    assertNull(repository.getEvent("Review",
+        LocalDateTime.of(2025, 3, 2, 14, 0), LocalDateTime.of(2025, 3, 2, 15, 0)));
+    assertTrue(repository.getEventsOnDate(LocalDate.of(2025, 3, 2)).isEmpty());
+    assertEquals(3, repository.getEventsByName("Review").size());
+    assertEquals(3, repository.getAllEvents().size());
+
+    // inserting the same event again makes it visible again
+    repository.insertEvent(createEvent("Review", 2, 14));
+    assertEquals(List.of(createEvent("Review", 2, 14)),
+        repository.getEventsOnDate(LocalDate.of(2025, 3, 2)));
+  }
+
+  @Test
+  public void testEventsBySeriesAcrossColumnsAndDelta() {
+    for (int day = 1; day <= 6; day++) {
+      repository.insertEvent(EventDTO.getBuilder()
+          .setSubject("Standup")
+          .setStartTime(LocalDateTime.of(2025, 3, day, 9, 0))
+          .setEndTime(LocalDateTime.of(2025, 3, day, 9, 15))
+          .setIsRecurring(true)
+          .setSeriesId(day % 2 == 0 ? 2L : 3L)
+          .build());
+    }
+    repository.insertEvent(createEvent("Standup", 2, 10));
+    // the first four occurrences are merged into the columns, the rest stay in the delta
+    List<EventDTO> series = repository.getEventsBySeries(2L);
+    assertEquals(List.of(2, 4, 6), series.stream()
+        .map(event -> event.getStartTime().getDayOfMonth()).collect(Collectors.toList()));
+    assertTrue(series.stream().allMatch(event -> event.getSeriesId() == 2L));
+    assertEquals(3, repository.getEventsBySeries(3L).size());
+    assertTrue(repository.getEventsBySeries(4L).isEmpty());
+    assertNull(repository.getEventsOnDate(LocalDate.of(2025, 3, 2)).get(1).getSeriesId());
+  }
+
+  @Test
+  public void testDeleteRangeAcrossColumnsAndDelta() {
+    for (int day = 1; day <= 6; day++) {
+      repository.insertEvent(createEvent(day % 2 == 0 ? "Even" : "Odd", day, 9));
+    }
+    assertEquals(2, repository.deleteRange(LocalDateTime.of(2025, 3, 2, 0, 0),
+        LocalDateTime.of(2025, 3, 6, 0, 0), "Odd"));
+    assertEquals(0, repository.deleteRange(LocalDateTime.of(2025, 3, 2, 0, 0),
+        LocalDateTime.of(2025, 3, 6, 0, 0), "Missing"));
+    assertEquals(2, repository.deleteRange(LocalDateTime.of(2025, 3, 4, 0, 0),
+        LocalDateTime.of(2025, 3, 7, 0, 0), null));
+    assertEquals(List.of(createEvent("Odd", 1, 9), createEvent("Even", 2, 9)),
+        repository.getAllEvents());
+  }
+
+  @Test
+  public void testQueriesMatchInMemoryRepository() {
+    Random random = new Random(7);
+    InMemoryEventRepository expected = new InMemoryEventRepository();
+    ColumnarEventRepository actual = new ColumnarEventRepository(50);
+    for (int i = 0; i < 2000; i++) {
+      LocalDateTime start = LocalDateTime.of(2025, 1, 1, 0, 0)
+          .plusMinutes(random.nextInt(43200));
+      EventDTO event = EventDTO.getBuilder()
+          .setSubject("event" + random.nextInt(10))
+          .setStartTime(start)
+          .setEndTime(start.plusMinutes(random.nextInt(600)))
+          .setDescription(random.nextBoolean() ? null : "description")
+          .setIsAllDay(random.nextBoolean())
+          .build();
+      expected.insertEvent(event);
+      actual.insertEvent(event);
+      if (i % 10 == 0) {
+        expected.deleteEvent(event.getSubject(), event.getStartTime(), event.getEndTime());
+        actual.deleteEvent(event.getSubject(), event.getStartTime(), event.getEndTime());
+      }
+    }
+    for (int i = 0; i < 50; i++) {
+      LocalDateTime start = LocalDateTime.of(2025, 1, 1, 0, 0)
+          .plusMinutes(random.nextInt(43200));
+      LocalDateTime end = start.plusMinutes(random.nextInt(300));
+      assertEquals(expected.searchOverlaps(start, end), actual.searchOverlaps(start, end));
+      assertEquals(expected.getEventsAt(start), actual.getEventsAt(start));
+    }
+    assertEquals(expected.getEventsByName("event3"), actual.getEventsByName("event3"));
+    assertEquals(expected.getAllEvents(), actual.parallelStream().collect(Collectors.toList()));
+  }
+}
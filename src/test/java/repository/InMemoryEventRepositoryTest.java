@@ -1,10 +1,18 @@
 package repository;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import dto.EventDTO;
+import dto.EventPage;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -52,4 +60,263 @@ public class InMemoryEventRepositoryTest {
         LocalDateTime.of(2025, 10, 12, 0, 12),
         LocalDateTime.of(2025, 10, 13, 0, 12)));
   }
-}
\ No newline at end of file
+
+  private static EventDTO createAllDayEvent(String subject, LocalDate date) {
+    return EventDTO.getBuilder()
+        .setSubject(subject)
+        .setStartTime(date.atStartOfDay())
+        .setEndTime(date.plusDays(1).atStartOfDay())
+        .setIsAllDay(true)
+        .build();
+  }
+
+  @Test
+  public void testAllDayEventsMergeWithTimedEvents() {
+    LocalDate date = LocalDate.of(2025, 12, 25);
+    EventDTO holiday = createAllDayEvent("Holiday", date);
+    EventDTO leave = createAllDayEvent("Leave", date.plusDays(1));
+    EventDTO midnight = EventDTO.getBuilder()
+        .setSubject("Midnight")
+        .setStartTime(date.atStartOfDay())
+        .setEndTime(date.atTime(1, 0))
+        .build();
+    EventDTO lunch = EventDTO.getBuilder()
+        .setSubject("Lunch")
+        .setStartTime(date.atTime(12, 0))
+        .setEndTime(date.atTime(13, 0))
+        .build();
+    repository.insertEvent(lunch);
+    repository.insertEvent(leave);
+    repository.insertEvent(holiday);
+    repository.insertEvent(midnight);
+
+    // the timed event comes first when both start at the same time
+    assertEquals(List.of(midnight, holiday, lunch), repository.getEventsOnDate(date));
+    assertEquals(List.of(midnight, holiday, lunch, leave), repository.getAllEvents());
+    assertEquals(List.of(midnight, holiday, lunch, leave),
+        repository.parallelStream().collect(Collectors.toList()));
+    // the holiday ends when the leave starts
+    assertEquals(List.of(holiday, leave),
+        repository.getEventsAt(date.plusDays(1).atStartOfDay()));
+    assertEquals(List.of(leave), repository.getEventsByName("Leave"));
+    assertEquals(holiday, repository.getEvent("Holiday", date.atStartOfDay(),
+        date.plusDays(1).atStartOfDay()));
+
+    assertTrue(repository.deleteEvent("Holiday", date.atStartOfDay(),
+        date.plusDays(1).atStartOfDay()));
+    assertNull(repository.getEvent("Holiday", date.atStartOfDay(),
+        date.plusDays(1).atStartOfDay()));
+    assertEquals(2, repository.deleteRange(date.atTime(12, 30), date.plusDays(3).atStartOfDay(),
+        null));
+    assertEquals(List.of(midnight), repository.getAllEvents());
+  }
+
+  @Test
+  public void testNestedQueriesFromSinkMergeAllDayEvents() {
+    LocalDate date = LocalDate.of(2025, 12, 25);
+    EventDTO holiday = createAllDayEvent("Holiday", date);
+    EventDTO lunch = EventDTO.getBuilder()
+        .setSubject("Lunch")
+        .setStartTime(date.atTime(12, 0))
+        .setEndTime(date.atTime(13, 0))
+        .build();
+    EventDTO later = EventDTO.getBuilder()
+        .setSubject("Later")
+        .setStartTime(date.plusDays(5).atTime(9, 0))
+        .setEndTime(date.plusDays(5).atTime(10, 0))
+        .build();
+    repository.insertEvent(holiday);
+    repository.insertEvent(lunch);
+    repository.insertEvent(later);
+
+    List<EventDTO> outer = new ArrayList<>();
+    List<EventDTO> inner = new ArrayList<>();
+    repository.searchOverlaps(date.atStartOfDay(), date.plusDays(1).atStartOfDay(), event -> {
+      outer.add(event);
+      repository.getEventsAt(date.atTime(12, 30), inner::add);
+    });
+    assertEquals(List.of(holiday, lunch), outer);
+    assertEquals(List.of(holiday, lunch, holiday, lunch), inner);
+
+    // a range without all-day events is served by the tree alone
+    List<EventDTO> timed = new ArrayList<>();
+    repository.searchOverlaps(date.plusDays(4).atStartOfDay(), date.plusDays(6).atStartOfDay(),
+        timed::add);
+    assertEquals(List.of(later), timed);
+  }
+
+  @Test
+  public void testAllDayQueriesMatchIntervalTree() {
+    Random random = new Random(3);
+    IntervalTree expected = new IntervalTree();
+    LocalDate first = LocalDate.of(2025, 1, 1);
+    for (int i = 0; i < 2000; i++) {
+      EventDTO event;
+      if (random.nextBoolean()) {
+        event = createAllDayEvent("event" + random.nextInt(5), first.plusDays(random.nextInt(60)));
+      } else {
+        LocalDateTime start = first.atStartOfDay().plusMinutes(30L * random.nextInt(2880));
+        event = EventDTO.getBuilder()
+            .setSubject("event" + random.nextInt(5))
+            .setStartTime(start)
+            .setEndTime(start.plusMinutes(30L * random.nextInt(10)))
+            .build();
+      }
+      expected.insert(event);
+      repository.insertEvent(event);
+    }
+    for (int i = 0; i < 100; i++) {
+      LocalDateTime start = first.atStartOfDay().plusMinutes(30L * random.nextInt(2880));
+      LocalDateTime end = start.plusMinutes(30L * random.nextInt(200));
+      assertEquals(expected.searchOverlapping(start, end).size(),
+          repository.searchOverlaps(start, end).size());
+      assertEquals(expected.searchOverlappingPoint(start).size(),
+          repository.getEventsAt(start).size());
+    }
+    assertEquals(expected.findByName("event2").size(),
+        repository.getEventsByName("event2").size());
+    assertEquals(2000, repository.stream().count());
+  }
+
+  @Test
+  public void testEventsBySeries() {
+    EventDTO third = createOccurrence("Standup", 5, 7L);
+    EventDTO first = createOccurrence("Standup", 3, 7L);
+    EventDTO second = createOccurrence("Standup", 4, 7L);
+    EventDTO other = createOccurrence("Standup", 4, 8L);
+    EventDTO allDay = EventDTO.getBuilder()
+        .setSubject("Holiday")
+        .setStartTime(LocalDateTime.of(2025, 3, 6, 0, 0))
+        .setEndTime(LocalDateTime.of(2025, 3, 7, 0, 0))
+        .setIsAllDay(true)
+        .setIsRecurring(true)
+        .setSeriesId(7L)
+        .build();
+    List.of(third, first, second, other, allDay).forEach(repository::insertEvent);
+    repository.insertEvent(createOccurrence("Standup", 4, null));
+
+    assertEquals(List.of(first, second, third, allDay), repository.getEventsBySeries(7L));
+    assertEquals(List.of(other), repository.getEventsBySeries(8L));
+    assertTrue(repository.getEventsBySeries(9L).isEmpty());
+
+    assertTrue(repository.deleteEvent("Standup", second.getStartTime(), second.getEndTime()));
+    assertTrue(repository.deleteEvent("Holiday", allDay.getStartTime(), allDay.getEndTime()));
+    assertEquals(List.of(first, third), repository.getEventsBySeries(7L));
+    assertEquals(3, repository.deleteRange(LocalDateTime.of(2025, 3, 4, 0, 0),
+        LocalDateTime.of(2025, 3, 6, 0, 0), "Standup"));
+    assertEquals(List.of(first), repository.getEventsBySeries(7L));
+    assertTrue(repository.getEventsBySeries(8L).isEmpty());
+  }
+
+  @Test
+  public void testGetAndDeleteById() {
+    Random random = new Random(5);
+    List<EventDTO> events = new ArrayList<>();
+    for (long id = 0; id < 2000; id++) {
+      LocalDateTime start = LocalDateTime.of(2025, 3, 1, 0, 0).plusHours(random.nextInt(24 * 30));
+      EventDTO event = EventDTO.getBuilder()
+          .setSubject("event" + random.nextInt(5))
+          .setStartTime(start)
+          .setEndTime(id % 4 == 0 ? start.plusDays(1) : start.plusMinutes(30))
+          .setIsAllDay(id % 4 == 0)
+          .setId(id)
+          .build();
+      events.add(event);
+      repository.insertEvent(event);
+    }
+    for (int i = 0; i < events.size(); i += 3) {
+      assertTrue(repository.deleteById(events.get(i).getId()));
+      assertFalse(repository.deleteById(events.get(i).getId()));
+    }
+    for (int i = 0; i < events.size(); i++) {
+      EventDTO event = events.get(i);
+      if (i % 3 == 0) {
+        assertNull(repository.getById(event.getId()));
+      } else {
+        assertTrue(event == repository.getById(event.getId()));
+      }
+    }
+    assertEquals(events.size() - (events.size() + 2) / 3, repository.getAllEvents().size());
+
+    // deleting by key drops the event from the identifier index as well
+    EventDTO event = events.get(1);
+    assertTrue(repository.deleteEvent(event.getSubject(), event.getStartTime(),
+        event.getEndTime()));
+    assertNull(repository.getById(event.getId()));
+  }
+
+  @Test
+  public void testEventsPagesMatchSearchOverlaps() {
+    Random random = new Random(7);
+    LocalDateTime base = LocalDateTime.of(2025, 3, 1, 0, 0);
+    for (int i = 0; i < 600; i++) {
+      // starts on the half hour, so many events start at the same time
+      LocalDateTime start = base.plusMinutes(30L * (random.nextInt(400) - 20));
+      boolean isAllDay = random.nextInt(10) == 0;
+      repository.insertEvent(EventDTO.getBuilder()
+          .setSubject("Event " + i)
+          .setStartTime(isAllDay ? start.toLocalDate().atStartOfDay() : start)
+          .setEndTime(isAllDay ? start.toLocalDate().plusDays(1).atStartOfDay()
+              : start.plusMinutes(30L * random.nextInt(100)))
+          .setIsAllDay(isAllDay)
+          .setIsRecurring(false)
+          .build());
+    }
+    LocalDateTime startTime = base.plusHours(3);
+    LocalDateTime endTime = base.plusDays(6);
+    List<EventDTO> expected = repository.searchOverlaps(startTime, endTime);
+    for (int limit : new int[]{1, 7, 50, 1000}) {
+      List<EventDTO> paged = new ArrayList<>();
+      LocalDateTime cursorStart = null;
+      int cursorSkip = 0;
+      boolean hasMore = true;
+      while (hasMore) {
+        EventPage page = repository.getEventsPage(startTime, endTime, cursorStart, cursorSkip,
+            limit);
+        assertTrue(page.getEvents().size() <= limit);
+        paged.addAll(page.getEvents());
+        cursorStart = page.getNextStart();
+        cursorSkip = page.getNextSkip();
+        hasMore = page.hasMore();
+      }
+      assertEquals("limit " + limit, expected, paged);
+    }
+  }
+
+  @Test
+  public void testEventsPageAfterLastEventIsEmpty() {
+    LocalDateTime start = LocalDateTime.of(2025, 3, 3, 9, 0);
+    repository.insertEvent(EventDTO.getBuilder()
+        .setSubject("Standup")
+        .setStartTime(start)
+        .setEndTime(start.plusMinutes(15))
+        .setIsAllDay(false)
+        .setIsRecurring(false)
+        .build());
+    EventPage page = repository.getEventsPage(start.minusDays(1), start.plusDays(1), null, 0, 1);
+    assertEquals(1, page.getEvents().size());
+    assertFalse(page.hasMore());
+
+    page = repository.getEventsPage(start.minusDays(1), start.plusDays(1), page.getNextStart(),
+        page.getNextSkip(), 1);
+    assertTrue(page.getEvents().isEmpty());
+    assertFalse(page.hasMore());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testEventsPageNonPositiveLimit() {
+    repository.getEventsPage(LocalDateTime.of(2025, 3, 1, 0, 0),
+        LocalDateTime.of(2025, 3, 2, 0, 0), null, 0, 0);
+  }
+
+  private static EventDTO createOccurrence(String subject, int day, Long seriesId) {
+    return EventDTO.getBuilder()
+        .setSubject(subject)
+        .setStartTime(LocalDateTime.of(2025, 3, day, 9, 0))
+        .setEndTime(LocalDateTime.of(2025, 3, day, 9, 15))
+        .setIsAllDay(false)
+        .setIsRecurring(true)
+        .setSeriesId(seriesId)
+        .build();
+  }
+}
@@ -1,11 +1,19 @@
 package repository;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
 import dto.EventDTO;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -264,4 +272,397 @@ public class IntervalTreeTest {
     assertEquals(1, events.size());
     assertEquals(event10, events.get(0));
   }
+
+  private void insertAllEvents() {
+    for (EventDTO event : List.of(event1, event2, event3, event4, event5, event6, event7, event8,
+        event9, event10)) {
+      assertTrue(tree.insert(event));
+    }
+  }
+
+  @Test
+  public void testSplit() {
+    insertAllEvents();
+    IntervalTree later = tree.split(LocalDateTime.of(2025, 1, 7, 9, 0));
+
+    assertEquals(List.of(event1, event7, event3, event5, event6), tree.getAllEvents());
+    assertEquals(List.of(event10, event4, event2, event8, event9), later.getAllEvents());
+    assertTrue(tree.isValid());
+    assertTrue(later.isValid());
+
+    // the maxEnd of the detached trees is still used to prune the overlap search
+    assertEquals(List.of(event6), tree.searchOverlapping(
+        LocalDateTime.of(2025, 1, 6, 20, 0), LocalDateTime.of(2025, 1, 6, 21, 0)));
+    assertEquals(0, later.searchOverlapping(
+        LocalDateTime.of(2025, 1, 6, 20, 0), LocalDateTime.of(2025, 1, 6, 21, 0)).size());
+  }
+
+  @Test
+  public void testSplitOutsideRange() {
+    insertAllEvents();
+    IntervalTree later = tree.split(LocalDateTime.of(2024, 1, 1, 0, 0));
+    assertTrue(tree.isEmpty());
+    assertEquals(10, later.getAllEvents().size());
+
+    IntervalTree empty = later.split(LocalDateTime.of(2026, 1, 1, 0, 0));
+    assertTrue(empty.isEmpty());
+    assertEquals(10, later.getAllEvents().size());
+  }
+
+  @Test
+  public void testJoin() {
+    insertAllEvents();
+    IntervalTree later = tree.split(LocalDateTime.of(2025, 1, 8, 0, 0));
+    IntervalTree joined = IntervalTree.join(tree, later);
+
+    assertTrue(tree.isEmpty());
+    assertTrue(later.isEmpty());
+    assertTrue(joined.isValid());
+    assertEquals(List.of(event1, event7, event3, event5, event6, event10, event4, event2, event8,
+        event9), joined.getAllEvents());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testJoinUnorderedTrees() {
+    insertAllEvents();
+    IntervalTree other = new IntervalTree();
+    other.insert(event3);
+    IntervalTree.join(tree, other);
+  }
+
+  @Test
+  public void testExtractRange() {
+    insertAllEvents();
+    IntervalTree range = tree.extractRange(
+        LocalDateTime.of(2025, 1, 4, 0, 0), LocalDateTime.of(2025, 1, 10, 12, 0));
+
+    assertEquals(List.of(event3, event5, event6, event10, event4), range.getAllEvents());
+    assertEquals(List.of(event1, event7, event2, event8, event9), tree.getAllEvents());
+    assertTrue(tree.isValid());
+    assertTrue(range.isValid());
+  }
+
+  @Test
+  public void testSplitAndJoinKeepInvariantsOnLargeTrees() {
+    Random random = new Random(42);
+    for (int i = 0; i < 2000; i++) {
+      LocalDateTime start = LocalDateTime.of(2025, 1, 1, 0, 0)
+          .plusMinutes(random.nextInt(525600));
+      tree.insert(EventDTO.getBuilder()
+          .setSubject("event" + i)
+          .setStartTime(start)
+          .setEndTime(start.plusMinutes(1 + random.nextInt(3000)))
+          .build());
+    }
+    List<EventDTO> expected = tree.getAllEvents();
+    for (int month = 2; month <= 12; month++) {
+      IntervalTree later = tree.split(LocalDateTime.of(2025, month, 1, 0, 0));
+      assertTrue(tree.isValid());
+      assertTrue(later.isValid());
+      tree = IntervalTree.join(tree, later);
+      assertTrue(tree.isValid());
+    }
+    assertEquals(expected, tree.getAllEvents());
+
+    IntervalTree range = tree.extractRange(
+        LocalDateTime.of(2025, 3, 1, 0, 0), LocalDateTime.of(2025, 9, 1, 0, 0));
+    assertTrue(tree.isValid());
+    assertTrue(range.isValid());
+    assertEquals(expected.size(), tree.getAllEvents().size() + range.getAllEvents().size());
+  }
+
+  @Test
+  public void testDeleteRange() {
+    insertAllEvents();
+    // event1 and event7 start before the range and run into it
+    assertEquals(6, tree.deleteRange(
+        LocalDateTime.of(2025, 1, 1, 15, 0), LocalDateTime.of(2025, 1, 8, 12, 55), null));
+    assertEquals(List.of(event4, event2, event8, event9), tree.getAllEvents());
+    assertTrue(tree.isValid());
+  }
+
+  @Test
+  public void testDeleteRangeWithName() {
+    insertAllEvents();
+    assertEquals(1, tree.deleteRange(
+        LocalDateTime.of(2025, 1, 1, 0, 0), LocalDateTime.of(2025, 1, 31, 0, 0), "event9"));
+    assertEquals(1, tree.deleteRange(
+        LocalDateTime.of(2025, 1, 1, 15, 0), LocalDateTime.of(2025, 1, 2, 0, 0), "event7"));
+    assertEquals(List.of(event1, event3, event5, event6, event10, event4, event2, event8),
+        tree.getAllEvents());
+    assertTrue(tree.isValid());
+    assertEquals(0, tree.deleteRange(
+        LocalDateTime.of(2025, 1, 1, 0, 0), LocalDateTime.of(2025, 1, 31, 0, 0), "missing"));
+    assertEquals(8, tree.getAllEvents().size());
+  }
+
+  @Test
+  public void testDeleteRangeAtInstant() {
+    insertAllEvents();
+    assertEquals(2, tree.deleteRange(
+        LocalDateTime.of(2025, 1, 6, 0, 0), LocalDateTime.of(2025, 1, 6, 0, 0), null));
+    assertEquals(8, tree.getAllEvents().size());
+    assertTrue(tree.isValid());
+  }
+
+  @Test
+  public void testDeleteRangeMatchesSearchOverlapping() {
+    Random random = new Random(7);
+    for (int i = 0; i < 2000; i++) {
+      LocalDateTime start = LocalDateTime.of(2025, 1, 1, 0, 0)
+          .plusMinutes(random.nextInt(525600));
+      tree.insert(EventDTO.getBuilder()
+          .setSubject("event" + random.nextInt(5))
+          .setStartTime(start)
+          .setEndTime(start.plusMinutes(1 + random.nextInt(3000)))
+          .build());
+    }
+    LocalDateTime start = LocalDateTime.of(2025, 4, 1, 0, 0);
+    LocalDateTime end = LocalDateTime.of(2025, 7, 1, 0, 0);
+    List<EventDTO> expected = tree.getAllEvents();
+    List<EventDTO> overlapping = tree.searchOverlapping(start, end);
+    overlapping.removeIf(event -> !event.getSubject().equals("event3"));
+    expected.removeAll(overlapping);
+
+    assertEquals(overlapping.size(), tree.deleteRange(start, end, "event3"));
+    assertEquals(expected, tree.getAllEvents());
+    assertTrue(tree.isValid());
+
+    tree.deleteRange(start, end, null);
+    assertTrue(tree.searchOverlapping(start, end).isEmpty());
+    assertTrue(tree.isValid());
+  }
+
+  @Test
+  public void testIteratorWalksInStartOrder() {
+    insertAllEvents();
+    List<EventDTO> events = new ArrayList<>();
+    for (EventDTO event : tree) {
+      events.add(event);
+    }
+    assertEquals(List.of(event1, event7, event3, event5, event6, event10, event4, event2, event8,
+        event9), events);
+    assertEquals(events, tree.stream().collect(Collectors.toList()));
+  }
+
+  @Test(expected = NoSuchElementException.class)
+  public void testIteratorOnEmptyTree() {
+    Iterator<EventDTO> iterator = tree.iterator();
+    assertFalse(iterator.hasNext());
+    iterator.next();
+  }
+
+  @Test
+  public void testSpliteratorSplitsIntoOrderedPrefixes() {
+    for (int i = 0; i < 1000; i++) {
+      LocalDateTime start = LocalDateTime.of(2025, 1, 1, 0, 0).plusHours(i);
+      tree.insert(EventDTO.getBuilder()
+          .setSubject("event" + i)
+          .setStartTime(start)
+          .setEndTime(start.plusMinutes(30))
+          .build());
+    }
+    Spliterator<EventDTO> suffix = tree.spliterator();
+    Spliterator<EventDTO> prefix = suffix.trySplit();
+    assertNotNull(prefix);
+    List<EventDTO> events = new ArrayList<>();
+    prefix.forEachRemaining(events::add);
+    int prefixSize = events.size();
+    suffix.forEachRemaining(events::add);
+
+    // the prefix is the left subtree of the root, roughly half of the events
+    assertTrue(prefixSize > 250 && prefixSize < 750);
+    assertEquals(tree.getAllEvents(), events);
+  }
+
+  @Test
+  public void testSpliteratorSplitsAfterWalkStarted() {
+    insertAllEvents();
+    Spliterator<EventDTO> suffix = tree.spliterator();
+    List<EventDTO> events = new ArrayList<>();
+    suffix.tryAdvance(events::add);
+    suffix.tryAdvance(events::add);
+    suffix.tryAdvance(events::add);
+    Spliterator<EventDTO> prefix = suffix.trySplit();
+    while (prefix != null) {
+      prefix.forEachRemaining(events::add);
+      prefix = suffix.trySplit();
+    }
+    suffix.forEachRemaining(events::add);
+    assertEquals(tree.getAllEvents(), events);
+  }
+
+  @Test
+  public void testParallelStreamKeepsEncounterOrder() {
+    Random random = new Random(11);
+    for (int i = 0; i < 5000; i++) {
+      LocalDateTime start = LocalDateTime.of(2025, 1, 1, 0, 0)
+          .plusMinutes(random.nextInt(525600));
+      tree.insert(EventDTO.getBuilder()
+          .setSubject("event" + i)
+          .setStartTime(start)
+          .setEndTime(start.plusMinutes(30))
+          .build());
+    }
+    assertEquals(tree.getAllEvents(), tree.parallelStream().collect(Collectors.toList()));
+    assertEquals(5000, tree.parallelStream().count());
+  }
+
+  @Test
+  public void testSinkQueriesMatchFullScan() {
+    Random random = new Random(3);
+    for (int i = 0; i < 3000; i++) {
+      LocalDateTime start = LocalDateTime.of(2025, 1, 1, 0, 0)
+          .plusMinutes(random.nextInt(43200));
+      tree.insert(EventDTO.getBuilder()
+          .setSubject("event" + random.nextInt(10))
+          .setStartTime(start)
+          .setEndTime(start.plusMinutes(random.nextInt(600)))
+          .build());
+    }
+    for (int i = 0; i < 50; i++) {
+      LocalDateTime start = LocalDateTime.of(2025, 1, 1, 0, 0)
+          .plusMinutes(random.nextInt(43200));
+      LocalDateTime end = start.plusMinutes(random.nextInt(300));
+
+      List<EventDTO> expected = new ArrayList<>();
+      List<EventDTO> expectedAtPoint = new ArrayList<>();
+      for (EventDTO event : tree) {
+        if (event.getStartTime().isBefore(end) && event.getEndTime().isAfter(start)
+            || event.getStartTime().isEqual(start)) {
+          expected.add(event);
+        }
+        if (!event.getStartTime().isAfter(start) && !event.getEndTime().isBefore(start)) {
+          expectedAtPoint.add(event);
+        }
+      }
+      List<EventDTO> overlapping = new ArrayList<>();
+      tree.searchOverlapping(start, end, overlapping::add);
+      assertEquals(expected, overlapping);
+
+      List<EventDTO> atPoint = new ArrayList<>();
+      tree.searchOverlappingPoint(start, atPoint::add);
+      assertEquals(expectedAtPoint, atPoint);
+    }
+
+    List<EventDTO> byName = new ArrayList<>();
+    tree.findByName("event4", byName::add);
+    assertEquals(tree.stream().filter(event -> event.getSubject().equals("event4"))
+        .collect(Collectors.toList()), byName);
+  }
+
+  @Test
+  public void testStartTimesWithinAMicrosecond() {
+    LocalDateTime start = LocalDateTime.of(2025, 1, 1, 9, 0);
+    EventDTO first = EventDTO.getBuilder()
+        .setSubject("first")
+        .setStartTime(start.plusNanos(100))
+        .setEndTime(start.plusHours(1))
+        .build();
+    EventDTO second = EventDTO.getBuilder()
+        .setSubject("second")
+        .setStartTime(start.plusNanos(200))
+        .setEndTime(start.plusNanos(300))
+        .build();
+    tree.insert(second);
+    tree.insert(first);
+    assertTrue(tree.isValid());
+    assertEquals(List.of(first, second), tree.getAllEvents());
+
+    // the nodes share their microseconds but are matched on the exact times
+    assertEquals(List.of(first), tree.searchOverlapping(start.plusNanos(300),
+        start.plusNanos(400)));
+    assertEquals(List.of(first), tree.searchOverlappingPoint(start.plusNanos(150)));
+    assertEquals(List.of(first, second), tree.searchOverlappingPoint(start.plusNanos(300)));
+    assertNotNull(tree.findEvent("second", start.plusNanos(200), start.plusNanos(300)));
+    assertTrue(tree.delete("first", start.plusNanos(100), start.plusHours(1)));
+    assertTrue(tree.isValid());
+    assertEquals(List.of(second), tree.getAllEvents());
+  }
+
+  @Test
+  public void testInsertAllMatchesSequentialInserts() {
+    Random random = new Random(42);
+    IntervalTree sequential = new IntervalTree();
+    for (int i = 0; i < 1000; i++) {
+      EventDTO event = randomEvent(random, "event" + i);
+      tree.insert(event);
+      sequential.insert(event);
+    }
+    List<EventDTO> batch = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      batch.add(randomEvent(random, "batch" + i));
+    }
+    batch.sort((first, second) -> first.getStartTime().compareTo(second.getStartTime()));
+    batch.forEach(sequential::insert);
+
+    tree.insertAll(batch);
+    assertTrue(tree.isValid());
+    assertEquals(sequential.getAllEvents(), tree.getAllEvents());
+  }
+
+  @Test
+  public void testManyEventsWithSameStartTime() {
+    LocalDateTime start = LocalDateTime.of(2025, 1, 1, 9, 0);
+    List<EventDTO> events = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      EventDTO event = EventDTO.getBuilder()
+          .setSubject("event" + i)
+          .setStartTime(start)
+          .setEndTime(start.plusMinutes(1 + i))
+          .build();
+      events.add(event);
+      tree.insert(event);
+    }
+    assertEquals(events, tree.getAllEvents());
+
+    // removing the first and the last events keeps the others in order and shrinks the end time
+    assertTrue(tree.delete(events.remove(99)));
+    assertTrue(tree.delete(events.remove(0)));
+    assertTrue(tree.delete(events.remove(50)));
+    assertTrue(tree.isValid());
+    assertEquals(events, tree.getAllEvents());
+    assertEquals(events, tree.searchOverlapping(start, start.plusMinutes(2)));
+    assertTrue(tree.searchOverlappingPoint(start.plusMinutes(99).plusSeconds(30)).isEmpty());
+  }
+
+  @Test
+  public void testDeleteInstancesFromLargeNode() {
+    LocalDateTime start = LocalDateTime.of(2025, 1, 1, 9, 0);
+    Random random = new Random(3);
+    List<EventDTO> events = new ArrayList<>();
+    for (int round = 0; round < 20; round++) {
+      for (int i = 0; i < 10; i++) {
+        EventDTO event = EventDTO.getBuilder()
+            .setSubject("same")
+            .setStartTime(start)
+            .setEndTime(start.plusMinutes(1 + random.nextInt(120)))
+            .build();
+        events.add(event);
+        tree.insert(event);
+      }
+      // the instances are removed by identity, wherever they are in the node
+      for (int i = 0; i < 7; i++) {
+        EventDTO removed = events.remove(random.nextInt(events.size()));
+        assertTrue(tree.delete(removed));
+        assertFalse(tree.delete(removed));
+      }
+      assertTrue(tree.isValid());
+      assertEquals(events, tree.getAllEvents());
+      assertEquals(events, tree.stream().collect(Collectors.toList()));
+    }
+    assertEquals(events, tree.searchOverlappingPoint(start));
+    assertEquals(events.get(0), tree.remove("same", start, events.get(0).getEndTime()));
+    assertEquals(null, tree.remove("other", start, events.get(1).getEndTime()));
+  }
+
+  private static EventDTO randomEvent(Random random, String subject) {
+    // starts on the hour, so that many events share a start time
+    LocalDateTime start = LocalDateTime.of(2025, 1, 1, 0, 0).plusHours(random.nextInt(2000));
+    return EventDTO.getBuilder()
+        .setSubject(subject)
+        .setStartTime(start)
+        .setEndTime(start.plusMinutes(1 + random.nextInt(300)))
+        .build();
+  }
 }
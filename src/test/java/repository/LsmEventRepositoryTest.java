@@ -0,0 +1,170 @@
+package repository;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import dto.EventDTO;
+import java.io.File;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Test class for LsmEventRepository.
+ */
+public class LsmEventRepositoryTest {
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private LsmEventRepository repository;
+
+  @Before
+  public void setUp() {
+    // flush every 4 records and compact once there are 3 runs
+    repository = new LsmEventRepository(temporaryFolder.getRoot().toPath(), 4, 3);
+  }
+
+  @After
+  public void tearDown() {
+    repository.close();
+  }
+
+  private static EventDTO createEvent(String subject, int day, int hour) {
+    return EventDTO.getBuilder()
+        .setSubject(subject)
+        .setStartTime(LocalDateTime.of(2025, 3, day, hour, 0))
+        .setEndTime(LocalDateTime.of(2025, 3, day, hour + 1, 0))
+        .setLocation("Room " + day)
+        .setIsPublic(true)
+        .setIsAllDay(false)
+        .setIsRecurring(false)
+        .build();
+  }
+
+  @Test
+  public void testInsertNullEvent() {
+    assertFalse(repository.insertEvent(null));
+  }
+
+  @Test
+  public void testQueriesMergeMemtableAndRuns() {
+    for (int day = 1; day <= 6; day++) {
+      assertTrue(repository.insertEvent(createEvent("Standup", day, 9)));
+    }
+    // 4 events were flushed to a run, 2 are still in the memtable
+    assertEquals(1, repository.getRunCount());
+
+    List<EventDTO> events = repository.getAllEvents();
+    assertEquals(6, events.size());
+    assertEquals(createEvent("Standup", 1, 9), events.get(0));
+    assertEquals(createEvent("Standup", 6, 9), events.get(5));
+
+    assertEquals(List.of(createEvent("Standup", 4, 9), createEvent("Standup", 5, 9)),
+        repository.searchOverlaps(LocalDateTime.of(2025, 3, 4, 9, 30),
+            LocalDateTime.of(2025, 3, 5, 9, 30)));
+    assertEquals(List.of(createEvent("Standup", 2, 9)),
+        repository.getEventsOnDate(LocalDate.of(2025, 3, 2)));
+    assertEquals(List.of(createEvent("Standup", 3, 9)),
+        repository.getEventsAt(LocalDateTime.of(2025, 3, 3, 10, 0)));
+    assertEquals(6, repository.getEventsByName("Standup").size());
+    assertNotNull(repository.getEvent("Standup",
+        LocalDateTime.of(2025, 3, 1, 9, 0), LocalDateTime.of(2025, 3, 1, 10, 0)));
+  }
+
+  @Test
+  public void testDeleteFlushedEventWritesTombstone() {
+    for (int day = 1; day <= 4; day++) {
+      repository.insertEvent(createEvent("Review", day, 14));
+    }
+    assertEquals(1, repository.getRunCount());
+
+    assertTrue(repository.deleteEvent("Review",
+        LocalDateTime.of(2025, 3, 2, 14, 0), LocalDateTime.of(2025, 3, 2, 15, 0)));
+    assertFalse(repository.deleteEvent("Review",
+        LocalDateTime.of(2025, 3, 2, 14, 0), LocalDateTime.of(2025, 3, 2, 15, 0)));
+    assertNull(repository.getEvent("Review",
+        LocalDateTime.of(2025, 3, 2, 14, 0), LocalDateTime.of(2025, 3, 2, 15, 0)));
+    assertEquals(3, repository.getAllEvents().size());
+    assertTrue(repository.getEventsOnDate(LocalDate.of(2025, 3, 2)).isEmpty());
+
+    // inserting the same event again makes it visible again
+    repository.insertEvent(createEvent("Review", 2, 14));
+    assertEquals(List.of(createEvent("Review", 2, 14)),
+        repository.getEventsOnDate(LocalDate.of(2025, 3, 2)));
+  }
+
+  @Test
+  public void testCompactionMergesRunsAndDropsDeletedEvents() throws InterruptedException {
+    for (int day = 1; day <= 8; day++) {
+      repository.insertEvent(createEvent("Sync", day, 8));
+    }
+    assertEquals(2, repository.getRunCount());
+    repository.deleteEvent("Sync",
+        LocalDateTime.of(2025, 3, 1, 8, 0), LocalDateTime.of(2025, 3, 1, 9, 0));
+    repository.deleteEvent("Sync",
+        LocalDateTime.of(2025, 3, 5, 8, 0), LocalDateTime.of(2025, 3, 5, 9, 0));
+    repository.insertEvent(createEvent("Sync", 9, 8));
+    repository.insertEvent(createEvent("Sync", 10, 8));
+
+    // the third run triggers a compaction into a single run
+    repository.awaitCompaction();
+    assertEquals(1, repository.getRunCount());
+
+    List<EventDTO> events = repository.getAllEvents();
+    assertEquals(8, events.size());
+    assertFalse(events.contains(createEvent("Sync", 1, 8)));
+    assertFalse(events.contains(createEvent("Sync", 5, 8)));
+    assertTrue(events.contains(createEvent("Sync", 10, 8)));
+  }
+
+  @Test
+  public void testCloseDeletesRunFiles() {
+    for (int day = 1; day <= 8; day++) {
+      repository.insertEvent(createEvent("Sync", day, 8));
+    }
+    repository.close();
+    File[] remaining = temporaryFolder.getRoot().listFiles();
+    assertNotNull(remaining);
+    assertEquals(0, remaining.length);
+  }
+
+  @Test(timeout = 30000)
+  public void testCloseDuringCompactionDoesNotBlock() {
+    for (int attempt = 0; attempt < 20; attempt++) {
+      // every insert is flushed, so runs keep piling up while a compaction runs
+      LsmEventRepository flushing = new LsmEventRepository(temporaryFolder.getRoot().toPath(),
+          1, 2);
+      for (int day = 1; day <= 28; day++) {
+        flushing.insertEvent(createEvent("Sync", day, 8));
+      }
+      flushing.close();
+    }
+    File[] remaining = temporaryFolder.getRoot().listFiles();
+    assertNotNull(remaining);
+    assertEquals(1, remaining.length);
+  }
+
+  @Test
+  public void testDeleteRangeAcrossMemtableAndRuns() {
+    for (int day = 1; day <= 6; day++) {
+      repository.insertEvent(createEvent(day % 2 == 0 ? "Even" : "Odd", day, 9));
+    }
+    assertEquals(1, repository.getRunCount());
+
+    assertEquals(2, repository.deleteRange(LocalDateTime.of(2025, 3, 2, 0, 0),
+        LocalDateTime.of(2025, 3, 6, 0, 0), "Odd"));
+    assertEquals(2, repository.deleteRange(LocalDateTime.of(2025, 3, 4, 0, 0),
+        LocalDateTime.of(2025, 3, 7, 0, 0), null));
+    assertEquals(List.of(createEvent("Odd", 1, 9), createEvent("Even", 2, 9)),
+        repository.getAllEvents());
+  }
+}
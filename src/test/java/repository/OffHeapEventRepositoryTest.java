@@ -0,0 +1,163 @@
+package repository;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import dto.EventDTO;
+import dto.RecurringDetailsDTO;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+import model.CalendarDayOfWeek;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for OffHeapEventRepository.
+ */
+public class OffHeapEventRepositoryTest {
+
+  private OffHeapEventRepository repository;
+
+  @Before
+  public void setUp() {
+    repository = new OffHeapEventRepository();
+  }
+
+  private static EventDTO createEvent(String subject, int day, int hour) {
+    return EventDTO.getBuilder()
+        .setSubject(subject)
+        .setStartTime(LocalDateTime.of(2025, 3, day, hour, 0))
+        .setEndTime(LocalDateTime.of(2025, 3, day, hour + 1, 0))
+        .setLocation("Room " + day)
+        .setIsPublic(true)
+        .setIsAllDay(false)
+        .setIsRecurring(false)
+        .build();
+  }
+
+  @Test
+  public void testInsertNullEvent() {
+    assertFalse(repository.insertEvent(null));
+  }
+
+  @Test
+  public void testEventsAreDecodedOnRead() {
+    EventDTO recurring = EventDTO.getBuilder()
+        .setSubject("Standup")
+        .setStartTime(LocalDateTime.of(2025, 3, 3, 9, 0).plusNanos(5))
+        .setEndTime(LocalDateTime.of(2025, 3, 3, 9, 15))
+        .setDescription("Daily")
+        .setIsRecurring(true)
+        .setRecurringDetails(RecurringDetailsDTO.getBuilder()
+            .setRepeatDays(Set.of(CalendarDayOfWeek.M, CalendarDayOfWeek.W))
+            .setOccurrences(4)
+            .build())
+        .setSeriesId(42L)
+        .build();
+    repository.insertEvent(recurring);
+    repository.insertEvent(createEvent("Review", 3, 14));
+
+    assertEquals(List.of(recurring, createEvent("Review", 3, 14)),
+        repository.getEventsOnDate(LocalDate.of(2025, 3, 3)));
+    assertEquals(recurring, repository.getEvent("Standup",
+        LocalDateTime.of(2025, 3, 3, 9, 0).plusNanos(5), LocalDateTime.of(2025, 3, 3, 9, 15)));
+    assertNull(repository.getEvent("Standup",
+        LocalDateTime.of(2025, 3, 3, 9, 0), LocalDateTime.of(2025, 3, 3, 9, 15)));
+    assertEquals(List.of(recurring), repository.getEventsByName("Standup"));
+    assertEquals(Long.valueOf(42), repository.getEventsBySeries(42L).get(0).getSeriesId());
+    assertNull(repository.getEventsOnDate(LocalDate.of(2025, 3, 3)).get(1).getSeriesId());
+    assertEquals(List.of(createEvent("Review", 3, 14)),
+        repository.getEventsAt(LocalDateTime.of(2025, 3, 3, 15, 0)));
+  }
+
+  @Test
+  public void testEventsWithSameStartKeepInsertionOrder() {
+    repository.insertEvent(createEvent("Second", 1, 9));
+    repository.insertEvent(createEvent("First", 1, 9));
+    repository.insertEvent(createEvent("Third", 1, 9));
+    assertTrue(repository.deleteEvent("First",
+        LocalDateTime.of(2025, 3, 1, 9, 0), LocalDateTime.of(2025, 3, 1, 10, 0)));
+    assertFalse(repository.deleteEvent("First",
+        LocalDateTime.of(2025, 3, 1, 9, 0), LocalDateTime.of(2025, 3, 1, 10, 0)));
+    assertEquals(List.of(createEvent("Second", 1, 9), createEvent("Third", 1, 9)),
+        repository.getAllEvents());
+  }
+
+  @Test
+  public void testFreedRecordsAreReused() {
+    for (int day = 1; day <= 28; day++) {
+      repository.insertEvent(createEvent("Sync", day, 8));
+    }
+    long reserved = repository.getOffHeapBytes();
+    assertEquals(28, repository.deleteRange(LocalDateTime.of(2025, 3, 1, 0, 0),
+        LocalDateTime.of(2025, 4, 1, 0, 0), null));
+    assertTrue(repository.getAllEvents().isEmpty());
+    for (int day = 1; day <= 28; day++) {
+      repository.insertEvent(createEvent("Sync", day, 10));
+    }
+    assertEquals(reserved, repository.getOffHeapBytes());
+    assertEquals(28, repository.stream().count());
+  }
+
+  @Test
+  public void testLargeEvent() {
+    EventDTO large = EventDTO.getBuilder()
+        .setSubject("Notes")
+        .setStartTime(LocalDateTime.of(2025, 3, 1, 9, 0))
+        .setEndTime(LocalDateTime.of(2025, 3, 1, 10, 0))
+        .setDescription("x".repeat(60_000))
+        .setLocation("y".repeat(60_000))
+        .build();
+    repository.insertEvent(createEvent("Sync", 1, 8));
+    repository.insertEvent(large);
+    assertEquals(List.of(createEvent("Sync", 1, 8), large),
+        repository.getEventsOnDate(LocalDate.of(2025, 3, 1)));
+    assertTrue(repository.deleteEvent("Notes",
+        LocalDateTime.of(2025, 3, 1, 9, 0), LocalDateTime.of(2025, 3, 1, 10, 0)));
+    assertEquals(List.of(createEvent("Sync", 1, 8)), repository.getAllEvents());
+  }
+
+  @Test
+  public void testQueriesMatchInMemoryRepository() {
+    Random random = new Random(11);
+    InMemoryEventRepository expected = new InMemoryEventRepository();
+    for (int i = 0; i < 3000; i++) {
+      LocalDateTime start = LocalDateTime.of(2025, 1, 1, 0, 0)
+          .plusMinutes(random.nextInt(43200));
+      EventDTO event = EventDTO.getBuilder()
+          .setSubject("event" + random.nextInt(10))
+          .setStartTime(start)
+          .setEndTime(start.plusMinutes(random.nextInt(600)))
+          .setLocation(random.nextBoolean() ? null : "location")
+          .build();
+      expected.insertEvent(event);
+      repository.insertEvent(event);
+      if (i % 7 == 0) {
+        assertEquals(expected.deleteEvent(event.getSubject(), event.getStartTime(),
+                event.getEndTime()),
+            repository.deleteEvent(event.getSubject(), event.getStartTime(),
+                event.getEndTime()));
+      }
+    }
+    for (int i = 0; i < 50; i++) {
+      LocalDateTime start = LocalDateTime.of(2025, 1, 1, 0, 0)
+          .plusMinutes(random.nextInt(43200));
+      LocalDateTime end = start.plusMinutes(random.nextInt(300));
+      assertEquals(expected.searchOverlaps(start, end), repository.searchOverlaps(start, end));
+      assertEquals(expected.getEventsAt(start), repository.getEventsAt(start));
+      if (i % 10 == 0) {
+        assertEquals(expected.deleteRange(start, end, "event1"),
+            repository.deleteRange(start, end, "event1"));
+      }
+    }
+    assertEquals(expected.getEventsByName("event3"), repository.getEventsByName("event3"));
+    assertEquals(expected.getAllEvents(),
+        repository.parallelStream().collect(Collectors.toList()));
+  }
+}
@@ -0,0 +1,183 @@
+package repository;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import dto.EventDTO;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for PartitionedEventRepository.
+ */
+public class PartitionedEventRepositoryTest {
+
+  private PartitionedEventRepository repository;
+
+  private EventDTO januaryEvent;
+  private EventDTO februaryEvent;
+  private EventDTO spanningEvent;
+  private EventDTO endOfMonthEvent;
+
+  @Before
+  public void setUp() {
+    repository = new PartitionedEventRepository();
+    januaryEvent = createEvent("January",
+        LocalDateTime.of(2025, 1, 10, 10, 0), LocalDateTime.of(2025, 1, 10, 11, 0));
+    februaryEvent = createEvent("February",
+        LocalDateTime.of(2025, 2, 3, 9, 0), LocalDateTime.of(2025, 2, 3, 10, 0));
+    spanningEvent = createEvent("Spanning",
+        LocalDateTime.of(2025, 1, 31, 22, 0), LocalDateTime.of(2025, 2, 1, 2, 0));
+    endOfMonthEvent = createEvent("EndOfMonth",
+        LocalDateTime.of(2025, 1, 31, 0, 0), LocalDateTime.of(2025, 2, 1, 0, 0));
+  }
+
+  private static EventDTO createEvent(String subject, LocalDateTime start, LocalDateTime end) {
+    return EventDTO.getBuilder()
+        .setSubject(subject)
+        .setStartTime(start)
+        .setEndTime(end)
+        .build();
+  }
+
+  private void insertAll() {
+    assertTrue(repository.insertEvent(januaryEvent));
+    assertTrue(repository.insertEvent(februaryEvent));
+    assertTrue(repository.insertEvent(spanningEvent));
+    assertTrue(repository.insertEvent(endOfMonthEvent));
+  }
+
+  @Test
+  public void testInsertNullEvent() {
+    assertFalse(repository.insertEvent(null));
+  }
+
+  @Test
+  public void testEventsArePartitionedByMonth() {
+    insertAll();
+    // the spanning event lives in the spill tree, the end of month event in January
+    assertEquals(2, repository.getPartitionCount());
+    assertEquals(List.of(januaryEvent, endOfMonthEvent, spanningEvent, februaryEvent),
+        repository.getAllEvents());
+  }
+
+  @Test
+  public void testYearlyPartitions() {
+    repository = new PartitionedEventRepository(PartitionGranularity.YEAR);
+    insertAll();
+    assertEquals(1, repository.getPartitionCount());
+    assertEquals(4, repository.getAllEvents().size());
+  }
+
+  @Test
+  public void testSearchOverlapsAcrossPartitions() {
+    insertAll();
+    List<EventDTO> events = repository.searchOverlaps(
+        LocalDateTime.of(2025, 1, 31, 23, 0), LocalDateTime.of(2025, 2, 3, 9, 30));
+    assertEquals(List.of(endOfMonthEvent, spanningEvent, februaryEvent), events);
+
+    events = repository.getEventsOnDate(LocalDate.of(2025, 2, 1));
+    assertEquals(List.of(spanningEvent), events);
+
+    events = repository.getEventsInRange(
+        LocalDateTime.of(2025, 1, 10, 10, 30), LocalDateTime.of(2025, 1, 10, 10, 45));
+    assertEquals(List.of(januaryEvent), events);
+  }
+
+  @Test
+  public void testGetEventsAtPartitionBoundary() {
+    insertAll();
+    List<EventDTO> events = repository.getEventsAt(LocalDateTime.of(2025, 2, 1, 0, 0));
+    assertEquals(List.of(endOfMonthEvent, spanningEvent), events);
+  }
+
+  @Test
+  public void testGetAndDeleteEvent() {
+    insertAll();
+    assertNotNull(repository.getEvent("Spanning",
+        spanningEvent.getStartTime(), spanningEvent.getEndTime()));
+    assertNotNull(repository.getEvent("January",
+        januaryEvent.getStartTime(), januaryEvent.getEndTime()));
+
+    assertTrue(repository.deleteEvent("Spanning",
+        spanningEvent.getStartTime(), spanningEvent.getEndTime()));
+    assertTrue(repository.deleteEvent("February",
+        februaryEvent.getStartTime(), februaryEvent.getEndTime()));
+    assertFalse(repository.deleteEvent("February",
+        februaryEvent.getStartTime(), februaryEvent.getEndTime()));
+
+    assertNull(repository.getEvent("Spanning",
+        spanningEvent.getStartTime(), spanningEvent.getEndTime()));
+    // the emptied February partition is released
+    assertEquals(1, repository.getPartitionCount());
+  }
+
+  @Test
+  public void testGetEventsByName() {
+    insertAll();
+    repository.insertEvent(createEvent("January",
+        LocalDateTime.of(2026, 1, 10, 10, 0), LocalDateTime.of(2026, 1, 10, 11, 0)));
+    assertEquals(2, repository.getEventsByName("January").size());
+    assertEquals(1, repository.getEventsByName("Spanning").size());
+  }
+
+  @Test
+  public void testDropAndArchivePartition() {
+    insertAll();
+    assertTrue(repository.dropPartition(LocalDateTime.of(2025, 2, 15, 0, 0)));
+    assertFalse(repository.dropPartition(LocalDateTime.of(2025, 2, 15, 0, 0)));
+    assertTrue(repository.getEventsOnDate(LocalDate.of(2025, 2, 3)).isEmpty());
+
+    IntervalTree archived = repository.archivePartition(LocalDateTime.of(2025, 1, 1, 0, 0));
+    assertEquals(List.of(januaryEvent, endOfMonthEvent), archived.getAllEvents());
+    assertNull(repository.archivePartition(LocalDateTime.of(2025, 1, 1, 0, 0)));
+
+    // events crossing the partition boundary are not part of any partition
+    assertEquals(List.of(spanningEvent), repository.getAllEvents());
+  }
+
+  @Test
+  public void testDeleteRange() {
+    insertAll();
+    EventDTO marchEvent = createEvent("March",
+        LocalDateTime.of(2025, 3, 5, 9, 0), LocalDateTime.of(2025, 3, 5, 10, 0));
+    repository.insertEvent(marchEvent);
+    assertEquals(3, repository.getPartitionCount());
+
+    // February is dropped whole, January is cut and the spanning event leaves the spill tree
+    assertEquals(3, repository.deleteRange(
+        LocalDateTime.of(2025, 1, 20, 0, 0), LocalDateTime.of(2025, 3, 5, 0, 0), null));
+    assertEquals(List.of(januaryEvent, marchEvent), repository.getAllEvents());
+    assertEquals(2, repository.getPartitionCount());
+  }
+
+  @Test
+  public void testDeleteRangeWithName() {
+    insertAll();
+    assertEquals(1, repository.deleteRange(
+        LocalDateTime.of(2025, 1, 1, 0, 0), LocalDateTime.of(2025, 12, 31, 0, 0), "February"));
+    assertEquals(List.of(januaryEvent, endOfMonthEvent, spanningEvent),
+        repository.getAllEvents());
+    assertEquals(1, repository.getPartitionCount());
+  }
+
+  @Test
+  public void testStreamMatchesAllEvents() {
+    insertAll();
+    assertEquals(repository.getAllEvents(), repository.stream().collect(Collectors.toList()));
+    assertEquals(repository.getAllEvents(),
+        repository.parallelStream().collect(Collectors.toList()));
+
+    // without spanning events the partitions are streamed directly
+    repository.deleteEvent("Spanning", spanningEvent.getStartTime(), spanningEvent.getEndTime());
+    assertEquals(List.of(januaryEvent, endOfMonthEvent, februaryEvent),
+        repository.parallelStream().collect(Collectors.toList()));
+  }
+}
@@ -0,0 +1,89 @@
+package repository;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Random;
+import org.junit.Test;
+
+/**
+ * Test class for ZoneConverter.
+ */
+public class ZoneConverterTest {
+
+  private static final ZoneId NEW_YORK = ZoneId.of("America/New_York");
+
+  private static final ZoneId KOLKATA = ZoneId.of("Asia/Kolkata");
+
+  private static LocalDateTime expected(LocalDateTime dateTime, ZoneId source, ZoneId target) {
+    return dateTime.atZone(source).withZoneSameInstant(target).toLocalDateTime();
+  }
+
+  @Test
+  public void testConvertMatchesZonedDateTime() {
+    String[] zones = {"America/New_York", "Asia/Kolkata", "Europe/London",
+        "Australia/Lord_Howe", "Pacific/Apia", "UTC", "America/Sao_Paulo"};
+    Random random = new Random(42);
+    for (String source : zones) {
+      for (String target : zones) {
+        ZoneConverter converter = new ZoneConverter(ZoneId.of(source), ZoneId.of(target));
+        for (int i = 0; i < 2000; i++) {
+          LocalDateTime dateTime = LocalDateTime.of(1950, 1, 1, 0, 0)
+              .plusMinutes(random.nextInt(100 * 525600))
+              .withNano(random.nextInt(1000) * 1000000);
+          assertEquals(source + " to " + target + " at " + dateTime,
+              expected(dateTime, ZoneId.of(source), ZoneId.of(target)),
+              converter.convert(dateTime));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testConvertInGapMovesForward() {
+    ZoneConverter converter = new ZoneConverter(NEW_YORK, ZoneOffset.UTC);
+    // 2:30 AM does not exist on the day daylight saving time starts
+    LocalDateTime inGap = LocalDateTime.of(2025, 3, 9, 2, 30);
+    assertEquals(LocalDateTime.of(2025, 3, 9, 7, 30), converter.convert(inGap));
+    assertEquals(expected(inGap, NEW_YORK, ZoneOffset.UTC), converter.convert(inGap));
+  }
+
+  @Test
+  public void testConvertInOverlapTakesEarlierOffset() {
+    ZoneConverter converter = new ZoneConverter(NEW_YORK, KOLKATA);
+    // 1:30 AM happens twice on the day daylight saving time ends
+    LocalDateTime inOverlap = LocalDateTime.of(2025, 11, 2, 1, 30);
+    assertEquals(LocalDateTime.of(2025, 11, 2, 11, 0), converter.convert(inOverlap));
+    assertEquals(LocalDateTime.of(2025, 11, 2, 12, 30),
+        converter.convert(LocalDateTime.of(2025, 11, 2, 2, 0)));
+  }
+
+  @Test
+  public void testConvertAtTransitionBoundaries() {
+    ZoneConverter converter = new ZoneConverter(KOLKATA, NEW_YORK);
+    LocalDateTime start = LocalDateTime.of(2025, 3, 9, 11, 0);
+    for (int minute = 0; minute < 120; minute++) {
+      LocalDateTime dateTime = start.plusMinutes(minute);
+      assertEquals(expected(dateTime, KOLKATA, NEW_YORK), converter.convert(dateTime));
+    }
+  }
+
+  @Test
+  public void testConvertOutsideTableFallsBackToZoneRules() {
+    ZoneConverter converter = new ZoneConverter(NEW_YORK, KOLKATA);
+    LocalDateTime early = LocalDateTime.of(1850, 6, 1, 12, 0);
+    LocalDateTime late = LocalDateTime.of(2150, 6, 1, 12, 0);
+    LocalDateTime edge = LocalDateTime.of(2099, 12, 31, 23, 0);
+    assertEquals(expected(early, NEW_YORK, KOLKATA), converter.convert(early));
+    assertEquals(expected(late, NEW_YORK, KOLKATA), converter.convert(late));
+    assertEquals(expected(edge, NEW_YORK, KOLKATA), converter.convert(edge));
+  }
+
+  @Test
+  public void testConvertNull() {
+    assertNull(new ZoneConverter(NEW_YORK, KOLKATA).convert(null));
+  }
+}